@@ -0,0 +1,52 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.benchmark;
+
+import org.apache.log4j.Logger;
+import org.jsweet.input.typescriptdef.ast.Names;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The base class of the candy generator benchmarks, which run on each
+ * {@link Corpus}.
+ */
+@State(Scope.Thread)
+public abstract class AbstractBenchmark {
+
+	@Param({ "CORE", "DOM", "SYNTHETIC" })
+	public Corpus corpus;
+
+	@Setup(Level.Trial)
+	public void setUpLogging() {
+		// the translation logs (and the garbage collections triggered in
+		// debug mode) would be measured otherwise
+		Logger.getRootLogger().setLevel(org.apache.log4j.Level.OFF);
+	}
+
+	@TearDown(Level.Trial)
+	public void clearNames() {
+		Names.clear();
+	}
+
+}
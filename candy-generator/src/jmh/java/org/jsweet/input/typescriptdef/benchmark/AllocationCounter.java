@@ -0,0 +1,73 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the bytes allocated by the benchmark thread while a phase runs. The
+ * counter is reported by JMH as a rate, next to the throughput: it is the
+ * allocation rate of the phase, in bytes per time unit.
+ *
+ * <p>
+ * Contrary to the JMH GC profiler, this counter excludes the allocations of
+ * the per-invocation setups (such as translating the AST up to the measured
+ * pass). The allocations of the background threads (parsing and file writing
+ * pools) are not counted.
+ */
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+@State(Scope.Thread)
+public class AllocationCounter {
+
+	private static final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	/**
+	 * The bytes allocated by the measured phases during the iteration.
+	 */
+	public long allocatedBytes;
+
+	private long start;
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		allocatedBytes = 0;
+	}
+
+	/**
+	 * Must be called right before the measured phase.
+	 */
+	public void start() {
+		start = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Must be called right after the measured phase.
+	 */
+	public void stop() {
+		allocatedBytes += threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+	}
+
+}
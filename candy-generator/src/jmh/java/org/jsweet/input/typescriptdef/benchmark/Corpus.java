@@ -0,0 +1,99 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.benchmark;
+
+import static java.util.Arrays.asList;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import org.jsweet.input.typescriptdef.TypescriptDef2Java;
+import org.jsweet.input.typescriptdef.ast.Context;
+
+/**
+ * The definition files translated by the benchmarks. The corpora are the
+ * typings of the repository (<code>typings/lib.core</code>, relative to the
+ * project directory), and a large library generated by
+ * {@link SyntheticLibrary}, which depends on the core library.
+ */
+public enum Corpus {
+
+	CORE, DOM, SYNTHETIC;
+
+	private static final File TYPINGS_DIR = new File("typings/" + TypescriptDef2Java.TS_CORE_LIB_DIR);
+
+	private static final List<File> CORE_FILES = asList(new File(TYPINGS_DIR, "lib.core.d.ts"),
+			new File(TYPINGS_DIR, "lib.core.ext.d.ts"));
+
+	private static File syntheticFile;
+
+	/**
+	 * Gets the definition files to be translated.
+	 */
+	public List<File> getDefinitions() throws IOException {
+		switch (this) {
+		case CORE:
+			return CORE_FILES;
+		case DOM:
+			return asList(new File(TYPINGS_DIR, "lib.dom.d.ts"));
+		default:
+			return asList(getSyntheticFile());
+		}
+	}
+
+	/**
+	 * Gets the definition files the translated files depend on.
+	 */
+	public List<File> getDependencies() {
+		return this == CORE ? Collections.emptyList() : CORE_FILES;
+	}
+
+	private static synchronized File getSyntheticFile() throws IOException {
+		if (syntheticFile == null) {
+			// generated as typings/synthetic/index.d.ts, so that the library
+			// package is def.synthetic
+			File dir = new File(System.getProperty("java.io.tmpdir"), "tsdef2java-benchmark/typings/synthetic");
+			syntheticFile = new File(dir, "index.d.ts");
+			SyntheticLibrary.write(syntheticFile, SyntheticLibrary.DEFAULT_MODULE_COUNT);
+		}
+		return syntheticFile;
+	}
+
+	/**
+	 * Creates a translation context for this corpus, without parsing the
+	 * files.
+	 */
+	public Context createContext() throws IOException {
+		Context context = new Context(getDefinitions(), getDependencies(), false);
+		context.verbose = false;
+		return context;
+	}
+
+	/**
+	 * Creates a translation context for this corpus, and parses the files.
+	 */
+	public Context parse() throws IOException {
+		Context context = createContext();
+		TypescriptDef2Java.parse(context, context.getAllDefinitions());
+		return context;
+	}
+
+}
@@ -0,0 +1,75 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jsweet.input.typescriptdef.parser.TypescriptDefParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the parsing of the definition files of a corpus (including its
+ * dependencies). The files are parsed one after the other in the benchmark
+ * thread, so that the result does not depend on the number of processors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark extends AbstractBenchmark {
+
+	private List<File> files;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		files = corpus.createContext().getAllDefinitions();
+		for (File file : files) {
+			TypescriptDefParser parser = TypescriptDefParser.parseFile(file);
+			if (!parser.errors.isEmpty()) {
+				throw new IllegalStateException("syntax errors in " + file + ": " + parser.errors);
+			}
+		}
+	}
+
+	@Benchmark
+	public void parse(AllocationCounter allocation, Blackhole blackhole) throws IOException {
+		allocation.start();
+		for (File file : files) {
+			blackhole.consume(TypescriptDefParser.parseFile(file).compilationUnit);
+		}
+		allocation.stop();
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jsweet.input.typescriptdef.PassScheduler;
+import org.jsweet.input.typescriptdef.TypescriptDef2Java;
+import org.jsweet.input.typescriptdef.ast.Context;
+import org.jsweet.input.typescriptdef.ast.Scanner;
+
+/**
+ * A pass scheduler that runs the translation passes (and the actions between
+ * them) up to a given pass, and keeps the scanners of that pass instead of
+ * running it, so that the pass can be run alone on the AST it would get in a
+ * complete translation.
+ *
+ * <p>
+ * A pass is named after the class of its first scanner, followed by
+ * <code>#2</code>, <code>#3</code>... when several passes start with the same
+ * scanner class (for instance <code>TypeReferenceExpander#2</code>).
+ */
+public class PassSelector extends PassScheduler {
+
+	private final String selectedPassName;
+
+	private final Map<String, Integer> occurrences = new HashMap<>();
+
+	private final List<String> passNames = new ArrayList<>();
+
+	private Scanner[] selectedPass;
+
+	private PassSelector(Context context, String selectedPassName) {
+		super(context);
+		this.selectedPassName = selectedPassName;
+	}
+
+	/**
+	 * Translates the given (parsed) context up to the given pass excluded.
+	 *
+	 * @return the scanners of the given pass
+	 * @throws IllegalArgumentException
+	 *             if there is no pass with the given name
+	 */
+	public static Scanner[] translateUpTo(Context context, String passName) {
+		PassSelector selector = new PassSelector(context, passName);
+		TypescriptDef2Java.translateAst(context, selector);
+		if (selector.selectedPass == null) {
+			throw new IllegalArgumentException("unknown pass '" + passName + "', expected one of " + selector.passNames);
+		}
+		return selector.selectedPass;
+	}
+
+	/**
+	 * Runs the given pass (as returned by
+	 * {@link #translateUpTo(Context, String)}).
+	 */
+	public static void run(Context context, Scanner[] pass) {
+		new PassScheduler(context).pass(pass).run();
+	}
+
+	private boolean isSelectedPassReached() {
+		return selectedPass != null;
+	}
+
+	@Override
+	public PassScheduler pass(Scanner... scanners) {
+		String name = scanners[0].getClass().getSimpleName();
+		int occurrence = occurrences.merge(name, 1, Integer::sum);
+		if (occurrence > 1) {
+			name += "#" + occurrence;
+		}
+		passNames.add(name);
+		if (!isSelectedPassReached()) {
+			if (name.equals(selectedPassName)) {
+				selectedPass = scanners;
+			} else {
+				super.pass(scanners);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public PassScheduler then(Runnable action) {
+		if (!isSelectedPassReached()) {
+			super.then(action);
+		}
+		return this;
+	}
+
+}
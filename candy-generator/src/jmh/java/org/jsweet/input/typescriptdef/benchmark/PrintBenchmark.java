@@ -0,0 +1,103 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.jsweet.input.typescriptdef.TypescriptDef2Java;
+import org.jsweet.input.typescriptdef.ast.Context;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the printing of the translated AST of a corpus to Java files (see
+ * {@link TypescriptDef2Java#printAst(File, Context)}), either to an empty
+ * output directory or to an output directory that already holds the same
+ * files (in which case the files are not rewritten).
+ *
+ * <p>
+ * Since printing adds annotations to the AST, the corpus is parsed and
+ * translated again before each invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrintBenchmark extends AbstractBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean emptyOutput;
+
+	private Context context;
+
+	private File outputDir;
+
+	@Setup(Level.Trial)
+	public void setUpOutput() throws IOException {
+		outputDir = Files.createTempDirectory("tsdef2java-benchmark").toFile();
+		if (!emptyOutput) {
+			TypescriptDef2Java.printAst(outputDir, translate());
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void setUp() throws IOException {
+		context = translate();
+		if (emptyOutput) {
+			FileUtils.cleanDirectory(outputDir);
+		}
+	}
+
+	private Context translate() throws IOException {
+		Context context = corpus.parse();
+		TypescriptDef2Java.translateAst(context);
+		return context;
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteOutput() throws IOException {
+		FileUtils.deleteDirectory(outputDir);
+	}
+
+	@Benchmark
+	public File printAst(AllocationCounter allocation) throws IOException {
+		allocation.start();
+		TypescriptDef2Java.printAst(outputDir, context);
+		allocation.stop();
+		return outputDir;
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Generates a large definition file, made of modules that all have the same
+ * shape, which covers the constructs that are the most costly to translate
+ * (optional parameters, union types, overloads, generics, functional types,
+ * string types, inheritance and documentation comments). The content only
+ * depends on the number of modules, so that the benchmark results can be
+ * compared from one run to another.
+ */
+public class SyntheticLibrary {
+
+	/**
+	 * The default number of modules, which gives a file a bit larger than
+	 * <code>lib.dom.d.ts</code>.
+	 */
+	public static final int DEFAULT_MODULE_COUNT = 300;
+
+	/**
+	 * Generates the library content.
+	 */
+	public static String generate(int moduleCount) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("declare module base {\n");
+		sb.append("    interface Disposable {\n");
+		sb.append("        dispose(): void;\n");
+		sb.append("    }\n");
+		sb.append("    /**\n");
+		sb.append("     * The base class of all the components.\n");
+		sb.append("     */\n");
+		sb.append("    class Component implements Disposable {\n");
+		sb.append("        id: string;\n");
+		sb.append("        parent?: Component;\n");
+		sb.append("        dispose(): void;\n");
+		sb.append("        clone(deep?: boolean): Component;\n");
+		sb.append("    }\n");
+		sb.append("}\n\n");
+		for (int i = 0; i < moduleCount; i++) {
+			sb.append("declare module m").append(i).append(" {\n");
+			sb.append("    /**\n");
+			sb.append("     * The options of the widget ").append(i).append(".\n");
+			sb.append("     */\n");
+			sb.append("    interface Options").append(i).append(" {\n");
+			sb.append("        id: string;\n");
+			sb.append("        size?: number;\n");
+			sb.append("        mode: \"auto\" | \"manual\";\n");
+			sb.append("        target: string | Element").append(i).append(";\n");
+			sb.append("        callback?: (event: Event").append(i).append(", index?: number) => void;\n");
+			sb.append("        items?: Array<string | number>;\n");
+			sb.append("    }\n");
+			sb.append("    interface Element").append(i).append(" {\n");
+			sb.append("        tagName: string;\n");
+			sb.append("        children: Element").append(i).append("[];\n");
+			sb.append("        [index: number]: Element").append(i).append(";\n");
+			sb.append("    }\n");
+			sb.append("    interface Event").append(i).append(" {\n");
+			sb.append("        type: string;\n");
+			sb.append("        timeStamp: number;\n");
+			sb.append("        detail?: any;\n");
+			sb.append("    }\n");
+			sb.append("    /**\n");
+			sb.append("     * A widget (").append(i).append(").\n");
+			sb.append("     */\n");
+			sb.append("    class Widget").append(i).append("<T> extends base.Component {\n");
+			sb.append("        constructor(options?: Options").append(i).append(");\n");
+			sb.append("        options: Options").append(i).append(";\n");
+			sb.append("        /**\n");
+			sb.append("         * Gets the value.\n");
+			sb.append("         */\n");
+			sb.append("        value(): T;\n");
+			sb.append("        /**\n");
+			sb.append("         * Sets the value.\n");
+			sb.append("         */\n");
+			sb.append("        value(value: T): Widget").append(i).append("<T>;\n");
+			sb.append("        on(type: \"change\" | \"close\", listener: (event: Event").append(i)
+					.append(") => void, capture?: boolean): void;\n");
+			sb.append("        find(selector: string | RegExp, deep?: boolean, limit?: number): Array<Widget")
+					.append(i).append("<T>>;\n");
+			sb.append("        map<U>(mapper: (value: T, index: number) => U): Widget").append(i)
+					.append("<U>;\n");
+			sb.append("        clone(deep?: boolean): Widget").append(i).append("<T>;\n");
+			sb.append("        static create<U>(options: Options").append(i).append(" | string): Widget")
+					.append(i).append("<U>;\n");
+			sb.append("    }\n");
+			sb.append("    enum Kind").append(i).append(" {\n");
+			sb.append("        SMALL, MEDIUM, LARGE\n");
+			sb.append("    }\n");
+			sb.append("    type Listener").append(i).append(" = (event: Event").append(i).append(") => boolean;\n");
+			sb.append("    function widget").append(i).append("(options?: Options").append(i)
+					.append(" | Element").append(i).append(", listener?: Listener").append(i)
+					.append("): Widget").append(i).append("<string>;\n");
+			sb.append("    var defaults").append(i).append(": Options").append(i).append(";\n");
+			sb.append("}\n\n");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes the library to the given file, unless the file already holds the
+	 * library.
+	 */
+	public static void write(File file, int moduleCount) throws IOException {
+		String content = generate(moduleCount);
+		if (!file.isFile() || !content.equals(FileUtils.readFileToString(file))) {
+			FileUtils.write(file, content);
+		}
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jsweet.input.typescriptdef.ast.Context;
+import org.jsweet.input.typescriptdef.ast.Scanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures each pass of the AST translation (see
+ * {@link org.jsweet.input.typescriptdef.TypescriptDef2Java#translateAst(Context)}).
+ * Before each invocation, the corpus is parsed and translated up to the
+ * measured pass (see {@link PassSelector}), which is then run alone.
+ *
+ * <p>
+ * The pass names must be kept in sync with the passes of the translation:
+ * an unknown name makes the benchmark fail with the list of the valid names.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslationPassBenchmark extends AbstractBenchmark {
+
+	@Param({ "NameChecker", "FunctionTypeOfReplacer", "ImportedAndExportedReferenceExpander",
+			"ImportedAndExportedReferenceExpander#2", "EmptyModulesCleaner", "PackageOrganizer",
+			"ModuleToTypeMerger", "ObjectTypeCreator", "ConstructorInterfacesMerger", "TypeMerger",
+			"SuperTypesMerger", "TypeReferenceExpander", "TypeMacroReplacer", "UnionTypesEraser",
+			"OptionalParametersExpander", "ParentMethodReturnTypeSusbtitutor", "GlobalsCreator",
+			"DeclarationBinder", "FactoryMethodsCreator", "TypeReferenceExpander#2", "NameAdapter",
+			"TypeReferenceChecker", "IterableInjector", "FunctionKindAdapter", "UnionInterfacesCreator",
+			"EmptyConstructorAdder", "ConstructorTypeReferenceReplacer", "DuplicateMethodsCleaner",
+			"ForEachClashRemover" })
+	public String pass;
+
+	private Context context;
+
+	private Scanner[] scanners;
+
+	@Setup(Level.Invocation)
+	public void setUp() throws IOException {
+		context = corpus.parse();
+		scanners = PassSelector.translateUpTo(context, pass);
+	}
+
+	@Benchmark
+	public Context translatePass(AllocationCounter allocation) {
+		allocation.start();
+		PassSelector.run(context, scanners);
+		allocation.stop();
+		return context;
+	}
+
+}
@@ -104,6 +104,7 @@ public class GenerateSourcesTool {
 				+ "* tsFiles: " + tsFiles + "\n" //
 				+ "* tsDependencies: " + tsDependencies + "\n" //
 				+ "* coreVersion: " + coreVersion + "\n" //
+				+ "* incremental: " + jsapArgs.getBoolean("incremental") + "\n" //
 				+ " to out: " + outDir.getAbsolutePath());
 
 		TypescriptDef2Java.translate( //
@@ -112,7 +113,8 @@ public class GenerateSourcesTool {
 				outDir, //
 				null, //
 				false, //
-				false);
+				false, //
+				jsapArgs.getBoolean("incremental"));
 
 		logger.info("**************************************************************");
 		logger.info("candy " + candyName + " successfully generated to " + outDir);
@@ -158,6 +160,15 @@ public class GenerateSourcesTool {
 		switchArg.setDefault("false");
 		jsap.registerParameter(switchArg);
 
+		// Incremental
+		switchArg = new Switch("incremental");
+		switchArg.setLongFlag("incremental");
+		switchArg.setShortFlag('i');
+		switchArg.setHelp(
+				"Only regenerate the libraries affected by the changes since the last generation to the output directory.");
+		switchArg.setDefault("false");
+		jsap.registerParameter(switchArg);
+
 		// Candy name
 		optionArg = new FlaggedOption("name");
 		optionArg.setLongFlag("name");
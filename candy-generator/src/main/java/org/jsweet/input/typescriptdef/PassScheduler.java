@@ -0,0 +1,93 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef;
+
+import org.apache.log4j.Logger;
+import org.jsweet.input.typescriptdef.ast.CompilationUnit;
+import org.jsweet.input.typescriptdef.ast.Context;
+import org.jsweet.input.typescriptdef.ast.Scanner;
+
+/**
+ * Runs the passes of the AST translation in order, and logs the time spent in
+ * each pass.
+ *
+ * <p>
+ * A pass is made of one or several scanners, which run one after the other on
+ * each compilation unit.
+ */
+public class PassScheduler {
+
+	private static final Logger logger = Logger.getLogger(PassScheduler.class);
+
+	private final Context context;
+
+	private int passCount = 0;
+
+	private long totalTime = 0;
+
+	public PassScheduler(Context context) {
+		this.context = context;
+	}
+
+	/**
+	 * Runs a pass made of the given scanners.
+	 */
+	public PassScheduler pass(Scanner... scanners) {
+		long[] times = new long[scanners.length];
+		for (Scanner scanner : scanners) {
+			scanner.onScanStart();
+		}
+		for (CompilationUnit compilationUnit : context.compilationUnits) {
+			for (int i = 0; i < scanners.length; i++) {
+				long start = System.nanoTime();
+				TypescriptDef2Java.scan(compilationUnit, scanners[i]);
+				times[i] += System.nanoTime() - start;
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < scanners.length; i++) {
+			long start = System.nanoTime();
+			scanners[i].onScanEnded();
+			times[i] += System.nanoTime() - start;
+			sb.append(i == 0 ? "" : ", ");
+			sb.append(scanners[i].getClass().getSimpleName()).append(": ").append(times[i] / 1000000).append("ms");
+			totalTime += times[i];
+		}
+		logger.info("pass " + sb);
+		passCount++;
+		return this;
+	}
+
+	/**
+	 * Runs the given action (which typically needs the whole AST to be
+	 * translated up to this point).
+	 */
+	public PassScheduler then(Runnable action) {
+		action.run();
+		return this;
+	}
+
+	/**
+	 * Logs the total time spent in the passes.
+	 */
+	public void run() {
+		logger.info(passCount + " passes run in " + totalTime / 1000000 + "ms");
+	}
+
+}
@@ -0,0 +1,396 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef;
+
+import static java.util.Arrays.asList;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+import org.jsweet.input.typescriptdef.ast.CompilationUnit;
+import org.jsweet.input.typescriptdef.ast.Context;
+
+/**
+ * The state of the last translation in an output directory: the content
+ * hashes of the definition files and of the generated files, the library of
+ * each file, and the dependencies between the libraries. It is used by the
+ * incremental mode to regenerate only the libraries affected by a change.
+ *
+ * <p>
+ * A library is affected when one of its definition files or generated files
+ * changed (or was removed), or when it depends, directly or not, on an
+ * affected library. The changes are detected before parsing, and only the
+ * definition files of the affected libraries and of the libraries they depend
+ * on are parsed and translated.
+ *
+ * @see TypescriptDef2Java#translate(List, List, File, File, boolean, boolean,
+ *      boolean)
+ */
+public class TranslationState {
+
+	private final static Logger logger = Logger.getLogger(TranslationState.class);
+
+	/**
+	 * The name of the file holding the state in the output directory.
+	 */
+	public static final String FILE_NAME = ".tsdef2java-state.properties";
+
+	private static final String OPTIONS_KEY = "options";
+	private static final String INPUT_PREFIX = "input:";
+	private static final String OUTPUT_PREFIX = "output:";
+	private static final String DEPENDENCIES_PREFIX = "dependencies:";
+
+	private static class FileState {
+		final String hash;
+		final String library;
+
+		FileState(String hash, String library) {
+			this.hash = hash;
+			this.library = library;
+		}
+
+		/**
+		 * Returns the libraries of the file: a definition file belongs to
+		 * several libraries when it is parsed several times, from different
+		 * paths.
+		 */
+		List<String> getLibraries() {
+			return library == null ? Collections.emptyList() : asList(StringUtils.split(library, ','));
+		}
+	}
+
+	private String options;
+
+	private final Map<String, FileState> inputs = new TreeMap<>();
+
+	private final Map<String, FileState> outputs = new TreeMap<>();
+
+	private final Map<String, List<String>> dependencies = new TreeMap<>();
+
+	private TranslationState() {
+	}
+
+	/**
+	 * Loads the state of the last translation to the given output directory,
+	 * or returns null if there is none.
+	 */
+	public static TranslationState load(File outputDir) {
+		File file = new File(outputDir, FILE_NAME);
+		if (!file.isFile()) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = FileUtils.openInputStream(file)) {
+			properties.load(in);
+		} catch (IOException e) {
+			logger.warn("cannot read translation state " + file, e);
+			return null;
+		}
+		TranslationState state = new TranslationState();
+		state.options = properties.getProperty(OPTIONS_KEY);
+		for (String key : properties.stringPropertyNames()) {
+			String value = properties.getProperty(key);
+			if (key.startsWith(INPUT_PREFIX)) {
+				state.inputs.put(key.substring(INPUT_PREFIX.length()), parseFileState(value));
+			} else if (key.startsWith(OUTPUT_PREFIX)) {
+				state.outputs.put(key.substring(OUTPUT_PREFIX.length()), parseFileState(value));
+			} else if (key.startsWith(DEPENDENCIES_PREFIX)) {
+				List<String> libraries = new ArrayList<>();
+				for (String library : StringUtils.split(value, ',')) {
+					libraries.add(library);
+				}
+				state.dependencies.put(key.substring(DEPENDENCIES_PREFIX.length()), libraries);
+			}
+		}
+		return state;
+	}
+
+	private static FileState parseFileState(String value) {
+		int i = value.indexOf(' ');
+		return i < 0 ? new FileState(value, null) : new FileState(value.substring(0, i), value.substring(i + 1));
+	}
+
+	/**
+	 * Creates the state of a translation.
+	 *
+	 * @param context
+	 *            the translated context (with its dependency graph)
+	 * @param outputDir
+	 *            the output directory
+	 * @param writtenFiles
+	 *            the files written by the translation, with their libraries
+	 * @param previousState
+	 *            the state of the previous translation, from which the inputs
+	 *            and the dependencies of the libraries that were not parsed,
+	 *            and the outputs of the libraries that were not regenerated,
+	 *            are kept (null for a full translation)
+	 * @param regeneratedLibraries
+	 *            the libraries that were regenerated (ignored for a full
+	 *            translation)
+	 */
+	public static TranslationState create(Context context, File outputDir, Map<File, String> writtenFiles,
+			TranslationState previousState, Set<String> regeneratedLibraries) throws IOException {
+		TranslationState state = new TranslationState();
+		state.options = getOptions(context);
+		Set<String> parsedLibraries = new HashSet<>();
+		for (CompilationUnit compilationUnit : context.compilationUnits) {
+			String key = getInputKey(compilationUnit.getFile());
+			String library = getLibrary(compilationUnit);
+			FileState input = state.inputs.get(key);
+			if (input != null && (input.library == null || library == null)) {
+				library = null;
+			} else if (input != null && !input.getLibraries().contains(library)) {
+				library = input.library + "," + library;
+			}
+			state.inputs.put(key, new FileState(hash(compilationUnit.getFile()), library));
+			parsedLibraries.add(getLibrary(compilationUnit));
+		}
+		if (previousState != null) {
+			for (Entry<String, FileState> input : previousState.inputs.entrySet()) {
+				if (Collections.disjoint(parsedLibraries, input.getValue().getLibraries())) {
+					state.inputs.putIfAbsent(input.getKey(), input.getValue());
+				}
+			}
+			for (Entry<String, List<String>> dependency : previousState.dependencies.entrySet()) {
+				if (!parsedLibraries.contains(dependency.getKey())) {
+					state.dependencies.put(dependency.getKey(), dependency.getValue());
+				}
+			}
+			for (Entry<String, FileState> output : previousState.outputs.entrySet()) {
+				if (!regeneratedLibraries.contains(output.getValue().library)) {
+					state.outputs.put(output.getKey(), output.getValue());
+				}
+			}
+		}
+		for (Entry<File, String> writtenFile : writtenFiles.entrySet()) {
+			state.outputs.put(getOutputKey(outputDir, writtenFile.getKey()),
+					new FileState(hash(writtenFile.getKey()), writtenFile.getValue()));
+		}
+		if (context.dependencyGraph != null) {
+			for (String library : context.dependencyGraph) {
+				state.dependencies.put(library, context.dependencyGraph.getDestinationElements(library));
+			}
+		}
+		return state;
+	}
+
+	/**
+	 * Saves this state in the given output directory.
+	 */
+	public void save(File outputDir) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty(OPTIONS_KEY, options);
+		for (Entry<String, FileState> input : inputs.entrySet()) {
+			properties.setProperty(INPUT_PREFIX + input.getKey(), toString(input.getValue()));
+		}
+		for (Entry<String, FileState> output : outputs.entrySet()) {
+			properties.setProperty(OUTPUT_PREFIX + output.getKey(), toString(output.getValue()));
+		}
+		for (Entry<String, List<String>> dependency : dependencies.entrySet()) {
+			properties.setProperty(DEPENDENCIES_PREFIX + dependency.getKey(),
+					StringUtils.join(dependency.getValue(), ','));
+		}
+		try (OutputStream out = FileUtils.openOutputStream(new File(outputDir, FILE_NAME))) {
+			properties.store(out, "TypeScript definitions to Java translation state (do not edit)");
+		}
+	}
+
+	private static String toString(FileState fileState) {
+		return fileState.library == null ? fileState.hash : fileState.hash + " " + fileState.library;
+	}
+
+	/**
+	 * Returns the libraries that need to be regenerated since this state (an
+	 * empty set if the output directory is up to date), or null if the whole
+	 * output must be regenerated. The definition files are compared to this
+	 * state with their hashes, so that they do not need to be parsed.
+	 *
+	 * @param context
+	 *            the context to be translated (not parsed yet)
+	 * @param outputDir
+	 *            the output directory
+	 */
+	public Set<String> getAffectedLibraries(Context context, File outputDir) throws IOException {
+		if (!getOptions(context).equals(options)) {
+			logger.info("translation options changed");
+			return null;
+		}
+		for (File definition : context.getAllDefinitions()) {
+			if (!inputs.containsKey(getInputKey(definition))) {
+				logger.info("new definition file: " + getInputKey(definition));
+				return null;
+			}
+		}
+		Set<String> changedLibraries = new HashSet<>();
+		for (Entry<String, FileState> input : inputs.entrySet()) {
+			if (!input.getValue().hash.equals(hash(new File(input.getKey())))) {
+				if (input.getValue().library == null) {
+					logger.info("changed definition file outside of a library: " + input.getKey());
+					return null;
+				}
+				logger.info("changed definition file: " + input.getKey());
+				changedLibraries.addAll(input.getValue().getLibraries());
+			}
+		}
+		for (Entry<String, FileState> output : outputs.entrySet()) {
+			if (output.getValue().library == null) {
+				logger.info("output file outside of a library: " + output.getKey());
+				return null;
+			}
+			if (!output.getValue().hash.equals(hash(new File(outputDir, output.getKey())))) {
+				logger.info("changed output file: " + output.getKey());
+				changedLibraries.add(output.getValue().library);
+			}
+		}
+
+		// the libraries depending on a changed library are affected as well (a
+		// dependency that is not in this state can only come from the
+		// definition files of a changed library)
+		Map<String, Set<String>> dependents = new HashMap<>();
+		for (Entry<String, List<String>> dependency : dependencies.entrySet()) {
+			addDependents(dependents, dependency.getKey(), dependency.getValue());
+		}
+		Set<String> affectedLibraries = new HashSet<>(changedLibraries);
+		LinkedList<String> toVisit = new LinkedList<>(changedLibraries);
+		while (!toVisit.isEmpty()) {
+			for (String dependent : dependents.getOrDefault(toVisit.removeFirst(), Collections.emptySet())) {
+				if (affectedLibraries.add(dependent)) {
+					toVisit.add(dependent);
+				}
+			}
+		}
+		return affectedLibraries;
+	}
+
+	/**
+	 * Returns the definition files of the given context that must be parsed
+	 * and translated to regenerate the given libraries: the files of these
+	 * libraries and of the libraries they depend on (directly or not), and the
+	 * files that do not belong to a library. The files referenced by the
+	 * returned files are parsed as well.
+	 */
+	public List<File> getDefinitionsToParse(Context context, Set<String> libraries) {
+		Set<String> requiredLibraries = new HashSet<>(libraries);
+		LinkedList<String> toVisit = new LinkedList<>(libraries);
+		while (!toVisit.isEmpty()) {
+			for (String dependency : dependencies.getOrDefault(toVisit.removeFirst(), Collections.emptyList())) {
+				if (requiredLibraries.add(dependency)) {
+					toVisit.add(dependency);
+				}
+			}
+		}
+		List<File> definitions = new ArrayList<>();
+		for (File definition : context.getAllDefinitions()) {
+			FileState input = inputs.get(getInputKey(definition));
+			if (input == null || input.library == null
+					|| !Collections.disjoint(requiredLibraries, input.getLibraries())) {
+				definitions.add(definition);
+			} else {
+				logger.info("skipping unaffected definition file: " + definition);
+			}
+		}
+		return definitions;
+	}
+
+	private static void addDependents(Map<String, Set<String>> dependents, String library,
+			List<String> dependencies) {
+		if (dependencies == null) {
+			return;
+		}
+		for (String dependency : dependencies) {
+			dependents.computeIfAbsent(dependency, d -> new HashSet<>()).add(library);
+		}
+	}
+
+	/**
+	 * Returns the output files previously generated for the given libraries.
+	 */
+	public List<File> getOutputFiles(File outputDir, Set<String> libraries) {
+		List<File> files = new ArrayList<>();
+		for (Entry<String, FileState> output : outputs.entrySet()) {
+			if (libraries.contains(output.getValue().library)) {
+				files.add(new File(outputDir, output.getKey()));
+			}
+		}
+		return files;
+	}
+
+	private static String getOptions(Context context) {
+		List<String> libraries = new ArrayList<>();
+		for (File library : context.getLibrariesDefinitions()) {
+			libraries.add(getInputKey(library));
+		}
+		Collections.sort(libraries);
+		return "fetchJavadoc=" + context.fetchJavadoc + ";libraries=" + StringUtils.join(libraries, ',');
+	}
+
+	private static String getLibrary(CompilationUnit compilationUnit) {
+		return compilationUnit.getMainModule() == null ? null : compilationUnit.getMainModule().getName();
+	}
+
+	private static String getInputKey(File file) {
+		return file.getAbsoluteFile().toPath().normalize().toString();
+	}
+
+	private static String getOutputKey(File outputDir, File file) {
+		return outputDir.getAbsoluteFile().toPath().normalize()
+				.relativize(file.getAbsoluteFile().toPath().normalize()).toString().replace(File.separatorChar, '/');
+	}
+
+	/**
+	 * Returns the SHA-1 hash of the given file content, or an empty string if
+	 * the file does not exist.
+	 */
+	static String hash(File file) throws IOException {
+		if (!file.isFile()) {
+			return "";
+		}
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+		byte[] bytes = digest.digest(FileUtils.readFileToByteArray(file));
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+}
@@ -27,9 +27,15 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.FileUtils;
@@ -37,9 +43,12 @@ import org.apache.log4j.Logger;
 import org.jsweet.JSweetDefTranslatorConfig;
 import org.jsweet.input.typescriptdef.ast.CompilationUnit;
 import org.jsweet.input.typescriptdef.ast.Context;
+import org.jsweet.input.typescriptdef.ast.Names;
 import org.jsweet.input.typescriptdef.ast.Scanner;
 import org.jsweet.input.typescriptdef.ast.Token;
+import org.jsweet.input.typescriptdef.ast.Visitable;
 import org.jsweet.input.typescriptdef.parser.TypescriptDefParser;
+import org.jsweet.input.typescriptdef.util.OutputWriter;
 import org.jsweet.input.typescriptdef.util.Util;
 import org.jsweet.input.typescriptdef.visitor.ConstructorInterfacesMerger;
 import org.jsweet.input.typescriptdef.visitor.ConstructorTypeReferenceReplacer;
@@ -112,7 +121,7 @@ public class TypescriptDef2Java {
 		}
 	}
 
-	private static void scan(CompilationUnit compilationUnit, Scanner scanner) {
+	static void scan(CompilationUnit compilationUnit, Scanner scanner) {
 		try {
 			scanner.scan(compilationUnit);
 		} catch (Exception e) {
@@ -153,17 +162,6 @@ public class TypescriptDef2Java {
 				false, true);
 	}
 
-	private static Pattern refPattern = Pattern.compile("^///\\p{Blank}*<.*$");
-
-	private static void grabReferences(CompilationUnit cu) throws IOException {
-		for (String s : FileUtils.readLines(cu.getFile())) {
-			Matcher m = refPattern.matcher(s);
-			if (m.matches()) {
-				cu.addReference(s);
-			}
-		}
-	}
-
 	@SuppressWarnings("serial")
 	private static final Map<String, String[]> IGNORED_REFERENCES = new HashMap<String, String[]>() {
 		{
@@ -171,51 +169,106 @@ public class TypescriptDef2Java {
 		}
 	};
 
-	private static void parse(Context context, File f) throws IOException {
-		// context.compilationUnits.stream().map((cu) -> { return
-		// cu.getFile();}).
-		if (context.compilationUnits.contains(new CompilationUnit(f))) {
+	/**
+	 * Parses the given definition files and the files they reference. The
+	 * files are parsed concurrently: a referenced file is submitted to the
+	 * pool as soon as the file referencing it is parsed. The compilation units
+	 * are then added to the context in the same order as a sequential
+	 * depth-first parsing would add them.
+	 */
+	public static void parse(Context context, List<File> files) throws IOException {
+		int threadCount = Runtime.getRuntime().availableProcessors();
+		logger.info("parsing " + files.size() + " definition files with " + threadCount + " threads");
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			CompletionService<TypescriptDefParser> completionService = new ExecutorCompletionService<>(executor);
+			Map<File, Future<TypescriptDefParser>> parsers = new HashMap<>();
+			for (File f : files) {
+				if (context.getCompilationUnit(f) == null && !parsers.containsKey(f)) {
+					parsers.put(f, completionService.submit(() -> TypescriptDefParser.parseFile(f)));
+				}
+			}
+			for (int pendingCount = parsers.size(); pendingCount > 0; pendingCount--) {
+				CompilationUnit compilationUnit = get(completionService.take()).compilationUnit;
+				for (String reference : compilationUnit.getReferences()) {
+					String path = Util.getLibPathFromReference(reference);
+					if (path != null) {
+						File dep = getDependency(compilationUnit.getFile(), path);
+						if (dep.exists() && !isIgnoredReference(compilationUnit.getFile(), path)
+								&& context.getCompilationUnit(dep) == null && !parsers.containsKey(dep)) {
+							parsers.put(dep, completionService.submit(() -> TypescriptDefParser.parseFile(dep)));
+							pendingCount++;
+						}
+					}
+				}
+			}
+			for (File f : files) {
+				addCompilationUnit(context, f, parsers);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted while parsing", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static <T> T get(Future<T> future) throws IOException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	private static void addCompilationUnit(Context context, File f, Map<File, Future<TypescriptDefParser>> parsers)
+			throws IOException, InterruptedException {
+		if (context.getCompilationUnit(f) != null) {
 			// logger.info("skipping: " + f);
 			return;
 		}
 		logger.info("parsing: " + f);
-		// This class is automatically generated by CUP (please generate to compile)
-		TypescriptDefParser parser = TypescriptDefParser.parseFile(f);
+		TypescriptDefParser parser = get(parsers.get(f));
 		context.compilationUnits.add(parser.compilationUnit);
-		grabReferences(parser.compilationUnit);
 		for (String reference : parser.compilationUnit.getReferences()) {
 			String path = Util.getLibPathFromReference(reference);
 			if (path != null) {
-				File dep = new File(f.getParent(), path);
+				File dep = getDependency(f, path);
 				if (!dep.exists()) {
 					context.reportError("dependency '" + dep + "' does not exist", (Token) null);
 				} else {
-					File tsDefFile = parser.compilationUnit.getFile();
-					boolean ignored = isIgnoredReference(tsDefFile, path);
-					if (dep.getPath().contains("..")) {
-						try {
-							Path currentPath = new File("").getAbsoluteFile().toPath();
-							Path depPath = dep.getCanonicalFile().toPath();
-							logger.debug("depPath: " + depPath);
-							Path relPath = currentPath.relativize(depPath);
-							if (!relPath.toString().contains("..")) {
-								dep = relPath.toFile();
-							}
-						} catch (Exception e) {
-							e.printStackTrace();
-						}
-					}
 					logger.info("handling dependency: " + dep);
-					if (ignored) {
+					if (isIgnoredReference(parser.compilationUnit.getFile(), path)) {
 						context.getDependenciesDefinitions().add(dep);
 					} else {
-						parse(context, dep);
+						addCompilationUnit(context, dep, parsers);
 					}
 				}
 			}
 		}
 	}
 
+	private static File getDependency(File tsDefFile, String path) {
+		File dep = new File(tsDefFile.getParent(), path);
+		if (dep.exists() && dep.getPath().contains("..")) {
+			try {
+				Path currentPath = new File("").getAbsoluteFile().toPath();
+				Path depPath = dep.getCanonicalFile().toPath();
+				logger.debug("depPath: " + depPath);
+				Path relPath = currentPath.relativize(depPath);
+				if (!relPath.toString().contains("..")) {
+					dep = relPath.toFile();
+				}
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+		return dep;
+	}
+
 	private static boolean isIgnoredReference(File tsDefFile, String path) {
 
 		for (Map.Entry<String, String[]> ignoredReferenceEntry : IGNORED_REFERENCES.entrySet()) {
@@ -267,6 +320,31 @@ public class TypescriptDef2Java {
 			File cacheDir, //
 			boolean fetchJavadoc, //
 			boolean copyTsDefs) throws Throwable {
+		return translate(tsDefFiles, tsDefDependencies, outputDir, cacheDir, fetchJavadoc, copyTsDefs, false);
+	}
+
+	/**
+	 * Translates the given definition files to Java.
+	 * 
+	 * @param incremental
+	 *            if true, only the libraries affected by the changes since
+	 *            the last translation to the output directory are
+	 *            regenerated, and the other generated files are left
+	 *            untouched (see {@link TranslationState})
+	 * @return the translation context, which holds the compilation units that
+	 *         were parsed and translated: in incremental mode, the libraries
+	 *         that are not affected by the changes (and that no affected
+	 *         library depends on) are not parsed, and the context holds no
+	 *         compilation unit when the output directory is up to date
+	 */
+	public static Context translate( //
+			List<File> tsDefFiles, //
+			List<File> tsDefDependencies, //
+			File outputDir, //
+			File cacheDir, //
+			boolean fetchJavadoc, //
+			boolean copyTsDefs, //
+			boolean incremental) throws Throwable {
 
 		// comp.compile(fileObjects);
 		logger.info("input files: " + tsDefFiles);
@@ -281,13 +359,24 @@ public class TypescriptDef2Java {
 
 		logger.info("all definitions: " + context.getAllDefinitions());
 
-		for (File f : context.getAllDefinitions()) {
-			parse(context, f);
-		}
+		TranslationState previousState = incremental ? TranslationState.load(outputDir) : null;
+		Set<String> libraries = previousState == null ? null
+				: previousState.getAffectedLibraries(context, outputDir);
+		if (libraries != null && libraries.isEmpty()) {
+			logger.info("output directory is up to date");
+		} else {
+			parse(context, libraries == null ? context.getAllDefinitions()
+					: previousState.getDefinitionsToParse(context, libraries));
 
-		translateAst(context);
+			translateAst(context);
 
-		printAst(outputDir, context);
+			Map<File, String> writtenFiles = printAst(outputDir, context, previousState, libraries);
+
+			if (incremental) {
+				TranslationState.create(context, outputDir, writtenFiles, libraries == null ? null : previousState,
+						libraries).save(outputDir);
+			}
+		}
 
 		// copies core built-in srcs
 		// if (context.getLibrariesDefinitions()
@@ -341,119 +430,261 @@ public class TypescriptDef2Java {
 			// createLibFile(tsdefDir);
 			// mergeDomToCore(tsdefDir);
 		}
+		// the names of this translation no longer need to be shared with the
+		// next translations
+		Names.clear();
 		return context;
 	}
 
-	public static void printAst(File outputDir, Context context) {
+	public static void printAst(File outputDir, Context context) throws IOException {
+		printAst(outputDir, context, null, null);
+	}
+
+	/**
+	 * Prints the given libraries (all the libraries if null, in which case the
+	 * other files of the output directory are removed), and returns the
+	 * generated files. The files which content did not change are not
+	 * rewritten.
+	 */
+	private static Map<File, String> printAst(File outputDir, Context context, TranslationState previousState,
+			Set<String> libraries) throws IOException {
 		outputDir.mkdirs();
+		if (libraries != null) {
+			logger.info("regenerating libraries: " + libraries);
+		}
+		List<JavaDefModelPrinter> renderers = render(context, outputDir, libraries);
+		JavaDefModelPrinter printer;
+		try (OutputWriter writer = new OutputWriter()) {
+			printer = new JavaDefModelPrinter(context, outputDir, libraries, writer);
+			printer.onScanStart();
+			for (int i = 0; i < renderers.size(); i++) {
+				printer.write(renderers.get(i));
+				logger.info("translated " + context.compilationUnits.get(i));
+			}
+			// writes the module documentations
+			printer.onScanEnded();
+			writer.flush();
+			logger.info(writer.getWrittenCount() + " files written, " + writer.getSkippedCount()
+					+ " unchanged files skipped");
+		}
+		if (libraries == null) {
+			removeOtherFiles(outputDir, printer.getWrittenFiles().keySet());
+		} else {
+			// removes the files that are no longer generated
+			for (File f : previousState.getOutputFiles(outputDir, libraries)) {
+				if (!printer.getWrittenFiles().containsKey(f)) {
+					logger.info("removing " + f);
+					FileUtils.deleteQuietly(f);
+				}
+			}
+		}
+		return printer.getWrittenFiles();
+	}
+
+	/**
+	 * Renders the compilation units of the given context concurrently, each
+	 * with its own printer (see
+	 * {@link JavaDefModelPrinter#createRenderer(Context, File, Set)}), and
+	 * returns the printers in the order of the compilation units, so that the
+	 * files can then be written in the same order as a sequential printing
+	 * would write them.
+	 */
+	private static List<JavaDefModelPrinter> render(Context context, File outputDir, Set<String> libraries)
+			throws IOException {
+		long startTime = System.currentTimeMillis();
+		int threadCount = Math.max(1,
+				Math.min(Runtime.getRuntime().availableProcessors(), context.compilationUnits.size()));
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
 		try {
-			FileUtils.cleanDirectory(outputDir);
-		} catch (IOException e) {
-			logger.error("did not clean output directory: " + outputDir, e);
+			List<Future<JavaDefModelPrinter>> renderings = new ArrayList<>();
+			for (CompilationUnit compilationUnit : context.compilationUnits) {
+				renderings.add(executor.submit(() -> {
+					JavaDefModelPrinter renderer = JavaDefModelPrinter.createRenderer(context, outputDir, libraries);
+					scan(asList(compilationUnit), renderer);
+					return renderer;
+				}));
+			}
+			List<JavaDefModelPrinter> renderers = new ArrayList<>();
+			for (Future<JavaDefModelPrinter> rendering : renderings) {
+				renderers.add(get(rendering));
+			}
+			logger.info(renderers.size() + " compilation units rendered with " + threadCount + " threads in "
+					+ (System.currentTimeMillis() - startTime) + "ms");
+			return renderers;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted while rendering", e);
+		} finally {
+			executor.shutdownNow();
 		}
-		scan((cu, scanner) -> {
-			logger.info("translated " + cu);
-		}, context.compilationUnits, new JavaDefModelPrinter(context, outputDir));
+	}
+
+	/**
+	 * Removes the files of the given directory (and the resulting empty
+	 * directories) that are not in the given set.
+	 *
+	 * @return true if the directory is empty after the removal
+	 */
+	private static boolean removeOtherFiles(File directory, Set<File> files) {
+		File[] children = directory.listFiles();
+		if (children == null) {
+			return false;
+		}
+		boolean empty = true;
+		for (File child : children) {
+			if (child.isDirectory()) {
+				if (removeOtherFiles(child, files)) {
+					child.delete();
+				} else {
+					empty = false;
+				}
+			} else if (!files.contains(child)) {
+				logger.debug("removing " + child);
+				child.delete();
+			} else {
+				empty = false;
+			}
+		}
+		return empty;
+	}
+
+	/**
+	 * Logs the number of AST nodes and of shared names, and the used heap
+	 * (measured after a garbage collection in debug mode).
+	 */
+	private static void reportAstSize(Context context, String phase) {
+		if (!logger.isInfoEnabled()) {
+			return;
+		}
+		int[] nodeCount = { 0 };
+		Scanner counter = new Scanner(context) {
+			@Override
+			public void scan(Visitable visitable) {
+				if (visitable != null && !visitable.isHidden()) {
+					nodeCount[0]++;
+				}
+				super.scan(visitable);
+			}
+		};
+		counter.scan(context.compilationUnits);
+		if (logger.isDebugEnabled()) {
+			System.gc();
+		}
+		Runtime runtime = Runtime.getRuntime();
+		logger.info("AST " + phase + ": " + nodeCount[0] + " nodes, " + Names.size() + " shared names, "
+				+ (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024) + "MB of heap used");
 	}
 
 	public static void translateAst(Context context) {
+		translateAst(context, new PassScheduler(context));
+	}
+
+	/**
+	 * Translates the AST by scheduling the translation passes on the given
+	 * scheduler.
+	 */
+	public static void translateAst(Context context, PassScheduler scheduler) {
 
 		// List<QualifiedDeclaration<TypeDeclaration>> l =
 		// context.findDeclarations(TypeDeclaration.class, "*.HTMLAttributes");
 		// System.out.println();
 
-		scan(context.compilationUnits, new NameChecker(context));
+		scheduler.pass(new NameChecker(context));
 
-		scan(context.compilationUnits, new FunctionTypeOfReplacer(context));
+		scheduler.pass(new FunctionTypeOfReplacer(context));
 
-		scan(context.compilationUnits, new ImportedAndExportedReferenceExpander(context, false));
-		scan(context.compilationUnits, new ImportedAndExportedReferenceExpander(context, true));
+		scheduler.pass(new ImportedAndExportedReferenceExpander(context, false));
+		scheduler.pass(new ImportedAndExportedReferenceExpander(context, true));
 
-		scan(context.compilationUnits, new EmptyModulesCleaner(context));
+		scheduler.pass(new EmptyModulesCleaner(context));
 
 		// assign module names
-		scan(context.compilationUnits, new PackageOrganizer(context), new TypeKindChooser(context),
-				new DeclarationBinder(context));
+		scheduler.pass(new PackageOrganizer(context), new TypeKindChooser(context), new DeclarationBinder(context));
 
-		context.checkConsistency();
+		scheduler.then(() -> {
+			context.checkConsistency();
 
-		logger.info("dumping initial state");
-		context.dump(logger);
+			logger.info("dumping initial state");
+			context.dump(logger);
 
-		try {
-			Util.createDependencyGraph(context);
-			logger.info("dependency graph: " + context.dependencyGraph);
-		} catch (IOException e) {
-			logger.error("error when contructing dependency graph", e);
-		}
+			try {
+				Util.createDependencyGraph(context);
+				logger.info("dependency graph: " + context.dependencyGraph);
+			} catch (IOException e) {
+				logger.error("error when contructing dependency graph", e);
+			}
+		});
 
-		// scan(context.compilationUnits, new GlobalsCreator(context));
+		// scheduler.pass(new GlobalsCreator(context));
 
-		scan(context.compilationUnits, new ModuleToTypeMerger(context));
-		scan(context.compilationUnits, new ObjectTypeCreator(context), new ObjectTypeDuplicateMerger(context));
-		scan(context.compilationUnits, new ConstructorInterfacesMerger(context));
-		scan(context.compilationUnits, new TypeMerger(context));
+		scheduler.pass(new ModuleToTypeMerger(context));
+		scheduler.pass(new ObjectTypeCreator(context), new ObjectTypeDuplicateMerger(context));
+		scheduler.pass(new ConstructorInterfacesMerger(context));
+		scheduler.pass(new TypeMerger(context));
 
-		scan(context.compilationUnits, new SuperTypesMerger(context));
+		scheduler.pass(new SuperTypesMerger(context));
 		// does not work (prototype clashing)
-		// scan(context.compilationUnits, new
-		// FunctionalParametersExpander(context));
-		
-		logger.info("TypeReferenceExpander");
-		scan(context.compilationUnits, new TypeReferenceExpander(context));
+		// scheduler.pass(new FunctionalParametersExpander(context));
+
+		scheduler.pass(new TypeReferenceExpander(context));
+
+		scheduler.then(context::calculateArrayTypes);
 
-		context.calculateArrayTypes();
+		scheduler.pass(new TypeMacroReplacer(context));
 
-		scan(context.compilationUnits, new TypeMacroReplacer(context));
+		scheduler.pass(new UnionTypesEraser(context));
 
-		scan(context.compilationUnits, new UnionTypesEraser(context));
+		// scheduler.pass(new TypeReferenceChecker(context));
 
-		// scan(context.compilationUnits, new TypeReferenceChecker(context));
+		scheduler.then(() -> reportAstSize(context, "before expansions"));
 
-		scan(context.compilationUnits, new OptionalParametersExpander(context),
+		scheduler.pass(new OptionalParametersExpander(context),
 				new OptionalParametersInFunctionalTypesExpander(context), new UnionTypesExpander(context),
 				new StringTypeCreator(context), new FunctionalInterfacesCreator(context),
 				new TypeParametersSubstitutor(context), new DynamicTypeParametersExpander(context),
 				new TupleTypeCreator(context));
 
+		scheduler.then(() -> reportAstSize(context, "after expansions"));
+
 		// optional parameters must have been fully expanded in super classes
-		scan(context.compilationUnits, new ParentMethodReturnTypeSusbtitutor(context));
+		scheduler.pass(new ParentMethodReturnTypeSusbtitutor(context));
 
-		scan(context.compilationUnits, new GlobalsCreator(context), new FieldTypeFunctionInjector(context));
+		scheduler.pass(new GlobalsCreator(context), new FieldTypeFunctionInjector(context));
 
 		// binds declarations again to grab newly created inner types
-		scan(context.compilationUnits, new DeclarationBinder(context));
+		scheduler.pass(new DeclarationBinder(context));
 
-		scan(context.compilationUnits, new FactoryMethodsCreator(context));
+		scheduler.pass(new FactoryMethodsCreator(context));
 
 		// run type expansion again for partial names that would reference an
 		// import
-		scan(context.compilationUnits, new TypeReferenceExpander(context));
+		scheduler.pass(new TypeReferenceExpander(context));
 
-		// context.dump(System.out);
-		scan(context.compilationUnits, new NameAdapter(context), new DeclarationBinder(context));
+		scheduler.pass(new NameAdapter(context), new DeclarationBinder(context));
 		// TODO : this should be the last and it should ignore java.util.* and
 		// so on
-		scan(context.compilationUnits, new TypeReferenceChecker(context));
+		scheduler.pass(new TypeReferenceChecker(context));
 
-		scan(context.compilationUnits, new IterableInjector(context));
+		scheduler.pass(new IterableInjector(context));
 
-		scan(context.compilationUnits, new FunctionKindAdapter(context));
+		scheduler.pass(new FunctionKindAdapter(context));
 
-		scan(context.compilationUnits, new UnionInterfacesCreator(context));
+		scheduler.pass(new UnionInterfacesCreator(context));
 
-		scan(context.compilationUnits, new EmptyConstructorAdder(context), new SerializableHandler(context));
+		scheduler.pass(new EmptyConstructorAdder(context), new SerializableHandler(context));
 
-		scan(context.compilationUnits, new ConstructorTypeReferenceReplacer(context));
+		scheduler.pass(new ConstructorTypeReferenceReplacer(context));
 
-		scan(context.compilationUnits, new DuplicateMethodsCleaner(context));
+		scheduler.pass(new DuplicateMethodsCleaner(context));
 
-		scan(context.compilationUnits, new ForEachClashRemover(context));
+		scheduler.pass(new ForEachClashRemover(context));
 
 		if (context.fetchJavadoc) {
-			scan(context.compilationUnits, new DocFiller(context));
+			scheduler.pass(new DocFiller(context));
 		}
 
+		scheduler.run();
+
 		// l = context.findDeclarations(TypeDeclaration.class,
 		// "*.HTMLAttributes");
 		// System.out.println();
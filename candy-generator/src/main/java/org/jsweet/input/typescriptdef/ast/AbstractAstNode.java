@@ -29,6 +29,11 @@ public abstract class AbstractAstNode implements AstNode {
 	public int nodeTypeId = -1;
 	private boolean hidden = false;
 
+	/**
+	 * Set when the node is scanned to build a declaration index.
+	 */
+	volatile DeclarationIndex.Stamp declarationIndexStamp;
+
 	public AbstractAstNode(Token token) {
 		super();
 		// if(token==null) {
@@ -63,7 +68,30 @@ public abstract class AbstractAstNode implements AstNode {
 
 	@Override
 	public void setHidden(boolean hidden) {
+		declarationsChanged();
 		this.hidden = hidden;
 	}
 
+	/**
+	 * To be called by the setters that add, remove or hide declarations in
+	 * this node, so that the declaration index holding the node, if any, is
+	 * rebuilt on the next lookup of the changed names.
+	 */
+	protected final void declarationsChanged() {
+		DeclarationIndex.Stamp stamp = declarationIndexStamp;
+		if (stamp != null) {
+			stamp.declarationsChanged();
+		}
+	}
+
+	/**
+	 * To be called by the setters that rename this node.
+	 */
+	protected final void nameChanged() {
+		DeclarationIndex.Stamp stamp = declarationIndexStamp;
+		if (stamp != null) {
+			stamp.nameChanged();
+		}
+	}
+
 }
@@ -53,9 +53,13 @@ public abstract class AbstractDeclaration extends AbstractAstNode implements Dec
 		return modifiers;
 	}
 
+	/**
+	 * Sets the modifiers of this declaration. The given set is not kept: this
+	 * declaration holds the shared instance of the set (see {@link Names}).
+	 */
 	@Override
 	public void setModifiers(Set<String> modifiers) {
-		this.modifiers = modifiers;
+		this.modifiers = Names.modifiers(modifiers);
 	}
 
 	@Override
@@ -70,11 +74,12 @@ public abstract class AbstractDeclaration extends AbstractAstNode implements Dec
 
 	@Override
 	public void setName(String name) {
+		nameChanged();
 		if (name != null && (name.contains("\"") || name.contains("'"))) {
-			this.name = name.replace("\"", "").replace("'", "");
+			this.name = Names.intern(name.replace("\"", "").replace("'", ""));
 			setQuotedName(true);
 		} else {
-			this.name = name;
+			this.name = Names.intern(name);
 		}
 	}
 
@@ -90,9 +95,7 @@ public abstract class AbstractDeclaration extends AbstractAstNode implements Dec
 
 	@Override
 	public void addModifier(String modifier) {
-		if (modifiers == null) {
-			modifiers = new HashSet<String>();
-		}
+		Set<String> modifiers = this.modifiers == null ? new HashSet<String>() : new HashSet<String>(this.modifiers);
 		if (modifier.contains(" ")) {
 			for (String s : modifier.split(" ")) {
 				modifiers.add(s);
@@ -100,12 +103,15 @@ public abstract class AbstractDeclaration extends AbstractAstNode implements Dec
 		} else {
 			modifiers.add(modifier);
 		}
+		setModifiers(modifiers);
 	}
 
 	@Override
 	public void removeModifier(String modifier) {
-		if (modifiers != null) {
+		if (modifiers != null && modifiers.contains(modifier)) {
+			Set<String> modifiers = new HashSet<String>(this.modifiers);
 			modifiers.remove(modifier);
+			setModifiers(modifiers);
 		}
 	}
 
@@ -319,7 +325,7 @@ public abstract class AbstractDeclaration extends AbstractAstNode implements Dec
 
 	@Override
 	public void setOriginalName(String originalName) {
-		this.originalName = originalName;
+		this.originalName = Names.intern(originalName);
 	}
 
 }
@@ -46,6 +46,7 @@ public abstract class AbstractTypedDeclaration extends AbstractDeclaration imple
 	}
 
 	public void setType(TypeReference type) {
+		declarationsChanged();
 		this.type = type;
 	}
 
@@ -51,6 +51,7 @@ public class ArrayTypeReference extends TypeReference {
 	}
 
 	public void setComponentType(TypeReference componentType) {
+		declarationsChanged();
 		this.componentType = componentType;
 	}
 
@@ -101,7 +102,7 @@ public class ArrayTypeReference extends TypeReference {
 	@Override
 	public boolean substituteTypeReference(TypeReference targetType, TypeReference newType) {
 		if (componentType == targetType) {
-			componentType = newType;
+			setComponentType(newType);
 			return true;
 		}
 		return false;
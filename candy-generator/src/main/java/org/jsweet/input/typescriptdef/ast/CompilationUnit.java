@@ -43,6 +43,11 @@ public class CompilationUnit implements Visitable, DeclarationContainer {
 
 	private boolean external = false;
 
+	/**
+	 * Set when the unit is scanned to build its declaration index.
+	 */
+	volatile DeclarationIndex.Stamp declarationIndexStamp;
+
 	public CompilationUnit(File file) {
 		super();
 		this.file = file;
@@ -61,6 +66,7 @@ public class CompilationUnit implements Visitable, DeclarationContainer {
 	}
 
 	public void setDeclarations(Declaration[] declarations) {
+		declarationsChanged();
 		this.declarations = declarations;
 	}
 
@@ -81,21 +87,25 @@ public class CompilationUnit implements Visitable, DeclarationContainer {
 
 	@Override
 	public void addMember(Declaration declaration) {
+		declarationsChanged();
 		declarations = DeclarationHelper.addMember(this, declaration);
 	}
 
 	@Override
 	public void removeMember(Declaration declaration) {
+		declarationsChanged();
 		declarations = DeclarationHelper.removeMember(this, declaration);
 	}
 
 	@Override
 	public void replaceMember(Declaration existingDeclaration, Declaration withNewDeclaration) {
+		declarationsChanged();
 		declarations = DeclarationHelper.replaceMember(this, existingDeclaration, withNewDeclaration);
 	}
 
 	@Override
 	public void clearMembers() {
+		declarationsChanged();
 		declarations = new Declaration[0];
 	}
 
@@ -106,9 +116,17 @@ public class CompilationUnit implements Visitable, DeclarationContainer {
 
 	@Override
 	public void setHidden(boolean hidden) {
+		declarationsChanged();
 		this.hidden = hidden;
 	}
 
+	private void declarationsChanged() {
+		DeclarationIndex.Stamp stamp = declarationIndexStamp;
+		if (stamp != null) {
+			stamp.declarationsChanged();
+		}
+	}
+
 	@Override
 	public FunctionDeclaration findFirstFunction(String name) {
 		return DeclarationHelper.findFirstFunction(this, name);
@@ -22,20 +22,24 @@ import static org.jsweet.JSweetDefTranslatorConfig.*;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 import java.io.File;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.apache.log4j.Logger;
 import org.jsweet.JSweetDefTranslatorConfig;
-import org.jsweet.input.typescriptdef.util.DeclarationFinder;
 import org.jsweet.util.DirectedGraph;
+import org.jsweet.util.DisjointSets;
 
 /**
  * The TypeScript definitions to Java translation context.
@@ -64,7 +68,9 @@ public class Context {
 
 	public File cacheDir = new File("cache");
 
-	public List<CompilationUnit> compilationUnits = new ArrayList<CompilationUnit>();
+	private final CompilationUnitList compilationUnitList = new CompilationUnitList();
+
+	public final List<CompilationUnit> compilationUnits = compilationUnitList;
 
 	public DirectedGraph<String> dependencyGraph;
 
@@ -99,10 +105,18 @@ public class Context {
 
 	public Map<FullFunctionDeclaration, FullFunctionDeclaration> overrides = new HashMap<FullFunctionDeclaration, FullFunctionDeclaration>();
 	public Map<FullFunctionDeclaration, FullFunctionDeclaration> overridens = new HashMap<FullFunctionDeclaration, FullFunctionDeclaration>();
-	public List<Set<FullFunctionDeclaration>> duplicates = new ArrayList<Set<FullFunctionDeclaration>>();
+	public DisjointSets<FullFunctionDeclaration> duplicates = new DisjointSets<FullFunctionDeclaration>();
+
+	private final Map<CompilationUnit, DeclarationIndex> declarationIndexes = new IdentityHashMap<>();
+
+	private Map<String, Pattern> declarationPatterns = new ConcurrentHashMap<>();
+
+	private Map<File, CompilationUnit> compilationUnitsByFile = new HashMap<>();
+
+	private int indexedCompilationUnitsModificationCount = -1;
 
-	private List<String> errors = new ArrayList<>();
-	private List<String> warnings = new ArrayList<>();
+	private final List<String> errors = new ArrayList<>();
+	private final List<String> warnings = new ArrayList<>();
 
 	public final boolean fetchJavadoc;
 
@@ -116,7 +130,9 @@ public class Context {
 	}
 
 	private void reportError(String errorMessage, Throwable cause) {
-		errors.add(errorMessage);
+		synchronized (errors) {
+			errors.add(errorMessage);
+		}
 		if (cause == null) {
 			logger.error(errorMessage);
 		} else {
@@ -125,7 +141,9 @@ public class Context {
 	}
 
 	public void reportWarning(String errorMessage) {
-		warnings.add(errorMessage);
+		synchronized (warnings) {
+			warnings.add(errorMessage);
+		}
 		logger.warn(errorMessage);
 	}
 
@@ -146,6 +164,7 @@ public class Context {
 	}
 
 	public void registerType(String name, TypeDeclaration declaration) {
+		name = Names.intern(name);
 		typeNames.put(declaration, name);
 		// first type wins (duplicate declarations will merge to the first
 		// one, see TypeMerger)
@@ -310,21 +329,7 @@ public class Context {
 	}
 
 	public void addDuplicate(FullFunctionDeclaration function1, FullFunctionDeclaration function2) {
-		boolean added = false;
-		for (Set<FullFunctionDeclaration> s : duplicates) {
-			if (s.contains(function1) || s.contains(function2)) {
-				s.add(function1);
-				s.add(function2);
-				added = true;
-				break;
-			}
-		}
-		if (!added) {
-			Set<FullFunctionDeclaration> s = new HashSet<FullFunctionDeclaration>();
-			s.add(function1);
-			s.add(function2);
-			duplicates.add(s);
-		}
+		duplicates.union(function1, function2);
 	}
 
 	public void addOverride(FullFunctionDeclaration override, FullFunctionDeclaration overridden) {
@@ -454,6 +459,31 @@ public class Context {
 		return sb.toString();
 	}
 
+	/**
+	 * Returns the signature of the given function once the parameter types are
+	 * erased, with all the constructors sharing the same name. Two functions
+	 * with the same erased signature clash in Java. Returns null if a parameter
+	 * type cannot be erased.
+	 */
+	public String getErasedSignature(FunctionDeclaration function) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(function.isConstructor() ? "<init>" : function.getName());
+		sb.append("(");
+		for (ParameterDeclaration p : function.getParameters()) {
+			String erasedName = getTypeNameErased(p.getType());
+			if (erasedName == null) {
+				return null;
+			}
+			sb.append(erasedName);
+			sb.append(",");
+		}
+		if (function.getParameters().length > 0) {
+			sb.deleteCharAt(sb.length() - 1);
+		}
+		sb.append(")");
+		return sb.toString();
+	}
+
 	public List<File> getDependenciesDefinitions() {
 		return dependenciesDefinitions;
 	}
@@ -483,7 +513,7 @@ public class Context {
 	}
 
 	public void registerModule(String name, ModuleDeclaration moduleDeclaration) {
-		moduleNames.put(moduleDeclaration, name);
+		moduleNames.put(moduleDeclaration, Names.intern(name));
 	}
 
 	/**
@@ -553,38 +583,82 @@ public class Context {
 	public <T extends Declaration> List<QualifiedDeclaration<T>> findDeclarations(Class<T> type, String declFullName,
 			CompilationUnit... compilationUnits) {
 
-		final Pattern pattern = declFullName.contains("*")
-				? Pattern.compile(declFullName.replace(".", "\\.").replace("*", ".*")) : null;
-
-		DeclarationFinder<T> finder = new DeclarationFinder<>(this, new DeclarationFinder.Matcher<T>() {
-			@Override
-			public void matches(DeclarationFinder<T> scanner, Visitable node) {
-				String declarationName = scanner.getCurrentDeclarationName();
-				if (pattern != null) {
-					if (type.isInstance(node) && pattern.matcher(declarationName).matches()) {
-						scanner.setMatchState(true, true);
-					} else {
-						scanner.setMatchState(false, true);
-					}
-				} else {
-					if (declFullName.equals(declarationName)) {
-						if (type.isInstance(node)) {
-							scanner.setMatchState(true, false);
-						} else {
-							scanner.setMatchState(false, false);
-						}
-					} else if (declFullName.startsWith(declarationName)) {
-						scanner.setMatchState(false, true);
-					} else {
-						scanner.setMatchState(false, false);
-					}
+		Pattern pattern = null;
+		String simpleName = null;
+		if (declFullName.contains("*")) {
+			if (declFullName.startsWith("*.") && declFullName.indexOf('*', 1) < 0 && declFullName.indexOf('.', 2) < 0) {
+				simpleName = declFullName.substring(2);
+			} else {
+				pattern = declarationPatterns.get(declFullName);
+				if (pattern == null) {
+					pattern = Pattern.compile(declFullName.replace(".", "\\.").replace("*", ".*"));
+					declarationPatterns.put(declFullName, pattern);
+				}
+			}
+		}
+
+		List<QualifiedDeclaration<T>> matches = new ArrayList<>();
+		for (CompilationUnit compilationUnit : compilationUnits.length == 0 ? this.compilationUnits
+				: Arrays.asList(compilationUnits)) {
+			if (compilationUnit == null) {
+				continue;
+			}
+			DeclarationIndex index = getDeclarationIndex(compilationUnit,
+					pattern != null || simpleName != null ? null : declFullName);
+			List<QualifiedDeclaration<Declaration>> candidates;
+			if (pattern != null) {
+				candidates = index.getDeclarations();
+			} else if (simpleName != null) {
+				candidates = index.getDeclarationsBySimpleName(simpleName);
+			} else {
+				candidates = index.getDeclarations(declFullName);
+			}
+			for (QualifiedDeclaration<Declaration> candidate : candidates) {
+				if (type.isInstance(candidate.getDeclaration()) && (pattern == null
+						|| pattern.matcher(candidate.getQualifiedDeclarationName()).matches())) {
+					@SuppressWarnings("unchecked")
+					QualifiedDeclaration<T> match = (QualifiedDeclaration<T>) (QualifiedDeclaration<?>) candidate;
+					matches.add(match);
 				}
 			}
+		}
+		return matches;
+	}
+
+	/**
+	 * Gets the declaration index of the given compilation unit, which is
+	 * (re)built if the given qualified name (any name if null) was modified
+	 * since it was built.
+	 */
+	private DeclarationIndex getDeclarationIndex(CompilationUnit compilationUnit, String qualifiedName) {
+		synchronized (declarationIndexes) {
+			DeclarationIndex index = declarationIndexes.get(compilationUnit);
+			if (index == null || index.isStale(qualifiedName)) {
+				index = new DeclarationIndex(this, compilationUnit);
+				declarationIndexes.put(compilationUnit, index);
+			}
+			return index;
+		}
+	}
 
-		});
+	/**
+	 * Tells if the given index is the current index of its compilation unit.
+	 */
+	boolean isDeclarationIndexed(DeclarationIndex index) {
+		synchronized (declarationIndexes) {
+			return declarationIndexes.get(index.getCompilationUnit()) == index;
+		}
+	}
 
-		finder.scan(compilationUnits.length == 0 ? this.compilationUnits : Arrays.asList(compilationUnits));
-		return finder.getMatches();
+	/**
+	 * Marks all the declaration indexes as stale.
+	 */
+	void declarationIndexesChanged() {
+		synchronized (declarationIndexes) {
+			for (DeclarationIndex index : declarationIndexes.values()) {
+				index.changed("");
+			}
+		}
 	}
 
 	/**
@@ -645,14 +719,18 @@ public class Context {
 		return libModulesCompilationUnits.get(libModule);
 	}
 
-	public CompilationUnit getCompilationUnit(File tsDefFile) {
-		for (CompilationUnit compilUnit : compilationUnits) {
-			if (tsDefFile.equals(compilUnit.file)) {
-				return compilUnit;
+	public synchronized CompilationUnit getCompilationUnit(File tsDefFile) {
+		if (indexedCompilationUnitsModificationCount != compilationUnitList.modificationCount) {
+			compilationUnitsByFile.clear();
+			for (CompilationUnit compilUnit : compilationUnits) {
+				// first unit wins, as in a linear lookup
+				if (!compilationUnitsByFile.containsKey(compilUnit.file)) {
+					compilationUnitsByFile.put(compilUnit.file, compilUnit);
+				}
 			}
+			indexedCompilationUnitsModificationCount = compilationUnitList.modificationCount;
 		}
-
-		return null;
+		return compilationUnitsByFile.get(tsDefFile);
 	}
 
 	public final Map<TypeDeclaration, String> getTypeNames() {
@@ -680,4 +758,46 @@ public class Context {
 	public boolean isDependency(String libModule) {
 		return isDependency(getCompilationUnitForLibModule(libModule));
 	}
+
+	/**
+	 * A list of compilation units that counts all its modifications, including
+	 * the ones done through its iterators and sub-lists, so that the indexes
+	 * built from its contents can be invalidated.
+	 */
+	private static final class CompilationUnitList extends AbstractList<CompilationUnit> implements RandomAccess {
+
+		private final List<CompilationUnit> compilationUnits = new ArrayList<>();
+
+		private int modificationCount;
+
+		@Override
+		public CompilationUnit get(int index) {
+			return compilationUnits.get(index);
+		}
+
+		@Override
+		public int size() {
+			return compilationUnits.size();
+		}
+
+		@Override
+		public CompilationUnit set(int index, CompilationUnit compilationUnit) {
+			modificationCount++;
+			return compilationUnits.set(index, compilationUnit);
+		}
+
+		@Override
+		public void add(int index, CompilationUnit compilationUnit) {
+			modCount++;
+			modificationCount++;
+			compilationUnits.add(index, compilationUnit);
+		}
+
+		@Override
+		public CompilationUnit remove(int index) {
+			modCount++;
+			modificationCount++;
+			return compilationUnits.remove(index);
+		}
+	}
 }
@@ -28,6 +28,11 @@ import java.util.List;
  */
 public interface DeclarationContainer extends Visitable {
 
+	/**
+	 * Returns the members of this container. The returned array must not be
+	 * modified: use the member modification methods instead, so that the
+	 * declaration indexes of the context are invalidated.
+	 */
 	Declaration[] getMembers();
 
 	void addMember(Declaration declaration);
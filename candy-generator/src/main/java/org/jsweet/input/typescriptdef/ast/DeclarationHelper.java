@@ -116,10 +116,13 @@ public abstract class DeclarationHelper {
 	public static Declaration[] replaceMember(DeclarationContainer container, Declaration existingDeclaration,
 			Declaration withNewDeclaration) {
 		int index = ArrayUtils.indexOf(container.getMembers(), existingDeclaration);
-		if (index >= 0) {
-			container.getMembers()[index] = withNewDeclaration;
+		if (index < 0) {
+			return container.getMembers();
 		}
-		return container.getMembers();
+		// copy on write, as for the other member modifications
+		Declaration[] members = container.getMembers().clone();
+		members[index] = withNewDeclaration;
+		return members;
 	}
 
 	public static Declaration[] removeMember(DeclarationContainer container, Declaration declaration) {
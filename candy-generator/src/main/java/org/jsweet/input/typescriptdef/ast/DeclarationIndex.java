@@ -0,0 +1,291 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.ast;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsweet.input.typescriptdef.util.DeclarationFinder;
+
+/**
+ * The declarations of a compilation unit, indexed by fully qualified name and
+ * by simple name. The declarations are kept in the order of the AST, so that
+ * the lookups return the same matches, in the same order, as a full scan with
+ * a {@link DeclarationFinder}.
+ *
+ * <p>
+ * An index is a snapshot of the AST. While it is built, each scanned node is
+ * stamped with the index and with the qualified name of the innermost
+ * declaration holding it (see {@link Stamp}). When a node adds, removes,
+ * renames or hides declarations, it marks this name as stale in the index of
+ * its own compilation unit, and the {@link Context} only rebuilds the index
+ * when a lookup hits a stale name.
+ *
+ * @see Context#findDeclarations(Class, String, CompilationUnit...)
+ */
+class DeclarationIndex {
+
+	/**
+	 * The index holding an AST node, and the qualified name of the innermost
+	 * declaration holding the node (the node itself if it is a declaration).
+	 * All the declarations that a modification of the node can change have
+	 * this name or are nested in it.
+	 *
+	 * <p>
+	 * The index is weakly referenced, so that the nodes that are not scanned
+	 * anymore (removed or hidden) do not retain the indexes that were
+	 * replaced.
+	 */
+	static final class Stamp {
+
+		private final Context context;
+
+		private final WeakReference<DeclarationIndex> index;
+
+		/**
+		 * The qualified name, or null if the node belongs to several indexes.
+		 */
+		private final String name;
+
+		private Stamp(DeclarationIndex index, String name) {
+			this.context = index.context;
+			this.index = index.reference;
+			this.name = name;
+		}
+
+		/**
+		 * To be called when the stamped node adds, removes or hides
+		 * declarations.
+		 */
+		void declarationsChanged() {
+			changed(name);
+		}
+
+		/**
+		 * To be called when the stamped declaration is renamed, which changes
+		 * the names of the declarations of its container.
+		 */
+		void nameChanged() {
+			changed(name == null ? null : name.substring(0, Math.max(name.lastIndexOf('.'), 0)));
+		}
+
+		private void changed(String staleName) {
+			if (staleName == null) {
+				context.declarationIndexesChanged();
+			} else {
+				DeclarationIndex index = this.index.get();
+				if (index != null) {
+					index.changed(staleName);
+				}
+			}
+		}
+
+	}
+
+	private final Context context;
+
+	private final CompilationUnit compilationUnit;
+
+	private final WeakReference<DeclarationIndex> reference = new WeakReference<>(this);
+
+	private final List<QualifiedDeclaration<Declaration>> declarations;
+
+	private final Map<String, List<QualifiedDeclaration<Declaration>>> declarationsByName = new HashMap<>();
+
+	private final Map<String, List<QualifiedDeclaration<Declaration>>> declarationsBySimpleName = new HashMap<>();
+
+	/**
+	 * The stale qualified names (the empty name stands for the whole
+	 * compilation unit).
+	 */
+	private final Set<String> staleNames = new HashSet<>();
+
+	public DeclarationIndex(Context context, CompilationUnit compilationUnit) {
+		this.context = context;
+		this.compilationUnit = compilationUnit;
+		DeclarationFinder<Declaration> finder = new DeclarationFinder<Declaration>(context,
+				(scanner, node) -> scanner.setMatchState(node instanceof Declaration, true)) {
+			private Deque<Stamp> stamps = new ArrayDeque<>();
+			private int declarationDepth = 0;
+
+			@Override
+			public void scan(Visitable visitable) {
+				if (visitable == null) {
+					return;
+				}
+				Stamp stamp = stamps.isEmpty() ? new Stamp(DeclarationIndex.this, "") : stamps.peek();
+				boolean declaration = visitable instanceof Declaration;
+				if (declaration) {
+					String name = ((Declaration) visitable).getName();
+					stamp = new Stamp(DeclarationIndex.this,
+							declarationDepth == 0 ? String.valueOf(name) : stamp.name + "." + name);
+					declarationDepth++;
+				}
+				// hidden nodes are stamped too, since they can be unhidden
+				stamp(visitable, stamp);
+				stamps.push(stamp);
+				try {
+					super.scan(visitable);
+				} finally {
+					stamps.pop();
+					if (declaration) {
+						declarationDepth--;
+					}
+				}
+			}
+
+			/**
+			 * Same names as the default implementation, computed incrementally
+			 * and shared with the stamps.
+			 */
+			@Override
+			protected String getCurrentDeclarationName() {
+				return stamps.peek().name;
+			}
+		};
+		finder.scan(compilationUnit);
+		declarations = finder.getMatches();
+		for (QualifiedDeclaration<Declaration> declaration : declarations) {
+			String name = declaration.getQualifiedDeclarationName();
+			add(declarationsByName, name, declaration);
+			int i = name.lastIndexOf('.');
+			if (i >= 0) {
+				// "*.c" only matches qualified names
+				add(declarationsBySimpleName, name.substring(i + 1), declaration);
+			}
+		}
+	}
+
+	private void stamp(Visitable node, Stamp stamp) {
+		Stamp existingStamp;
+		if (node instanceof AbstractAstNode) {
+			existingStamp = ((AbstractAstNode) node).declarationIndexStamp;
+		} else if (node instanceof CompilationUnit) {
+			existingStamp = ((CompilationUnit) node).declarationIndexStamp;
+		} else {
+			return;
+		}
+		if (existingStamp != null) {
+			DeclarationIndex existingIndex = existingStamp.index.get();
+			if (existingIndex != this) {
+				if ((existingStamp.name == null && existingStamp.context == context)
+						|| (existingIndex != null && existingIndex.compilationUnit != compilationUnit
+								&& context.isDeclarationIndexed(existingIndex))) {
+					// the node is shared with another compilation unit
+					stamp = new Stamp(this, null);
+				}
+			} else if (existingStamp.name == null) {
+				stamp = existingStamp;
+			} else if (!existingStamp.name.equals(stamp.name)) {
+				// the node is reachable twice in this compilation unit
+				stamp = new Stamp(this, commonPrefix(existingStamp.name, stamp.name));
+			}
+		}
+		if (node instanceof AbstractAstNode) {
+			((AbstractAstNode) node).declarationIndexStamp = stamp;
+		} else {
+			((CompilationUnit) node).declarationIndexStamp = stamp;
+		}
+	}
+
+	/**
+	 * The innermost qualified name holding the two given names.
+	 */
+	private static String commonPrefix(String name1, String name2) {
+		String prefix = name1;
+		while (!(prefix.isEmpty() || name2.equals(prefix) || name2.startsWith(prefix + "."))) {
+			prefix = prefix.substring(0, Math.max(prefix.lastIndexOf('.'), 0));
+		}
+		return prefix;
+	}
+
+	private static void add(Map<String, List<QualifiedDeclaration<Declaration>>> map, String key,
+			QualifiedDeclaration<Declaration> declaration) {
+		List<QualifiedDeclaration<Declaration>> list = map.get(key);
+		if (list == null) {
+			list = new ArrayList<>(1);
+			map.put(key, list);
+		}
+		list.add(declaration);
+	}
+
+	public CompilationUnit getCompilationUnit() {
+		return compilationUnit;
+	}
+
+	/**
+	 * Marks the given qualified name, and the names nested in it, as stale.
+	 */
+	synchronized void changed(String name) {
+		staleNames.add(name);
+	}
+
+	/**
+	 * Tells if a lookup of the given qualified name can return stale
+	 * declarations. A null name stands for any name (simple name or pattern
+	 * lookups).
+	 */
+	synchronized boolean isStale(String name) {
+		if (staleNames.isEmpty()) {
+			return false;
+		}
+		if (name == null || staleNames.contains("") || staleNames.contains(name)) {
+			return true;
+		}
+		for (int i = name.indexOf('.'); i >= 0; i = name.indexOf('.', i + 1)) {
+			if (staleNames.contains(name.substring(0, i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * All the (non-hidden) declarations of the compilation unit.
+	 */
+	public List<QualifiedDeclaration<Declaration>> getDeclarations() {
+		return declarations;
+	}
+
+	/**
+	 * The declarations of the given fully qualified name.
+	 */
+	public List<QualifiedDeclaration<Declaration>> getDeclarations(String qualifiedName) {
+		List<QualifiedDeclaration<Declaration>> list = declarationsByName.get(qualifiedName);
+		return list == null ? Collections.emptyList() : list;
+	}
+
+	/**
+	 * The qualified declarations of the given simple name (the last part of
+	 * their qualified name).
+	 */
+	public List<QualifiedDeclaration<Declaration>> getDeclarationsBySimpleName(String simpleName) {
+		List<QualifiedDeclaration<Declaration>> list = declarationsBySimpleName.get(simpleName);
+		return list == null ? Collections.emptyList() : list;
+	}
+
+}
@@ -19,7 +19,6 @@
 package org.jsweet.input.typescriptdef.ast;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 
 import org.jsweet.JSweetDefTranslatorConfig;
 
@@ -86,6 +85,7 @@ public class FunctionDeclaration extends AbstractTypedDeclaration implements Typ
 	}
 
 	public void setParameters(ParameterDeclaration[] parameters) {
+		declarationsChanged();
 		this.parameters = parameters;
 	}
 
@@ -96,6 +96,7 @@ public class FunctionDeclaration extends AbstractTypedDeclaration implements Typ
 
 	@Override
 	public void setTypeParameters(TypeParameterDeclaration[] typeParameters) {
+		declarationsChanged();
 		this.typeParameters = typeParameters;
 	}
 
@@ -136,7 +137,7 @@ public class FunctionDeclaration extends AbstractTypedDeclaration implements Typ
 				getType() == null ? null : getType().copy(), DeclarationHelper.copy(parameters),
 				DeclarationHelper.copy(typeParameters));
 		copy.setDocumentation(getDocumentation());
-		copy.setModifiers(this.getModifiers() == null ? null : new HashSet<String>(getModifiers()));
+		copy.setModifiers(getModifiers());
 		copy.setStringAnnotations(
 				this.getStringAnnotations() == null ? null : new ArrayList<String>(getStringAnnotations()));
 		return copy;
@@ -61,6 +61,7 @@ public class FunctionalTypeReference extends TypeReference implements TypeParame
 	}
 
 	public void setParameters(ParameterDeclaration[] parameters) {
+		declarationsChanged();
 		this.parameters = parameters;
 	}
 
@@ -69,6 +70,7 @@ public class FunctionalTypeReference extends TypeReference implements TypeParame
 	}
 
 	public void setReturnType(TypeReference returnType) {
+		declarationsChanged();
 		this.returnType = returnType;
 	}
 
@@ -120,6 +122,7 @@ public class FunctionalTypeReference extends TypeReference implements TypeParame
 
 	@Override
 	public void setTypeParameters(TypeParameterDeclaration[] typeParameters) {
+		declarationsChanged();
 		this.typeParameters = typeParameters;
 	}
 }
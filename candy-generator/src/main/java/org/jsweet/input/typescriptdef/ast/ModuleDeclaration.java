@@ -66,21 +66,25 @@ public class ModuleDeclaration extends AbstractDeclaration implements Declaratio
 
 	@Override
 	public void addMember(Declaration declaration) {
+		declarationsChanged();
 		members = DeclarationHelper.addMember(this, declaration);
 	}
 
 	@Override
 	public void removeMember(Declaration declaration) {
+		declarationsChanged();
 		members = DeclarationHelper.removeMember(this, declaration);
 	}
 
 	@Override
 	public void replaceMember(Declaration existingDeclaration, Declaration withNewDeclaration) {
+		declarationsChanged();
 		members = DeclarationHelper.replaceMember(this, existingDeclaration, withNewDeclaration);
 	}
 
 	@Override
 	public void clearMembers() {
+		declarationsChanged();
 		members = new Declaration[0];
 	}
 
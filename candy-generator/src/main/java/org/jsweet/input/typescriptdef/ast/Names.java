@@ -0,0 +1,90 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.ast;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The symbol table of the AST: identifiers, qualified names and modifier
+ * sets are shared by all the nodes that hold an equal value, instead of being
+ * held as separate instances by each node (and by each copy of a node).
+ *
+ * <p>
+ * The table is shared by all the translations, and can be accessed
+ * concurrently (the definition files are parsed concurrently).
+ */
+public final class Names {
+
+	private static final ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+
+	private static final ConcurrentMap<Set<String>, Set<String>> modifierSets = new ConcurrentHashMap<>();
+
+	private Names() {
+	}
+
+	/**
+	 * Returns the shared instance of the given name.
+	 */
+	public static String intern(String name) {
+		if (name == null) {
+			return null;
+		}
+		String sharedName = names.putIfAbsent(name, name);
+		return sharedName == null ? name : sharedName;
+	}
+
+	/**
+	 * Returns the shared (and unmodifiable) instance of the given modifier
+	 * set.
+	 */
+	public static Set<String> modifiers(Collection<String> modifiers) {
+		if (modifiers == null) {
+			return null;
+		}
+		Set<String> set = new HashSet<>();
+		for (String modifier : modifiers) {
+			set.add(intern(modifier));
+		}
+		set = Collections.unmodifiableSet(set);
+		Set<String> sharedSet = modifierSets.putIfAbsent(set, set);
+		return sharedSet == null ? set : sharedSet;
+	}
+
+	/**
+	 * Returns the number of names in the table.
+	 */
+	public static int size() {
+		return names.size();
+	}
+
+	/**
+	 * Empties the table (the names that are still in use remain valid, but are
+	 * not shared with the names interned afterwards).
+	 */
+	public static void clear() {
+		names.clear();
+		modifierSets.clear();
+	}
+
+}
@@ -19,7 +19,6 @@
 package org.jsweet.input.typescriptdef.ast;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 
 /**
  * A parameter declaration in the TypeScript source code.
@@ -52,7 +51,7 @@ public class ParameterDeclaration extends VariableDeclaration {
 	public ParameterDeclaration copy() {
 		ParameterDeclaration copy = new ParameterDeclaration(this.getToken(), name, getType().copy(), isOptional(),
 				isVarargs());
-		copy.setModifiers(this.getModifiers() == null ? null : new HashSet<String>(this.getModifiers()));
+		copy.setModifiers(getModifiers());
 		copy.setStringAnnotations(
 				this.getStringAnnotations() == null ? null : new ArrayList<String>(getStringAnnotations()));
 		copy.setDocumentation(this.getDocumentation());
@@ -32,7 +32,7 @@ public class QualifiedDeclaration<T extends Declaration> {
 
 	public QualifiedDeclaration(T declaration, String qualifiedDeclarationName) {
 		this.declaration = declaration;
-		this.qualifiedDeclarationName = qualifiedDeclarationName;
+		this.qualifiedDeclarationName = Names.intern(qualifiedDeclarationName);
 	}
 
 	public T getDeclaration() {
@@ -0,0 +1,158 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.ast;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A parsed source file. The tokens only hold character offsets in the file,
+ * which are resolved to line and column numbers when needed (error reporting,
+ * locations), using the line starts recorded while the file is read (see
+ * {@link #track(Reader)}).
+ *
+ * <p>
+ * As in the lexer, <code>\n</code>, <code>\r</code>, <code>\r\n</code>,
+ * U+000B, U+000C, U+0085, U+2028 and U+2029 are line terminators.
+ */
+public class SourceFile {
+
+	private final String fileName;
+
+	private int[] lineStarts = new int[256];
+
+	private int lineCount = 1;
+
+	public SourceFile(String fileName) {
+		this.fileName = fileName;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * Returns a reader that reads the given reader and records the line starts
+	 * of this file on the way.
+	 */
+	public Reader track(Reader reader) {
+		return new FilterReader(reader) {
+			private int offset = 0;
+			private boolean afterCarriageReturn = false;
+
+			@Override
+			public int read() throws IOException {
+				int c = super.read();
+				if (c != -1) {
+					scan((char) c);
+				}
+				return c;
+			}
+
+			@Override
+			public int read(char[] buffer, int start, int length) throws IOException {
+				int count = super.read(buffer, start, length);
+				for (int i = start; i < start + count; i++) {
+					scan(buffer[i]);
+				}
+				return count;
+			}
+
+			@Override
+			public long skip(long n) throws IOException {
+				throw new IOException("skip not supported");
+			}
+
+			@Override
+			public boolean markSupported() {
+				return false;
+			}
+
+			private void scan(char c) {
+				offset++;
+				switch (c) {
+				case '\n':
+					if (afterCarriageReturn) {
+						// \r\n: the line starts after the \n
+						lineStarts[lineCount - 1] = offset;
+						afterCarriageReturn = false;
+					} else {
+						addLineStart(offset);
+					}
+					break;
+				case '\r':
+					addLineStart(offset);
+					afterCarriageReturn = true;
+					break;
+				case '\u000B':
+				case '\u000C':
+				case '\u0085':
+				case '\u2028':
+				case '\u2029':
+					addLineStart(offset);
+					afterCarriageReturn = false;
+					break;
+				default:
+					afterCarriageReturn = false;
+				}
+			}
+		};
+	}
+
+	private void addLineStart(int offset) {
+		if (lineCount == lineStarts.length) {
+			lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+		}
+		lineStarts[lineCount++] = offset;
+	}
+
+	private int getLineIndex(int offset) {
+		int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	/**
+	 * Returns the number of lines read so far.
+	 */
+	public int getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * Returns the line (starting at 1) of the given character offset.
+	 */
+	public int getLine(int offset) {
+		return getLineIndex(offset) + 1;
+	}
+
+	/**
+	 * Returns the column (starting at 1) of the given character offset.
+	 */
+	public int getColumn(int offset) {
+		return offset - lineStarts[getLineIndex(offset)] + 1;
+	}
+
+	@Override
+	public String toString() {
+		return fileName;
+	}
+
+}
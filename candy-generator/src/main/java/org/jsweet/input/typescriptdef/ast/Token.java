@@ -21,6 +21,10 @@ package org.jsweet.input.typescriptdef.ast;
 /**
  * A parsing token.
  * 
+ * <p>
+ * A token only holds its character offset and length in the source file. The
+ * line and column numbers are resolved on demand from the source file.
+ * 
  * @author Renaud Pawlak
  */
 public class Token {
@@ -32,36 +36,31 @@ public class Token {
 	 * 
 	 * @param type
 	 *            the type as defined in the lexer
-	 * @param fileName
-	 *            the name of the file from where the token was extracted
+	 * @param source
+	 *            the file from where the token was extracted
 	 * @param text
 	 *            the text of the token
-	 * @param line
-	 *            the line number where the token appears in the file
-	 * @param charBegin
-	 *            the character where it begins in the file
-	 * @param charEnd
-	 *            the character where it ends in the file
+	 * @param offset
+	 *            the offset of the first character of the token in the file
+	 * @param length
+	 *            the number of characters of the token in the file
 	 */
-	public Token(int type, String fileName, String text, int line, int charBegin, int charEnd) {
-
+	public Token(int type, SourceFile source, String text, int offset, int length) {
 		this.type = type;
-		this.fileName = fileName;
+		this.source = source;
 		this.text = text;
-		this.line = line;
-		this.charBegin = charBegin;
-		this.charEnd = charEnd;
+		this.offset = offset;
+		this.length = length;
 	}
 
 	public String getLocation() {
-		return "" + fileName + ":" + line + "(" + charBegin + ")";
+		return "" + getFileName() + ":" + getLine() + "(" + getCharBegin() + ")";
 	}
 
-	String fileName;
+	SourceFile source;
 	String text;
-	int line;
-	int charBegin;
-	int charEnd;
+	int offset;
+	int length;
 
 	// public boolean equals(Object o) {
 	// System.err.println("equals("+this+","+o+")");
@@ -72,24 +71,45 @@ public class Token {
 		return text;
 	}
 
+	/**
+	 * The column (starting at 1) where the token begins.
+	 */
 	public int getCharBegin() {
-		return charBegin;
+		return source.getColumn(offset);
 	}
 
+	/**
+	 * The column (starting at 1) right after the token.
+	 */
 	public int getCharEnd() {
-		return charEnd;
+		return getCharBegin() + length;
 	}
 
+	/**
+	 * The line (starting at 1) where the token begins.
+	 */
 	public int getLine() {
-		return line;
+		return source.getLine(offset);
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	public int getLength() {
+		return length;
 	}
 
 	public String getText() {
 		return text;
 	}
 
+	public SourceFile getSource() {
+		return source;
+	}
+
 	public String getFileName() {
-		return fileName;
+		return source == null ? null : source.getFileName();
 	}
 
 	public int getType() {
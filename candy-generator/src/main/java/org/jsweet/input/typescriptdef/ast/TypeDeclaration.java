@@ -19,7 +19,6 @@
 package org.jsweet.input.typescriptdef.ast;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -80,21 +79,25 @@ public class TypeDeclaration extends AbstractDeclaration
 
 	@Override
 	public void addMember(Declaration declaration) {
+		declarationsChanged();
 		members = DeclarationHelper.addMember(this, declaration);
 	}
 
 	@Override
 	public void removeMember(Declaration declaration) {
+		declarationsChanged();
 		members = DeclarationHelper.removeMember(this, declaration);
 	}
 
 	@Override
 	public void replaceMember(Declaration existingDeclaration, Declaration withNewDeclaration) {
+		declarationsChanged();
 		members = DeclarationHelper.replaceMember(this, existingDeclaration, withNewDeclaration);
 	}
 
 	@Override
 	public void clearMembers() {
+		declarationsChanged();
 		members = new Declaration[0];
 	}
 
@@ -103,6 +106,7 @@ public class TypeDeclaration extends AbstractDeclaration
 	}
 
 	public void setSuperTypes(TypeReference[] superTypes) {
+		declarationsChanged();
 		this.superTypes = superTypes;
 	}
 
@@ -113,6 +117,7 @@ public class TypeDeclaration extends AbstractDeclaration
 
 	@Override
 	public void setTypeParameters(TypeParameterDeclaration[] typeParameters) {
+		declarationsChanged();
 		this.typeParameters = typeParameters;
 	}
 
@@ -185,7 +190,7 @@ public class TypeDeclaration extends AbstractDeclaration
 				DeclarationHelper.copy(getTypeParameters()), DeclarationHelper.copyReferences(superTypes),
 				DeclarationHelper.copy(members));
 		copy.setDocumentation(getDocumentation());
-		copy.setModifiers(this.getModifiers() == null ? null : new HashSet<String>(getModifiers()));
+		copy.setModifiers(getModifiers());
 		copy.setStringAnnotations(
 				this.getStringAnnotations() == null ? null : new ArrayList<String>(getStringAnnotations()));
 		copy.originalKind = this.originalKind;
@@ -18,7 +18,6 @@
  */
 package org.jsweet.input.typescriptdef.ast;
 
-import java.util.HashSet;
 
 /**
  * Type macro declarations in source code of TypeScript defintions.
@@ -43,7 +42,7 @@ public class TypeMacroDeclaration extends TypeDeclaration implements TypedDeclar
 	public TypeMacroDeclaration copy() {
 		TypeMacroDeclaration copy = new TypeMacroDeclaration(null, getName(), getTypeParameters(), getType());
 		copy.setDocumentation(getDocumentation());
-		copy.setModifiers(this.getModifiers() == null ? null : new HashSet<String>(getModifiers()));
+		copy.setModifiers(getModifiers());
 		return copy;
 	}
 
@@ -63,6 +62,7 @@ public class TypeMacroDeclaration extends TypeDeclaration implements TypedDeclar
 
 	@Override
 	public void setType(TypeReference type) {
+		declarationsChanged();
 		this.type = type;
 	}
 }
@@ -50,13 +50,13 @@ public class TypeReference extends AbstractAstNode implements NamedElement {
 			name = JSweetDefTranslatorConfig.TUPLE_CLASSES_PACKAGE + "."
 					+ JSweetDefTranslatorConfig.TUPLE_CLASSES_PREFIX + typeArguments.length;
 		}
-		this.name = name;
+		this.name = Names.intern(name);
 		this.typeArguments = typeArguments;
 	}
 
 	public TypeReference(Token token, Type type, TypeReference[] typeArguments) {
 		super(token);
-		this.name = type.getName();
+		this.name = Names.intern(type.getName());
 		this.typeArguments = typeArguments;
 		this.declaration = type;
 	}
@@ -96,6 +96,7 @@ public class TypeReference extends AbstractAstNode implements NamedElement {
 	}
 
 	public void setTypeArguments(TypeReference[] typeArguments) {
+		declarationsChanged();
 		this.typeArguments = typeArguments;
 	}
 
@@ -106,7 +107,7 @@ public class TypeReference extends AbstractAstNode implements NamedElement {
 
 	@Override
 	public void setName(String name) {
-		this.name = name;
+		this.name = Names.intern(name);
 	}
 
 	public boolean isObjectType() {
@@ -232,6 +233,7 @@ public class TypeReference extends AbstractAstNode implements NamedElement {
 		if (typeArguments != null) {
 			for (int i = 0; i < typeArguments.length; i++) {
 				if (typeArguments[i] == targetType) {
+					declarationsChanged();
 					typeArguments[i] = newType;
 					return true;
 				}
@@ -247,7 +249,7 @@ public class TypeReference extends AbstractAstNode implements NamedElement {
 
 	@Override
 	public void setOriginalName(String name) {
-		this.name = name;
+		this.name = Names.intern(name);
 	}
 
 	public boolean isTuple() {
@@ -67,6 +67,7 @@ public class UnionTypeReference extends TypeReference {
 	}
 
 	public void setLeftType(TypeReference leftType) {
+		declarationsChanged();
 		this.leftType = leftType;
 		if (leftType != null && leftType.getName() != null && leftType.getName().equals("void")) {
 			selected = Selected.RIGHT;
@@ -78,6 +79,7 @@ public class UnionTypeReference extends TypeReference {
 	}
 
 	public void setRightType(TypeReference rightType) {
+		declarationsChanged();
 		this.rightType = rightType;
 		if (rightType != null && rightType.getName() != null && rightType.getName().equals("void")) {
 			selected = Selected.LEFT;
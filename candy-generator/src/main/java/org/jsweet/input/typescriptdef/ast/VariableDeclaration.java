@@ -19,7 +19,6 @@
 package org.jsweet.input.typescriptdef.ast;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 
 /**
  * A variable declaration in the source code of TypeScript definitions.
@@ -54,7 +53,7 @@ public class VariableDeclaration extends AbstractTypedDeclaration {
 	@Override
 	public VariableDeclaration copy() {
 		VariableDeclaration copy = new VariableDeclaration(this.getToken(), name, getType().copy(), optional, readonly);
-		copy.setModifiers(this.getModifiers() == null ? null : new HashSet<String>(this.getModifiers()));
+		copy.setModifiers(getModifiers());
 		copy.setStringAnnotations(
 				this.getStringAnnotations() == null ? null : new ArrayList<String>(getStringAnnotations()));
 		copy.setDocumentation(this.getDocumentation());
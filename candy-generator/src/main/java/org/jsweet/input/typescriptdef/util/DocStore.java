@@ -0,0 +1,276 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
+
+/**
+ * A read-only store of documentation pages, packed in a single file, so that
+ * the documentation can be filled without any network access and without
+ * reading thousands of small cache files.
+ *
+ * <p>
+ * The store file starts with an index of the pages (name, offset and sizes),
+ * followed by the deflated pages. The file is memory-mapped and a page is
+ * only inflated when it is requested.
+ *
+ * <p>
+ * A store is built once from a directory containing one page per file (such
+ * as the per-file documentation cache, or a local documentation dump), with
+ * {@link #build(File, File)} or with:
+ *
+ * <pre>
+ * java org.jsweet.input.typescriptdef.util.DocStore &lt;pageDir&gt; &lt;storeFile&gt;
+ * </pre>
+ */
+public class DocStore {
+
+	private static final Logger logger = Logger.getLogger(DocStore.class);
+
+	private static final int MAGIC = 0x54534443;
+
+	private static final int VERSION = 1;
+
+	/**
+	 * The extension of the page files that is removed from the page names.
+	 */
+	private static final String PAGE_EXTENSION = ".html";
+
+	private static class Entry {
+		final int offset;
+		final int compressedLength;
+		final int length;
+
+		Entry(int offset, int compressedLength, int length) {
+			this.offset = offset;
+			this.compressedLength = compressedLength;
+			this.length = length;
+		}
+	}
+
+	private final File file;
+
+	private final MappedByteBuffer buffer;
+
+	private final Map<String, Entry> index = new HashMap<>();
+
+	/**
+	 * Opens the given store file.
+	 */
+	public DocStore(File file) throws IOException {
+		this.file = file;
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (buffer.remaining() < 12 || buffer.getInt() != MAGIC) {
+			throw new IOException("not a documentation store: " + file);
+		}
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IOException("unsupported documentation store version " + version + ": " + file);
+		}
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			byte[] name = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(name);
+			index.put(new String(name, StandardCharsets.UTF_8),
+					new Entry(buffer.getInt(), buffer.getInt(), buffer.getInt()));
+		}
+		logger.debug("opened documentation store " + file + " (" + count + " pages)");
+	}
+
+	/**
+	 * Opens the given store file if it exists.
+	 *
+	 * @return the store, or null if the file does not exist or cannot be read
+	 */
+	public static DocStore open(File file) {
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		try {
+			return new DocStore(file);
+		} catch (IOException e) {
+			logger.error("cannot open documentation store " + file, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the names of the pages of this store.
+	 */
+	public Set<String> getNames() {
+		return Collections.unmodifiableSet(index.keySet());
+	}
+
+	/**
+	 * Tells if this store holds a page for the given name.
+	 */
+	public boolean contains(String name) {
+		return index.containsKey(name);
+	}
+
+	/**
+	 * Gets the content of a page.
+	 *
+	 * @return the page content, or null if there is no page for the given name
+	 */
+	public String get(String name) throws IOException {
+		Entry entry = index.get(name);
+		if (entry == null) {
+			return null;
+		}
+		byte[] compressed = new byte[entry.compressedLength];
+		// a duplicate has its own position, so that pages can be read
+		// concurrently
+		ByteBuffer page = buffer.duplicate();
+		page.position(entry.offset);
+		page.get(compressed);
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressed);
+			byte[] content = new byte[entry.length];
+			int length = 0;
+			while (length < content.length && !inflater.finished()) {
+				int n = inflater.inflate(content, length, content.length - length);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				length += n;
+			}
+			if (length != content.length) {
+				throw new IOException("corrupted page '" + name + "' in " + file);
+			}
+			return new String(content, StandardCharsets.UTF_8);
+		} catch (DataFormatException e) {
+			throw new IOException("corrupted page '" + name + "' in " + file, e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Builds a store file from a directory that contains one page per file.
+	 * The page names are the file names (without the <code>.html</code>
+	 * extension if any). Empty files, which stand for missing pages in the
+	 * per-file cache, are kept as empty pages.
+	 *
+	 * @return the number of packed pages
+	 */
+	public static int build(File pageDir, File storeFile) throws IOException {
+		File[] files = pageDir.listFiles();
+		if (files == null) {
+			throw new IOException("not a directory: " + pageDir);
+		}
+		Map<String, File> pages = new TreeMap<>();
+		for (File f : files) {
+			if (f.isFile() && !f.isHidden()) {
+				String name = f.getName();
+				if (name.endsWith(PAGE_EXTENSION)) {
+					name = name.substring(0, name.length() - PAGE_EXTENSION.length());
+				}
+				pages.put(name, f);
+			}
+		}
+
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		Map<String, int[]> entries = new TreeMap<>();
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		byte[] chunk = new byte[8192];
+		try {
+			for (Map.Entry<String, File> page : pages.entrySet()) {
+				byte[] content = FileUtils.readFileToByteArray(page.getValue());
+				int offset = data.size();
+				deflater.reset();
+				deflater.setInput(content);
+				deflater.finish();
+				while (!deflater.finished()) {
+					data.write(chunk, 0, deflater.deflate(chunk));
+				}
+				entries.put(page.getKey(), new int[] { offset, data.size() - offset, content.length });
+			}
+		} finally {
+			deflater.end();
+		}
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(header);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(entries.size());
+		int headerLength = 12;
+		for (String name : entries.keySet()) {
+			headerLength += 2 + name.getBytes(StandardCharsets.UTF_8).length + 12;
+		}
+		for (Map.Entry<String, int[]> entry : entries.entrySet()) {
+			byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+			out.writeShort(name.length);
+			out.write(name);
+			out.writeInt(headerLength + entry.getValue()[0]);
+			out.writeInt(entry.getValue()[1]);
+			out.writeInt(entry.getValue()[2]);
+		}
+		out.flush();
+
+		FileUtils.forceMkdir(storeFile.getAbsoluteFile().getParentFile());
+		try (BufferedOutputStream fileOut = new BufferedOutputStream(new FileOutputStream(storeFile))) {
+			header.writeTo(fileOut);
+			data.writeTo(fileOut);
+		}
+		logger.info("packed " + entries.size() + " pages from " + pageDir + " to " + storeFile + " ("
+				+ storeFile.length() / 1024 + "KB)");
+		return entries.size();
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.out.println("usage: " + DocStore.class.getName() + " <pageDir> <storeFile>");
+			System.out.println("packs the pages of the given directory (one page per file) into a store file");
+			System.exit(1);
+		}
+		build(new File(args[0]), new File(args[1]));
+	}
+
+	@Override
+	public String toString() {
+		return file.toString();
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.input.typescriptdef.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
+
+/**
+ * Writes generated files in background threads. A file is written only when
+ * its content differs from the existing file, so that unchanged files keep
+ * their modification time (and do not trigger recompilations of the generated
+ * sources).
+ *
+ * <p>
+ * The number of pending writes is bounded: {@link #write(File, String)}
+ * blocks when the writing threads fall behind. When the same file is written
+ * several times, the last content wins, as with synchronous writes.
+ */
+public class OutputWriter implements Closeable {
+
+	private static final Logger logger = Logger.getLogger(OutputWriter.class);
+
+	private static final int DEFAULT_MAX_PENDING_WRITES = 64;
+
+	private final ExecutorService executor;
+
+	private final Semaphore pendingWrites;
+
+	private final Map<File, Future<Boolean>> writes = new HashMap<>();
+
+	private final AtomicInteger writtenCount = new AtomicInteger();
+
+	private final AtomicInteger skippedCount = new AtomicInteger();
+
+	public OutputWriter() {
+		this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_PENDING_WRITES);
+	}
+
+	/**
+	 * Creates a writer.
+	 *
+	 * @param threadCount
+	 *            the number of writing threads
+	 * @param maxPendingWrites
+	 *            the maximum number of writes that can be scheduled before
+	 *            {@link #write(File, String)} blocks
+	 */
+	public OutputWriter(int threadCount, int maxPendingWrites) {
+		executor = Executors.newFixedThreadPool(threadCount);
+		pendingWrites = new Semaphore(maxPendingWrites);
+	}
+
+	/**
+	 * Schedules the writing of the given content to the given file (parent
+	 * directories are created if needed). This method must be called from a
+	 * single thread.
+	 */
+	public void write(File file, String content) throws IOException {
+		Future<Boolean> previousWrite = writes.get(file);
+		if (previousWrite != null) {
+			await(previousWrite);
+		}
+		try {
+			pendingWrites.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted while writing " + file, e);
+		}
+		try {
+			writes.put(file, executor.submit(() -> {
+				try {
+					return writeIfChanged(file, content.getBytes(Charset.defaultCharset()));
+				} finally {
+					pendingWrites.release();
+				}
+			}));
+		} catch (RuntimeException e) {
+			pendingWrites.release();
+			throw e;
+		}
+	}
+
+	private boolean writeIfChanged(File file, byte[] content) throws IOException {
+		if (file.length() == content.length && file.isFile()
+				&& Arrays.equals(FileUtils.readFileToByteArray(file), content)) {
+			skippedCount.incrementAndGet();
+			logger.trace("unchanged " + file);
+			return false;
+		}
+		FileUtils.writeByteArrayToFile(file, content);
+		writtenCount.incrementAndGet();
+		logger.trace("wrote " + file);
+		return true;
+	}
+
+	private static boolean await(Future<Boolean> write) throws IOException {
+		try {
+			return write.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted while writing", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * Waits for all the scheduled writes to be done.
+	 *
+	 * @throws IOException
+	 *             the first error that occurred when writing a file
+	 */
+	public void flush() throws IOException {
+		for (Future<Boolean> write : writes.values()) {
+			await(write);
+		}
+	}
+
+	/**
+	 * Waits for all the scheduled writes and stops the writing threads.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns the number of files written so far.
+	 */
+	public int getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	/**
+	 * Returns the number of files that were not written so far because their
+	 * content did not change.
+	 */
+	public int getSkippedCount() {
+		return skippedCount.get();
+	}
+
+}
@@ -45,17 +45,30 @@ import org.jsweet.input.typescriptdef.ast.FunctionDeclaration;
 import org.jsweet.input.typescriptdef.ast.Scanner;
 import org.jsweet.input.typescriptdef.ast.TypeDeclaration;
 import org.jsweet.input.typescriptdef.ast.VariableDeclaration;
+import org.jsweet.input.typescriptdef.util.DocStore;
 
 /**
  * This scanner tries to fill the documentation from external sources, when it
  * does not pre-exist in the definition file.
  * 
+ * <p>
+ * When the cache directory contains a documentation store for the provider
+ * (see {@link #getDocStoreFile(File, String)}), the pages are only read from
+ * the store and the network is never accessed. Otherwise, the pages are read
+ * from the per-file cache, or downloaded and cached.
+ * 
  * @author Renaud Pawlak
  */
 public class DocFiller extends Scanner {
 
 	private final static Logger logger = Logger.getLogger(DocFiller.class);
 
+	private final static String PROVIDER = "mdn";
+
+	private final static String DOC_STORE_EXTENSION = ".docs";
+
+	private DocStore docStore;
+
 	int domDocsCount = 0;
 	int domDescriptionDocsCount = 0;
 	int langDocsCount = 0;
@@ -66,6 +79,24 @@ public class DocFiller extends Scanner {
 		super(context);
 	}
 
+	/**
+	 * Gets the documentation store file of the given provider in the given
+	 * cache directory (see {@link DocStore}).
+	 */
+	public static File getDocStoreFile(File cacheDir, String provider) {
+		return new File(cacheDir, provider + DOC_STORE_EXTENSION);
+	}
+
+	@Override
+	public void onScanStart() {
+		if (context.cacheDir != null) {
+			docStore = DocStore.open(getDocStoreFile(context.cacheDir, PROVIDER));
+			if (docStore != null) {
+				logger.info("using documentation store " + docStore);
+			}
+		}
+	}
+
 	@Override
 	public void visitCompilationUnit(CompilationUnit compilationUnit) {
 		if (context.isDependency(compilationUnit)) {
@@ -91,17 +122,31 @@ public class DocFiller extends Scanner {
 					|| JSweetDefTranslatorConfig.DOM_PACKAGE.equals(moduleName)) {
 				this.currentModule = moduleName;
 
-				String content = getTypeContent(context.cacheDir, "mdn", moduleName, typeDeclaration.getName());
+				String content = docStore != null ? getTypeContent(docStore, typeDeclaration.getName())
+						: getTypeContent(context.cacheDir, PROVIDER, moduleName, typeDeclaration.getName());
 				if (content != null) {
 					try {
 						Document doc = Jsoup.parse(content, "UTF-8");
-						NodeTraversor traversor;
-						traversor = new NodeTraversor(new MdnTableFormatGrabber(this, typeDeclaration));
-						traversor.traverse(doc.body());
-						traversor = new NodeTraversor(new MdnDefinitionListFormatGrabber(this, typeDeclaration));
-						traversor.traverse(doc.body());
-						traversor = new NodeTraversor(new MdnMainDescriptionGrabber(this, typeDeclaration));
-						traversor.traverse(doc.body());
+						MdnTableFormatGrabber tableFormatGrabber = new MdnTableFormatGrabber(this, typeDeclaration);
+						MdnDefinitionListFormatGrabber definitionListFormatGrabber = new MdnDefinitionListFormatGrabber(
+								this, typeDeclaration);
+						MdnMainDescriptionGrabber mainDescriptionGrabber = new MdnMainDescriptionGrabber(this,
+								typeDeclaration);
+						// all the grabbers in a single traversal
+						new NodeTraversor(new NodeVisitor() {
+							@Override
+							public void head(Node node, int depth) {
+								tableFormatGrabber.head(node, depth);
+								definitionListFormatGrabber.head(node, depth);
+								mainDescriptionGrabber.head(node, depth);
+							}
+
+							@Override
+							public void tail(Node node, int depth) {
+							}
+						}).traverse(doc.body());
+						// the table format takes precedence
+						definitionListFormatGrabber.apply();
 					} catch (Throwable t) {
 						context.reportError("cannot fill documentation for " + context.getTypeName(typeDeclaration),
 								typeDeclaration.getToken(), t);
@@ -127,6 +172,15 @@ public class DocFiller extends Scanner {
 		}
 	}
 
+	static String getTypeContent(DocStore docStore, String typeName) {
+		try {
+			return docStore.get(typeName);
+		} catch (Exception e) {
+			logger.error("cannot read " + typeName + " from documentation store " + docStore, e);
+			return null;
+		}
+	}
+
 	static String getTypeContent(File cacheDir, String provider, String moduleName, String typeName) {
 		String content = null;
 		try {
@@ -273,9 +327,15 @@ class MdnTableFormatGrabber implements NodeVisitor {
 
 }
 
+/**
+ * Grabs the documentation of the members from the definition lists. The
+ * grabbed documentation is only set by {@link #apply()}, to the members that
+ * have not been documented by the other grabbers in the meantime.
+ */
 class MdnDefinitionListFormatGrabber implements NodeVisitor {
 
 	private Map<String, List<Declaration>> members = new HashMap<>();
+	private List<String[]> docs = new ArrayList<>();
 	private DocFiller docFiller;
 
 	public MdnDefinitionListFormatGrabber(DocFiller docFiller, TypeDeclaration typeDeclaration) {
@@ -317,10 +377,7 @@ class MdnDefinitionListFormatGrabber implements NodeVisitor {
 							if (i < dlSiblings.size() - 1 && "dd".equals(dlSiblings.get(i + 1).nodeName())) {
 								String s = dlSiblings.get(i + 1).toString();
 								String doc = "/** " + DocFiller.removeTags(s.substring(4, s.length() - 5)) + " */";
-								for (Declaration d : members.get(text)) {
-									d.setDocumentation(doc);
-								}
-								docFiller.countDoc(false);
+								docs.add(new String[] { text, doc });
 							}
 							break;
 						}
@@ -334,6 +391,21 @@ class MdnDefinitionListFormatGrabber implements NodeVisitor {
 	public void tail(Node node, int depth) {
 	}
 
+	public void apply() {
+		for (List<Declaration> declarations : members.values()) {
+			declarations.removeIf(d -> d.getDocumentation() != null);
+		}
+		for (String[] doc : docs) {
+			List<Declaration> declarations = members.get(doc[0]);
+			if (!declarations.isEmpty()) {
+				for (Declaration d : declarations) {
+					d.setDocumentation(doc[1]);
+				}
+				docFiller.countDoc(false);
+			}
+		}
+	}
+
 }
 
 class MdnMainDescriptionGrabber implements NodeVisitor {
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -78,96 +79,164 @@ public class DuplicateMethodsCleaner extends Scanner {
 		super.visitModuleDeclaration(moduleDeclaration);
 	}
 
+	private final static String NO_SIGNATURE = "";
+
+	/**
+	 * The erased signatures of the functions (computed once, since this
+	 * scanner does not change the types before the end of the scan).
+	 */
+	private Map<FunctionDeclaration, String> erasedSignatures = new IdentityHashMap<FunctionDeclaration, String>();
+
+	/**
+	 * For each type, its functions indexed by erased signature.
+	 */
+	private Map<TypeDeclaration, Map<String, List<FunctionDeclaration>>> functionIndexes = new IdentityHashMap<TypeDeclaration, Map<String, List<FunctionDeclaration>>>();
+
+	private String getErasedSignature(FunctionDeclaration function) {
+		String signature = erasedSignatures.get(function);
+		if (signature == null) {
+			try {
+				signature = context.getErasedSignature(function);
+			} catch (Exception e) {
+				logger.debug("cannot erase signature of " + function, e);
+			}
+			if (signature == null) {
+				signature = NO_SIGNATURE;
+			}
+			erasedSignatures.put(function, signature);
+		}
+		return signature;
+	}
+
+	private Map<String, List<FunctionDeclaration>> getFunctionIndex(TypeDeclaration type) {
+		Map<String, List<FunctionDeclaration>> index = functionIndexes.get(type);
+		if (index == null) {
+			index = new HashMap<String, List<FunctionDeclaration>>();
+			for (Declaration d : type.getMembers()) {
+				if (d instanceof FunctionDeclaration) {
+					String signature = getErasedSignature((FunctionDeclaration) d);
+					if (signature != NO_SIGNATURE) {
+						List<FunctionDeclaration> functions = index.get(signature);
+						if (functions == null) {
+							functions = new ArrayList<FunctionDeclaration>(1);
+							index.put(signature, functions);
+						}
+						functions.add((FunctionDeclaration) d);
+					}
+				}
+			}
+			functionIndexes.put(type, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the functions of the given type that may clash with the given
+	 * function, in declaration order: the ones with the same erased
+	 * signature, or all the functions if the signature cannot be erased.
+	 */
+	private List<FunctionDeclaration> getCandidateDuplicates(FunctionDeclaration function, TypeDeclaration type) {
+		String signature = getErasedSignature(function);
+		if (signature == NO_SIGNATURE) {
+			List<FunctionDeclaration> functions = new ArrayList<FunctionDeclaration>();
+			for (Declaration d : type.getMembers()) {
+				if (d instanceof FunctionDeclaration) {
+					functions.add((FunctionDeclaration) d);
+				}
+			}
+			return functions;
+		}
+		List<FunctionDeclaration> functions = getFunctionIndex(type).get(signature);
+		return functions == null ? Collections.<FunctionDeclaration> emptyList() : functions;
+	}
+
 	private void hideDuplicatesInDeclarations(TypeDeclaration originalDeclaringType,
 			FunctionDeclaration functionDeclaration, TypeDeclaration declaringType) {
 		Declaration[] declarations = declaringType.getMembers();
 		if (declarations == null) {
 			return;
 		}
-		for (Declaration d : declarations) {
-			if (d instanceof FunctionDeclaration) {
-				FunctionDeclaration f = (FunctionDeclaration) d;
-				if (f != functionDeclaration && !f.isHidden()
-						&& (f.getName().equals(functionDeclaration.getName())
-								|| (f.isConstructor() && functionDeclaration.isConstructor()))
-						&& f.getParameters().length == functionDeclaration.getParameters().length) {
-					boolean duplicate = true;
-					boolean checkReturnType = true;
-					// static methods can never be overloaded
-					// if (!(!functionDeclaration.hasModifier("static") &&
-					// f.hasModifier("static"))) {
-
-					for (int i = 0; i < f.getParameters().length; i++) {
-						ParameterDeclaration d1 = functionDeclaration.getParameters()[i];
-						ParameterDeclaration d2 = f.getParameters()[i];
-						String erasedName1 = context.getTypeNameErased(d1.getType());
-						String erasedName2 = context.getTypeNameErased(d2.getType());
-
-						try {
-							if (!erasedName1.equals(erasedName2)) {
-								duplicate = false;
-								break;
-							} else {
-								checkReturnType = context.getFullTypeNameNoErasure(d1.getType())
-										.equals(context.getFullTypeNameNoErasure(d2.getType()));
-							}
-						} catch (Exception e) {
-							e.printStackTrace();
+		for (FunctionDeclaration f : getCandidateDuplicates(functionDeclaration, declaringType)) {
+			if (f != functionDeclaration && !f.isHidden()
+					&& (f.getName().equals(functionDeclaration.getName())
+							|| (f.isConstructor() && functionDeclaration.isConstructor()))
+					&& f.getParameters().length == functionDeclaration.getParameters().length) {
+				boolean duplicate = true;
+				boolean checkReturnType = true;
+				// static methods can never be overloaded
+				// if (!(!functionDeclaration.hasModifier("static") &&
+				// f.hasModifier("static"))) {
+
+				for (int i = 0; i < f.getParameters().length; i++) {
+					ParameterDeclaration d1 = functionDeclaration.getParameters()[i];
+					ParameterDeclaration d2 = f.getParameters()[i];
+					String erasedName1 = context.getTypeNameErased(d1.getType());
+					String erasedName2 = context.getTypeNameErased(d2.getType());
+
+					try {
+						if (!erasedName1.equals(erasedName2)) {
+							duplicate = false;
+							break;
+						} else {
+							checkReturnType = context.getFullTypeNameNoErasure(d1.getType())
+									.equals(context.getFullTypeNameNoErasure(d2.getType()));
 						}
+					} catch (Exception e) {
+						e.printStackTrace();
 					}
-					boolean incompatibleReturnType = false;
-					if (duplicate && checkReturnType && originalDeclaringType != declaringType
-							&& !f.hasModifier("static")) {
-						// String name1 =
-						// functionDeclaration.getType().getName();
-						// String name2 = f.getType().getName();
-						// if (name1 != null && !name1.equals(name2)) {
-						// duplicate = false;
-						// }
-						try {
-							if (!Object.class.getName().equals(f.getType().getName())
-									&& !"Object".equals(f.getType().getName())
-									&& !functionDeclaration.getType().equals(f.getType())
-									&& !functionDeclaration.getType().isSubtypeOf(f.getType())) {
-								// duplicate = false;
-								incompatibleReturnType = true;
-								logger.debug("incompatible return types: " + functionDeclaration + " - "
-										+ functionDeclaration.getType() + " / " + f);
-							}
-						} catch (Exception e) {
-							context.reportError("unattributed type ref for " + f + " at " + f.getLocation()
-									+ ", declaring type: " + declaringType, declaringType.getToken(), e);
+				}
+				boolean incompatibleReturnType = false;
+				if (duplicate && checkReturnType && originalDeclaringType != declaringType
+						&& !f.hasModifier("static")) {
+					// String name1 =
+					// functionDeclaration.getType().getName();
+					// String name2 = f.getType().getName();
+					// if (name1 != null && !name1.equals(name2)) {
+					// duplicate = false;
+					// }
+					try {
+						if (!Object.class.getName().equals(f.getType().getName())
+								&& !"Object".equals(f.getType().getName())
+								&& !functionDeclaration.getType().equals(f.getType())
+								&& !functionDeclaration.getType().isSubtypeOf(f.getType())) {
+							// duplicate = false;
+							incompatibleReturnType = true;
+							logger.debug("incompatible return types: " + functionDeclaration + " - "
+									+ functionDeclaration.getType() + " / " + f);
 						}
+					} catch (Exception e) {
+						context.reportError("unattributed type ref for " + f + " at " + f.getLocation()
+								+ ", declaring type: " + declaringType, declaringType.getToken(), e);
 					}
-					if (duplicate) {
-						boolean isErased = false;
-						for (int i = 0; i < functionDeclaration.getParameters().length; i++) {
-							ParameterDeclaration d1 = functionDeclaration.getParameters()[i];
-							ParameterDeclaration d2 = f.getParameters()[i];
-							if (!context.getFullTypeNameNoErasure(d1.getType())
-									.equals(context.getFullTypeNameNoErasure(d2.getType()))) {
-								isErased = true;
-							}
+				}
+				if (duplicate) {
+					boolean isErased = false;
+					for (int i = 0; i < functionDeclaration.getParameters().length; i++) {
+						ParameterDeclaration d1 = functionDeclaration.getParameters()[i];
+						ParameterDeclaration d2 = f.getParameters()[i];
+						if (!context.getFullTypeNameNoErasure(d1.getType())
+								.equals(context.getFullTypeNameNoErasure(d2.getType()))) {
+							isErased = true;
 						}
-						boolean staticDuplicate = (f.hasModifier("static") != functionDeclaration
-								.hasModifier("static"));
-						if (!incompatibleReturnType && originalDeclaringType != declaringType && !staticDuplicate) {
-							context.addOverride(
-									new FullFunctionDeclaration(null, originalDeclaringType, functionDeclaration),
-									new FullFunctionDeclaration(null, declaringType, f));
-						} else if (isErased && !staticDuplicate) {
-							context.addDuplicate(
-									new FullFunctionDeclaration(null, originalDeclaringType, functionDeclaration),
-									new FullFunctionDeclaration(null, declaringType, f));
-						} else {
-							if (context.verbose) {
-								logger.debug("WARNING: removing duplicate " + f
-										+ (f.getToken() == null ? "" : " at " + f.getToken().getLocation()) + ", type "
-										+ declaringType.getName());
-							}
-							hiddenMethodCount++;
-							functionDeclaration.setHidden(true);
+					}
+					boolean staticDuplicate = (f.hasModifier("static") != functionDeclaration
+							.hasModifier("static"));
+					if (!incompatibleReturnType && originalDeclaringType != declaringType && !staticDuplicate) {
+						context.addOverride(
+								new FullFunctionDeclaration(null, originalDeclaringType, functionDeclaration),
+								new FullFunctionDeclaration(null, declaringType, f));
+					} else if (isErased && !staticDuplicate) {
+						context.addDuplicate(
+								new FullFunctionDeclaration(null, originalDeclaringType, functionDeclaration),
+								new FullFunctionDeclaration(null, declaringType, f));
+					} else {
+						if (context.verbose) {
+							logger.debug("WARNING: removing duplicate " + f
+									+ (f.getToken() == null ? "" : " at " + f.getToken().getLocation()) + ", type "
+									+ declaringType.getName());
 						}
+						hiddenMethodCount++;
+						functionDeclaration.setHidden(true);
 					}
 				}
 			}
@@ -226,22 +295,16 @@ public class DuplicateMethodsCleaner extends Scanner {
 	}
 
 	private void handleDuplicates() {
-		dumpDuplicates(context.duplicates);
-		List<Set<FullFunctionDeclaration>> newDuplicatesList = new ArrayList<Set<FullFunctionDeclaration>>();
-		for (Set<FullFunctionDeclaration> duplicates : context.duplicates) {
-			Set<FullFunctionDeclaration> newDuplicates = new HashSet<FullFunctionDeclaration>(duplicates);
-			for (FullFunctionDeclaration f : duplicates) {
-				if (context.overrides.containsKey(f)) {
-					for (Set<FullFunctionDeclaration> duplicates2 : context.duplicates) {
-						if (duplicates2.contains(context.overrides.get(f))) {
-							newDuplicates.addAll(duplicates2);
-							newDuplicatesList.remove(duplicates2);
-						}
-					}
-				}
+		dumpDuplicates(context.duplicates.getSets());
+		// the duplicates of an overriding function must be disambiguated
+		// together with the duplicates of the overridden one
+		for (FullFunctionDeclaration f : new ArrayList<FullFunctionDeclaration>(context.duplicates.getElements())) {
+			FullFunctionDeclaration overriden = context.overrides.get(f);
+			if (overriden != null && context.duplicates.contains(overriden)) {
+				context.duplicates.union(f, overriden);
 			}
-			newDuplicatesList.add(newDuplicates);
 		}
+		List<Set<FullFunctionDeclaration>> newDuplicatesList = context.duplicates.getSets();
 		dumpDuplicates(newDuplicatesList);
 
 		for (Set<FullFunctionDeclaration> duplicates : newDuplicatesList) {
@@ -276,13 +339,11 @@ public class DuplicateMethodsCleaner extends Scanner {
 		}
 		// logger.info("TESTING DUPLICATES ON:");
 		// dumpNameMatrix(m);
-		List<String> signatures = new ArrayList<String>();
+		Set<String> signatures = new HashSet<String>();
 		for (List<String> l : m.values()) {
-			String s = l.toString();
-			if (signatures.contains(s)) {
+			if (!signatures.add(l.toString())) {
 				return true;
 			}
-			signatures.add(s);
 		}
 		return false;
 	}
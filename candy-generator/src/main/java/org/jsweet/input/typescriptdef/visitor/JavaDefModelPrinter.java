@@ -23,17 +23,17 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.join;
 
 import java.io.File;
-import java.io.PrintWriter;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jsweet.JSweetDefTranslatorConfig;
 import org.jsweet.input.typescriptdef.ast.AbstractPrinter;
@@ -54,6 +54,7 @@ import org.jsweet.input.typescriptdef.ast.TypeParameterDeclaration;
 import org.jsweet.input.typescriptdef.ast.TypeReference;
 import org.jsweet.input.typescriptdef.ast.UnionTypeReference;
 import org.jsweet.input.typescriptdef.ast.VariableDeclaration;
+import org.jsweet.input.typescriptdef.util.OutputWriter;
 import org.jsweet.input.typescriptdef.util.Util;
 
 /**
@@ -82,9 +83,90 @@ public class JavaDefModelPrinter extends AbstractPrinter {
 
 	private File outputDir;
 
+	private Set<String> libraries;
+
+	private String currentLibrary;
+
+	private Map<File, String> writtenFiles = new HashMap<File, String>();
+
+	private OutputWriter writer;
+
+	private boolean ownWriter;
+
+	private Map<File, String> renderedFiles;
+
 	public JavaDefModelPrinter(Context context, File outputDir) {
+		this(context, outputDir, null);
+	}
+
+	/**
+	 * Creates a printer that only generates the given libraries (all the
+	 * libraries if null).
+	 */
+	public JavaDefModelPrinter(Context context, File outputDir, Set<String> libraries) {
+		this(context, outputDir, libraries, (OutputWriter) null);
+	}
+
+	/**
+	 * Creates a printer that only generates the given libraries (all the
+	 * libraries if null), and that writes the files with the given writer.
+	 * The writer is not closed at the end of the scan, so the caller must
+	 * close it. If null, the printer uses its own writer, which is closed at
+	 * the end of the scan.
+	 */
+	public JavaDefModelPrinter(Context context, File outputDir, Set<String> libraries, OutputWriter writer) {
+		this(context, outputDir, libraries, (Map<File, String>) null);
+		this.writer = writer;
+		if (writer == null) {
+			this.writer = new OutputWriter();
+			ownWriter = true;
+		}
+	}
+
+	private JavaDefModelPrinter(Context context, File outputDir, Set<String> libraries, Map<File, String> renderedFiles) {
 		super(context);
 		this.outputDir = outputDir;
+		this.libraries = libraries;
+		this.renderedFiles = renderedFiles;
+	}
+
+	/**
+	 * Creates a printer that renders the given libraries (all the libraries if
+	 * null) in memory instead of writing them (see {@link #getRenderedFiles()}
+	 * and {@link #write(JavaDefModelPrinter)}). Such a printer only renders
+	 * the compilation units it scans, and not the module documentations, so
+	 * that distinct compilation units can be rendered concurrently by distinct
+	 * printers.
+	 */
+	public static JavaDefModelPrinter createRenderer(Context context, File outputDir, Set<String> libraries) {
+		return new JavaDefModelPrinter(context, outputDir, libraries, new LinkedHashMap<File, String>());
+	}
+
+	/**
+	 * Returns the files rendered by this printer, with their contents, in
+	 * generation order (null if this printer is not a renderer).
+	 */
+	public Map<File, String> getRenderedFiles() {
+		return renderedFiles;
+	}
+
+	/**
+	 * Writes the files rendered by the given renderer with the writer of this
+	 * printer.
+	 */
+	public void write(JavaDefModelPrinter renderer) {
+		for (Map.Entry<File, String> renderedFile : renderer.renderedFiles.entrySet()) {
+			writtenFiles.put(renderedFile.getKey(), renderer.writtenFiles.get(renderedFile.getKey()));
+			write(renderedFile.getKey(), renderedFile.getValue());
+		}
+	}
+
+	/**
+	 * Returns the files written by this printer, with the libraries they
+	 * belong to.
+	 */
+	public Map<File, String> getWrittenFiles() {
+		return writtenFiles;
 	}
 
 	private AbstractPrinter printIdentifier(String identifier) {
@@ -101,6 +183,10 @@ public class JavaDefModelPrinter extends AbstractPrinter {
 		if (context.isDependency(compilationUnit)) {
 			return;
 		}
+		currentLibrary = compilationUnit.getMainModule() == null ? null : compilationUnit.getMainModule().getName();
+		if (libraries != null && !libraries.contains(currentLibrary)) {
+			return;
+		}
 
 		super.visitCompilationUnit(compilationUnit);
 	}
@@ -127,37 +213,33 @@ public class JavaDefModelPrinter extends AbstractPrinter {
 			}
 		}
 		File f = new File(outputDir, currentModuleName.replace('.', '/') + "/package-info.java");
-		f.getParentFile().mkdirs();
-		try {
-			if (dependenciesNamesString != null) {
-				FileUtils.write(f, //
-						"/** This package contains the " + moduleDeclaration.getName()
-								+ " library (source: Definitely Typed). */\n");
-
-				String mixins = "";
-				if (context.getMixins(currentModuleName) != null) {
-					mixins = StringUtils.join(
-							context.getMixins(currentModuleName).stream().map(t -> context.getTypeName(t)).toArray(),
-							".class,") + ".class";
-				}
-				FileUtils.write(f, "@" + JSweetDefTranslatorConfig.ANNOTATION_ROOT + "(dependencies={"
-						+ dependenciesNamesString + "}, mixins={" + mixins + "})\n", true);
-			} else {
-				FileUtils.write(f, //
-						"/** (source: Definitely Typed) */\n");
+		writtenFiles.put(f, currentLibrary);
+		StringBuilder packageInfo = new StringBuilder();
+		if (dependenciesNamesString != null) {
+			packageInfo.append("/** This package contains the " + moduleDeclaration.getName()
+					+ " library (source: Definitely Typed). */\n");
+
+			String mixins = "";
+			if (context.getMixins(currentModuleName) != null) {
+				mixins = StringUtils.join(
+						context.getMixins(currentModuleName).stream().map(t -> context.getTypeName(t)).toArray(),
+						".class,") + ".class";
 			}
-			CharSequence annosDecls = annotationsToString(moduleDeclaration);
-			if (!isBlank(annosDecls)) {
-				FileUtils.write(f, annosDecls, true);
-			}
-			if (context.externalModules.keySet().contains(currentModuleName)) {
-				FileUtils.write(f, "@" + JSweetDefTranslatorConfig.ANNOTATION_MODULE + "(\""
-						+ context.externalModules.get(currentModuleName) + "\")\n", true);
-			}
-			FileUtils.write(f, "package " + currentModuleName + ";\n", true);
-		} catch (Exception e) {
-			throw new RuntimeException(e);
+			packageInfo.append("@" + JSweetDefTranslatorConfig.ANNOTATION_ROOT + "(dependencies={"
+					+ dependenciesNamesString + "}, mixins={" + mixins + "})\n");
+		} else {
+			packageInfo.append("/** (source: Definitely Typed) */\n");
+		}
+		CharSequence annosDecls = annotationsToString(moduleDeclaration);
+		if (!isBlank(annosDecls)) {
+			packageInfo.append(annosDecls);
 		}
+		if (context.externalModules.keySet().contains(currentModuleName)) {
+			packageInfo.append("@" + JSweetDefTranslatorConfig.ANNOTATION_MODULE + "(\""
+					+ context.externalModules.get(currentModuleName) + "\")\n");
+		}
+		packageInfo.append("package " + currentModuleName + ";\n");
+		write(f, packageInfo.toString());
 		scan(moduleDeclaration.getMembers());
 	}
 
@@ -338,18 +420,21 @@ public class JavaDefModelPrinter extends AbstractPrinter {
 	}
 
 	private void writeToFile(File f, String output) {
-		f.getParentFile().mkdirs();
-		if (f.exists()) {
+		if (writtenFiles.containsKey(f)) {
 			logger.warn(f + " already exists!!");
 		}
+		writtenFiles.put(f, currentLibrary);
+		write(f, output + System.lineSeparator());
+	}
 
+	private void write(File f, String content) {
+		if (renderedFiles != null) {
+			renderedFiles.put(f, content);
+			return;
+		}
 		try {
-			try (PrintWriter out = new PrintWriter(f.getPath())) {
-				out.println(output);
-				out.close();
-				logger.trace("wrote " + f);
-			}
-		} catch (Exception e) {
+			writer.write(f, content);
+		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
 	}
@@ -622,20 +707,34 @@ public class JavaDefModelPrinter extends AbstractPrinter {
 
 	@Override
 	public void onScanEnded() {
+		if (renderedFiles != null) {
+			return;
+		}
 		for (QualifiedDeclaration<ModuleDeclaration> moduleDeclaration : context
 				.findDeclarations(ModuleDeclaration.class, "*")) {
 			String module = context.getModuleName(moduleDeclaration.getDeclaration());
+			String library = context.getLibModule(module);
+			if (libraries != null && !libraries.contains(library)) {
+				continue;
+			}
 			if (context.moduleDocumentations.containsKey(module)) {
 				logger.info("generating package-info.java for " + module);
 				File f = new File(outputDir, module.replace('.', '/') + "/package-info.java");
-				f.getParentFile().mkdirs();
+				writtenFiles.put(f, library);
 				try {
-					FileUtils.write(f, context.moduleDocumentations.get(module) + "\npackage " + module + ";", false);
+					writer.write(f, context.moduleDocumentations.get(module) + "\npackage " + module + ";");
 				} catch (Exception e) {
 					e.printStackTrace();
 				}
 			}
 		}
+		if (ownWriter) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
 	}
 
 }
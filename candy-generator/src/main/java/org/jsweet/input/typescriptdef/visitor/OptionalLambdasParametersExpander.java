@@ -19,7 +19,6 @@
 package org.jsweet.input.typescriptdef.visitor;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.jsweet.input.typescriptdef.ast.Context;
@@ -108,8 +107,7 @@ public class OptionalLambdasParametersExpander extends Scanner {
 				DeclarationHelper.copy(functionDeclaration.getTypeParameters()));
 		newFunction.getParameters()[param].setType(newParamType);
 		newFunction.setDocumentation(functionDeclaration.getDocumentation());
-		newFunction.setModifiers(functionDeclaration.getModifiers() == null ? null
-				: new HashSet<String>(functionDeclaration.getModifiers()));
+		newFunction.setModifiers(functionDeclaration.getModifiers());
 		if (functionDeclaration.getStringAnnotations() != null) {
 			newFunction.setStringAnnotations(new ArrayList<>(functionDeclaration.getStringAnnotations()));
 		}
@@ -19,7 +19,6 @@
 package org.jsweet.input.typescriptdef.visitor;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.jsweet.input.typescriptdef.ast.Context;
@@ -50,8 +49,7 @@ public class OptionalParametersExpander extends Scanner {
 						DeclarationHelper.copy(ArrayUtils.subarray(functionDeclaration.getParameters(), 0, i)),
 						DeclarationHelper.copy(functionDeclaration.getTypeParameters()));
 				newFunction.setDocumentation(functionDeclaration.getDocumentation());
-				newFunction.setModifiers(functionDeclaration.getModifiers() == null ? null
-						: new HashSet<String>(functionDeclaration.getModifiers()));
+				newFunction.setModifiers(functionDeclaration.getModifiers());
 				if (functionDeclaration.getStringAnnotations() != null) {
 					newFunction.setStringAnnotations(new ArrayList<>(functionDeclaration.getStringAnnotations()));
 				}
@@ -19,7 +19,7 @@
 package org.jsweet.input.typescriptdef.visitor;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.jsweet.input.typescriptdef.ast.Context;
@@ -107,7 +107,7 @@ public class UnionTypesExpander extends Scanner {
 	}
 
 	private Declaration currentDeclaration;
-	private Set<Declaration> expandedDeclarations = new HashSet<Declaration>();
+	private Set<Declaration> expandedDeclarations = new LinkedHashSet<Declaration>();
 
 	private void addExpandedDeclarations() {
 		DeclarationContainer parent = getParent(DeclarationContainer.class);
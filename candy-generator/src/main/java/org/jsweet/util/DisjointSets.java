@@ -0,0 +1,142 @@
+/*
+ * TypeScript definitions to Java translator - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A partition of elements into disjoint sets (aka union-find), with path
+ * compression and union by size, so that merging sets and finding the set of
+ * an element take a quasi-constant time.
+ *
+ * <p>
+ * The elements are kept in insertion order, so that {@link #getSets()} is
+ * deterministic.
+ *
+ * @param <T>
+ *            the type of the elements
+ */
+public class DisjointSets<T> {
+
+	private final Map<T, T> parents = new LinkedHashMap<T, T>();
+
+	private final Map<T, Integer> sizes = new HashMap<T, Integer>();
+
+	/**
+	 * Adds an element in its own set, if not already added.
+	 */
+	public void add(T element) {
+		if (!parents.containsKey(element)) {
+			parents.put(element, element);
+			sizes.put(element, 1);
+		}
+	}
+
+	/**
+	 * Tells if the given element has been added.
+	 */
+	public boolean contains(T element) {
+		return parents.containsKey(element);
+	}
+
+	/**
+	 * Returns the representative element of the set of the given element, or
+	 * null if the element has not been added.
+	 */
+	public T find(T element) {
+		T root = parents.get(element);
+		if (root == null) {
+			return null;
+		}
+		while (!root.equals(parents.get(root))) {
+			root = parents.get(root);
+		}
+		// path compression
+		while (!element.equals(root)) {
+			T next = parents.get(element);
+			parents.put(element, root);
+			element = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Merges the sets of the given elements (which are added if needed).
+	 */
+	public void union(T element1, T element2) {
+		add(element1);
+		add(element2);
+		T root1 = find(element1);
+		T root2 = find(element2);
+		if (root1.equals(root2)) {
+			return;
+		}
+		int size1 = sizes.get(root1);
+		int size2 = sizes.get(root2);
+		if (size1 < size2) {
+			parents.put(root1, root2);
+			sizes.put(root2, size1 + size2);
+			sizes.remove(root1);
+		} else {
+			parents.put(root2, root1);
+			sizes.put(root1, size1 + size2);
+			sizes.remove(root2);
+		}
+	}
+
+	/**
+	 * Returns all the elements, in insertion order.
+	 */
+	public Set<T> getElements() {
+		return parents.keySet();
+	}
+
+	/**
+	 * Returns the disjoint sets, ordered by their first inserted element. The
+	 * elements of each set are in insertion order.
+	 */
+	public List<Set<T>> getSets() {
+		Map<T, Set<T>> sets = new LinkedHashMap<T, Set<T>>();
+		for (T element : parents.keySet()) {
+			T root = find(element);
+			Set<T> set = sets.get(root);
+			if (set == null) {
+				set = new LinkedHashSet<T>();
+				sets.put(root, set);
+			}
+			set.add(element);
+		}
+		return new ArrayList<Set<T>>(sets.values());
+	}
+
+	/**
+	 * Removes all the elements.
+	 */
+	public void clear() {
+		parents.clear();
+		sizes.clear();
+	}
+
+}
@@ -72,7 +72,7 @@ public abstract class AbstractTest {
 		}
 		Context context = new Context(asList(testFile), dependencies, false);
 		context.verbose = false;
-		context.compilationUnits = compilationUnits;
+		context.compilationUnits.addAll(compilationUnits);
 		return context;
 	}
 
@@ -1,13 +1,21 @@
 package org.jsweet.input.typescriptdef.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.ListIterator;
 
+import org.jsweet.input.typescriptdef.ast.CompilationUnit;
 import org.jsweet.input.typescriptdef.ast.Context;
 import org.jsweet.input.typescriptdef.ast.FunctionDeclaration;
 import org.jsweet.input.typescriptdef.ast.ModuleDeclaration;
+import org.jsweet.input.typescriptdef.ast.ParameterDeclaration;
 import org.jsweet.input.typescriptdef.ast.TypeDeclaration;
 import org.jsweet.input.typescriptdef.ast.VariableDeclaration;
 import org.junit.Test;
@@ -44,4 +52,82 @@ public class StructureTest extends AbstractTest {
 		assertEquals(0, context.findDeclarations(VariableDeclaration.class, "def.structure.test.Globals.Math").size());
 	}
 
+	@Test
+	public void declarationIndexTest() throws FileNotFoundException {
+		Context context = parseTestFile("structure/globals-test");
+
+		assertEquals(2, context.findDeclarations(FunctionDeclaration.class, "*.f").size());
+		assertEquals("m1.Utils.f",
+				context.findFirstDeclaration(FunctionDeclaration.class, "*.f").getQualifiedDeclarationName());
+		assertEquals(3, context.findDeclarations(FunctionDeclaration.class, "m1.*").size());
+		assertEquals(1, context.findDeclarations(TypeDeclaration.class, "m1.Utils2.C").size());
+		assertEquals(0, context.findDeclarations(FunctionDeclaration.class, "m1.Utils2.C").size());
+
+		// the index follows the modifications of the AST
+		ModuleDeclaration utils = context.findFirstDeclaration(ModuleDeclaration.class, "m1.Utils").getDeclaration();
+		utils.setName("Helpers");
+		assertNull(context.findFirstDeclaration(FunctionDeclaration.class, "m1.Utils.f"));
+		assertNotNull(context.findFirstDeclaration(FunctionDeclaration.class, "m1.Helpers.f"));
+
+		utils.findFirstFunction("f").setHidden(true);
+		assertEquals(1, context.findDeclarations(FunctionDeclaration.class, "*.f").size());
+
+		utils.addMember(new FunctionDeclaration(null, "g", null, new ParameterDeclaration[0], null));
+		assertNotNull(context.findFirstDeclaration(FunctionDeclaration.class, "m1.Helpers.g"));
+
+		utils.replaceMember(utils.findFirstFunction("g"),
+				new FunctionDeclaration(null, "h", null, new ParameterDeclaration[0], null));
+		assertNull(context.findFirstDeclaration(FunctionDeclaration.class, "m1.Helpers.g"));
+		assertNotNull(context.findFirstDeclaration(FunctionDeclaration.class, "m1.Helpers.h"));
+
+		// only the names of the modified declarations are invalidated
+		TypeDeclaration c = context.findFirstDeclaration(TypeDeclaration.class, "m1.Utils2.C").getDeclaration();
+		c.setName("D");
+		assertNotNull(context.findFirstDeclaration(FunctionDeclaration.class, "m1.m11.f111"));
+		assertNull(context.findFirstDeclaration(TypeDeclaration.class, "m1.Utils2.C"));
+		assertNotNull(context.findFirstDeclaration(TypeDeclaration.class, "m1.Utils2.D"));
+		assertEquals(1, context.findDeclarations(TypeDeclaration.class, "*.D").size());
+
+		// the indexes of another context are not affected
+		Context otherContext = parseTestFile("structure/globals-test");
+		assertNotNull(otherContext.findFirstDeclaration(TypeDeclaration.class, "m1.Utils2.C"));
+		otherContext.findFirstDeclaration(TypeDeclaration.class, "m1.Utils2.C").getDeclaration().setHidden(true);
+		assertNull(otherContext.findFirstDeclaration(TypeDeclaration.class, "m1.Utils2.C"));
+		assertNotNull(context.findFirstDeclaration(TypeDeclaration.class, "m1.Utils2.D"));
+
+		// the compilation units index follows the modifications of the list
+		CompilationUnit unit = context.compilationUnits.get(0);
+		assertSame(unit, context.getCompilationUnit(unit.getFile()));
+		CompilationUnit otherUnit = new CompilationUnit(new File("other.d.ts"));
+		context.compilationUnits.set(0, otherUnit);
+		assertNull(context.getCompilationUnit(unit.getFile()));
+		assertSame(otherUnit, context.getCompilationUnit(otherUnit.getFile()));
+		ListIterator<CompilationUnit> units = context.compilationUnits.listIterator();
+		units.next();
+		units.set(unit);
+		assertSame(unit, context.getCompilationUnit(unit.getFile()));
+		assertNull(context.getCompilationUnit(otherUnit.getFile()));
+	}
+
+	@Test
+	public void sharedNamesTest() throws FileNotFoundException {
+		Context context = parseTestFile("structure/globals-test");
+
+		FunctionDeclaration f1 = context.findFirstDeclaration(FunctionDeclaration.class, "m1.Utils.f").getDeclaration();
+		FunctionDeclaration f2 = context.findFirstDeclaration(FunctionDeclaration.class, "m1.Utils2.f")
+				.getDeclaration();
+		assertSame(f1.getName(), f2.getName());
+
+		// modifiers are shared, but copied on write
+		FunctionDeclaration copy = f1.copy();
+		f1.addModifier("static");
+		copy.addModifier("static");
+		assertSame(f1.getModifiers(), copy.getModifiers());
+		copy.addModifier("native");
+		assertTrue(copy.hasModifier("native"));
+		assertFalse(f1.hasModifier("native"));
+		copy.removeModifier("native");
+		assertSame(f1.getModifiers(), copy.getModifiers());
+	}
+
 }
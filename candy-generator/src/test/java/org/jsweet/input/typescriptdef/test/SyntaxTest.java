@@ -1,13 +1,19 @@
 package org.jsweet.input.typescriptdef.test;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
 
 import org.jsweet.input.typescriptdef.ast.Context;
 import org.jsweet.input.typescriptdef.ast.Declaration;
 import org.jsweet.input.typescriptdef.ast.FunctionDeclaration;
 import org.jsweet.input.typescriptdef.ast.QualifiedDeclaration;
+import org.jsweet.input.typescriptdef.ast.SourceFile;
+import org.jsweet.input.typescriptdef.ast.Token;
 import org.jsweet.input.typescriptdef.ast.TypeDeclaration;
 import org.jsweet.input.typescriptdef.ast.VariableDeclaration;
 import org.junit.Assert;
@@ -85,4 +91,45 @@ public class SyntaxTest extends AbstractTest {
 	public void exportTest() throws FileNotFoundException {
 		parseTestFile("syntax/export-test");
 	}
+
+	@Test
+	public void referenceTest() throws FileNotFoundException {
+		Context context = parseTestFile("syntax/reference-test");
+		assertEquals(asList("/// <reference path=\"lf-test.d.ts\" />", "///<reference path=\"keyword-test.d.ts\"/>"),
+				context.compilationUnits.get(0).getReferences());
+	}
+
+	@Test
+	public void locationTest() throws FileNotFoundException {
+		Context context = parseTestFile("syntax/reference-test");
+		Token token = context.findFirstDeclaration(TypeDeclaration.class, "I").getDeclaration().getToken();
+		assertEquals(5, token.getLine());
+		assertEquals(11, token.getCharBegin());
+		assertEquals(12, token.getCharEnd());
+		assertEquals(token.getFileName() + ":5(11)", token.getLocation());
+		token = context.findFirstDeclaration(FunctionDeclaration.class, "I.m").getDeclaration().getToken();
+		assertEquals(7, token.getLine());
+		assertEquals(5, token.getCharBegin());
+	}
+
+	@Test
+	public void lineTerminatorTest() throws IOException {
+		SourceFile source = new SourceFile("test");
+		char[] buffer = new char[5];
+		// reads of 5 characters, so that the \r\n sequences are split across reads
+		try (Reader reader = source.track(new StringReader("a\nbc\r\nd\re\r\n\nf"))) {
+			while (reader.read(buffer, 0, buffer.length) != -1) {
+			}
+		}
+		assertEquals(6, source.getLineCount());
+		assertEquals(1, source.getLine(0));
+		assertEquals(2, source.getLine(2));
+		assertEquals(2, source.getColumn(3));
+		assertEquals(2, source.getLine(4));
+		assertEquals(3, source.getLine(6));
+		assertEquals(1, source.getColumn(6));
+		assertEquals(4, source.getLine(8));
+		assertEquals(6, source.getLine(12));
+		assertEquals(1, source.getColumn(12));
+	}
 }
@@ -1,6 +1,7 @@
 package org.jsweet.input.typescriptdef.test;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -8,10 +9,13 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.List;
 
+import org.apache.commons.io.FileUtils;
 import org.jsweet.JSweetDefTranslatorConfig;
+import org.jsweet.input.typescriptdef.TypescriptDef2Java;
 import org.jsweet.input.typescriptdef.ast.ArrayTypeReference;
 import org.jsweet.input.typescriptdef.ast.Context;
 import org.jsweet.input.typescriptdef.ast.FunctionDeclaration;
@@ -26,12 +30,19 @@ import org.jsweet.input.typescriptdef.ast.TypeParameterDeclaration;
 import org.jsweet.input.typescriptdef.ast.TypeReference;
 import org.jsweet.input.typescriptdef.ast.UnionTypeReference;
 import org.jsweet.input.typescriptdef.ast.VariableDeclaration;
+import org.jsweet.input.typescriptdef.util.DocStore;
+import org.jsweet.input.typescriptdef.visitor.DocFiller;
 import org.jsweet.input.typescriptdef.visitor.FunctionalInterfacesCreator;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class TranslationTest extends AbstractTest {
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@Test
 	public void defaultTest() throws FileNotFoundException {
 		Context context = parseAndTranslateTestFile("types/default-test", (c) -> {
@@ -506,4 +517,125 @@ public class TranslationTest extends AbstractTest {
 
 	}
 
+	@Test
+	public void incrementalTest() throws Throwable {
+		File inputDir = temporaryFolder.newFolder("typings");
+		File a = new File(inputDir, "liba/liba.d.ts");
+		File b = new File(inputDir, "libb/libb.d.ts");
+		File c = new File(inputDir, "libc/libc.d.ts");
+		FileUtils.write(a, "declare class A {\n    m(): number;\n}\n");
+		FileUtils.write(b, "/// <reference path=\"../liba/liba.d.ts\" />\n"
+				+ "declare class B extends A {\n    n(): string;\n}\n");
+		FileUtils.write(c, "declare class E {\n}\n");
+		File outputDir = temporaryFolder.newFolder("out");
+		File aOut = new File(outputDir, "def/liba/A.java");
+		File bOut = new File(outputDir, "def/libb/B.java");
+		File cOut = new File(outputDir, "def/libc/E.java");
+
+		TypescriptDef2Java.translate(asList(a, b, c), emptyList(), outputDir, null, false, false, true);
+		assertTrue(aOut.exists() && bOut.exists() && cOut.exists());
+
+		// nothing changed: nothing is parsed nor written
+		aOut.setLastModified(0);
+		bOut.setLastModified(0);
+		cOut.setLastModified(0);
+		Context context = TypescriptDef2Java.translate(asList(a, b, c), emptyList(), outputDir, null, false,
+				false, true);
+		assertTrue(context.compilationUnits.isEmpty());
+		assertEquals(0, context.getErrorCount());
+		assertEquals(0, aOut.lastModified());
+		assertEquals(0, bOut.lastModified());
+		assertEquals(0, cOut.lastModified());
+
+		// libb changed: liba is parsed but not regenerated (and B.java did not
+		// change), and libc is not parsed
+		FileUtils.write(b, "declare class C {\n}\n", true);
+		context = TypescriptDef2Java.translate(asList(a, b, c), emptyList(), outputDir, null, false, false, true);
+		assertNotNull(context.getCompilationUnit(a));
+		assertNotNull(context.getCompilationUnit(b));
+		assertNull(context.getCompilationUnit(c));
+		assertEquals(0, aOut.lastModified());
+		assertEquals(0, bOut.lastModified());
+		assertEquals(0, cOut.lastModified());
+		assertTrue(new File(outputDir, "def/libb/C.java").exists());
+
+		// the state of libc was kept: the output directory is up to date
+		context = TypescriptDef2Java.translate(asList(a, b, c), emptyList(), outputDir, null, false, false, true);
+		assertTrue(context.compilationUnits.isEmpty());
+
+		// class removed from libb: its file is removed
+		FileUtils.write(b, "/// <reference path=\"../liba/liba.d.ts\" />\n"
+				+ "declare class B extends A {\n    n(): string;\n}\n");
+		TypescriptDef2Java.translate(asList(a, b, c), emptyList(), outputDir, null, false, false, true);
+		assertEquals(0, aOut.lastModified());
+		assertEquals(0, bOut.lastModified());
+		assertFalse(new File(outputDir, "def/libb/C.java").exists());
+
+		// liba changed: libb depends on it and is regenerated too (B.java did
+		// not change)
+		FileUtils.write(a, "declare class A {\n    m(): number;\n    o(): string;\n}\ndeclare class D {\n}\n");
+		TypescriptDef2Java.translate(asList(a, b, c), emptyList(), outputDir, null, false, false, true);
+		assertTrue(aOut.lastModified() > 0);
+		assertEquals(0, bOut.lastModified());
+		assertEquals(0, cOut.lastModified());
+		assertTrue(new File(outputDir, "def/liba/D.java").exists());
+	}
+
+	@Test
+	public void unchangedOutputTest() throws Throwable {
+		File a = new File(temporaryFolder.newFolder("typings"), "liba/liba.d.ts");
+		FileUtils.write(a, "declare class A {\n    m(): number;\n}\ndeclare class B {\n}\n");
+		File outputDir = temporaryFolder.newFolder("out");
+		File aOut = new File(outputDir, "def/liba/A.java");
+		File bOut = new File(outputDir, "def/liba/B.java");
+
+		TypescriptDef2Java.translate(asList(a), emptyList(), outputDir, null, false, false);
+		String aContent = FileUtils.readFileToString(aOut);
+		assertTrue(bOut.exists());
+
+		// unchanged files are not rewritten, and other files are removed
+		aOut.setLastModified(0);
+		bOut.setLastModified(0);
+		File otherFile = new File(outputDir, "other/Other.java");
+		FileUtils.write(otherFile, "");
+		FileUtils.write(a, "declare class A {\n    m(): number;\n}\ndeclare class B {\n    n(): string;\n}\n");
+		TypescriptDef2Java.translate(asList(a), emptyList(), outputDir, null, false, false);
+		assertEquals(0, aOut.lastModified());
+		assertEquals(aContent, FileUtils.readFileToString(aOut));
+		assertTrue(bOut.lastModified() > 0);
+		assertTrue(FileUtils.readFileToString(bOut).contains("n()"));
+		assertFalse(otherFile.exists());
+		assertFalse(otherFile.getParentFile().exists());
+	}
+
+	@Test
+	public void docStoreTest() throws Throwable {
+		File pageDir = temporaryFolder.newFolder("mdn");
+		FileUtils.write(new File(pageDir, "Foo.html"), "<html><body>" //
+				+ "<div id=\"Quick_Links\"></div><p>A foo.</p><h2>Properties</h2>" //
+				+ "<table><tr><td><code>bar</code></td><td>number</td><td>The table bar.</td></tr></table>" //
+				+ "<dl><dt><code>Foo.bar</code></dt><dd>The list bar.</dd>" //
+				+ "<dt><code>Foo.baz()</code></dt><dd>Bazzes.</dd></dl>" //
+				+ "</body></html>");
+		FileUtils.write(new File(pageDir, "Empty"), "");
+		File cacheDir = temporaryFolder.newFolder("cache");
+		File storeFile = DocFiller.getDocStoreFile(cacheDir, "mdn");
+		assertEquals(2, DocStore.build(pageDir, storeFile));
+
+		DocStore store = new DocStore(storeFile);
+		assertTrue(store.get("Foo").contains("The table bar."));
+		assertEquals("", store.get("Empty"));
+		assertNull(store.get("Bar"));
+
+		File dom = new File(temporaryFolder.newFolder("typings"), "lib.core/lib.dom.d.ts");
+		FileUtils.write(dom, "interface Foo {\n    bar: number;\n    baz(): string;\n}\n");
+		File outputDir = temporaryFolder.newFolder("out");
+		TypescriptDef2Java.translate(asList(dom), emptyList(), outputDir, cacheDir, true, false);
+		String foo = FileUtils.readFileToString(new File(outputDir, "def/dom/Foo.java"));
+		assertTrue(foo.contains("A foo."));
+		// the table format takes precedence over the definition lists
+		assertTrue(foo.contains("The table bar."));
+		assertFalse(foo.contains("The list bar."));
+		assertTrue(foo.contains("Bazzes."));
+	}
 }
@@ -0,0 +1,8 @@
+/// <reference path="lf-test.d.ts" />
+///<reference path="keyword-test.d.ts"/>
+
+// /// <reference path="not-a-reference.d.ts" />
+interface I {
+    /// <reference path="not-at-line-start.d.ts" />
+    m(): void;
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package javaemul.internal;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates <code>javaemul.internal.CharacterData</code>, the character
+ * classification tables used by {@link CharacterHelper}, from the
+ * <code>java.lang.Character</code> data of the JDK running it.
+ *
+ * <p>
+ * Each BMP character is described by a byte: its general category
+ * ({@link Character#getType(int)}) in the 5 low bits, and its whitespace,
+ * upper case and lower case properties in the 3 high bits. The bytes are
+ * split in blocks of 2^n characters and the identical blocks are shared, so
+ * that the data is made of an index (one byte per block of characters) and of
+ * the distinct blocks. The block size giving the smallest tables with at most
+ * 256 distinct blocks is chosen. The decimal digits are described by the first
+ * character (zero) of each run of digits.
+ *
+ * <p>
+ * Run it with the path of the file to generate, or with the
+ * <code>characterData</code> profile of the j4ts build:
+ *
+ * <pre>
+ * mvn -P characterData initialize
+ * </pre>
+ */
+public class CharacterDataGenerator {
+
+	static final int WHITESPACE = 0x20;
+
+	static final int UPPER_CASE = 0x40;
+
+	static final int LOWER_CASE = 0x80;
+
+	private static final int LINE_LENGTH = 100;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("usage: CharacterDataGenerator <CharacterData.java>");
+			System.exit(1);
+		}
+		byte[] properties = new byte[0x10000];
+		List<Integer> digitZeros = new ArrayList<Integer>();
+		for (int c = 0; c < properties.length; c++) {
+			int value = Character.getType(c);
+			if (Character.isWhitespace(c)) {
+				value |= WHITESPACE;
+			}
+			if (Character.isUpperCase(c)) {
+				value |= UPPER_CASE;
+			}
+			if (Character.isLowerCase(c)) {
+				value |= LOWER_CASE;
+			}
+			properties[c] = (byte) value;
+			if (Character.getType(c) == Character.DECIMAL_DIGIT_NUMBER && Character.digit(c, 10) == 0) {
+				digitZeros.add(c);
+			}
+		}
+
+		int bestShift = -1;
+		byte[] bestIndex = null;
+		byte[] bestBlocks = null;
+		for (int shift = 4; shift <= 10; shift++) {
+			int blockSize = 1 << shift;
+			byte[] index = new byte[properties.length >> shift];
+			Map<String, Integer> blockNumbers = new HashMap<String, Integer>();
+			byte[] blocks = new byte[properties.length];
+			for (int block = 0; block < index.length; block++) {
+				byte[] content = Arrays.copyOfRange(properties, block * blockSize, (block + 1) * blockSize);
+				String key = new String(content, StandardCharsets.ISO_8859_1);
+				Integer number = blockNumbers.get(key);
+				if (number == null) {
+					number = blockNumbers.size();
+					blockNumbers.put(key, number);
+					System.arraycopy(content, 0, blocks, number * blockSize, blockSize);
+				}
+				index[block] = (byte) (int) number;
+			}
+			if (blockNumbers.size() > 256) {
+				continue;
+			}
+			blocks = Arrays.copyOf(blocks, blockNumbers.size() * blockSize);
+			if (bestIndex == null || index.length + blocks.length < bestIndex.length + bestBlocks.length) {
+				bestShift = shift;
+				bestIndex = index;
+				bestBlocks = blocks;
+			}
+		}
+
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(args[0]), StandardCharsets.UTF_8))) {
+			out.println("/*");
+			out.println(" * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr");
+			out.println(" *");
+			out.println(" * Apache 2 license.");
+			out.println(" */");
+			out.println("package javaemul.internal;");
+			out.println();
+			out.println("/**");
+			out.println(" * The character classification tables of {@link CharacterHelper}, generated by");
+			out.println(" * <code>CharacterDataGenerator</code> from the Unicode data of Java "
+					+ System.getProperty("java.version") + ".");
+			out.println(" * Do not edit.");
+			out.println(" */");
+			out.println("final class CharacterData {");
+			out.println();
+			out.println("\t/**");
+			out.println("\t * The number of bits of the character offset within a block.");
+			out.println("\t */");
+			out.println("\tstatic final int BLOCK_SHIFT = " + bestShift + ";");
+			out.println();
+			out.println("\t/**");
+			out.println("\t * The block number of each block of characters (base64).");
+			out.println("\t */");
+			printString(out, "INDEX", bestIndex);
+			out.println();
+			out.println("\t/**");
+			out.println("\t * The properties of the characters of each distinct block (base64).");
+			out.println("\t */");
+			printString(out, "BLOCKS", bestBlocks);
+			out.println();
+			out.println("\t/**");
+			out.println("\t * The first character of each run of decimal digits.");
+			out.println("\t */");
+			out.print("\tstatic final int[] DIGIT_ZEROS = {");
+			for (int i = 0; i < digitZeros.size(); i++) {
+				out.print((i % 8 == 0 ? "\n\t\t\t" : " ") + "0x" + Integer.toHexString(digitZeros.get(i)).toUpperCase()
+						+ (i < digitZeros.size() - 1 ? "," : ""));
+			}
+			out.println(" };");
+			out.println();
+			out.println("\tprivate CharacterData() {");
+			out.println("\t}");
+			out.println();
+			out.println("}");
+		}
+		System.out.println("generated " + args[0] + ": block size " + (1 << bestShift) + ", " + bestIndex.length
+				+ " index bytes, " + bestBlocks.length + " block bytes");
+	}
+
+	private static void printString(PrintWriter out, String name, byte[] data) {
+		String encoded = Base64.getEncoder().encodeToString(data);
+		out.print("\tstatic final String " + name + " = ");
+		for (int start = 0; start < encoded.length(); start += LINE_LENGTH) {
+			out.print((start == 0 ? "" : "\n\t\t\t+ ") + "\""
+					+ encoded.substring(start, Math.min(encoded.length(), start + LINE_LENGTH)) + "\"");
+		}
+		out.println(";");
+	}
+
+}
@@ -19,11 +19,25 @@
 
 package java.io;
 
+import static jsweet.util.Globals.any;
+
+import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
+
+import def.js.Int8Array;
+import javaemul.internal.EmulatedCharset;
+
 /**
  * A specialized {@link OutputStream} for class for writing content to an
  * (internal) byte array. As bytes are written to this stream, the byte array
  * may be expanded to hold more bytes. When the writing is considered to be
  * finished, a copy of the byte array can be requested from the class.
+ * <p>
+ * The internal byte array is an <code>Int8Array</code>, which grows by
+ * doubling, so that the written arrays are copied with
+ * <code>Int8Array.set</code> when they are typed arrays too. Use
+ * <code>javaemul.internal.ArrayBufferHelper</code> to access the written
+ * bytes without copy.
  *
  * @see ByteArrayInputStream
  */
@@ -44,7 +58,7 @@ public class ByteArrayOutputStream extends OutputStream {
 	 * array will expand.
 	 */
 	public ByteArrayOutputStream() {
-		buf = new byte[32];
+		buf = any(new Int8Array(32));
 	}
 
 	/**
@@ -60,7 +74,7 @@ public class ByteArrayOutputStream extends OutputStream {
 	 */
 	public ByteArrayOutputStream(int size) {
 		if (size >= 0) {
-			buf = new byte[size];
+			buf = any(new Int8Array(size));
 		} else {
 			throw new IllegalArgumentException("size < 0");
 		}
@@ -88,9 +102,9 @@ public class ByteArrayOutputStream extends OutputStream {
 			return;
 		}
 
-		byte[] newbuf = new byte[(count + i) * 2];
-		System.arraycopy(buf, 0, newbuf, 0, count);
-		buf = newbuf;
+		Int8Array newbuf = new Int8Array(Math.max(buf.length * 2, count + i));
+		newbuf.set((Double[]) any(buf));
+		buf = any(newbuf);
 	}
 
 	/**
@@ -119,9 +133,7 @@ public class ByteArrayOutputStream extends OutputStream {
 	 * @return this stream's current contents as a byte array.
 	 */
 	public byte[] toByteArray() {
-		byte[] newArray = new byte[count];
-		System.arraycopy(buf, 0, newArray, 0, count);
-		return newArray;
+		return any(((Int8Array) any(buf)).slice(0, count));
 	}
 
 	/**
@@ -134,7 +146,7 @@ public class ByteArrayOutputStream extends OutputStream {
 
 	@Override
 	public String toString() {
-		return new String(buf, 0, count);
+		return EmulatedCharset.UTF_8.decode(buf, 0, count);
 	}
 
 	/**
@@ -172,7 +184,11 @@ public class ByteArrayOutputStream extends OutputStream {
 	 *             if the provided encoding is not supported.
 	 */
 	public String toString(String charsetName) throws UnsupportedEncodingException {
-		return new String(buf, 0, count, charsetName);
+		try {
+			return ((EmulatedCharset) Charset.forName(charsetName)).decode(buf, 0, count);
+		} catch (UnsupportedCharsetException e) {
+			throw new UnsupportedEncodingException(charsetName);
+		}
 	}
 
 	/**
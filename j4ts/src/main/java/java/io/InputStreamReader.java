@@ -3,23 +3,56 @@ package java.io;
 import static jsweet.util.Globals.any;
 
 import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
+
+import def.js.Int8Array;
+import javaemul.internal.EmulatedCharset;
 
 /**
  * JSweet implementation.
+ * <p>
+ * The bytes are read by chunks in an <code>Int8Array</code> and decoded to a
+ * string with {@link EmulatedCharset#decode(byte[], int, int)}. The bytes of a
+ * character that is not complete at the end of a chunk are kept for the next
+ * chunk.
  */
-
 public class InputStreamReader extends Reader {
 
+	private static final int BUFFER_SIZE = 8192;
+
 	InputStream in;
 
+	private final EmulatedCharset charset;
+
+	private final byte[] bytes = any(new Int8Array(BUFFER_SIZE));
+
+	/**
+	 * The number of bytes of an incomplete character at the beginning of
+	 * {@link #bytes}.
+	 */
+	private int remainingBytes = 0;
+
+	/**
+	 * The decoded chars that are not read yet, from {@link #decodedIndex}.
+	 */
+	private String decoded = "";
+
+	private int decodedIndex = 0;
+
 	public InputStreamReader(InputStream in) {
-		super(in);
-		this.in = in;
+		this(in, EmulatedCharset.UTF_8);
 	}
 
 	public InputStreamReader(InputStream in, String charsetName) throws UnsupportedEncodingException {
 		super(in);
 		this.in = in;
+		if (charsetName == null)
+			throw new NullPointerException("charsetName");
+		try {
+			this.charset = (EmulatedCharset) Charset.forName(charsetName);
+		} catch (UnsupportedCharsetException e) {
+			throw new UnsupportedEncodingException(charsetName);
+		}
 	}
 
 	public InputStreamReader(InputStream in, Charset cs) {
@@ -27,15 +60,67 @@ public class InputStreamReader extends Reader {
 		this.in = in;
 		if (cs == null)
 			throw new NullPointerException("charset");
+		this.charset = (EmulatedCharset) cs;
+	}
+
+	public String getEncoding() {
+		return charset.name();
+	}
+
+	/**
+	 * Decodes the next chunk of the input stream, and returns false at the
+	 * end of the stream.
+	 */
+	private boolean fill() throws IOException {
+		while (decodedIndex >= decoded.length()) {
+			int n = in.read(bytes, remainingBytes, bytes.length - remainingBytes);
+			if (n == -1) {
+				if (remainingBytes > 0) {
+					remainingBytes = 0;
+					throw new IOException("Incomplete character at the end of the stream");
+				}
+				return false;
+			}
+			int length = remainingBytes + n;
+			int complete = charset.completeLength(bytes, 0, length);
+			try {
+				decoded = charset.decode(bytes, 0, complete);
+			} catch (IllegalArgumentException e) {
+				throw new IOException(e.getMessage());
+			}
+			decodedIndex = 0;
+			remainingBytes = length - complete;
+			for (int i = 0; i < remainingBytes; i++) {
+				bytes[i] = bytes[complete + i];
+			}
+		}
+		return true;
+	}
+
+	public int read() throws IOException {
+		if (!fill()) {
+			return -1;
+		}
+		return decoded.charAt(decodedIndex++);
 	}
 
 	public int read(char cbuf[], int offset, int length) throws IOException {
-		byte[] buf = any(cbuf);
-		return in.read(buf, offset, length);
+		if (length == 0) {
+			return 0;
+		}
+		if (!fill()) {
+			return -1;
+		}
+		int n = Math.min(length, decoded.length() - decodedIndex);
+		for (int i = 0; i < n; i++) {
+			cbuf[offset + i] = decoded.charAt(decodedIndex + i);
+		}
+		decodedIndex += n;
+		return n;
 	}
 
 	public boolean ready() throws IOException {
-		return in.available()>0;
+		return decodedIndex < decoded.length() || in.available() > 0;
 	}
 
 	public void close() throws IOException {
@@ -3,16 +3,31 @@ package java.io;
 import static jsweet.util.Globals.any;
 
 import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
+
+import def.js.Int8Array;
+import javaemul.internal.EmulatedCharset;
 
 /**
- * JSweet implementation (partial).
- * 
- * TODO: actual support of charsets.
+ * JSweet implementation.
+ *
+ * The chars are encoded by chunks in an <code>Int8Array</code> with
+ * {@link EmulatedCharset#encode(String, int, int, byte[], int)}, which is
+ * written to the output stream in one call. A high surrogate ending a write is
+ * kept until the next write, so that surrogate pairs are never split.
  */
 public class OutputStreamWriter extends Writer {
 
+    private static final int CHUNK_SIZE = 2048;
+
     private final OutputStream out;
 
+    private final EmulatedCharset charset;
+
+    private final byte[] bytes;
+
+    private String highSurrogate;
+
     public OutputStreamWriter(OutputStream out, String charsetName)
         throws UnsupportedEncodingException
     {
@@ -20,11 +35,16 @@ public class OutputStreamWriter extends Writer {
         if (charsetName == null)
             throw new NullPointerException("charsetName");
         this.out = out;
+        try {
+            this.charset = (EmulatedCharset) Charset.forName(charsetName);
+        } catch (UnsupportedCharsetException e) {
+            throw new UnsupportedEncodingException(charsetName);
+        }
+        this.bytes = any(new Int8Array(CHUNK_SIZE * charset.maxBytesPerChar()));
     }
 
     public OutputStreamWriter(OutputStream out) {
-        super(out);
-        this.out = out;
+        this(out, EmulatedCharset.UTF_8);
     }
 
     public OutputStreamWriter(OutputStream out, Charset cs) {
@@ -32,6 +52,12 @@ public class OutputStreamWriter extends Writer {
         if (cs == null)
             throw new NullPointerException("charset");
         this.out = out;
+        this.charset = (EmulatedCharset) cs;
+        this.bytes = any(new Int8Array(CHUNK_SIZE * charset.maxBytesPerChar()));
+    }
+
+    public String getEncoding() {
+        return charset.name();
     }
 
     void flushBuffer() throws IOException {
@@ -39,16 +65,33 @@ public class OutputStreamWriter extends Writer {
     }
 
     public void write(int c) throws IOException {
-        out.write(c);
+        write(String.valueOf((char) c), 0, 1);
     }
 
     public void write(char cbuf[], int off, int len) throws IOException {
-    	byte[] buf = any(cbuf);
-        out.write(buf, off, len);
+        write(new String(cbuf, off, len), 0, len);
     }
 
     public void write(String str, int off, int len) throws IOException {
-        out.write(str.getBytes(), off, len);
+        if (highSurrogate != null) {
+            str = highSurrogate + str.substring(off, off + len);
+            off = 0;
+            len = str.length();
+            highSurrogate = null;
+        }
+        int end = off + len;
+        if (len > 0 && Character.isHighSurrogate(str.charAt(end - 1))) {
+            highSurrogate = str.substring(end - 1, end);
+            end--;
+        }
+        for (int start = off; start < end;) {
+            int chunkEnd = Math.min(end, start + CHUNK_SIZE);
+            if (chunkEnd < end && Character.isHighSurrogate(str.charAt(chunkEnd - 1))) {
+                chunkEnd--;
+            }
+            out.write(bytes, 0, charset.encode(str, start, chunkEnd, bytes, 0));
+            start = chunkEnd;
+        }
     }
 
     public void flush() throws IOException {
@@ -56,6 +99,11 @@ public class OutputStreamWriter extends Writer {
     }
 
     public void close() throws IOException {
+        if (highSurrogate != null) {
+            // a lone high surrogate: encoded as is
+            out.write(bytes, 0, charset.encode(highSurrogate, 0, 1, bytes, 0));
+            highSurrogate = null;
+        }
         out.close();
     }
 }
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.nio;
+
+import static jsweet.util.Globals.any;
+
+import def.js.ArrayBuffer;
+import def.js.DataView;
+
+/**
+ * A container for data of a primitive type, with a capacity, a limit, a
+ * position and a mark.
+ *
+ * <p>
+ * All the buffers of this emulation are views of an <code>ArrayBuffer</code>,
+ * accessed through a <code>DataView</code>: duplicates, slices and views of
+ * another type share the <code>ArrayBuffer</code> of the buffer they are
+ * created from, and the byte order is applied by the <code>DataView</code>
+ * accessors.
+ *
+ * <p>
+ * A regular JavaScript array cannot be viewed as an <code>ArrayBuffer</code>,
+ * so the buffers wrapping such an array hold a copy of it, and write their
+ * modifications back to it (see {@link #writeBackTo(Object, Object, int)}).
+ */
+public abstract class Buffer {
+
+	/**
+	 * The underlying buffer (possibly shared with other buffers).
+	 */
+	final ArrayBuffer buffer;
+
+	/**
+	 * The byte offset of the element at index 0 in the underlying buffer.
+	 */
+	final int offset;
+
+	final DataView view;
+
+	final boolean readOnly;
+
+	boolean bigEndian;
+
+	private final int bytesPerElement;
+
+	private final int capacity;
+
+	private int limit;
+
+	private int position = 0;
+
+	private int mark = -1;
+
+	/**
+	 * The regular array the underlying buffer is a copy of (from its byte 0),
+	 * or null.
+	 */
+	private double[] wrappedArray;
+
+	/**
+	 * A typed array of the element type of {@link #wrappedArray}, over the
+	 * whole underlying buffer.
+	 */
+	private double[] wrappedElements;
+
+	private int wrappedBytesPerElement;
+
+	Buffer(ArrayBuffer buffer, int offset, int capacity, int bytesPerElement, boolean readOnly, boolean bigEndian) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity < 0: " + capacity);
+		}
+		this.buffer = buffer;
+		this.offset = offset;
+		this.bytesPerElement = bytesPerElement;
+		this.view = new DataView(buffer, offset, capacity * bytesPerElement);
+		this.capacity = capacity;
+		this.limit = capacity;
+		this.readOnly = readOnly;
+		this.bigEndian = bigEndian;
+	}
+
+	public final int capacity() {
+		return capacity;
+	}
+
+	public final int position() {
+		return position;
+	}
+
+	public Buffer position(int newPosition) {
+		if (newPosition > limit || newPosition < 0) {
+			throw new IllegalArgumentException("newPosition: " + newPosition);
+		}
+		if (mark > newPosition) {
+			mark = -1;
+		}
+		position = newPosition;
+		return this;
+	}
+
+	public final int limit() {
+		return limit;
+	}
+
+	public Buffer limit(int newLimit) {
+		if (newLimit > capacity || newLimit < 0) {
+			throw new IllegalArgumentException("newLimit: " + newLimit);
+		}
+		limit = newLimit;
+		if (position > newLimit) {
+			position = newLimit;
+		}
+		if (mark > newLimit) {
+			mark = -1;
+		}
+		return this;
+	}
+
+	public Buffer mark() {
+		mark = position;
+		return this;
+	}
+
+	public Buffer reset() {
+		if (mark < 0) {
+			throw new InvalidMarkException();
+		}
+		position = mark;
+		return this;
+	}
+
+	public Buffer clear() {
+		position = 0;
+		limit = capacity;
+		mark = -1;
+		return this;
+	}
+
+	public Buffer flip() {
+		limit = position;
+		position = 0;
+		mark = -1;
+		return this;
+	}
+
+	public Buffer rewind() {
+		position = 0;
+		mark = -1;
+		return this;
+	}
+
+	public final int remaining() {
+		return limit - position;
+	}
+
+	public final boolean hasRemaining() {
+		return position < limit;
+	}
+
+	public final boolean isReadOnly() {
+		return readOnly;
+	}
+
+	public abstract boolean hasArray();
+
+	public abstract Object array();
+
+	public abstract int arrayOffset();
+
+	/**
+	 * Always true: all the buffers are backed by an <code>ArrayBuffer</code>.
+	 */
+	public boolean isDirect() {
+		return true;
+	}
+
+	/**
+	 * Copies the position, limit and mark of this buffer to the given buffer,
+	 * for duplicates.
+	 */
+	final void copyStateTo(Buffer duplicate) {
+		duplicate.limit = limit;
+		duplicate.position = position;
+		duplicate.mark = mark;
+	}
+
+	/**
+	 * Makes this buffer (and the buffers created from it) write the
+	 * modifications of the underlying buffer back to the given regular array,
+	 * which the underlying buffer is a copy of.
+	 *
+	 * @param array
+	 *            the wrapped array
+	 * @param elements
+	 *            a typed array of the element type of the wrapped array, over
+	 *            the whole underlying buffer
+	 * @param bytesPerElement
+	 *            the size of the elements of the wrapped array
+	 */
+	final void writeBackTo(Object array, Object elements, int bytesPerElement) {
+		wrappedArray = any(array);
+		wrappedElements = any(elements);
+		wrappedBytesPerElement = bytesPerElement;
+	}
+
+	/**
+	 * Makes the given buffer, which shares the underlying buffer of this
+	 * buffer, write its modifications back to the array wrapped by this
+	 * buffer, if any.
+	 */
+	final <B extends Buffer> B derive(B derived) {
+		Buffer target = derived;
+		target.wrappedArray = wrappedArray;
+		target.wrappedElements = wrappedElements;
+		target.wrappedBytesPerElement = wrappedBytesPerElement;
+		return derived;
+	}
+
+	/**
+	 * Writes the given modified elements of this buffer back to the wrapped
+	 * array, if any.
+	 */
+	final void written(int index, int length) {
+		if (wrappedArray != null) {
+			int start = offset + index * bytesPerElement;
+			int end = start + length * bytesPerElement;
+			for (int i = start / wrappedBytesPerElement; i < (end + wrappedBytesPerElement - 1)
+					/ wrappedBytesPerElement; i++) {
+				wrappedArray[i] = wrappedElements[i];
+			}
+		}
+	}
+
+	final int nextGetIndex() {
+		if (position >= limit) {
+			throw new BufferUnderflowException();
+		}
+		return position++;
+	}
+
+	final int nextGetIndex(int n) {
+		if (limit - position < n) {
+			throw new BufferUnderflowException();
+		}
+		int p = position;
+		position += n;
+		return p;
+	}
+
+	final int nextPutIndex() {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		if (position >= limit) {
+			throw new BufferOverflowException();
+		}
+		return position++;
+	}
+
+	final int nextPutIndex(int n) {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		if (limit - position < n) {
+			throw new BufferOverflowException();
+		}
+		int p = position;
+		position += n;
+		return p;
+	}
+
+	final int checkIndex(int i) {
+		if (i < 0 || i >= limit) {
+			throw new IndexOutOfBoundsException("index: " + i + ", limit: " + limit);
+		}
+		return i;
+	}
+
+	final int checkIndex(int i, int n) {
+		if (i < 0 || n > limit - i) {
+			throw new IndexOutOfBoundsException("index: " + i + ", limit: " + limit);
+		}
+		return i;
+	}
+
+	final int checkPutIndex(int i) {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		return checkIndex(i);
+	}
+
+	final int checkPutIndex(int i, int n) {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		return checkIndex(i, n);
+	}
+
+	static void checkBounds(int off, int len, int size) {
+		if ((off | len | (off + len) | (size - (off + len))) < 0) {
+			throw new IndexOutOfBoundsException("offset: " + off + ", length: " + len + ", size: " + size);
+		}
+	}
+
+	final String describe(String className) {
+		return className + "[pos=" + position + " lim=" + limit + " cap=" + capacity + "]";
+	}
+
+}
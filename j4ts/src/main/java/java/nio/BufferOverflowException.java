@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.nio;
+
+/**
+ * Thrown when a relative put writes past the limit of a buffer.
+ */
+public class BufferOverflowException extends RuntimeException {
+
+	public BufferOverflowException() {
+	}
+
+}
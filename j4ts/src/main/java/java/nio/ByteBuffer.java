@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.nio;
+
+import static javaemul.internal.Coercions.ensureInt;
+import static jsweet.util.Globals.any;
+import static jsweet.util.Globals.typeof;
+
+import def.js.ArrayBuffer;
+import def.js.Int8Array;
+
+/**
+ * A byte buffer, implemented as a <code>DataView</code> of an
+ * <code>ArrayBuffer</code>.
+ *
+ * <p>
+ * The multi-byte accessors are the <code>DataView</code> ones, which take the
+ * byte order as an argument: there is no byte swapping nor per-byte
+ * composition. Slices, duplicates, read-only copies and the int and char views
+ * share the <code>ArrayBuffer</code> of this buffer, so they do not copy any
+ * data. The backing array returned by {@link #array()} is an
+ * <code>Int8Array</code> view of the same <code>ArrayBuffer</code>, typed as a
+ * <code>byte[]</code>.
+ *
+ * <p>
+ * Use <code>javaemul.internal.ArrayBufferHelper</code> to wrap an
+ * <code>ArrayBuffer</code> (for instance received from a WebSocket or a fetch
+ * response) in a buffer, or to get the <code>ArrayBuffer</code> of a buffer.
+ */
+public class ByteBuffer extends Buffer implements Comparable<ByteBuffer> {
+
+	private static final double TWO_POW_32 = 4294967296.0;
+
+	/**
+	 * Allocates a new byte buffer, whose content is initialized to zero.
+	 */
+	public static ByteBuffer allocate(int capacity) {
+		return new ByteBuffer(new ArrayBuffer(capacity), 0, capacity, false);
+	}
+
+	/**
+	 * Same as {@link #allocate(int)}: all the buffers are direct.
+	 */
+	public static ByteBuffer allocateDirect(int capacity) {
+		return allocate(capacity);
+	}
+
+	/**
+	 * Wraps the given array in a buffer.
+	 *
+	 * <p>
+	 * The array is shared with the buffer when it is implemented by a typed
+	 * array (for instance when it was returned by {@link #array()}). A regular
+	 * JavaScript array is copied, and the puts on the buffer (and on the
+	 * buffers created from it) are written back to the array, but later
+	 * modifications of the array are not visible to the buffer.
+	 */
+	public static ByteBuffer wrap(byte[] array) {
+		return wrap(array, 0, array.length);
+	}
+
+	/**
+	 * Wraps the given array in a buffer, with the given position and limit.
+	 *
+	 * @see #wrap(byte[])
+	 */
+	public static ByteBuffer wrap(byte[] array, int offset, int length) {
+		checkBounds(offset, length, array.length);
+		ByteBuffer result;
+		if (ArrayBuffer.isView(array)) {
+			Int8Array view = any(array);
+			result = new ByteBuffer(view.buffer, (int) view.byteOffset, array.length, false);
+		} else {
+			result = allocate(array.length);
+			Int8Array elements = new Int8Array(result.buffer);
+			elements.set((Double[]) any(array));
+			result.writeBackTo(array, elements, 1);
+		}
+		result.position(offset);
+		result.limit(offset + length);
+		return result;
+	}
+
+	private byte[] array;
+
+	ByteBuffer(ArrayBuffer buffer, int offset, int capacity, boolean readOnly) {
+		super(buffer, offset, capacity, 1, readOnly, true);
+	}
+
+	/**
+	 * Creates a new buffer sharing the content of this buffer from its
+	 * position to its limit.
+	 */
+	public ByteBuffer slice() {
+		return derive(new ByteBuffer(buffer, offset + position(), remaining(), readOnly));
+	}
+
+	/**
+	 * Creates a new buffer sharing the content of this buffer, with the same
+	 * position, limit and mark.
+	 */
+	public ByteBuffer duplicate() {
+		ByteBuffer duplicate = derive(new ByteBuffer(buffer, offset, capacity(), readOnly));
+		copyStateTo(duplicate);
+		return duplicate;
+	}
+
+	public ByteBuffer asReadOnlyBuffer() {
+		ByteBuffer duplicate = derive(new ByteBuffer(buffer, offset, capacity(), true));
+		copyStateTo(duplicate);
+		return duplicate;
+	}
+
+	/**
+	 * Creates a view of the content of this buffer from its position to its
+	 * limit as an int buffer, in the byte order of this buffer.
+	 */
+	public IntBuffer asIntBuffer() {
+		return derive(new IntBuffer(buffer, offset + position(), remaining() >> 2, readOnly, bigEndian));
+	}
+
+	/**
+	 * Creates a view of the content of this buffer from its position to its
+	 * limit as a char buffer, in the byte order of this buffer.
+	 */
+	public CharBuffer asCharBuffer() {
+		return derive(new CharBuffer(buffer, offset + position(), remaining() >> 1, readOnly, bigEndian));
+	}
+
+	public final ByteOrder order() {
+		return bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+	}
+
+	public final ByteBuffer order(ByteOrder order) {
+		bigEndian = order == ByteOrder.BIG_ENDIAN;
+		return this;
+	}
+
+	@Override
+	public final boolean hasArray() {
+		return !readOnly;
+	}
+
+	@Override
+	public final byte[] array() {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		if (array == null) {
+			array = any(new Int8Array(buffer, offset, capacity()));
+		}
+		return array;
+	}
+
+	@Override
+	public final int arrayOffset() {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		return 0;
+	}
+
+	public byte get() {
+		return (byte) view.getInt8(nextGetIndex());
+	}
+
+	public byte get(int index) {
+		return (byte) view.getInt8(checkIndex(index));
+	}
+
+	public ByteBuffer get(byte[] dst) {
+		return get(dst, 0, dst.length);
+	}
+
+	public ByteBuffer get(byte[] dst, int offset, int length) {
+		checkBounds(offset, length, dst.length);
+		int p = nextGetIndex(length);
+		if (ArrayBuffer.isView(dst)) {
+			((Int8Array) any(dst)).set((Double[]) any(bytes(p, length)), offset);
+		} else {
+			for (int i = 0; i < length; i++) {
+				dst[offset + i] = (byte) view.getInt8(p + i);
+			}
+		}
+		return this;
+	}
+
+	public ByteBuffer put(byte b) {
+		int p = nextPutIndex();
+		view.setInt8(p, b);
+		written(p, 1);
+		return this;
+	}
+
+	public ByteBuffer put(int index, byte b) {
+		view.setInt8(checkPutIndex(index), b);
+		written(index, 1);
+		return this;
+	}
+
+	/**
+	 * Copies the remaining bytes of the given buffer to this buffer, with a
+	 * single typed array copy.
+	 */
+	public ByteBuffer put(ByteBuffer src) {
+		if (src == this) {
+			throw new IllegalArgumentException("the source buffer is this buffer");
+		}
+		int length = src.remaining();
+		int p = nextPutIndex(length);
+		bytes(p, length).set((Double[]) any(src.bytes(src.nextGetIndex(length), length)), 0);
+		written(p, length);
+		return this;
+	}
+
+	public final ByteBuffer put(byte[] src) {
+		return put(src, 0, src.length);
+	}
+
+	public ByteBuffer put(byte[] src, int offset, int length) {
+		checkBounds(offset, length, src.length);
+		int p = nextPutIndex(length);
+		if (ArrayBuffer.isView(src)) {
+			bytes(p, length).set((Double[]) any(((Int8Array) any(src)).subarray(offset, offset + length)), 0);
+		} else {
+			for (int i = 0; i < length; i++) {
+				view.setInt8(p + i, src[offset + i]);
+			}
+		}
+		written(p, length);
+		return this;
+	}
+
+	/**
+	 * Moves the remaining bytes to the beginning of this buffer.
+	 */
+	public ByteBuffer compact() {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		int length = remaining();
+		bytes(0, length).set((Double[]) any(bytes(position(), length)), 0);
+		written(0, length);
+		clear();
+		position(length);
+		return this;
+	}
+
+	/**
+	 * A typed array view of the given range of this buffer, for the bulk
+	 * copies.
+	 */
+	private Int8Array bytes(int index, int length) {
+		return new Int8Array(buffer, offset + index, length);
+	}
+
+	public char getChar() {
+		return (char) view.getUint16(nextGetIndex(2), !bigEndian);
+	}
+
+	public char getChar(int index) {
+		return (char) view.getUint16(checkIndex(index, 2), !bigEndian);
+	}
+
+	public ByteBuffer putChar(char value) {
+		int p = nextPutIndex(2);
+		view.setUint16(p, value, !bigEndian);
+		written(p, 2);
+		return this;
+	}
+
+	public ByteBuffer putChar(int index, char value) {
+		view.setUint16(checkPutIndex(index, 2), value, !bigEndian);
+		written(index, 2);
+		return this;
+	}
+
+	public short getShort() {
+		return (short) view.getInt16(nextGetIndex(2), !bigEndian);
+	}
+
+	public short getShort(int index) {
+		return (short) view.getInt16(checkIndex(index, 2), !bigEndian);
+	}
+
+	public ByteBuffer putShort(short value) {
+		int p = nextPutIndex(2);
+		view.setInt16(p, value, !bigEndian);
+		written(p, 2);
+		return this;
+	}
+
+	public ByteBuffer putShort(int index, short value) {
+		view.setInt16(checkPutIndex(index, 2), value, !bigEndian);
+		written(index, 2);
+		return this;
+	}
+
+	public int getInt() {
+		return (int) view.getInt32(nextGetIndex(4), !bigEndian);
+	}
+
+	public int getInt(int index) {
+		return (int) view.getInt32(checkIndex(index, 4), !bigEndian);
+	}
+
+	public ByteBuffer putInt(int value) {
+		int p = nextPutIndex(4);
+		view.setInt32(p, value, !bigEndian);
+		written(p, 4);
+		return this;
+	}
+
+	public ByteBuffer putInt(int index, int value) {
+		view.setInt32(checkPutIndex(index, 4), value, !bigEndian);
+		written(index, 4);
+		return this;
+	}
+
+	public long getLong() {
+		return readLong(nextGetIndex(8));
+	}
+
+	public long getLong(int index) {
+		return readLong(checkIndex(index, 8));
+	}
+
+	public ByteBuffer putLong(long value) {
+		int p = nextPutIndex(8);
+		writeLong(p, value);
+		written(p, 8);
+		return this;
+	}
+
+	public ByteBuffer putLong(int index, long value) {
+		writeLong(checkPutIndex(index, 8), value);
+		written(index, 8);
+		return this;
+	}
+
+	private long readLong(int index) {
+		int high = index + (bigEndian ? 0 : 4);
+		int low = index + (bigEndian ? 4 : 0);
+		// multiplication rather than shift, which also gives the high word when
+		// longs are plain numbers (see Random.nextLong)
+		return (long) view.getInt32(high, !bigEndian) * 0x100000000L + (long) view.getUint32(low, !bigEndian);
+	}
+
+	private void writeLong(int index, long value) {
+		int high;
+		if ("number".equals(typeof(value))) {
+			// longs are plain numbers (see LongHelper.hashCode)
+			high = (int) Math.floor(value / TWO_POW_32);
+		} else {
+			high = (int) (value >> 32);
+		}
+		view.setInt32(index + (bigEndian ? 0 : 4), high, !bigEndian);
+		view.setInt32(index + (bigEndian ? 4 : 0), (int) value, !bigEndian);
+	}
+
+	public float getFloat() {
+		return (float) view.getFloat32(nextGetIndex(4), !bigEndian);
+	}
+
+	public float getFloat(int index) {
+		return (float) view.getFloat32(checkIndex(index, 4), !bigEndian);
+	}
+
+	public ByteBuffer putFloat(float value) {
+		int p = nextPutIndex(4);
+		view.setFloat32(p, value, !bigEndian);
+		written(p, 4);
+		return this;
+	}
+
+	public ByteBuffer putFloat(int index, float value) {
+		view.setFloat32(checkPutIndex(index, 4), value, !bigEndian);
+		written(index, 4);
+		return this;
+	}
+
+	public double getDouble() {
+		return view.getFloat64(nextGetIndex(8), !bigEndian);
+	}
+
+	public double getDouble(int index) {
+		return view.getFloat64(checkIndex(index, 8), !bigEndian);
+	}
+
+	public ByteBuffer putDouble(double value) {
+		int p = nextPutIndex(8);
+		view.setFloat64(p, value, !bigEndian);
+		written(p, 8);
+		return this;
+	}
+
+	public ByteBuffer putDouble(int index, double value) {
+		view.setFloat64(checkPutIndex(index, 8), value, !bigEndian);
+		written(index, 8);
+		return this;
+	}
+
+	@Override
+	public int compareTo(ByteBuffer that) {
+		int n = Math.min(remaining(), that.remaining());
+		for (int i = 0; i < n; i++) {
+			int c = Byte.compare(get(position() + i), that.get(that.position() + i));
+			if (c != 0) {
+				return c;
+			}
+		}
+		return remaining() - that.remaining();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof ByteBuffer)) {
+			return false;
+		}
+		ByteBuffer that = (ByteBuffer) o;
+		return remaining() == that.remaining() && compareTo(that) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		for (int i = limit() - 1; i >= position(); i--) {
+			hashCode = ensureInt(31 * hashCode + get(i));
+		}
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return describe("java.nio.ByteBuffer");
+	}
+
+}
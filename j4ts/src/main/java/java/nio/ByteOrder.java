@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.nio;
+
+import def.js.ArrayBuffer;
+import def.js.DataView;
+import def.js.Int16Array;
+
+/**
+ * A typesafe enumeration for byte orders.
+ */
+public final class ByteOrder {
+
+	public static final ByteOrder BIG_ENDIAN = new ByteOrder("BIG_ENDIAN");
+
+	public static final ByteOrder LITTLE_ENDIAN = new ByteOrder("LITTLE_ENDIAN");
+
+	private static final ByteOrder NATIVE_ORDER = detectNativeOrder();
+
+	private final String name;
+
+	private ByteOrder(String name) {
+		this.name = name;
+	}
+
+	private static ByteOrder detectNativeOrder() {
+		ArrayBuffer buffer = new ArrayBuffer(2);
+		new DataView(buffer).setInt16(0, 1, true);
+		return new Int16Array(buffer).$get(0) == 1 ? LITTLE_ENDIAN : BIG_ENDIAN;
+	}
+
+	/**
+	 * Returns the byte order of the typed arrays (almost always little endian).
+	 */
+	public static ByteOrder nativeOrder() {
+		return NATIVE_ORDER;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.nio;
+
+import static javaemul.internal.Coercions.ensureInt;
+
+import def.js.ArrayBuffer;
+
+/**
+ * A char buffer, implemented as a <code>DataView</code> of an
+ * <code>ArrayBuffer</code> holding UTF-16 code units.
+ *
+ * <p>
+ * Since <code>char</code> arrays are arrays of strings in JavaScript, char
+ * buffers have no backing array: wrapping an array copies it.
+ *
+ * @see ByteBuffer
+ */
+public class CharBuffer extends Buffer implements CharSequence, Comparable<CharBuffer> {
+
+	/**
+	 * Allocates a new char buffer in the native byte order.
+	 */
+	public static CharBuffer allocate(int capacity) {
+		return new CharBuffer(new ArrayBuffer(capacity * 2), 0, capacity, false,
+				ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * Creates a buffer holding a copy of the given array.
+	 */
+	public static CharBuffer wrap(char[] array) {
+		return wrap(array, 0, array.length);
+	}
+
+	/**
+	 * Creates a buffer holding a copy of the given array, with the given
+	 * position and limit.
+	 */
+	public static CharBuffer wrap(char[] array, int offset, int length) {
+		checkBounds(offset, length, array.length);
+		CharBuffer result = allocate(array.length);
+		result.put(array);
+		result.position(offset);
+		result.limit(offset + length);
+		return result;
+	}
+
+	/**
+	 * Creates a read-only buffer holding a copy of the given characters.
+	 */
+	public static CharBuffer wrap(CharSequence csq) {
+		return wrap(csq, 0, csq.length());
+	}
+
+	/**
+	 * Creates a read-only buffer holding a copy of the given characters, with
+	 * the given position and limit.
+	 */
+	public static CharBuffer wrap(CharSequence csq, int start, int end) {
+		String s = csq.toString();
+		CharBuffer result = allocate(s.length());
+		result.put(s);
+		CharBuffer readOnly = result.asReadOnlyBuffer();
+		readOnly.limit(end);
+		readOnly.position(start);
+		return readOnly;
+	}
+
+	CharBuffer(ArrayBuffer buffer, int offset, int capacity, boolean readOnly, boolean bigEndian) {
+		super(buffer, offset, capacity, 2, readOnly, bigEndian);
+	}
+
+	public CharBuffer slice() {
+		return derive(new CharBuffer(buffer, offset + position() * 2, remaining(), readOnly, bigEndian));
+	}
+
+	public CharBuffer duplicate() {
+		CharBuffer duplicate = derive(new CharBuffer(buffer, offset, capacity(), readOnly, bigEndian));
+		copyStateTo(duplicate);
+		return duplicate;
+	}
+
+	public CharBuffer asReadOnlyBuffer() {
+		CharBuffer duplicate = derive(new CharBuffer(buffer, offset, capacity(), true, bigEndian));
+		copyStateTo(duplicate);
+		return duplicate;
+	}
+
+	public final ByteOrder order() {
+		return bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+	}
+
+	@Override
+	public final boolean hasArray() {
+		return false;
+	}
+
+	@Override
+	public final char[] array() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public final int arrayOffset() {
+		throw new UnsupportedOperationException();
+	}
+
+	public char get() {
+		return (char) view.getUint16(nextGetIndex() * 2, !bigEndian);
+	}
+
+	public char get(int index) {
+		return (char) view.getUint16(checkIndex(index) * 2, !bigEndian);
+	}
+
+	/**
+	 * The UTF-16 code unit at the given index, without a char conversion.
+	 */
+	private int code(int index) {
+		return (int) view.getUint16(checkIndex(index) * 2, !bigEndian);
+	}
+
+	public CharBuffer get(char[] dst) {
+		return get(dst, 0, dst.length);
+	}
+
+	public CharBuffer get(char[] dst, int offset, int length) {
+		checkBounds(offset, length, dst.length);
+		int p = nextGetIndex(length);
+		for (int i = 0; i < length; i++) {
+			dst[offset + i] = (char) view.getUint16((p + i) * 2, !bigEndian);
+		}
+		return this;
+	}
+
+	/**
+	 * Writes all the characters of the given string (which may also be a
+	 * single char, since chars are strings in JavaScript).
+	 */
+	public final CharBuffer put(String src) {
+		return put(src, 0, src.length());
+	}
+
+	public CharBuffer put(String src, int start, int end) {
+		checkBounds(start, end - start, src.length());
+		int p = nextPutIndex(end - start);
+		for (int i = start; i < end; i++) {
+			view.setUint16((p + i - start) * 2, src.charAt(i), !bigEndian);
+		}
+		written(p, end - start);
+		return this;
+	}
+
+	public CharBuffer put(char c) {
+		int p = nextPutIndex();
+		view.setUint16(p * 2, c, !bigEndian);
+		written(p, 1);
+		return this;
+	}
+
+	public CharBuffer put(int index, char c) {
+		view.setUint16(checkPutIndex(index) * 2, c, !bigEndian);
+		written(index, 1);
+		return this;
+	}
+
+	public final CharBuffer put(char[] src) {
+		return put(src, 0, src.length);
+	}
+
+	public CharBuffer put(char[] src, int offset, int length) {
+		checkBounds(offset, length, src.length);
+		int p = nextPutIndex(length);
+		for (int i = 0; i < length; i++) {
+			view.setUint16((p + i) * 2, src[offset + i], !bigEndian);
+		}
+		written(p, length);
+		return this;
+	}
+
+	public CharBuffer put(CharBuffer src) {
+		if (src == this) {
+			throw new IllegalArgumentException("the source buffer is this buffer");
+		}
+		int length = src.remaining();
+		int p = nextPutIndex(length);
+		int q = src.nextGetIndex(length);
+		for (int i = 0; i < length; i++) {
+			view.setUint16((p + i) * 2, src.view.getUint16((q + i) * 2, !src.bigEndian), !bigEndian);
+		}
+		written(p, length);
+		return this;
+	}
+
+	public CharBuffer compact() {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		int length = remaining();
+		for (int i = 0; i < length; i++) {
+			view.setUint16(i * 2, view.getUint16((position() + i) * 2));
+		}
+		written(0, length);
+		clear();
+		position(length);
+		return this;
+	}
+
+	/**
+	 * The number of remaining characters.
+	 */
+	@Override
+	public final int length() {
+		return remaining();
+	}
+
+	/**
+	 * Gets the character at the given index relative to the position.
+	 */
+	@Override
+	public final char charAt(int index) {
+		if (index < 0 || index >= remaining()) {
+			throw new IndexOutOfBoundsException("index: " + index + ", length: " + remaining());
+		}
+		return get(position() + index);
+	}
+
+	@Override
+	public CharBuffer subSequence(int start, int end) {
+		int position = position();
+		if (start < 0 || end > remaining() || start > end) {
+			throw new IndexOutOfBoundsException("start: " + start + ", end: " + end);
+		}
+		CharBuffer sub = duplicate();
+		sub.limit(position + end);
+		sub.position(position + start);
+		return sub;
+	}
+
+	/**
+	 * Returns the characters from the position to the limit.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(remaining());
+		for (int i = position(); i < limit(); i++) {
+			sb.append(get(i));
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public int compareTo(CharBuffer that) {
+		int n = Math.min(remaining(), that.remaining());
+		for (int i = 0; i < n; i++) {
+			int c = code(position() + i) - that.code(that.position() + i);
+			if (c != 0) {
+				return c;
+			}
+		}
+		return remaining() - that.remaining();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof CharBuffer)) {
+			return false;
+		}
+		CharBuffer that = (CharBuffer) o;
+		return remaining() == that.remaining() && compareTo(that) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		for (int i = limit() - 1; i >= position(); i--) {
+			hashCode = ensureInt(31 * hashCode + code(i));
+		}
+		return hashCode;
+	}
+
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.nio;
+
+import static javaemul.internal.Coercions.ensureInt;
+import static jsweet.util.Globals.any;
+
+import def.js.ArrayBuffer;
+import def.js.Int32Array;
+
+/**
+ * An int buffer, implemented as a <code>DataView</code> of an
+ * <code>ArrayBuffer</code>.
+ *
+ * <p>
+ * When the buffer is in the native byte order and aligned on 4 bytes (always
+ * the case for allocated and wrapped buffers), the bulk operations are
+ * <code>Int32Array</code> copies and the backing array returned by
+ * {@link #array()} is an <code>Int32Array</code> view typed as an
+ * <code>int[]</code>.
+ *
+ * @see ByteBuffer
+ */
+public class IntBuffer extends Buffer implements Comparable<IntBuffer> {
+
+	/**
+	 * Allocates a new int buffer in the native byte order, whose content is
+	 * initialized to zero.
+	 */
+	public static IntBuffer allocate(int capacity) {
+		return new IntBuffer(new ArrayBuffer(capacity * 4), 0, capacity, false,
+				ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * Wraps the given array in a buffer. Like for {@link ByteBuffer#wrap(byte[])},
+	 * a regular JavaScript array is copied, and the puts are written back to
+	 * it.
+	 */
+	public static IntBuffer wrap(int[] array) {
+		return wrap(array, 0, array.length);
+	}
+
+	/**
+	 * Wraps the given array in a buffer, with the given position and limit.
+	 *
+	 * @see #wrap(int[])
+	 */
+	public static IntBuffer wrap(int[] array, int offset, int length) {
+		checkBounds(offset, length, array.length);
+		IntBuffer result;
+		if (ArrayBuffer.isView(array)) {
+			Int32Array view = any(array);
+			result = new IntBuffer(view.buffer, (int) view.byteOffset, array.length, false,
+					ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN);
+		} else {
+			result = allocate(array.length);
+			Int32Array elements = new Int32Array(result.buffer);
+			elements.set((Double[]) any(array));
+			result.writeBackTo(array, elements, 4);
+		}
+		result.position(offset);
+		result.limit(offset + length);
+		return result;
+	}
+
+	private int[] array;
+
+	IntBuffer(ArrayBuffer buffer, int offset, int capacity, boolean readOnly, boolean bigEndian) {
+		super(buffer, offset, capacity, 4, readOnly, bigEndian);
+	}
+
+	public IntBuffer slice() {
+		return derive(new IntBuffer(buffer, offset + position() * 4, remaining(), readOnly, bigEndian));
+	}
+
+	public IntBuffer duplicate() {
+		IntBuffer duplicate = derive(new IntBuffer(buffer, offset, capacity(), readOnly, bigEndian));
+		copyStateTo(duplicate);
+		return duplicate;
+	}
+
+	public IntBuffer asReadOnlyBuffer() {
+		IntBuffer duplicate = derive(new IntBuffer(buffer, offset, capacity(), true, bigEndian));
+		copyStateTo(duplicate);
+		return duplicate;
+	}
+
+	public final ByteOrder order() {
+		return bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+	}
+
+	/**
+	 * Tells if the content of this buffer can be accessed through an
+	 * <code>Int32Array</code>.
+	 */
+	private boolean isNative() {
+		return order() == ByteOrder.nativeOrder() && offset % 4 == 0;
+	}
+
+	@Override
+	public final boolean hasArray() {
+		return !readOnly && isNative();
+	}
+
+	@Override
+	public final int[] array() {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		if (!isNative()) {
+			throw new UnsupportedOperationException();
+		}
+		if (array == null) {
+			array = any(ints(0, capacity()));
+		}
+		return array;
+	}
+
+	@Override
+	public final int arrayOffset() {
+		array();
+		return 0;
+	}
+
+	private Int32Array ints(int index, int length) {
+		return new Int32Array(buffer, offset + index * 4, length);
+	}
+
+	public int get() {
+		return (int) view.getInt32(nextGetIndex() * 4, !bigEndian);
+	}
+
+	public int get(int index) {
+		return (int) view.getInt32(checkIndex(index) * 4, !bigEndian);
+	}
+
+	public IntBuffer get(int[] dst) {
+		return get(dst, 0, dst.length);
+	}
+
+	public IntBuffer get(int[] dst, int offset, int length) {
+		checkBounds(offset, length, dst.length);
+		int p = nextGetIndex(length);
+		if (ArrayBuffer.isView(dst) && isNative()) {
+			((Int32Array) any(dst)).set((Double[]) any(ints(p, length)), offset);
+		} else {
+			for (int i = 0; i < length; i++) {
+				dst[offset + i] = (int) view.getInt32((p + i) * 4, !bigEndian);
+			}
+		}
+		return this;
+	}
+
+	public IntBuffer put(int value) {
+		int p = nextPutIndex();
+		view.setInt32(p * 4, value, !bigEndian);
+		written(p, 1);
+		return this;
+	}
+
+	public IntBuffer put(int index, int value) {
+		view.setInt32(checkPutIndex(index) * 4, value, !bigEndian);
+		written(index, 1);
+		return this;
+	}
+
+	public IntBuffer put(IntBuffer src) {
+		if (src == this) {
+			throw new IllegalArgumentException("the source buffer is this buffer");
+		}
+		int length = src.remaining();
+		int p = nextPutIndex(length);
+		int q = src.nextGetIndex(length);
+		if (isNative() && src.isNative()) {
+			ints(p, length).set((Double[]) any(src.ints(q, length)), 0);
+		} else {
+			for (int i = 0; i < length; i++) {
+				view.setInt32((p + i) * 4, src.view.getInt32((q + i) * 4, !src.bigEndian), !bigEndian);
+			}
+		}
+		written(p, length);
+		return this;
+	}
+
+	public final IntBuffer put(int[] src) {
+		return put(src, 0, src.length);
+	}
+
+	public IntBuffer put(int[] src, int offset, int length) {
+		checkBounds(offset, length, src.length);
+		int p = nextPutIndex(length);
+		if (ArrayBuffer.isView(src) && isNative()) {
+			ints(p, length).set((Double[]) any(((Int32Array) any(src)).subarray(offset, offset + length)), 0);
+		} else {
+			for (int i = 0; i < length; i++) {
+				view.setInt32((p + i) * 4, src[offset + i], !bigEndian);
+			}
+		}
+		written(p, length);
+		return this;
+	}
+
+	public IntBuffer compact() {
+		if (readOnly) {
+			throw new ReadOnlyBufferException();
+		}
+		int length = remaining();
+		for (int i = 0; i < length; i++) {
+			view.setInt32(i * 4, view.getInt32((position() + i) * 4));
+		}
+		written(0, length);
+		clear();
+		position(length);
+		return this;
+	}
+
+	@Override
+	public int compareTo(IntBuffer that) {
+		int n = Math.min(remaining(), that.remaining());
+		for (int i = 0; i < n; i++) {
+			int c = Integer.compare(get(position() + i), that.get(that.position() + i));
+			if (c != 0) {
+				return c;
+			}
+		}
+		return remaining() - that.remaining();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof IntBuffer)) {
+			return false;
+		}
+		IntBuffer that = (IntBuffer) o;
+		return remaining() == that.remaining() && compareTo(that) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		for (int i = limit() - 1; i >= position(); i--) {
+			hashCode = ensureInt(31 * hashCode + get(i));
+		}
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return describe("java.nio.IntBuffer");
+	}
+
+}
@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.nio;
+
+/**
+ * Thrown when resetting a buffer whose mark is not defined.
+ */
+public class InvalidMarkException extends IllegalStateException {
+
+	public InvalidMarkException() {
+	}
+
+}
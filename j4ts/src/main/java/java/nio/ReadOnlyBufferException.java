@@ -0,0 +1,16 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.nio;
+
+/**
+ * Thrown when writing to a read-only buffer.
+ */
+public class ReadOnlyBufferException extends UnsupportedOperationException {
+
+	public ReadOnlyBufferException() {
+	}
+
+}
@@ -16,6 +16,10 @@
 package java.security;
 
 import static javaemul.internal.Coercions.ensureInt;
+import static jsweet.util.Globals.any;
+
+import def.js.Int32Array;
+import def.js.Int8Array;
 
 /**
  * Message Digest algorithm - <a href=
@@ -24,55 +28,169 @@ import static javaemul.internal.Coercions.ensureInt;
  */
 public abstract class MessageDigest extends MessageDigestSpi {
 
-  private static class Md5Digest extends MessageDigest {
+  /**
+   * A digest processing its input by blocks of 64 bytes, padded with a 1 bit,
+   * zeros and the 64-bit length of the input in bits (MD5 and SHA family). The
+   * block, the block words and the state are typed arrays allocated once, and
+   * the complete blocks of the input are processed in place.
+   */
+  private abstract static class BlockDigest extends MessageDigest {
+
+    private final int digestLength;
+
+    private final boolean bigEndian;
 
-    // 16 * 4 bytes
-    static byte padding[] = {
-        (byte) 0x80, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
-        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
-        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+    private final byte[] block = any(new Int8Array(64));
 
     /**
-     * Converts a long to a 8-byte array using low order first.
-     *
-     * @param n A long.
-     * @return A byte[].
+     * The number of bytes in {@link #block}.
+     */
+    private int blockLength;
+
+    /**
+     * The number of bytes of the input (exact up to 2^53 bytes).
+     */
+    private double length;
+
+    /**
+     * The words of the block being processed (and of the message schedule).
      */
-    public static byte[] toBytes(long n) {
-      byte[] b = new byte[8];
-
-      b[0] = (byte) (n);
-      n >>>= 8;
-      b[1] = (byte) (n);
-      n >>>= 8;
-      b[2] = (byte) (n);
-      n >>>= 8;
-      b[3] = (byte) (n);
-      n >>>= 8;
-      b[4] = (byte) (n);
-      n >>>= 8;
-      b[5] = (byte) (n);
-      n >>>= 8;
-      b[6] = (byte) (n);
-      n >>>= 8;
-      b[7] = (byte) (n);
-
-      return b;
+    protected final int[] words;
+
+    protected final int[] state;
+
+    protected BlockDigest(String algorithm, int digestLength, boolean bigEndian, int wordCount) {
+      super(algorithm);
+      this.digestLength = digestLength;
+      this.bigEndian = bigEndian;
+      this.words = any(new Int32Array(wordCount));
+      this.state = any(new Int32Array(digestLength / 4));
+      engineReset();
     }
 
     /**
-     * Converts a 64-byte array into a 16-int array.
-     *
-     * @param in A byte[].
-     * @param out An int[].
+     * Processes the 64 bytes of the given array from the given offset.
      */
-    private static void byte2int(byte[] in, int[] out) {
-      for (int inpos = 0, outpos = 0; outpos < 16; outpos++) {
-        out[outpos] = ((in[inpos++] & 0xff) | ((in[inpos++] & 0xff) << 8)
-            | ((in[inpos++] & 0xff) << 16) | ((in[inpos++] & 0xff) << 24));
+    protected abstract void processBlock(byte[] input, int offset);
+
+    /**
+     * Reads the 16 words of a block in the byte order of the digest.
+     */
+    protected final void readWords(byte[] input, int offset) {
+      if (bigEndian) {
+        for (int i = 0; i < 16; i++, offset += 4) {
+          words[i] = input[offset] << 24 | (input[offset + 1] & 0xff) << 16
+              | (input[offset + 2] & 0xff) << 8 | (input[offset + 3] & 0xff);
+        }
+      } else {
+        for (int i = 0; i < 16; i++, offset += 4) {
+          words[i] = (input[offset] & 0xff) | (input[offset + 1] & 0xff) << 8
+              | (input[offset + 2] & 0xff) << 16 | input[offset + 3] << 24;
+        }
+      }
+    }
+
+    @Override
+    protected byte[] engineDigest() {
+      double bitLength = length * 8;
+      block[blockLength++] = (byte) 0x80;
+      if (blockLength > 56) {
+        fill(blockLength, 64);
+        processBlock(block, 0);
+        blockLength = 0;
+      }
+      fill(blockLength, 56);
+      int high = (int) Math.floor(bitLength / 4294967296.0);
+      int low = (int) (bitLength % 4294967296.0);
+      if (bigEndian) {
+        writeInt(high, block, 56);
+        writeInt(low, block, 60);
+      } else {
+        writeInt(low, block, 56);
+        writeInt(high, block, 60);
       }
+      processBlock(block, 0);
+
+      byte[] digest = new byte[digestLength];
+      for (int i = 0; i < state.length; i++) {
+        writeInt(state[i], digest, i * 4);
+      }
+      reset();
+      return digest;
     }
 
+    private void fill(int from, int to) {
+      for (int i = from; i < to; i++) {
+        block[i] = 0;
+      }
+    }
+
+    private void writeInt(int value, byte[] output, int offset) {
+      if (bigEndian) {
+        output[offset] = (byte) (value >>> 24);
+        output[offset + 1] = (byte) (value >>> 16);
+        output[offset + 2] = (byte) (value >>> 8);
+        output[offset + 3] = (byte) value;
+      } else {
+        output[offset] = (byte) value;
+        output[offset + 1] = (byte) (value >>> 8);
+        output[offset + 2] = (byte) (value >>> 16);
+        output[offset + 3] = (byte) (value >>> 24);
+      }
+    }
+
+    @Override
+    protected int engineGetDigestLength() {
+      return digestLength;
+    }
+
+    @Override
+    protected void engineReset() {
+      blockLength = 0;
+      length = 0;
+      resetState();
+    }
+
+    /**
+     * Sets the initial state.
+     */
+    protected abstract void resetState();
+
+    @Override
+    protected void engineUpdate(byte input) {
+      block[blockLength++] = input;
+      length++;
+      if (blockLength == 64) {
+        processBlock(block, 0);
+        blockLength = 0;
+      }
+    }
+
+    @Override
+    protected void engineUpdate(byte[] input, int offset, int len) {
+      length += len;
+      if (blockLength > 0) {
+        int n = Math.min(64 - blockLength, len);
+        System.arraycopy(input, offset, block, blockLength, n);
+        blockLength += n;
+        offset += n;
+        len -= n;
+        if (blockLength < 64) {
+          return;
+        }
+        processBlock(block, 0);
+        blockLength = 0;
+      }
+      for (; len >= 64; offset += 64, len -= 64) {
+        processBlock(input, offset);
+      }
+      System.arraycopy(input, offset, block, 0, len);
+      blockLength = len;
+    }
+  }
+
+  private static class Md5Digest extends BlockDigest {
+
     /*
      * Method F.
      *
@@ -193,114 +311,24 @@ public abstract class MessageDigest extends MessageDigestSpi {
       return a + b;
     }
 
-    /**
-     * Converts a 4-int array into a 16-byte array.
-     *
-     * @param in An int[].
-     * @param out A byte[].
-     */
-    private static void int2byte(int[] in, byte[] out) {
-      for (int inpos = 0, outpos = 0; inpos < 4; inpos++) {
-        out[outpos++] = (byte) (in[inpos] & 0xff);
-        out[outpos++] = (byte) ((in[inpos] >>> 8) & 0xff);
-        out[outpos++] = (byte) ((in[inpos] >>> 16) & 0xff);
-        out[outpos++] = (byte) ((in[inpos] >>> 24) & 0xff);
-      }
-    }
-
-    private byte buffer[];
-
-    // TODO(jat): consider doing away with long math
-    private long counter;
-
-    private final byte[] oneByte = new byte[1];
-
-    private int remainder;
-
-    private int state[];
-
-    private int x[];
-
     public Md5Digest() {
-      super("MD5");
-      engineReset();
-    }
-
-    @Override
-    protected byte[] engineDigest() {
-      byte[] bits = toBytes(counter << 3);
-      byte[] digest = new byte[16];
-
-      if (remainder > 8) {
-        engineUpdate(padding, 0, remainder - 8);
-      } else {
-        engineUpdate(padding, 0, 64 + (remainder - 8));
-      }
-
-      engineUpdate(bits, 0, 8);
-
-      int2byte(state, digest);
-
-      this.reset();
-      return digest;
+      super("MD5", 16, false, 16);
     }
 
     @Override
-    protected int engineGetDigestLength() {
-      return 16;
-    }
-
-    @Override
-    protected void engineReset() {
-      buffer = new byte[64];
-      state = new int[4];
-      x = new int[16];
-
+    protected void resetState() {
       state[0] = 0x67452301;
       state[1] = 0xefcdab89;
       state[2] = 0x98badcfe;
       state[3] = 0x10325476;
-
-      counter = 0;
-      remainder = 64;
     }
 
     @Override
-    protected void engineUpdate(byte input) {
-      // TODO(jat): better implementation
-      oneByte [0] = input;
-      engineUpdate(oneByte, 0, 1);
-    }
-
-    @Override
-    protected void engineUpdate(byte[] input, int offset, int len) {
-      while (true) {
-        if (len >= remainder) {
-          System.arraycopy(input, offset, buffer, (int) (counter & 63L),
-              remainder);
-          transform(buffer);
-          counter += remainder;
-          offset += remainder;
-          len -= remainder;
-          remainder = 64;
-        } else {
-          System.arraycopy(input, offset, buffer, (int) (counter & 63L), len);
-          counter += len;
-          remainder -= len;
-          break;
-        }
-      }
-    }
-
-    /*
-     * TODO: Document.
-     *
-     * @param buffer A byte[].
-     */
-    private void transform(byte[] buffer) {
+    protected void processBlock(byte[] input, int offset) {
       int a, b, c, d;
 
-      byte2int(buffer, x);
+      readWords(input, offset);
+      int[] x = words;
 
       a = state[0];
       b = state[1];
@@ -375,11 +403,147 @@ public abstract class MessageDigest extends MessageDigestSpi {
       c = ii(c, d, a, b, x[2], 15, 0x2ad7d2bb);
       b = ii(b, c, d, a, x[9], 21, 0xeb86d391);
 
-      // Coerce to 32-bits to compute the expression correctly in JavaScript.
-      state[0] = ensureInt(state[0] + a);
-      state[1] = ensureInt(state[1] + b);
-      state[2] = ensureInt(state[2] + c);
-      state[3] = ensureInt(state[3] + d);
+      // the state is an Int32Array: the sums are coerced to 32 bits
+      state[0] += a;
+      state[1] += b;
+      state[2] += c;
+      state[3] += d;
+    }
+  }
+
+  private static class Sha1Digest extends BlockDigest {
+
+    public Sha1Digest() {
+      super("SHA-1", 20, true, 80);
+    }
+
+    @Override
+    protected void resetState() {
+      state[0] = 0x67452301;
+      state[1] = 0xefcdab89;
+      state[2] = 0x98badcfe;
+      state[3] = 0x10325476;
+      state[4] = 0xc3d2e1f0;
+    }
+
+    @Override
+    protected void processBlock(byte[] input, int offset) {
+      int[] w = words;
+      readWords(input, offset);
+      for (int t = 16; t < 80; t++) {
+        int x = w[t - 3] ^ w[t - 8] ^ w[t - 14] ^ w[t - 16];
+        w[t] = x << 1 | x >>> 31;
+      }
+
+      int a = state[0];
+      int b = state[1];
+      int c = state[2];
+      int d = state[3];
+      int e = state[4];
+
+      for (int t = 0; t < 80; t++) {
+        int f;
+        if (t < 20) {
+          f = (b & c | ~b & d) + 0x5a827999;
+        } else if (t < 40) {
+          f = (b ^ c ^ d) + 0x6ed9eba1;
+        } else if (t < 60) {
+          f = (b & c | b & d | c & d) + 0x8f1bbcdc;
+        } else {
+          f = (b ^ c ^ d) + 0xca62c1d6;
+        }
+        int temp = ensureInt((a << 5 | a >>> 27) + f + e + w[t]);
+        e = d;
+        d = c;
+        c = b << 30 | b >>> 2;
+        b = a;
+        a = temp;
+      }
+
+      state[0] += a;
+      state[1] += b;
+      state[2] += c;
+      state[3] += d;
+      state[4] += e;
+    }
+  }
+
+  private static class Sha256Digest extends BlockDigest {
+
+    private static final int[] K = {
+        0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1,
+        0x923f82a4, 0xab1c5ed5, 0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3,
+        0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174, 0xe49b69c1, 0xefbe4786,
+        0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+        0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147,
+        0x06ca6351, 0x14292967, 0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13,
+        0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85, 0xa2bfe8a1, 0xa81a664b,
+        0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+        0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a,
+        0x5b9cca4f, 0x682e6ff3, 0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208,
+        0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2};
+
+    public Sha256Digest() {
+      super("SHA-256", 32, true, 64);
+    }
+
+    @Override
+    protected void resetState() {
+      state[0] = 0x6a09e667;
+      state[1] = 0xbb67ae85;
+      state[2] = 0x3c6ef372;
+      state[3] = 0xa54ff53a;
+      state[4] = 0x510e527f;
+      state[5] = 0x9b05688c;
+      state[6] = 0x1f83d9ab;
+      state[7] = 0x5be0cd19;
+    }
+
+    @Override
+    protected void processBlock(byte[] input, int offset) {
+      int[] w = words;
+      readWords(input, offset);
+      for (int t = 16; t < 64; t++) {
+        int x = w[t - 15];
+        int y = w[t - 2];
+        int s0 = (x >>> 7 | x << 25) ^ (x >>> 18 | x << 14) ^ (x >>> 3);
+        int s1 = (y >>> 17 | y << 15) ^ (y >>> 19 | y << 13) ^ (y >>> 10);
+        // w is an Int32Array: the sum is coerced to 32 bits
+        w[t] = w[t - 16] + s0 + w[t - 7] + s1;
+      }
+
+      int a = state[0];
+      int b = state[1];
+      int c = state[2];
+      int d = state[3];
+      int e = state[4];
+      int f = state[5];
+      int g = state[6];
+      int h = state[7];
+
+      for (int t = 0; t < 64; t++) {
+        int s1 = (e >>> 6 | e << 26) ^ (e >>> 11 | e << 21) ^ (e >>> 25 | e << 7);
+        int t1 = ensureInt(h + s1 + (e & f ^ ~e & g) + K[t] + w[t]);
+        int s0 = (a >>> 2 | a << 30) ^ (a >>> 13 | a << 19) ^ (a >>> 22 | a << 10);
+        int t2 = s0 + (a & b ^ a & c ^ b & c);
+        h = g;
+        g = f;
+        f = e;
+        e = ensureInt(d + t1);
+        d = c;
+        c = b;
+        b = a;
+        a = ensureInt(t1 + t2);
+      }
+
+      state[0] += a;
+      state[1] += b;
+      state[2] += c;
+      state[3] += d;
+      state[4] += e;
+      state[5] += f;
+      state[6] += g;
+      state[7] += h;
     }
   }
 
@@ -388,6 +552,12 @@ public abstract class MessageDigest extends MessageDigestSpi {
     if ("MD5".equals(algorithm)) {
       return new Md5Digest();
     }
+    if ("SHA-1".equals(algorithm) || "SHA1".equals(algorithm) || "SHA".equals(algorithm)) {
+      return new Sha1Digest();
+    }
+    if ("SHA-256".equals(algorithm)) {
+      return new Sha256Digest();
+    }
     throw new NoSuchAlgorithmException(algorithm + " not supported");
   }
 
@@ -35,6 +35,11 @@ import javaemul.internal.annotations.SpecializeMethod;
  */
 abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
 
+  /**
+   * The structure counter of {@link ConcurrentModificationDetector}.
+   */
+  transient int modCount;
+
   private final class EntrySet extends AbstractSet<Entry<K, V>> {
 
     @Override
@@ -79,6 +84,7 @@ abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
     private Iterator<Entry<K, V>> current;
     private Iterator<Entry<K, V>> last;
     private boolean hasNext;
+    int modCount;
 
     public EntrySetIterator() {
       stringMapEntries = stringMap.iterator();
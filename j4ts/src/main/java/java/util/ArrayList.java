@@ -207,6 +207,13 @@ public class ArrayList<E> extends AbstractList<E> implements List<E>,
     return array.length;
   }
 
+  @Override
+  public void sort(Comparator<? super E> c) {
+    // sorts the backing array in place, without copying it
+    Arrays.sort(array, c);
+    ++modCount;
+  }
+
   @Override
   public Object[] toArray() {
     return ArrayHelper.clone(array, 0, array.length);
@@ -1,57 +1,172 @@
 /*
  * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
- * 
+ *
  * Apache 2 license.
  */
 
 package java.util;
 
-import static jsweet.util.Globals.array;
-import static jsweet.util.Globals.equalsLoose;
+import static javaemul.internal.InternalPreconditions.checkArraySize;
+import static jsweet.util.Globals.any;
 
-import def.js.Array;
+import def.js.Int32Array;
+import javaemul.internal.IntegerHelper;
+import javaemul.internal.LongEmul;
 
 /**
- * Incomplete and naive implementation of the BitSet utility (mainly for
- * compatibility/compilation purpose).
- * 
+ * A BitSet implementation storing the bits in 32-bit words, held in an
+ * <code>Int32Array</code> that grows by doubling. Bulk and search operations
+ * work a word at a time.
+ *
+ * <p>
+ * The <code>stream()</code> method is omitted, since this emulation has no
+ * <code>java.util.stream</code> package.
+ *
  * @author Renaud Pawlak
  */
 @SuppressWarnings("serial")
 public class BitSet implements Cloneable, java.io.Serializable {
 
-	private Boolean[] bits = {};
+	private static final int ADDRESS_BITS_PER_WORD = 5;
+	private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+	private static final int WORD_MASK = 0xffffffff;
+	private static final double WORD_RANGE = 4294967296.0;
+
+	/**
+	 * An <code>Int32Array</code>, only typed as an array for indexed accesses.
+	 */
+	private int[] words;
+
+	/**
+	 * The number of words that may hold set bits (all words above are 0).
+	 */
+	private int wordsInUse = 0;
 
 	public BitSet() {
+		this(BITS_PER_WORD);
 	}
 
 	public BitSet(int nbits) {
-		while (nbits > 0) {
-			array(bits).push(false);
+		checkArraySize(nbits);
+		words = any(new Int32Array(Math.max(wordIndex(nbits - 1) + 1, 1)));
+	}
+
+	private BitSet(int[] words, int wordsInUse) {
+		this.words = words;
+		this.wordsInUse = wordsInUse;
+	}
+
+	private static int wordIndex(int bitIndex) {
+		return bitIndex >> ADDRESS_BITS_PER_WORD;
+	}
+
+	private static int numberOfTrailingZeros(int word) {
+		return IntegerHelper.bitCount((word & -word) - 1);
+	}
+
+	private static void checkIndex(int bitIndex) {
+		if (bitIndex < 0) {
+			throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
 		}
 	}
 
+	private static void checkRange(int fromIndex, int toIndex) {
+		if (fromIndex < 0) {
+			throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+		}
+		if (fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + " > toIndex: " + toIndex);
+		}
+	}
+
+	private void ensureCapacity(int wordsRequired) {
+		if (words.length < wordsRequired) {
+			Int32Array grown = new Int32Array(Math.max(2 * words.length, wordsRequired));
+			grown.set((Double[]) any(words));
+			words = any(grown);
+		}
+	}
+
+	private void expandTo(int wordIndex) {
+		int wordsRequired = wordIndex + 1;
+		if (wordsInUse < wordsRequired) {
+			ensureCapacity(wordsRequired);
+			wordsInUse = wordsRequired;
+		}
+	}
+
+	private void recalculateWordsInUse() {
+		int i;
+		for (i = wordsInUse - 1; i >= 0; i--) {
+			if (words[i] != 0) {
+				break;
+			}
+		}
+		wordsInUse = i + 1;
+	}
+
 	public static BitSet valueOf(long[] longs) {
-		BitSet bs = new BitSet();
-		bs.bits = array(new Array<Boolean>(longs.length * 64));
-		for (int n = 0; n < longs.length * 64; n++) {
-			bs.bits[n] = ((longs[n / 64] & (1L << (n % 64))) != 0);
+		int n = longs.length;
+		while (n > 0 && longs[n - 1] == 0) {
+			n--;
+		}
+		BitSet bs = new BitSet(n * 64);
+		for (int i = 0; i < n; i++) {
+			// split arithmetically, since longs are not 64-bit wide in
+			// JavaScript
+			bs.words[2 * i] = (int) longs[i];
+			bs.words[2 * i + 1] = (int) Math.floor(longs[i] / WORD_RANGE);
 		}
+		bs.wordsInUse = 2 * n;
+		bs.recalculateWordsInUse();
 		return bs;
 	}
 
+	public long[] toLongArray() {
+		long[] longs = new long[(wordsInUse + 1) / 2];
+		for (int i = 0; i < longs.length; i++) {
+			int low = words[2 * i];
+			int high = 2 * i + 1 < wordsInUse ? words[2 * i + 1] : 0;
+			longs[i] = (long) high * (long) WORD_RANGE + (long) (low >>> 1) * 2 + (low & 1);
+		}
+		return longs;
+	}
+
 	public void flip(int bitIndex) {
-		bits[bitIndex] = !bits[bitIndex];
+		checkIndex(bitIndex);
+		int wordIndex = wordIndex(bitIndex);
+		expandTo(wordIndex);
+		words[wordIndex] ^= (1 << bitIndex);
+		recalculateWordsInUse();
 	}
 
 	public void flip(int fromIndex, int toIndex) {
-		for (int i = fromIndex; i <= toIndex; i++) {
-			flip(i);
+		checkRange(fromIndex, toIndex);
+		if (fromIndex == toIndex) {
+			return;
 		}
+		int startWordIndex = wordIndex(fromIndex);
+		int endWordIndex = wordIndex(toIndex - 1);
+		expandTo(endWordIndex);
+		int firstWordMask = WORD_MASK << fromIndex;
+		int lastWordMask = WORD_MASK >>> -toIndex;
+		if (startWordIndex == endWordIndex) {
+			words[startWordIndex] ^= (firstWordMask & lastWordMask);
+		} else {
+			words[startWordIndex] ^= firstWordMask;
+			for (int i = startWordIndex + 1; i < endWordIndex; i++) {
+				words[i] ^= WORD_MASK;
+			}
+			words[endWordIndex] ^= lastWordMask;
+		}
+		recalculateWordsInUse();
 	}
 
 	public void set(int bitIndex) {
-		bits[bitIndex] = true;
+		checkIndex(bitIndex);
+		int wordIndex = wordIndex(bitIndex);
+		expandTo(wordIndex);
+		words[wordIndex] |= (1 << bitIndex);
 	}
 
 	public void set(int bitIndex, boolean value) {
@@ -63,8 +178,21 @@ public class BitSet implements Cloneable, java.io.Serializable {
 	}
 
 	public void set(int fromIndex, int toIndex) {
-		for (int i = fromIndex; i <= toIndex; i++) {
-			set(i);
+		checkRange(fromIndex, toIndex);
+		if (fromIndex == toIndex) {
+			return;
+		}
+		int startWordIndex = wordIndex(fromIndex);
+		int endWordIndex = wordIndex(toIndex - 1);
+		expandTo(endWordIndex);
+		int firstWordMask = WORD_MASK << fromIndex;
+		int lastWordMask = WORD_MASK >>> -toIndex;
+		if (startWordIndex == endWordIndex) {
+			words[startWordIndex] |= (firstWordMask & lastWordMask);
+		} else {
+			words[startWordIndex] |= firstWordMask;
+			((Int32Array) any(words)).fill(WORD_MASK, startWordIndex + 1, endWordIndex);
+			words[endWordIndex] |= lastWordMask;
 		}
 	}
 
@@ -77,73 +205,257 @@ public class BitSet implements Cloneable, java.io.Serializable {
 	}
 
 	public void clear(int bitIndex) {
-		bits[bitIndex] = false;
+		checkIndex(bitIndex);
+		int wordIndex = wordIndex(bitIndex);
+		if (wordIndex >= wordsInUse) {
+			return;
+		}
+		words[wordIndex] &= ~(1 << bitIndex);
+		recalculateWordsInUse();
 	}
 
 	public void clear(int fromIndex, int toIndex) {
-		for (int i = fromIndex; i <= toIndex; i++) {
-			clear(i);
+		checkRange(fromIndex, toIndex);
+		if (fromIndex == toIndex) {
+			return;
 		}
+		int startWordIndex = wordIndex(fromIndex);
+		if (startWordIndex >= wordsInUse) {
+			return;
+		}
+		int endWordIndex = wordIndex(toIndex - 1);
+		if (endWordIndex >= wordsInUse) {
+			toIndex = length();
+			endWordIndex = wordsInUse - 1;
+		}
+		int firstWordMask = WORD_MASK << fromIndex;
+		int lastWordMask = WORD_MASK >>> -toIndex;
+		if (startWordIndex == endWordIndex) {
+			words[startWordIndex] &= ~(firstWordMask & lastWordMask);
+		} else {
+			words[startWordIndex] &= ~firstWordMask;
+			((Int32Array) any(words)).fill(0, startWordIndex + 1, endWordIndex);
+			words[endWordIndex] &= ~lastWordMask;
+		}
+		recalculateWordsInUse();
 	}
 
 	public void clear() {
-		bits = new Boolean[0];
+		((Int32Array) any(words)).fill(0, 0, wordsInUse);
+		wordsInUse = 0;
 	}
 
 	public boolean get(int bitIndex) {
-		return bits[bitIndex];
+		checkIndex(bitIndex);
+		int wordIndex = wordIndex(bitIndex);
+		return wordIndex < wordsInUse && ((words[wordIndex] & (1 << bitIndex)) != 0);
 	}
 
 	public BitSet get(int fromIndex, int toIndex) {
-		BitSet bs = new BitSet();
-		for (int i = fromIndex; i <= toIndex; i++) {
-			array(bs.bits).push(bits[i]);
+		checkRange(fromIndex, toIndex);
+		int len = length();
+		if (len <= fromIndex || fromIndex == toIndex) {
+			return new BitSet(0);
+		}
+		if (toIndex > len) {
+			toIndex = len;
+		}
+		BitSet result = new BitSet(toIndex - fromIndex);
+		int targetWords = wordIndex(toIndex - fromIndex - 1) + 1;
+		int sourceIndex = wordIndex(fromIndex);
+		int shift = fromIndex & (BITS_PER_WORD - 1);
+		for (int i = 0; i < targetWords; i++, sourceIndex++) {
+			int word = words[sourceIndex] >>> shift;
+			if (shift != 0 && sourceIndex + 1 < wordsInUse) {
+				word |= words[sourceIndex + 1] << -shift;
+			}
+			result.words[i] = word;
+		}
+		// clear the bits above toIndex in the last word
+		result.words[targetWords - 1] &= WORD_MASK >>> -(toIndex - fromIndex);
+		result.wordsInUse = targetWords;
+		result.recalculateWordsInUse();
+		return result;
+	}
+
+	public int nextSetBit(int fromIndex) {
+		checkIndex(fromIndex);
+		int u = wordIndex(fromIndex);
+		if (u >= wordsInUse) {
+			return -1;
+		}
+		int word = words[u] & (WORD_MASK << fromIndex);
+		while (true) {
+			if (word != 0) {
+				return (u * BITS_PER_WORD) + numberOfTrailingZeros(word);
+			}
+			if (++u == wordsInUse) {
+				return -1;
+			}
+			word = words[u];
+		}
+	}
+
+	public int nextClearBit(int fromIndex) {
+		checkIndex(fromIndex);
+		int u = wordIndex(fromIndex);
+		if (u >= wordsInUse) {
+			return fromIndex;
+		}
+		int word = ~words[u] & (WORD_MASK << fromIndex);
+		while (true) {
+			if (word != 0) {
+				return (u * BITS_PER_WORD) + numberOfTrailingZeros(word);
+			}
+			if (++u == wordsInUse) {
+				return wordsInUse * BITS_PER_WORD;
+			}
+			word = ~words[u];
+		}
+	}
+
+	public int previousSetBit(int fromIndex) {
+		if (fromIndex < 0) {
+			if (fromIndex == -1) {
+				return -1;
+			}
+			throw new IndexOutOfBoundsException("fromIndex < -1: " + fromIndex);
+		}
+		int u = wordIndex(fromIndex);
+		if (u >= wordsInUse) {
+			return length() - 1;
+		}
+		int word = words[u] & (WORD_MASK >>> -(fromIndex + 1));
+		while (true) {
+			if (word != 0) {
+				return (u + 1) * BITS_PER_WORD - 1 - IntegerHelper.numberOfLeadingZeros(word);
+			}
+			if (u-- == 0) {
+				return -1;
+			}
+			word = words[u];
+		}
+	}
+
+	public int previousClearBit(int fromIndex) {
+		if (fromIndex < 0) {
+			if (fromIndex == -1) {
+				return -1;
+			}
+			throw new IndexOutOfBoundsException("fromIndex < -1: " + fromIndex);
+		}
+		int u = wordIndex(fromIndex);
+		if (u >= wordsInUse) {
+			return fromIndex;
+		}
+		int word = ~words[u] & (WORD_MASK >>> -(fromIndex + 1));
+		while (true) {
+			if (word != 0) {
+				return (u + 1) * BITS_PER_WORD - 1 - IntegerHelper.numberOfLeadingZeros(word);
+			}
+			if (u-- == 0) {
+				return -1;
+			}
+			word = ~words[u];
 		}
-		return bs;
 	}
 
 	public int length() {
-		return bits.length;
+		if (wordsInUse == 0) {
+			return 0;
+		}
+		return BITS_PER_WORD * (wordsInUse - 1)
+				+ (BITS_PER_WORD - IntegerHelper.numberOfLeadingZeros(words[wordsInUse - 1]));
 	}
 
 	public boolean isEmpty() {
-		return bits.length == 0;
+		return wordsInUse == 0;
+	}
+
+	public boolean intersects(BitSet set) {
+		for (int i = Math.min(wordsInUse, set.wordsInUse) - 1; i >= 0; i--) {
+			if ((words[i] & set.words[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public int cardinality() {
 		int sum = 0;
-		for (int i = 0; i < bits.length; i++) {
-			sum += bits[i] ? 1 : 0;
+		for (int i = 0; i < wordsInUse; i++) {
+			sum += IntegerHelper.bitCount(words[i]);
 		}
 		return sum;
 	}
 
 	public void and(BitSet set) {
-		for (int i = 0; i < bits.length; i++) {
-			bits[i] = bits[i] && set.get(i);
+		if (this == set) {
+			return;
+		}
+		while (wordsInUse > set.wordsInUse) {
+			words[--wordsInUse] = 0;
+		}
+		for (int i = 0; i < wordsInUse; i++) {
+			words[i] &= set.words[i];
 		}
+		recalculateWordsInUse();
 	}
 
 	public void or(BitSet set) {
-		for (int i = 0; i < bits.length; i++) {
-			bits[i] = bits[i] || set.get(i);
+		if (this == set) {
+			return;
+		}
+		int wordsInCommon = Math.min(wordsInUse, set.wordsInUse);
+		if (wordsInUse < set.wordsInUse) {
+			ensureCapacity(set.wordsInUse);
+			wordsInUse = set.wordsInUse;
+		}
+		for (int i = 0; i < wordsInCommon; i++) {
+			words[i] |= set.words[i];
+		}
+		if (wordsInCommon < set.wordsInUse) {
+			((Int32Array) any(words)).set((Double[]) any(((Int32Array) any(set.words)).subarray(wordsInCommon, set.wordsInUse)),
+					wordsInCommon);
 		}
 	}
 
 	public void xor(BitSet set) {
-		for (int i = 0; i < bits.length; i++) {
-			bits[i] = (bits[i] && !set.get(i)) || (!bits[i] && set.get(i));
+		int wordsInCommon = Math.min(wordsInUse, set.wordsInUse);
+		if (wordsInUse < set.wordsInUse) {
+			ensureCapacity(set.wordsInUse);
+			wordsInUse = set.wordsInUse;
+		}
+		for (int i = 0; i < wordsInCommon; i++) {
+			words[i] ^= set.words[i];
+		}
+		if (wordsInCommon < set.wordsInUse) {
+			((Int32Array) any(words)).set((Double[]) any(((Int32Array) any(set.words)).subarray(wordsInCommon, set.wordsInUse)),
+					wordsInCommon);
 		}
+		recalculateWordsInUse();
 	}
 
 	public void andNot(BitSet set) {
-		for (int i = 0; i < bits.length; i++) {
-			bits[i] = bits[i] && !set.get(i);
+		for (int i = Math.min(wordsInUse, set.wordsInUse) - 1; i >= 0; i--) {
+			words[i] &= ~set.words[i];
 		}
+		recalculateWordsInUse();
 	}
 
 	public int size() {
-		return bits.length;
+		return words.length * BITS_PER_WORD;
+	}
+
+	public int hashCode() {
+		// same formula as the JDK over 64-bit words, made of pairs of int words
+		LongEmul h = LongEmul.fromInt(1234);
+		for (int i = (wordsInUse + 1) / 2; --i >= 0;) {
+			int high = 2 * i + 1 < wordsInUse ? words[2 * i + 1] : 0;
+			LongEmul word = LongEmul.fromBits(high, words[2 * i]);
+			h = LongEmul.xor(h, LongEmul.mul(word, LongEmul.fromInt(i + 1)));
+		}
+		return LongEmul.toInt(LongEmul.xor(LongEmul.shr(h, 32), h));
 	}
 
 	public boolean equals(Object obj) {
@@ -154,12 +466,12 @@ public class BitSet implements Cloneable, java.io.Serializable {
 
 		BitSet set = (BitSet) obj;
 
-		if (set.bits.length != bits.length) {
+		if (wordsInUse != set.wordsInUse) {
 			return false;
 		}
 
-		for (int i = 0; i < set.bits.length; i++) {
-			if (!equalsLoose(set.bits[i], bits[i])) {
+		for (int i = 0; i < wordsInUse; i++) {
+			if (words[i] != set.words[i]) {
 				return false;
 			}
 		}
@@ -168,9 +480,19 @@ public class BitSet implements Cloneable, java.io.Serializable {
 	}
 
 	public Object clone() {
-		BitSet bs = new BitSet();
-		bs.bits = array(bits).slice(0, bits.length);
-		return bs;
+		return new BitSet(any(((Int32Array) any(words)).slice(0, Math.max(wordsInUse, 1))), wordsInUse);
+	}
+
+	public String toString() {
+		StringBuilder b = new StringBuilder("{");
+		int i = nextSetBit(0);
+		if (i != -1) {
+			b.append(i);
+			for (i = nextSetBit(i + 1); i >= 0; i = nextSetBit(i + 1)) {
+				b.append(", ").append(i);
+			}
+		}
+		return b.append("}").toString();
 	}
 
 }
@@ -0,0 +1,510 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+
+package java.util;
+
+import static java.util.ConcurrentModificationDetector.checkStructuralChange;
+import static java.util.ConcurrentModificationDetector.recordLastKnownStructure;
+import static java.util.ConcurrentModificationDetector.structureChanged;
+import static javaemul.internal.InternalPreconditions.checkElement;
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+import static javaemul.internal.InternalPreconditions.checkState;
+import static jsweet.util.Globals.array;
+
+/**
+ * A {@link TreeMap} that stores its entries in a sorted sequence of chunks,
+ * each chunk holding up to {@value #CHUNK_CAPACITY} keys and values in two
+ * parallel arrays, rather than in one red-black tree node per entry.
+ *
+ * <p>
+ * Lookups are two binary searches (on the first key of each chunk, then within
+ * the chunk), and inserts and removes shift at most one chunk. Chunks are split
+ * when full and merged with a neighbor when they become too small. Compared to
+ * the tree, this allocates a lot less objects and keeps the keys contiguous,
+ * which is much faster on JavaScript engines for large maps.
+ *
+ * <p>
+ * Sub-map and descending views are the ones of {@link TreeMap}. Entries
+ * returned by this map are created on demand, and write through to the map
+ * when their value is set. The transpiler substitutes this class to
+ * <code>new TreeMap()</code> when the <code>useChunkedTreeMaps</code> option is
+ * on.
+ *
+ * @param <K>
+ *            key type
+ * @param <V>
+ *            value type
+ */
+public class ChunkedTreeMap<K, V> extends TreeMap<K, V> {
+
+	private static final int CHUNK_CAPACITY = 128;
+
+	private static final int MIN_CHUNK_SIZE = CHUNK_CAPACITY / 4;
+
+	private static class Chunk<K, V> {
+		K[] keys;
+		V[] values;
+
+		Chunk(K[] keys, V[] values) {
+			this.keys = keys;
+			this.values = values;
+		}
+	}
+
+	/**
+	 * The chunks, ordered by keys. A chunk is never empty.
+	 */
+	private Chunk<K, V>[] chunks;
+
+	private int entryCount;
+
+	/**
+	 * The structure counter of {@link ConcurrentModificationDetector}.
+	 */
+	transient int modCount;
+
+	public ChunkedTreeMap() {
+		this((Comparator<? super K>) null);
+	}
+
+	public ChunkedTreeMap(Comparator<? super K> c) {
+		super(c);
+		clearChunks();
+	}
+
+	public ChunkedTreeMap(Map<? extends K, ? extends V> map) {
+		this();
+		putAll(map);
+	}
+
+	public ChunkedTreeMap(SortedMap<K, ? extends V> map) {
+		this(checkNotNull(map).comparator());
+		putAll(map);
+	}
+
+	@Override
+	public void clear() {
+		clearChunks();
+		structureChanged(this);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean containsKey(Object k) {
+		K key = (K) k;
+		if (entryCount == 0) {
+			return false;
+		}
+		int chunkIndex = chunkIndexOf(key);
+		return indexInChunk(chunks[chunkIndex].keys, key) >= 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(Object k) {
+		K key = (K) k;
+		if (entryCount == 0) {
+			return null;
+		}
+		Chunk<K, V> chunk = chunks[chunkIndexOf(key)];
+		int index = indexInChunk(chunk.keys, key);
+		return index >= 0 ? chunk.values[index] : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V put(K key, V value) {
+		if (entryCount == 0) {
+			// check key for compatibility with comparator
+			cmp.compare(key, key);
+			chunks = new Chunk[] { new Chunk<K, V>((K[]) new Object[] { key }, (V[]) new Object[] { value }) };
+			entryCount = 1;
+			structureChanged(this);
+			return null;
+		}
+		int chunkIndex = chunkIndexOf(key);
+		Chunk<K, V> chunk = chunks[chunkIndex];
+		int index = indexInChunk(chunk.keys, key);
+		if (index >= 0) {
+			V previous = chunk.values[index];
+			chunk.values[index] = value;
+			return previous;
+		}
+		index = -index - 1;
+		array(chunk.keys).splice(index, 0, key);
+		array(chunk.values).splice(index, 0, value);
+		entryCount++;
+		if (chunk.keys.length > CHUNK_CAPACITY) {
+			splitChunk(chunkIndex);
+		}
+		structureChanged(this);
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V remove(Object k) {
+		K key = (K) k;
+		if (entryCount == 0) {
+			return null;
+		}
+		int chunkIndex = chunkIndexOf(key);
+		Chunk<K, V> chunk = chunks[chunkIndex];
+		int index = indexInChunk(chunk.keys, key);
+		if (index < 0) {
+			return null;
+		}
+		V previous = chunk.values[index];
+		removeAt(chunkIndex, index);
+		return previous;
+	}
+
+	@Override
+	public int size() {
+		return entryCount;
+	}
+
+	@Override
+	Iterator<Entry<K, V>> descendingEntryIterator() {
+		return new ChunkIterator(true, SubMapType_All, null, false, null, false);
+	}
+
+	@Override
+	Iterator<Entry<K, V>> entryIterator() {
+		return new ChunkIterator(false, SubMapType_All, null, false, null, false);
+	}
+
+	@Override
+	Iterator<Entry<K, V>> descendingEntryIterator(SubMapType type, K fromKey, boolean fromInclusive, K toKey,
+			boolean toInclusive) {
+		return new ChunkIterator(true, type, fromKey, fromInclusive, toKey, toInclusive);
+	}
+
+	@Override
+	Iterator<Entry<K, V>> entryIterator(SubMapType type, K fromKey, boolean fromInclusive, K toKey,
+			boolean toInclusive) {
+		return new ChunkIterator(false, type, fromKey, fromInclusive, toKey, toInclusive);
+	}
+
+	@Override
+	Entry<K, V> getEntry(K key) {
+		if (entryCount == 0) {
+			return null;
+		}
+		int chunkIndex = chunkIndexOf(key);
+		int index = indexInChunk(chunks[chunkIndex].keys, key);
+		return index >= 0 ? entryAt(chunkIndex, index) : null;
+	}
+
+	@Override
+	Entry<K, V> getFirstEntry() {
+		return entryCount == 0 ? null : entryAt(0, 0);
+	}
+
+	@Override
+	Entry<K, V> getLastEntry() {
+		if (entryCount == 0) {
+			return null;
+		}
+		int chunkIndex = chunks.length - 1;
+		return entryAt(chunkIndex, chunks[chunkIndex].keys.length - 1);
+	}
+
+	@Override
+	Entry<K, V> getCeilingEntry(K key) {
+		if (entryCount == 0) {
+			return null;
+		}
+		int chunkIndex = chunkIndexOf(key);
+		int index = indexInChunk(chunks[chunkIndex].keys, key);
+		return entryAt(chunkIndex, index >= 0 ? index : -index - 1);
+	}
+
+	@Override
+	Entry<K, V> getFloorEntry(K key) {
+		if (entryCount == 0) {
+			return null;
+		}
+		int chunkIndex = chunkIndexOf(key);
+		int index = indexInChunk(chunks[chunkIndex].keys, key);
+		return entryAt(chunkIndex, index >= 0 ? index : -index - 2);
+	}
+
+	@Override
+	Entry<K, V> getHigherEntry(K key) {
+		if (entryCount == 0) {
+			return null;
+		}
+		int chunkIndex = chunkIndexOf(key);
+		int index = indexInChunk(chunks[chunkIndex].keys, key);
+		return entryAt(chunkIndex, index >= 0 ? index + 1 : -index - 1);
+	}
+
+	@Override
+	Entry<K, V> getLowerEntry(K key) {
+		if (entryCount == 0) {
+			return null;
+		}
+		int chunkIndex = chunkIndexOf(key);
+		int index = indexInChunk(chunks[chunkIndex].keys, key);
+		return entryAt(chunkIndex, index >= 0 ? index - 1 : -index - 2);
+	}
+
+	@Override
+	boolean removeEntry(Entry<K, V> entry) {
+		if (entryCount == 0) {
+			return false;
+		}
+		K key = entry.getKey();
+		int chunkIndex = chunkIndexOf(key);
+		Chunk<K, V> chunk = chunks[chunkIndex];
+		int index = indexInChunk(chunk.keys, key);
+		if (index < 0 || !Objects.equals(chunk.values[index], entry.getValue())) {
+			return false;
+		}
+		removeAt(chunkIndex, index);
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void clearChunks() {
+		chunks = new Chunk[0];
+		entryCount = 0;
+	}
+
+	/**
+	 * Returns the index of the last chunk starting with a key lower or equal
+	 * to the given key, or 0 if none. The map must not be empty.
+	 */
+	private int chunkIndexOf(K key) {
+		int low = 1;
+		int high = chunks.length - 1;
+		int result = 0;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (cmp.compare(chunks[mid].keys[0], key) <= 0) {
+				result = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Binary searches the given key in the keys of a chunk, with the same
+	 * result convention as {@link Arrays#binarySearch(Object[], Object)}.
+	 */
+	private int indexInChunk(K[] keys, K key) {
+		int low = 0;
+		int high = keys.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int c = cmp.compare(keys[mid], key);
+			if (c < 0) {
+				low = mid + 1;
+			} else if (c > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -low - 1;
+	}
+
+	/**
+	 * Returns an entry for the given position, which may be one past the
+	 * bounds of the given chunk (then designating the first or last entry of
+	 * the adjacent chunk), or null if there is no such entry.
+	 */
+	private Entry<K, V> entryAt(int chunkIndex, int index) {
+		if (index < 0) {
+			if (--chunkIndex < 0) {
+				return null;
+			}
+			index = chunks[chunkIndex].keys.length - 1;
+		} else if (index >= chunks[chunkIndex].keys.length) {
+			if (++chunkIndex >= chunks.length) {
+				return null;
+			}
+			index = 0;
+		}
+		return new ChunkEntry(chunks[chunkIndex].keys[index], chunks[chunkIndex].values[index]);
+	}
+
+	private void splitChunk(int chunkIndex) {
+		Chunk<K, V> chunk = chunks[chunkIndex];
+		int half = chunk.keys.length / 2;
+		Chunk<K, V> upper = new Chunk<K, V>(array(chunk.keys).splice(half), array(chunk.values).splice(half));
+		array(chunks).splice(chunkIndex + 1, 0, upper);
+	}
+
+	private void removeAt(int chunkIndex, int index) {
+		Chunk<K, V> chunk = chunks[chunkIndex];
+		array(chunk.keys).splice(index, 1);
+		array(chunk.values).splice(index, 1);
+		entryCount--;
+		if (chunk.keys.length == 0) {
+			array(chunks).splice(chunkIndex, 1);
+		} else if (chunk.keys.length < MIN_CHUNK_SIZE) {
+			if (chunkIndex > 0 && chunks[chunkIndex - 1].keys.length + chunk.keys.length <= CHUNK_CAPACITY) {
+				mergeChunks(chunkIndex - 1);
+			} else if (chunkIndex + 1 < chunks.length
+					&& chunk.keys.length + chunks[chunkIndex + 1].keys.length <= CHUNK_CAPACITY) {
+				mergeChunks(chunkIndex);
+			}
+		}
+		structureChanged(this);
+	}
+
+	/**
+	 * Appends the content of the chunk following the given one to it.
+	 */
+	private void mergeChunks(int chunkIndex) {
+		Chunk<K, V> chunk = chunks[chunkIndex];
+		Chunk<K, V> next = chunks[chunkIndex + 1];
+		for (int i = 0; i < next.keys.length; i++) {
+			array(chunk.keys).push(next.keys[i]);
+			array(chunk.values).push(next.values[i]);
+		}
+		array(chunks).splice(chunkIndex + 1, 1);
+	}
+
+	/**
+	 * An entry that writes its value through to the map.
+	 */
+	private final class ChunkEntry extends SimpleEntry<K, V> {
+
+		ChunkEntry(K key, V value) {
+			super(key, value);
+		}
+
+		@Override
+		public V setValue(V value) {
+			super.setValue(value);
+			return put(getKey(), value);
+		}
+	}
+
+	/**
+	 * Iterates over the entries of a range of keys, in ascending or descending
+	 * order.
+	 */
+	private final class ChunkIterator implements Iterator<Entry<K, V>> {
+		private final boolean descending;
+		private final SubMapType type;
+		private final K fromKey;
+		private final boolean fromInclusive;
+		private final K toKey;
+		private final boolean toInclusive;
+		private int chunkIndex;
+		private int index;
+		private K lastKey;
+		private boolean canRemove;
+		int modCount;
+
+		ChunkIterator(boolean descending, SubMapType type, K fromKey, boolean fromInclusive, K toKey,
+				boolean toInclusive) {
+			this.descending = descending;
+			this.type = type;
+			this.fromKey = fromKey;
+			this.fromInclusive = fromInclusive;
+			this.toKey = toKey;
+			this.toInclusive = toInclusive;
+			if (descending) {
+				if (type.toKeyValid()) {
+					seekBefore(toKey, toInclusive);
+				} else {
+					chunkIndex = chunks.length - 1;
+					index = chunkIndex < 0 ? -1 : chunks[chunkIndex].keys.length - 1;
+				}
+			} else {
+				if (type.fromKeyValid()) {
+					seekAfter(fromKey, fromInclusive);
+				} else {
+					chunkIndex = 0;
+					index = 0;
+				}
+			}
+			recordLastKnownStructure(ChunkedTreeMap.this, this);
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (chunkIndex < 0 || chunkIndex >= chunks.length) {
+				return false;
+			}
+			return inRange(type, chunks[chunkIndex].keys[index], fromKey, fromInclusive, toKey, toInclusive);
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			checkStructuralChange(ChunkedTreeMap.this, this);
+			checkElement(hasNext());
+			Chunk<K, V> chunk = chunks[chunkIndex];
+			lastKey = chunk.keys[index];
+			Entry<K, V> entry = new ChunkEntry(lastKey, chunk.values[index]);
+			move(descending ? index - 1 : index + 1);
+			canRemove = true;
+			return entry;
+		}
+
+		@Override
+		public void remove() {
+			checkState(canRemove);
+			checkStructuralChange(ChunkedTreeMap.this, this);
+			ChunkedTreeMap.this.remove(lastKey);
+			// chunks may have been merged, so the position is looked up again
+			if (descending) {
+				seekBefore(lastKey, false);
+			} else {
+				seekAfter(lastKey, false);
+			}
+			recordLastKnownStructure(ChunkedTreeMap.this, this);
+			canRemove = false;
+		}
+
+		private void seekAfter(K key, boolean inclusive) {
+			if (chunks.length == 0) {
+				chunkIndex = 0;
+				index = 0;
+				return;
+			}
+			chunkIndex = chunkIndexOf(key);
+			int i = indexInChunk(chunks[chunkIndex].keys, key);
+			move(i >= 0 ? (inclusive ? i : i + 1) : -i - 1);
+		}
+
+		private void seekBefore(K key, boolean inclusive) {
+			if (chunks.length == 0) {
+				chunkIndex = -1;
+				index = -1;
+				return;
+			}
+			chunkIndex = chunkIndexOf(key);
+			int i = indexInChunk(chunks[chunkIndex].keys, key);
+			move(i >= 0 ? (inclusive ? i : i - 1) : -i - 2);
+		}
+
+		/**
+		 * Moves to the given index in the current chunk, or to the adjacent
+		 * chunk if the index is one past the bounds of the current chunk.
+		 */
+		private void move(int newIndex) {
+			index = newIndex;
+			if (index < 0) {
+				if (--chunkIndex >= 0) {
+					index = chunks[chunkIndex].keys.length - 1;
+				}
+			} else if (index >= chunks[chunkIndex].keys.length) {
+				chunkIndex++;
+				index = 0;
+			}
+		}
+	}
+
+}
@@ -20,13 +20,19 @@ import javaemul.internal.JsUtils;
 /**
  * A helper to detect concurrent modifications to collections. This is implemented as a helper
  * utility so that we could remove the checks easily by a flag.
+ * <p>
+ * The collections and their iterators declare a {@code modCount} field, so that updating the
+ * counter does not add a property to them after construction.
+ * <p>
+ * This class is public so that the collections of the
+ * {@code javaemul.internal.collections} package can share the checks.
  */
-class ConcurrentModificationDetector {
+public class ConcurrentModificationDetector {
 
   private static final boolean API_CHECK =
     System.getProperty("jre.checks.api", "ENABLED").equals("ENABLED");
 
-  private static final String MOD_COUNT_PROPERTY = "_gwt_modCount";
+  private static final String MOD_COUNT_PROPERTY = "modCount";
 
   public static void structureChanged(Object map) {
     if (!API_CHECK) {
@@ -47,7 +47,7 @@ public class Date implements Cloneable, Comparable<Date>, Serializable {
 
 	// CHECKSTYLE_OFF: Matching the spec.
 	public static long UTC(int year, int month, int date, int hrs, int min, int sec) {
-		return (long) $apply(jsdateClass().$get("UTC"), year + 1900, month, date, hrs, min, sec, 0);
+		return (long) (double) $apply(jsdateClass().$get("UTC"), year + 1900, month, date, hrs, min, sec, 0);
 	}
 
 	// CHECKSTYLE_ON
@@ -94,7 +94,7 @@ public class Date implements Cloneable, Comparable<Date>, Serializable {
 	}
 
 	public Date(long date) {
-		jsdate = new def.js.Date(date);
+		jsdate = new def.js.Date((double) date);
 	}
 
 	public Date(String date) {
@@ -148,7 +148,7 @@ public class Date implements Cloneable, Comparable<Date>, Serializable {
 	}
 
 	public long getTime() {
-		return (long) $apply(jsdate.$get("getTime"), jsdate);
+		return (long) (double) $apply(jsdate.$get("getTime"), jsdate);
 	}
 
 	public int getTimezoneOffset() {
@@ -161,8 +161,7 @@ public class Date implements Cloneable, Comparable<Date>, Serializable {
 
 	@Override
 	public int hashCode() {
-		long time = getTime();
-		return (int) (time ^ (time >>> 32));
+		return Long.hashCode(getTime());
 	}
 
 	public void setDate(int date) {
@@ -195,7 +194,7 @@ public class Date implements Cloneable, Comparable<Date>, Serializable {
 	}
 
 	public void setTime(long time) {
-		$apply(jsdate.$get("setTime"), jsdate, time);
+		$apply(jsdate.$get("setTime"), jsdate, (double) time);
 	}
 
 	public void setYear(int year) {
@@ -267,7 +266,7 @@ public class Date implements Cloneable, Comparable<Date>, Serializable {
 			// was overflow from
 			// minutes:secs:millis or because we are in the situation GAP and
 			// has to be fixed.
-			def.js.Object copy = $new(jsdateClass(), getTime());
+			def.js.Object copy = $new(jsdateClass(), (double) getTime());
 			$apply(copy.$get("setDate"), ((int) $apply(copy.$get("getDate"), copy) + 1));
 			int timeDiff = (int) $apply(jsdate.$get("getTimezoneOffset"), jsdate)
 					- (int) $apply(copy.$get("getTimezoneOffset"), copy);
@@ -289,8 +288,8 @@ public class Date implements Cloneable, Comparable<Date>, Serializable {
 				}
 				def.js.Object newTime = $new(jsdateClass(), (int) $apply(jsdate.$get("getFullYear"), jsdate),
 						getMonth(), day, requestedHours + timeDiffHours, getMinutes() + timeDiffMinutes, getSeconds(),
-						(long) $apply(jsdate.$get("getMilliseconds"), jsdate));
-				setTime($apply(newTime.$get("getMilliseconds"), newTime));
+						(double) $apply(jsdate.$get("getMilliseconds"), jsdate));
+				setTime((long) (double) $apply(newTime.$get("getMilliseconds"), newTime));
 			}
 		}
 
@@ -16,6 +16,7 @@
 package java.util;
 
 import static javaemul.internal.InternalPreconditions.checkArgument;
+import static javaemul.internal.InternalPreconditions.checkNotNull;
 import static javaemul.internal.InternalPreconditions.checkState;
 
 import javaemul.internal.ArrayHelper;
@@ -25,6 +26,11 @@ import javaemul.internal.ArrayHelper;
  * href="http://java.sun.com/j2se/1.5.0/docs/api/java/util/EnumMap.html">[Sun
  * docs]</a>
  *
+ * <p>
+ * JSweet implementation. The values are held in an array indexed by the
+ * ordinals of the keys (which are the keys themselves at runtime, see
+ * {@link EnumSet}), and the keys are held in a bit mask {@link EnumSet}.
+ *
  * @param <K> key type
  * @param <V> value type
  */
@@ -105,12 +111,12 @@ public class EnumMap<K extends Enum<K>, V> extends AbstractMap<K, V> {
 
     @Override
     public V getValue() {
-      return values[key.ordinal()];
+      return values[EnumSet.ordinal(key)];
     }
 
     @Override
     public V setValue(V value) {
-      return set(key.ordinal(), value);
+      return set(EnumSet.ordinal(key), value);
     }
   }
 
@@ -126,12 +132,15 @@ public class EnumMap<K extends Enum<K>, V> extends AbstractMap<K, V> {
     init(m);
   }
 
+  @SuppressWarnings("unchecked")
   public EnumMap(Map<K, ? extends V> m) {
     if (m instanceof EnumMap) {
       init((EnumMap<K, ? extends V>) m);
     } else {
       checkArgument(!m.isEmpty(), "Specified map is empty");
-      init(m.keySet().iterator().next().getDeclaringClass());
+      // the enum type of the keys is unknown: the values grow as needed
+      keySet = new EnumSet.JumboEnumSet<K>(-1);
+      values = (V[]) new Object[0];
       putAll(m);
     }
   }
@@ -155,7 +164,7 @@ public class EnumMap<K extends Enum<K>, V> extends AbstractMap<K, V> {
   @Override
   public boolean containsValue(Object value) {
     for (K key : keySet) {
-      if (Objects.equals(value, values[key.ordinal()])) {
+      if (Objects.equals(value, values[EnumSet.ordinal(key)])) {
         return true;
       }
     }
@@ -174,8 +183,9 @@ public class EnumMap<K extends Enum<K>, V> extends AbstractMap<K, V> {
 
   @Override
   public V put(K key, V value) {
+    checkNotNull(key);
     keySet.add(key);
-    return set(key.ordinal(), value);
+    return set(EnumSet.ordinal(key), value);
   }
 
   @Override
@@ -188,24 +198,14 @@ public class EnumMap<K extends Enum<K>, V> extends AbstractMap<K, V> {
     return keySet.size();
   }
 
-  /**
-   * Returns <code>key</code> as <code>K</code>. Only runtime checks that
-   * key is an Enum, not that it's the particular Enum K. Should only be called
-   * when you are sure <code>key</code> is of type <code>K</code>.
-   */
-  @SuppressWarnings("unchecked")
-  private K asKey(Object key) {
-    return (K) key;
-  }
-
   private int asOrdinal(Object key) {
-    return asKey(key).ordinal();
+    return EnumSet.ordinal(key);
   }
 
   @SuppressWarnings("unchecked")
   private void init(Class<K> type) {
     keySet = EnumSet.noneOf(type);
-    values = (V[]) new Object[keySet.capacity()];
+    values = (V[]) new Object[keySet.universeSize()];
   }
 
   private void init(EnumMap<K, ? extends V> m) {
@@ -214,6 +214,9 @@ public class EnumMap<K extends Enum<K>, V> extends AbstractMap<K, V> {
   }
 
   private V set(int ordinal, V value) {
+    if (ordinal >= values.length) {
+      ArrayHelper.setLength(values, ordinal + 1);
+    }
     V was = values[ordinal];
     values[ordinal] = value;
     return was;
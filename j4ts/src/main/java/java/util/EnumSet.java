@@ -19,128 +19,370 @@ import static javaemul.internal.InternalPreconditions.checkArgument;
 import static javaemul.internal.InternalPreconditions.checkElement;
 import static javaemul.internal.InternalPreconditions.checkNotNull;
 import static javaemul.internal.InternalPreconditions.checkState;
+import static jsweet.util.Globals.$get;
+import static jsweet.util.Globals.any;
+import static jsweet.util.Globals.typeof;
 
-import javaemul.internal.ArrayHelper;
-import javaemul.internal.annotations.SpecializeMethod;
+import def.js.Int32Array;
 
 /**
  * A {@link java.util.Set} of {@link Enum}s. <a
  * href="http://java.sun.com/j2se/1.5.0/docs/api/java/util/EnumSet.html">[Sun
  * docs]</a>
  *
+ * <p>
+ * JSweet implementation. The translator implements the enums as TypeScript
+ * enums, so that an enum constant is its ordinal at runtime and an enum class
+ * is an object mapping the ordinals to the names. The sets are bit masks over
+ * the ordinals: a single int for the enum types of at most 32 constants, and an
+ * <code>Int32Array</code> for the larger ones. The bulk operations between two
+ * sets are word-level operations.
+ *
+ * <p>
+ * Since the constants do not know their enum type, the sets created from
+ * constants ({@link #of(Enum)}, {@link #range(Enum, Enum)} and
+ * {@link #copyOf(Collection)}) do not know the number of constants of their
+ * type, and cannot be complemented. When the enum type is known at the call
+ * site, the translator passes it to the typed factories
+ * ({@link #typedOf(Class, Enum...)}, {@link #typedRange(Class, Enum, Enum)}
+ * and {@link #typedCopyOf(Class, Collection)}), so this only applies to the
+ * sets created in generic code.
+ *
  * @param <E> enumeration type
  */
 public abstract class EnumSet<E extends Enum<E>> extends AbstractSet<E> {
 
   /**
-   * Implemented via sparse array since the set size is finite. Iteration takes
-   * linear time with respect to the set of the enum rather than the number of
-   * items in the set.
-   *
-   * Note: Implemented as a subclass instead of a concrete final EnumSet class.
-   * This is because declaring an EnumSet.add(E) causes hosted mode to bind to
-   * the tighter method rather than the bridge method; but the tighter method
-   * isn't available in the real JRE.
+   * The set of an enum type of at most 32 constants. The bit <code>i</code> of
+   * {@link #bits} is set when the constant of ordinal <code>i</code> is in the
+   * set.
    */
-  static final class EnumSetImpl<E extends Enum<E>> extends EnumSet<E> {
+  static final class RegularEnumSet<E extends Enum<E>> extends EnumSet<E> {
     private class IteratorImpl implements Iterator<E> {
       /*
-       * i is the index of the item that will be returned on the next call to
-       * next() last is the index of the item that was returned on the previous
-       * call to next(), -1 if no such item exists.
+       * remaining holds the bits of the constants that are not returned yet,
+       * last is the ordinal returned on the previous call to next(), -1 if no
+       * such item exists.
        */
 
-      int i = -1, last = -1;
-
-      IteratorImpl() {
-        findNext();
-      }
+      int remaining = bits, last = -1;
 
       @Override
       public boolean hasNext() {
-        return i < capacity();
+        return remaining != 0;
       }
 
       @Override
       public E next() {
         checkElement(hasNext());
-        last = i;
-        findNext();
-        return set[last];
+        last = numberOfTrailingZeros(remaining);
+        remaining &= remaining - 1;
+        return constant(last);
       }
 
       @Override
       public void remove() {
         checkState(last != -1);
-        assert (set[last] != null);
-
-        set[last] = null;
-        --size;
+        bits &= ~(1 << last);
         last = -1;
       }
+    }
+
+    private final int universeSize;
+
+    private int bits;
+
+    RegularEnumSet(int universeSize, int bits) {
+      this.universeSize = universeSize;
+      this.bits = bits;
+    }
+
+    private boolean isInUniverse(Object o) {
+      return isConstant(o) && ordinal(o) < universeSize;
+    }
+
+    @Override
+    public boolean add(E e) {
+      checkNotNull(e);
+      int old = bits;
+      bits |= 1 << ordinal(e);
+      return bits != old;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+      if (!(c instanceof RegularEnumSet)) {
+        return super.addAll(c);
+      }
+      int old = bits;
+      bits |= ((RegularEnumSet<?>) c).bits;
+      return bits != old;
+    }
+
+    @Override
+    void addRange(int from, int to) {
+      bits |= mask(to + 1) & ~mask(from);
+    }
+
+    @Override
+    public void clear() {
+      bits = 0;
+    }
+
+    @Override
+    public EnumSet<E> clone() {
+      return new RegularEnumSet<E>(universeSize, bits);
+    }
+
+    @Override
+    EnumSet<E> complement() {
+      return new RegularEnumSet<E>(universeSize, ~bits & mask(universeSize));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return isInUniverse(o) && (bits & (1 << ordinal(o))) != 0;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+      if (!(c instanceof RegularEnumSet)) {
+        return super.containsAll(c);
+      }
+      int other = ((RegularEnumSet<?>) c).bits;
+      return (other & ~bits) == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof RegularEnumSet)) {
+        return super.equals(o);
+      }
+      return bits == ((RegularEnumSet<?>) o).bits;
+    }
 
-      private void findNext() {
-        ++i;
-        for (int c = capacity(); i < c; ++i) {
-          if (set[i] != null) {
-            return;
-          }
+    @Override
+    public Iterator<E> iterator() {
+      return new IteratorImpl();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!isInUniverse(o)) {
+        return false;
+      }
+      int old = bits;
+      bits &= ~(1 << ordinal(o));
+      return bits != old;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+      if (!(c instanceof RegularEnumSet)) {
+        return super.removeAll(c);
+      }
+      int old = bits;
+      bits &= ~((RegularEnumSet<?>) c).bits;
+      return bits != old;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+      if (!(c instanceof RegularEnumSet)) {
+        return super.retainAll(c);
+      }
+      int old = bits;
+      bits &= ((RegularEnumSet<?>) c).bits;
+      return bits != old;
+    }
+
+    @Override
+    public int size() {
+      return bitCount(bits);
+    }
+
+    @Override
+    int universeSize() {
+      return universeSize;
+    }
+  }
+
+  /**
+   * The set of an enum type of more than 32 constants, or of an unknown enum
+   * type. The bit <code>i % 32</code> of <code>words[i / 32]</code> is set when
+   * the constant of ordinal <code>i</code> is in the set. When the enum type is
+   * unknown, the words grow as the constants are added.
+   */
+  static final class JumboEnumSet<E extends Enum<E>> extends EnumSet<E> {
+    private class IteratorImpl implements Iterator<E> {
+      /*
+       * word is the index of the current word, remaining holds its bits that
+       * are not returned yet, last is the ordinal returned on the previous call
+       * to next(), -1 if no such item exists.
+       */
+
+      int word = 0, remaining = words.length == 0 ? 0 : words[0], last = -1;
+
+      @Override
+      public boolean hasNext() {
+        while (remaining == 0 && word < words.length - 1) {
+          remaining = words[++word];
         }
+        return remaining != 0;
+      }
+
+      @Override
+      public E next() {
+        checkElement(hasNext());
+        last = (word << 5) + numberOfTrailingZeros(remaining);
+        remaining &= remaining - 1;
+        return constant(last);
+      }
+
+      @Override
+      public void remove() {
+        checkState(last != -1);
+        JumboEnumSet.this.remove(constant(last));
+        last = -1;
       }
     }
 
     /**
-     * All enums; reference to the class's copy; must not be modified.
+     * The number of constants of the enum type, -1 if unknown.
      */
-    private final E[] all;
+    private final int universeSize;
 
-    /**
-     * Live enums in the set.
-     */
-    private E[] set;
+    private int[] words;
 
-    /**
-     * Count of enums in the set.
-     */
     private int size;
 
+    JumboEnumSet(int universeSize, int[] words, int size) {
+      this.universeSize = universeSize;
+      this.words = words;
+      this.size = size;
+    }
+
+    JumboEnumSet(int universeSize) {
+      this(universeSize, any(new Int32Array(universeSize < 0 ? 1 : (universeSize + 31) >>> 5)), 0);
+    }
+
     /**
-     * Constructs a set taking ownership of the specified set. The size must
-     * accurately reflect the number of non-null items in set.
+     * Grows the words so that the given word index is valid.
      */
-    public EnumSetImpl(E[] all, E[] set, int size) {
-      this.all = all;
-      this.set = set;
+    private void ensureWord(int word) {
+      if (word >= words.length) {
+        Int32Array grown = new Int32Array(Math.max(word + 1, words.length * 2));
+        grown.set((Double[]) any(words));
+        words = any(grown);
+      }
+    }
+
+    private void recalculateSize() {
+      int size = 0;
+      for (int i = 0; i < words.length; i++) {
+        size += bitCount(words[i]);
+      }
       this.size = size;
     }
 
     @Override
     public boolean add(E e) {
       checkNotNull(e);
-
-      int ordinal = e.ordinal();
-      if (set[ordinal] == null) {
-        set[ordinal] = e;
-        ++size;
+      int ordinal = ordinal(e);
+      int word = ordinal >>> 5;
+      ensureWord(word);
+      int old = words[word];
+      words[word] = old | (1 << ordinal);
+      if (words[word] != old) {
+        size++;
         return true;
       }
       return false;
     }
 
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+      if (!(c instanceof JumboEnumSet)) {
+        return super.addAll(c);
+      }
+      int[] other = ((JumboEnumSet<?>) c).words;
+      ensureWord(other.length - 1);
+      int old = size;
+      for (int i = 0; i < other.length; i++) {
+        words[i] |= other[i];
+      }
+      recalculateSize();
+      return size != old;
+    }
+
+    @Override
+    void addRange(int from, int to) {
+      ensureWord(to >>> 5);
+      for (int word = from >>> 5, last = to >>> 5; word <= last; word++) {
+        int start = word == from >>> 5 ? from & 31 : 0;
+        int end = word == last ? (to & 31) + 1 : 32;
+        words[word] |= mask(end) & ~mask(start);
+      }
+      recalculateSize();
+    }
+
+    @Override
+    public void clear() {
+      for (int i = 0; i < words.length; i++) {
+        words[i] = 0;
+      }
+      size = 0;
+    }
+
     @Override
     public EnumSet<E> clone() {
-      E[] clonedSet = ArrayHelper.clone(set, 0, set.length);
-      return new EnumSetImpl<E>(all, clonedSet, size);
+      return new JumboEnumSet<E>(universeSize, any(((Int32Array) any(words)).slice()), size);
+    }
+
+    @Override
+    EnumSet<E> complement() {
+      checkArgument(universeSize >= 0,
+          "The enum type of a set created from constants is unknown: use noneOf or allOf");
+      JumboEnumSet<E> result = new JumboEnumSet<E>(universeSize);
+      for (int i = 0; i < result.words.length; i++) {
+        result.words[i] = ~words[i];
+      }
+      result.words[result.words.length - 1] &= mask(universeSize - ((result.words.length - 1) << 5));
+      result.recalculateSize();
+      return result;
     }
 
-    @SpecializeMethod(params = Enum.class, target = "containsEnum")
     @Override
     public boolean contains(Object o) {
-      return (o instanceof Enum) && containsEnum((Enum) o);
+      if (!isConstant(o)) {
+        return false;
+      }
+      int ordinal = ordinal(o);
+      int word = ordinal >>> 5;
+      return word < words.length && (words[word] & (1 << ordinal)) != 0;
     }
 
-    private boolean containsEnum(Enum e) {
-      return e != null && set[e.ordinal()] == e;
+    @Override
+    public boolean containsAll(Collection<?> c) {
+      if (!(c instanceof JumboEnumSet)) {
+        return super.containsAll(c);
+      }
+      int[] other = ((JumboEnumSet<?>) c).words;
+      for (int i = 0; i < other.length; i++) {
+        if ((other[i] & ~(i < words.length ? words[i] : 0)) != 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof JumboEnumSet)) {
+        return super.equals(o);
+      }
+      JumboEnumSet<?> other = (JumboEnumSet<?>) o;
+      return size == other.size && containsAll(other);
     }
 
     @Override
@@ -148,19 +390,43 @@ public abstract class EnumSet<E extends Enum<E>> extends AbstractSet<E> {
       return new IteratorImpl();
     }
 
-    @SpecializeMethod(params = Enum.class, target = "removeEnum")
     @Override
     public boolean remove(Object o) {
-      return (o instanceof Enum) && removeEnum((Enum) o);
+      if (!contains(o)) {
+        return false;
+      }
+      int ordinal = ordinal(o);
+      words[ordinal >>> 5] &= ~(1 << ordinal);
+      size--;
+      return true;
     }
 
-    private boolean removeEnum(Enum e) {
-      if (e != null && set[e.ordinal()] == e) {
-        set[e.ordinal()] = null;
-        --size;
-        return true;
+    @Override
+    public boolean removeAll(Collection<?> c) {
+      if (!(c instanceof JumboEnumSet)) {
+        return super.removeAll(c);
       }
-      return false;
+      int[] other = ((JumboEnumSet<?>) c).words;
+      int old = size;
+      for (int i = 0, n = Math.min(words.length, other.length); i < n; i++) {
+        words[i] &= ~other[i];
+      }
+      recalculateSize();
+      return size != old;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+      if (!(c instanceof JumboEnumSet)) {
+        return super.retainAll(c);
+      }
+      int[] other = ((JumboEnumSet<?>) c).words;
+      int old = size;
+      for (int i = 0; i < words.length; i++) {
+        words[i] &= i < other.length ? other[i] : 0;
+      }
+      recalculateSize();
+      return size != old;
     }
 
     @Override
@@ -169,28 +435,21 @@ public abstract class EnumSet<E extends Enum<E>> extends AbstractSet<E> {
     }
 
     @Override
-    int capacity() {
-      return all.length;
+    int universeSize() {
+      return universeSize;
     }
   }
 
   public static <E extends Enum<E>> EnumSet<E> allOf(Class<E> elementType) {
-    E[] all = elementType.getEnumConstants();
-    E[] set = ArrayHelper.clone(all, 0, all.length);
-    return new EnumSetImpl<E>(all, set, all.length);
+    EnumSet<E> set = noneOf(elementType);
+    if (set.universeSize() > 0) {
+      set.addRange(0, set.universeSize() - 1);
+    }
+    return set;
   }
 
   public static <E extends Enum<E>> EnumSet<E> complementOf(EnumSet<E> other) {
-    EnumSetImpl<E> s = (EnumSetImpl<E>) other;
-    E[] all = s.all;
-    E[] oldSet = s.set;
-    E[] newSet = ArrayHelper.createFrom(oldSet, oldSet.length);
-    for (int i = 0, c = oldSet.length; i < c; ++i) {
-      if (oldSet[i] == null) {
-        newSet[i] = all[i];
-      }
-    }
-    return new EnumSetImpl<E>(all, newSet, all.length - s.size);
+    return other.complement();
   }
 
   public static <E extends Enum<E>> EnumSet<E> copyOf(Collection<E> c) {
@@ -200,13 +459,8 @@ public abstract class EnumSet<E extends Enum<E>> extends AbstractSet<E> {
 
     checkArgument(!c.isEmpty(), "Collection is empty");
 
-    Iterator<E> iterator = c.iterator();
-    E first = iterator.next();
-    EnumSet<E> set = of(first);
-    while (iterator.hasNext()) {
-      E e = iterator.next();
-      set.add(e);
-    }
+    EnumSet<E> set = new JumboEnumSet<E>(-1);
+    set.addAll(c);
     return set;
   }
 
@@ -215,12 +469,15 @@ public abstract class EnumSet<E extends Enum<E>> extends AbstractSet<E> {
   }
 
   public static <E extends Enum<E>> EnumSet<E> noneOf(Class<E> elementType) {
-    E[] all = elementType.getEnumConstants();
-    return new EnumSetImpl<E>(all, ArrayHelper.createFrom(all, all.length), 0);
+    int universeSize = universeSize(elementType);
+    if (universeSize <= 32) {
+      return new RegularEnumSet<E>(universeSize, 0);
+    }
+    return new JumboEnumSet<E>(universeSize);
   }
 
   public static <E extends Enum<E>> EnumSet<E> of(E first) {
-    EnumSet<E> set = noneOf(first.getDeclaringClass());
+    EnumSet<E> set = new JumboEnumSet<E>(-1);
     set.add(first);
     return set;
   }
@@ -232,27 +489,135 @@ public abstract class EnumSet<E extends Enum<E>> extends AbstractSet<E> {
   }
 
   public static <E extends Enum<E>> EnumSet<E> range(E from, E to) {
-    checkArgument(from.compareTo(to) <= 0, "%s > %s", from, to);
+    checkArgument(ordinal(from) <= ordinal(to), "%s > %s", from, to);
+
+    EnumSet<E> set = new JumboEnumSet<E>(-1);
+    set.addRange(ordinal(from), ordinal(to));
+    return set;
+  }
+
+  /**
+   * Same as {@link #of(Enum, Enum...)}, for the given enum type.
+   */
+  public static <E extends Enum<E>> EnumSet<E> typedOf(Class<E> elementType, E... constants) {
+    EnumSet<E> set = noneOf(elementType);
+    Collections.addAll(set, constants);
+    return set;
+  }
+
+  /**
+   * Same as {@link #range(Enum, Enum)}, for the given enum type.
+   */
+  public static <E extends Enum<E>> EnumSet<E> typedRange(Class<E> elementType, E from, E to) {
+    checkArgument(ordinal(from) <= ordinal(to), "%s > %s", from, to);
+
+    EnumSet<E> set = noneOf(elementType);
+    set.addRange(ordinal(from), ordinal(to));
+    return set;
+  }
+
+  /**
+   * Same as {@link #copyOf(Collection)}, for the given enum type.
+   */
+  public static <E extends Enum<E>> EnumSet<E> typedCopyOf(Class<E> elementType, Collection<E> c) {
+    if (c instanceof EnumSet) {
+      return copyOf((EnumSet<E>) c);
+    }
 
-    E[] all = from.getDeclaringClass().getEnumConstants();
-    E[] set = ArrayHelper.createFrom(all, all.length);
+    checkArgument(!c.isEmpty(), "Collection is empty");
 
-    // Inclusive
-    int start = from.ordinal();
-    int end = to.ordinal() + 1;
-    for (int i = start; i < end; ++i) {
-      set[i] = all[i];
+    EnumSet<E> set = noneOf(elementType);
+    set.addAll(c);
+    return set;
+  }
+
+  /**
+   * The number of constants of the given enum type, which is a TypeScript
+   * enum object mapping the ordinals to the names.
+   */
+  static int universeSize(Class<?> elementType) {
+    int size = 0;
+    while ($get(elementType, "" + size) != null) {
+      size++;
     }
-    return new EnumSetImpl<E>(all, set, end - start);
+    return size;
+  }
+
+  /**
+   * Returns the ordinal of the given enum constant, which is the constant
+   * itself at runtime.
+   */
+  static int ordinal(Object e) {
+    return any(e);
   }
 
   /**
-   * Single implementation only.
+   * Returns the enum constant of the given ordinal.
+   */
+  static <E> E constant(int ordinal) {
+    return any(ordinal);
+  }
+
+  /**
+   * Tells if the given object may be an enum constant.
+   */
+  static boolean isConstant(Object o) {
+    return "number".equals(typeof(o));
+  }
+
+  /**
+   * The mask of the bits 0 to <code>n - 1</code>.
+   */
+  static int mask(int n) {
+    return n >= 32 ? -1 : (1 << n) - 1;
+  }
+
+  static int bitCount(int i) {
+    i = i - ((i >>> 1) & 0x55555555);
+    i = (i & 0x33333333) + ((i >>> 2) & 0x33333333);
+    i = (i + (i >>> 4)) & 0x0f0f0f0f;
+    return (i * 0x01010101) >>> 24;
+  }
+
+  static int numberOfTrailingZeros(int i) {
+    int n = 0;
+    if ((i & 0xffff) == 0) {
+      n += 16;
+      i >>>= 16;
+    }
+    if ((i & 0xff) == 0) {
+      n += 8;
+      i >>>= 8;
+    }
+    if ((i & 0xf) == 0) {
+      n += 4;
+      i >>>= 4;
+    }
+    if ((i & 0x3) == 0) {
+      n += 2;
+      i >>>= 2;
+    }
+    return (i & 0x1) == 0 ? n + 1 : n;
+  }
+
+  /**
+   * Two implementations only.
    */
   EnumSet() {
   }
 
   public abstract EnumSet<E> clone();
 
-  abstract int capacity();
+  /**
+   * Adds the constants of the ordinals <code>from</code> to <code>to</code>
+   * (inclusive).
+   */
+  abstract void addRange(int from, int to);
+
+  abstract EnumSet<E> complement();
+
+  /**
+   * The number of constants of the enum type, -1 if unknown.
+   */
+  abstract int universeSize();
 }
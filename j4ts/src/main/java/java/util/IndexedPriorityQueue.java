@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+
+package java.util;
+
+import static javaemul.internal.InternalPreconditions.checkArgument;
+import static javaemul.internal.InternalPreconditions.checkElement;
+
+/**
+ * A {@link PriorityQueue} that keeps the index of each element in its heap, in
+ * a hash map. {@link #remove(Object)} and {@link #contains(Object)} are then
+ * O(log n) and O(1) rather than a scan of the heap, and {@link #update(Object)}
+ * restores the order of an element whose priority changed (the decrease-key
+ * operation of Dijkstra or A* searches).
+ *
+ * <p>
+ * Since an element has a single index, the elements of the queue must be
+ * distinct, according to their <code>equals</code> and <code>hashCode</code>
+ * methods: adding an element that is already in the queue throws an
+ * <code>IllegalArgumentException</code>. Keeping the indices up to date slows
+ * down the other operations, so this class is only useful when elements are
+ * removed or updated.
+ *
+ * @param <E>
+ *            element type
+ */
+public class IndexedPriorityQueue<E> extends PriorityQueue<E> {
+
+	public IndexedPriorityQueue() {
+		this(11, null);
+	}
+
+	public IndexedPriorityQueue(int initialCapacity) {
+		this(initialCapacity, null);
+	}
+
+	public IndexedPriorityQueue(Comparator<? super E> cmp) {
+		this(11, cmp);
+	}
+
+	public IndexedPriorityQueue(int initialCapacity, Comparator<? super E> cmp) {
+		super(initialCapacity, cmp);
+		indices = new HashMap<E, Integer>();
+	}
+
+	@Override
+	public boolean offer(E e) {
+		checkArgument(!indices.containsKey(e), "the element is already in the queue");
+		return super.offer(e);
+	}
+
+	/**
+	 * Moves the given element to its place in the queue, after a change of its
+	 * priority. O(log n) time
+	 *
+	 * @throws NoSuchElementException
+	 *             if the element is not in the queue
+	 */
+	public void update(E e) {
+		int index = indexOf(e);
+		checkElement(index >= 0);
+		siftAt(index);
+	}
+
+}
@@ -94,6 +94,9 @@ public class LinkedHashMap<K, V> extends HashMap<K, V> implements Map<K, V> {
 			// The next entry to return from this iterator.
 			private ChainEntry next;
 
+			// The structure counter of ConcurrentModificationDetector.
+			int modCount;
+
 			public EntryIterator() {
 				next = head.next;
 				recordLastKnownStructure(map, this);
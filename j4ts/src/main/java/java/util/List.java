@@ -80,6 +80,17 @@ public interface List<E> extends Collection<E> {
   @Override
   int size();
 
+  @SuppressWarnings("unchecked")
+  default void sort(Comparator<? super E> c) {
+    Object[] a = toArray();
+    Arrays.sort(a, (Comparator<Object>) c);
+    ListIterator<E> it = listIterator();
+    for (Object e : a) {
+      it.next();
+      it.set((E) e);
+    }
+  }
+
   List<E> subList(int fromIndex, int toIndex);
 
   @Override
@@ -15,55 +15,66 @@
  */
 package java.util;
 
+import static javaemul.internal.InternalPreconditions.checkArgument;
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+import static jsweet.util.Globals.any;
+
+import java.util.function.Predicate;
+
+import javaemul.internal.ArrayHelper;
+
 /**
  * An unbounded priority queue based on a priority heap. <a
  * href="http://java.sun.com/j2se/1.5.0/docs/api/java/util/PriorityQueue.html">[Sun
  * docs]</a>
+ *
+ * <p>JSweet implementation. The heap is held in a JavaScript array, whose
+ * length is the size of the queue, and the elements are sifted with direct
+ * array accesses. Bulk additions rebuild the heap in linear time when they are
+ * large compared to the queue. {@link IndexedPriorityQueue} also keeps the
+ * index of each element in the heap, so that <code>remove(Object)</code> and
+ * <code>contains(Object)</code> do not scan the heap.
  * 
  * @param <E> element type.
  */
 public class PriorityQueue<E> extends AbstractQueue<E> {
 
-  private static int getLeftChild(int node) {
-    return 2 * node + 1;
-  }
-
-  private static int getParent(int node) {
-    return (node - 1) / 2;
-  }
-
-  private static int getRightChild(int node) {
-    return 2 * node + 2;
-  }
-
-  private static boolean isLeaf(int node, int size) {
-    return node * 2 + 1 >= size;
-  }
-
   private Comparator<? super E> cmp;
 
   /**
-   * A heap held in an array. heap[0] is the root of the heap (the smallest
-   * element), the subtrees of node i are 2*i+1 (left) and 2*i+2 (right). Node i
-   * is a leaf node if 2*i>=n. Node i's parent, if i>0, is floor((i-1)/2).
+   * A heap held in a JavaScript array. heap[0] is the root of the heap (the
+   * smallest element), the subtrees of node i are 2*i+1 (left) and 2*i+2
+   * (right). Node i is a leaf node if 2*i+1>=n. Node i's parent, if i>0, is
+   * floor((i-1)/2).
    */
-  private ArrayList<E> heap;
+  private E[] heap;
+
+  /**
+   * The index of each element in the heap, maintained when it is not null (see
+   * {@link IndexedPriorityQueue}).
+   */
+  HashMap<E, Integer> indices;
 
   public PriorityQueue() {
     this(11);
   }
 
   public PriorityQueue(Collection<? extends E> c) {
-    this(c.size());
-    addAll(c);
+    this(11, comparatorOf(c));
+    initFrom(c);
   }
 
   public PriorityQueue(int initialCapacity) {
     this(initialCapacity, null);
   }
 
+  public PriorityQueue(Comparator<? super E> cmp) {
+    this(11, cmp);
+  }
+
   public PriorityQueue(int initialCapacity, Comparator<? super E> cmp) {
-    heap = new ArrayList<E>(initialCapacity);
+    checkArgument(initialCapacity >= 1, "initialCapacity < 1");
+    heap = (E[]) new Object[0];
     if (cmp == null) {
       cmp = Comparators.natural();
     }
@@ -72,30 +83,72 @@ public class PriorityQueue<E> extends AbstractQueue<E> {
 
   @SuppressWarnings("unchecked")
   public PriorityQueue(PriorityQueue<? extends E> c) {
-    // TODO(jat): better solution
-    this(c.size(), (Comparator<? super E>) c.comparator());
-    addAll(c);
+    this(11, (Comparator<? super E>) c.comparator());
+    initFrom(c);
   }
 
   @SuppressWarnings("unchecked")
   public PriorityQueue(SortedSet<? extends E> c) {
-    // TODO(jat): better solution
-    this(c.size(), (Comparator<? super E>) c.comparator());
-    addAll(c);
+    this(11, (Comparator<? super E>) c.comparator());
+    initFrom(c);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E> Comparator<? super E> comparatorOf(Collection<? extends E> c) {
+    if (c instanceof SortedSet) {
+      return (Comparator<? super E>) ((SortedSet<? extends E>) c).comparator();
+    }
+    if (c instanceof PriorityQueue) {
+      return (Comparator<? super E>) ((PriorityQueue<? extends E>) c).comparator();
+    }
+    return null;
+  }
+
+  /**
+   * Initializes the heap with the elements of the given collection: the
+   * elements of a sorted set or of a priority queue are already ordered as a
+   * heap, the other collections are heapified.
+   */
+  private void initFrom(Collection<? extends E> c) {
+    Object[] elements = c.toArray();
+    for (int i = 0; i < elements.length; i++) {
+      heap[i] = (E) checkNotNull(elements[i]);
+    }
+    if (!(c instanceof SortedSet) && !(c instanceof PriorityQueue)) {
+      heapify();
+    }
   }
 
   @Override
   public boolean addAll(Collection<? extends E> c) {
-    if (heap.addAll(c)) {
-      makeHeap(0);
-      return true;
+    checkArgument(c != this, "cannot add a queue to itself");
+    Object[] elements = c.toArray();
+    int size = heap.length;
+    if (indices != null || elements.length < (size >> 2)) {
+      // a few elements: sift them up one by one
+      for (int i = 0; i < elements.length; i++) {
+        offer((E) elements[i]);
+      }
+    } else {
+      // many elements: append them and rebuild the heap in O(n), once they
+      // are all checked, so that a null element leaves the queue unchanged
+      for (int i = 0; i < elements.length; i++) {
+        checkNotNull(elements[i]);
+      }
+      for (int i = 0; i < elements.length; i++) {
+        heap[size + i] = (E) elements[i];
+      }
+      heapify();
     }
-    return false;
+    return elements.length > 0;
   }
 
   @Override
   public void clear() {
-    heap.clear();
+    ArrayHelper.setLength(heap, 0);
+    if (indices != null) {
+      indices.clear();
+    }
   }
 
   public Comparator<? super E> comparator() {
@@ -104,65 +157,53 @@ public class PriorityQueue<E> extends AbstractQueue<E> {
 
   @Override
   public boolean contains(Object o) {
-    return heap.contains(o);
-  }
-
-  @Override
-  public boolean containsAll(Collection<?> c) {
-    return heap.containsAll(c);
+    return indexOf(o) >= 0;
   }
 
   @Override
   public boolean isEmpty() {
-    return heap.isEmpty();
+    return heap.length == 0;
   }
 
   @Override
   public Iterator<E> iterator() {
     // TODO(jat): PriorityQueue is supposed to have a modifiable iterator.
-    return Collections.unmodifiableList(heap).iterator();
+    return Collections.unmodifiableList(Arrays.asList(heap)).iterator();
   }
 
   @Override
   public boolean offer(E e) {
-    int node = heap.size();
-    heap.add(e);
-    while (node > 0) {
-      int childNode = node;
-      node = getParent(node);
-      if (cmp.compare(heap.get(node), e) <= 0) {
-        // parent is smaller, so we have a valid heap
-        heap.set(childNode, e);
-        return true;
-      }
-      // exchange with parent and try again
-      heap.set(childNode, heap.get(node));
-    }
-    heap.set(node, e);
+    checkNotNull(e);
+    siftUp(heap.length, e);
     return true;
   }
 
   @Override
   public E peek() {
-    if (heap.size() == 0) {
-      return null;
-    }
-    return heap.get(0);
+    return heap.length == 0 ? null : heap[0];
   }
 
   @Override
   public E poll() {
-    if (heap.size() == 0) {
+    int size = heap.length;
+    if (size == 0) {
       return null;
     }
-    E value = heap.get(0);
-    removeAtIndex(0);
+    E value = heap[0];
+    E lastValue = heap[size - 1];
+    ArrayHelper.setLength(heap, size - 1);
+    if (indices != null) {
+      indices.remove(value);
+    }
+    if (size > 1) {
+      siftDown(0, lastValue);
+    }
     return value;
   }
 
   @Override
   public boolean remove(Object o) {
-    int index = heap.indexOf(o);
+    int index = indexOf(o);
     if (index < 0) {
       return false;
     }
@@ -172,109 +213,190 @@ public class PriorityQueue<E> extends AbstractQueue<E> {
 
   @Override
   public boolean removeAll(Collection<?> c) {
-    if (heap.removeAll(c)) {
-      makeHeap(0);
-      return true;
-    }
-    return false;
+    checkNotNull(c);
+    return removeMatching(e -> c.contains(e));
   }
 
   @Override
   public boolean retainAll(Collection<?> c) {
-    if (heap.retainAll(c)) {
-      makeHeap(0);
-      return true;
+    checkNotNull(c);
+    return removeMatching(e -> !c.contains(e));
+  }
+
+  /**
+   * Removes the matching elements in a single pass and rebuilds the heap once.
+   */
+  private boolean removeMatching(Predicate<? super E> filter) {
+    int size = heap.length;
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      E value = heap[i];
+      if (filter.test(value)) {
+        if (indices != null) {
+          indices.remove(value);
+        }
+      } else {
+        heap[kept++] = value;
+      }
+    }
+    if (kept == size) {
+      return false;
     }
-    return false;
+    ArrayHelper.setLength(heap, kept);
+    heapify();
+    return true;
   }
 
   @Override
   public int size() {
-    return heap.size();
+    return heap.length;
   }
 
   @Override
   public Object[] toArray() {
-    return heap.toArray();
+    return ArrayHelper.clone(heap, 0, heap.length);
   }
 
   @Override
-  public <T> T[] toArray(T[] a) {
-    return heap.toArray(a);
+  public <T> T[] toArray(T[] out) {
+    int size = heap.length;
+    if (out.length < size) {
+      out = ArrayHelper.createFrom(out, size);
+    }
+    for (int i = 0; i < size; ++i) {
+      out[i] = any(heap[i]);
+    }
+    if (out.length > size) {
+      out[size] = null;
+    }
+    return out;
   }
 
-  @Override
-  public String toString() {
-    return heap.toString();
+  /**
+   * Returns the index of the given element in the heap, or -1.
+   */
+  int indexOf(Object o) {
+    if (o == null) {
+      return -1;
+    }
+    if (indices != null) {
+      Integer index = indices.get(o);
+      return index == null ? -1 : index;
+    }
+    for (int i = 0, size = heap.length; i < size; i++) {
+      if (o.equals(heap[i])) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   /**
-   * Make the subtree rooted at <code>node</code> a valid heap. O(n) time
-   * 
-   * @param node
+   * Makes the whole array a valid heap, by sifting down the interior nodes from
+   * the last one. O(n) time
    */
-  protected void makeHeap(int node) {
-    if (isLeaf(node)) {
-      // leaf node are automatically valid heaps
-      return;
+  private void heapify() {
+    E[] heap = this.heap;
+    for (int node = (heap.length >> 1) - 1; node >= 0; node--) {
+      siftDown(node, heap[node]);
     }
-    makeHeap(getLeftChild(node)); // make left subtree a heap
-    // an interior node might not have a right child
-    int rightChild = getRightChild(node);
-    if (rightChild < heap.size()) {
-      makeHeap(rightChild); // make right subtree a heap
+    if (indices != null) {
+      indices.clear();
+      for (int i = 0, size = heap.length; i < size; i++) {
+        indices.put(heap[i], i);
+      }
     }
-    mergeHeaps(node);
   }
 
   /**
-   * Merge two subheaps into a single heap. O(log n) time
-   * 
-   * PRECONDITION: both children of <code>node</code> are heaps
-   * 
-   * @param node the parent of the two subtrees to merge
+   * Places the given value at the given node or above it, moving the greater
+   * parents down. O(log n) time
    */
-  protected void mergeHeaps(int node) {
-    int heapSize = heap.size();
-    E value = heap.get(node);
-    while (!isLeaf(node, heapSize)) {
-      int smallestChild = getSmallestChild(node, heapSize);
-      if (cmp.compare(value, heap.get(smallestChild)) < 0) {
-        // Current node is smaller than the smallest child, so we are done.
+  private void siftUp(int node, E value) {
+    E[] heap = this.heap;
+    Comparator<? super E> cmp = this.cmp;
+    while (node > 0) {
+      int parent = (node - 1) >> 1;
+      E parentValue = heap[parent];
+      if (cmp.compare(parentValue, value) <= 0) {
+        // parent is smaller, so we have a valid heap
         break;
       }
-      // Move the smallest child up and iterate using its old slot.
-      heap.set(node, heap.get(smallestChild));
-      node = smallestChild;
+      // move the parent down and try again
+      heap[node] = parentValue;
+      if (indices != null) {
+        indices.put(parentValue, node);
+      }
+      node = parent;
+    }
+    heap[node] = value;
+    if (indices != null) {
+      indices.put(value, node);
     }
-    heap.set(node, value);
   }
 
-  private int getSmallestChild(int node, int heapSize) {
-    int smallestChild;
-    int leftChild = getLeftChild(node); // start with left child
-    int rightChild = leftChild + 1;
-    smallestChild = leftChild;
-    if ((rightChild < heapSize)
-        && (cmp.compare(heap.get(rightChild), heap.get(leftChild)) < 0)) {
-      // right child is smaller, go down that path
-      smallestChild = rightChild;
+  /**
+   * Places the given value at the given node or below it, moving the smallest
+   * children up. O(log n) time
+   *
+   * PRECONDITION: both children of <code>node</code> are heaps
+   */
+  private void siftDown(int node, E value) {
+    E[] heap = this.heap;
+    Comparator<? super E> cmp = this.cmp;
+    int size = heap.length;
+    int half = size >> 1;
+    while (node < half) {
+      int child = 2 * node + 1;
+      E childValue = heap[child];
+      int rightChild = child + 1;
+      if (rightChild < size && cmp.compare(heap[rightChild], childValue) < 0) {
+        // right child is smaller, go down that path
+        child = rightChild;
+        childValue = heap[rightChild];
+      }
+      if (cmp.compare(value, childValue) <= 0) {
+        // the value is not greater than the smallest child, so we are done
+        break;
+      }
+      // move the smallest child up and iterate using its old slot
+      heap[node] = childValue;
+      if (indices != null) {
+        indices.put(childValue, node);
+      }
+      node = child;
+    }
+    heap[node] = value;
+    if (indices != null) {
+      indices.put(value, node);
     }
-    return smallestChild;
   }
 
-  private boolean isLeaf(int node) {
-    return isLeaf(node, heap.size());
+  /**
+   * Restores the heap order after the value at the given node was changed.
+   */
+  void siftAt(int index) {
+    E value = heap[index];
+    siftDown(index, value);
+    if (heap[index] == value) {
+      siftUp(index, value);
+    }
   }
 
   private void removeAtIndex(int index) {
+    int last = heap.length - 1;
+    E value = heap[index];
     // Remove the last element; put it in place of the really removed element.
-    E lastValue = heap.remove(heap.size() - 1);
+    E lastValue = heap[last];
+    ArrayHelper.setLength(heap, last);
+    if (indices != null) {
+      indices.remove(value);
+    }
     // Unless the last element was actually the one we wanted.
-    if (index < heap.size()) {
-      // Move last element to the now-empty slot and reheap.
-      heap.set(index, lastValue);
-      mergeHeaps(index);
+    if (index < last) {
+      // The last element may have to go down or, in another subtree, up.
+      heap[index] = lastValue;
+      siftAt(index);
     }
   }
 }
@@ -270,7 +270,9 @@ public class Random {
    * @see #nextInt(int)
    */
   public long nextLong() {
-    return ((long) nextInternal(32) << 32) + (long) nextInternal(32);
+    // multiplication rather than shift, which also gives the high word when
+    // longs are plain numbers (JavaScript shifts apply to 32 bits only)
+    return (long) nextInternal(32) * 0x100000000L + (long) nextInternal(32);
   }
 
   /**
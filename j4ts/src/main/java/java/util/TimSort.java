@@ -0,0 +1,557 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+
+package java.util;
+
+/**
+ * A stable, adaptive merge sort (TimSort) for object arrays, used by
+ * {@link Arrays#sort(Object[])} and the related methods.
+ *
+ * <p>
+ * The range is scanned for natural runs (descending runs are reversed in
+ * place), short runs are extended to a minimal length with a binary insertion
+ * sort, and the runs are merged following the stack invariants of Tim Peters'
+ * algorithm. Merges copy only the smaller run into a temporary array and switch
+ * to galloping (exponential search) when one run keeps winning. Sorted,
+ * reversed and partially sorted inputs are thus sorted in linear time, and the
+ * temporary storage is at most half of the sorted range.
+ *
+ * <p>
+ * The array is sorted in place, so callers holding a backing array (for
+ * instance {@link ArrayList}) do not need to copy it.
+ */
+final class TimSort<T> {
+
+	/**
+	 * Ranges shorter than this are sorted with a binary insertion sort.
+	 */
+	private static final int MIN_MERGE = 32;
+
+	/**
+	 * Number of consecutive wins of a run after which merges start galloping.
+	 */
+	private static final int MIN_GALLOP = 7;
+
+	/**
+	 * Sorts the given range of the array in place.
+	 *
+	 * @param array
+	 *            the array to be sorted
+	 * @param low
+	 *            the index of the first element (inclusive)
+	 * @param high
+	 *            the index of the last element (exclusive)
+	 * @param comparator
+	 *            the comparator to use
+	 */
+	static <T> void sort(T[] array, int low, int high, Comparator<? super T> comparator) {
+		int remaining = high - low;
+		if (remaining < 2) {
+			return;
+		}
+		if (remaining < MIN_MERGE) {
+			int runLength = countRunAndMakeAscending(array, low, high, comparator);
+			binarySort(array, low, high, low + runLength, comparator);
+			return;
+		}
+		TimSort<T> ts = new TimSort<T>(array, comparator);
+		int minRun = minRunLength(remaining);
+		do {
+			int runLength = countRunAndMakeAscending(array, low, high, comparator);
+			if (runLength < minRun) {
+				int forced = remaining <= minRun ? remaining : minRun;
+				binarySort(array, low, low + forced, low + runLength, comparator);
+				runLength = forced;
+			}
+			ts.pushRun(low, runLength);
+			ts.mergeCollapse();
+			low += runLength;
+			remaining -= runLength;
+		} while (remaining != 0);
+		ts.mergeForceCollapse();
+	}
+
+	private final T[] array;
+
+	private final Comparator<? super T> comparator;
+
+	private int minGallop = MIN_GALLOP;
+
+	private T[] temp;
+
+	private int stackSize = 0;
+
+	private final int[] runBase = new int[40];
+
+	private final int[] runLength = new int[40];
+
+	private TimSort(T[] array, Comparator<? super T> comparator) {
+		this.array = array;
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Sorts the [low, high) range with a binary insertion sort, knowing that
+	 * [low, start) is already sorted.
+	 */
+	private static <T> void binarySort(T[] array, int low, int high, int start, Comparator<? super T> comparator) {
+		if (start == low) {
+			start++;
+		}
+		for (; start < high; start++) {
+			T pivot = array[start];
+			int left = low;
+			int right = start;
+			while (left < right) {
+				int mid = (left + right) >>> 1;
+				if (comparator.compare(pivot, array[mid]) < 0) {
+					right = mid;
+				} else {
+					left = mid + 1;
+				}
+			}
+			for (int i = start; i > left; i--) {
+				array[i] = array[i - 1];
+			}
+			array[left] = pivot;
+		}
+	}
+
+	/**
+	 * Returns the length of the run starting at low, reversing it if it is
+	 * strictly descending (so that stability is preserved).
+	 */
+	private static <T> int countRunAndMakeAscending(T[] array, int low, int high, Comparator<? super T> comparator) {
+		int runHigh = low + 1;
+		if (runHigh == high) {
+			return 1;
+		}
+		if (comparator.compare(array[runHigh++], array[low]) < 0) {
+			while (runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) < 0) {
+				runHigh++;
+			}
+			reverseRange(array, low, runHigh);
+		} else {
+			while (runHigh < high && comparator.compare(array[runHigh], array[runHigh - 1]) >= 0) {
+				runHigh++;
+			}
+		}
+		return runHigh - low;
+	}
+
+	private static void reverseRange(Object[] array, int low, int high) {
+		high--;
+		while (low < high) {
+			Object t = array[low];
+			array[low++] = array[high];
+			array[high--] = t;
+		}
+	}
+
+	/**
+	 * Returns the minimal run length for a range of the given length, so that
+	 * the number of runs is a power of two or slightly less.
+	 */
+	private static int minRunLength(int n) {
+		int r = 0;
+		while (n >= MIN_MERGE) {
+			r |= (n & 1);
+			n >>= 1;
+		}
+		return n + r;
+	}
+
+	private void pushRun(int base, int length) {
+		runBase[stackSize] = base;
+		runLength[stackSize] = length;
+		stackSize++;
+	}
+
+	/**
+	 * Merges the runs on top of the stack until the invariants
+	 * <code>len[i - 2] > len[i - 1] + len[i]</code> and
+	 * <code>len[i - 1] > len[i]</code> hold again.
+	 */
+	private void mergeCollapse() {
+		while (stackSize > 1) {
+			int n = stackSize - 2;
+			if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+					|| (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1])) {
+				if (runLength[n - 1] < runLength[n + 1]) {
+					n--;
+				}
+			} else if (runLength[n] > runLength[n + 1]) {
+				break;
+			}
+			mergeAt(n);
+		}
+	}
+
+	private void mergeForceCollapse() {
+		while (stackSize > 1) {
+			int n = stackSize - 2;
+			if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+				n--;
+			}
+			mergeAt(n);
+		}
+	}
+
+	/**
+	 * Merges the runs at index i and i + 1 of the stack.
+	 */
+	private void mergeAt(int i) {
+		int base1 = runBase[i];
+		int length1 = runLength[i];
+		int base2 = runBase[i + 1];
+		int length2 = runLength[i + 1];
+		runLength[i] = length1 + length2;
+		if (i == stackSize - 3) {
+			runBase[i + 1] = runBase[i + 2];
+			runLength[i + 1] = runLength[i + 2];
+		}
+		stackSize--;
+
+		// elements of run1 that are already in place
+		int k = gallopRight(array[base2], array, base1, length1, 0, comparator);
+		base1 += k;
+		length1 -= k;
+		if (length1 == 0) {
+			return;
+		}
+		// elements of run2 that are already in place
+		length2 = gallopLeft(array[base1 + length1 - 1], array, base2, length2, length2 - 1, comparator);
+		if (length2 == 0) {
+			return;
+		}
+		if (length1 <= length2) {
+			mergeLow(base1, length1, base2, length2);
+		} else {
+			mergeHigh(base1, length1, base2, length2);
+		}
+	}
+
+	/**
+	 * Returns the position at which the key should be inserted in the sorted
+	 * range, before any equal element.
+	 */
+	private static <T> int gallopLeft(T key, T[] a, int base, int length, int hint, Comparator<? super T> c) {
+		int lastOffset = 0;
+		int offset = 1;
+		if (c.compare(key, a[base + hint]) > 0) {
+			int maxOffset = length - hint;
+			while (offset < maxOffset && c.compare(key, a[base + hint + offset]) > 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if (offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+			if (offset > maxOffset) {
+				offset = maxOffset;
+			}
+			lastOffset += hint;
+			offset += hint;
+		} else {
+			int maxOffset = hint + 1;
+			while (offset < maxOffset && c.compare(key, a[base + hint - offset]) <= 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if (offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+			if (offset > maxOffset) {
+				offset = maxOffset;
+			}
+			int t = lastOffset;
+			lastOffset = hint - offset;
+			offset = hint - t;
+		}
+		lastOffset++;
+		while (lastOffset < offset) {
+			int mid = lastOffset + ((offset - lastOffset) >>> 1);
+			if (c.compare(key, a[base + mid]) > 0) {
+				lastOffset = mid + 1;
+			} else {
+				offset = mid;
+			}
+		}
+		return offset;
+	}
+
+	/**
+	 * Returns the position at which the key should be inserted in the sorted
+	 * range, after any equal element.
+	 */
+	private static <T> int gallopRight(T key, T[] a, int base, int length, int hint, Comparator<? super T> c) {
+		int offset = 1;
+		int lastOffset = 0;
+		if (c.compare(key, a[base + hint]) < 0) {
+			int maxOffset = hint + 1;
+			while (offset < maxOffset && c.compare(key, a[base + hint - offset]) < 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if (offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+			if (offset > maxOffset) {
+				offset = maxOffset;
+			}
+			int t = lastOffset;
+			lastOffset = hint - offset;
+			offset = hint - t;
+		} else {
+			int maxOffset = length - hint;
+			while (offset < maxOffset && c.compare(key, a[base + hint + offset]) >= 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if (offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+			if (offset > maxOffset) {
+				offset = maxOffset;
+			}
+			lastOffset += hint;
+			offset += hint;
+		}
+		lastOffset++;
+		while (lastOffset < offset) {
+			int mid = lastOffset + ((offset - lastOffset) >>> 1);
+			if (c.compare(key, a[base + mid]) < 0) {
+				offset = mid;
+			} else {
+				lastOffset = mid + 1;
+			}
+		}
+		return offset;
+	}
+
+	/**
+	 * Merges two adjacent runs, the first one being the shortest, from left to
+	 * right. The first element of run2 is known to be smaller than the first
+	 * element of run1, and the last element of run1 to be greater than all the
+	 * elements of run2.
+	 */
+	private void mergeLow(int base1, int length1, int base2, int length2) {
+		T[] a = array;
+		T[] tmp = ensureCapacity(length1);
+		copy(a, base1, tmp, 0, length1);
+		int cursor1 = 0;
+		int cursor2 = base2;
+		int dest = base1;
+
+		a[dest++] = a[cursor2++];
+		if (--length2 == 0) {
+			copy(tmp, cursor1, a, dest, length1);
+			return;
+		}
+		if (length1 == 1) {
+			copy(a, cursor2, a, dest, length2);
+			a[dest + length2] = tmp[cursor1];
+			return;
+		}
+
+		Comparator<? super T> c = comparator;
+		int gallop = minGallop;
+		outer: while (true) {
+			int count1 = 0;
+			int count2 = 0;
+			// one element at a time, until a run keeps winning
+			do {
+				if (c.compare(a[cursor2], tmp[cursor1]) < 0) {
+					a[dest++] = a[cursor2++];
+					count2++;
+					count1 = 0;
+					if (--length2 == 0) {
+						break outer;
+					}
+				} else {
+					a[dest++] = tmp[cursor1++];
+					count1++;
+					count2 = 0;
+					if (--length1 == 1) {
+						break outer;
+					}
+				}
+			} while ((count1 | count2) < gallop);
+
+			// galloping, until no run wins by more than MIN_GALLOP elements
+			do {
+				count1 = gallopRight(a[cursor2], tmp, cursor1, length1, 0, c);
+				if (count1 != 0) {
+					copy(tmp, cursor1, a, dest, count1);
+					dest += count1;
+					cursor1 += count1;
+					length1 -= count1;
+					if (length1 <= 1) {
+						break outer;
+					}
+				}
+				a[dest++] = a[cursor2++];
+				if (--length2 == 0) {
+					break outer;
+				}
+				count2 = gallopLeft(tmp[cursor1], a, cursor2, length2, 0, c);
+				if (count2 != 0) {
+					copy(a, cursor2, a, dest, count2);
+					dest += count2;
+					cursor2 += count2;
+					length2 -= count2;
+					if (length2 == 0) {
+						break outer;
+					}
+				}
+				a[dest++] = tmp[cursor1++];
+				if (--length1 == 1) {
+					break outer;
+				}
+				gallop--;
+			} while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+			if (gallop < 0) {
+				gallop = 0;
+			}
+			gallop += 2;
+		}
+		minGallop = gallop < 1 ? 1 : gallop;
+
+		if (length1 == 1) {
+			copy(a, cursor2, a, dest, length2);
+			a[dest + length2] = tmp[cursor1];
+		} else if (length1 == 0) {
+			throw new IllegalArgumentException("Comparison method violates its general contract!");
+		} else {
+			copy(tmp, cursor1, a, dest, length1);
+		}
+	}
+
+	/**
+	 * Merges two adjacent runs, the second one being the shortest, from right
+	 * to left. Same preconditions as
+	 * {@link #mergeLow(int, int, int, int)}.
+	 */
+	private void mergeHigh(int base1, int length1, int base2, int length2) {
+		T[] a = array;
+		T[] tmp = ensureCapacity(length2);
+		copy(a, base2, tmp, 0, length2);
+		int cursor1 = base1 + length1 - 1;
+		int cursor2 = length2 - 1;
+		int dest = base2 + length2 - 1;
+
+		a[dest--] = a[cursor1--];
+		if (--length1 == 0) {
+			copy(tmp, 0, a, dest - (length2 - 1), length2);
+			return;
+		}
+		if (length2 == 1) {
+			dest -= length1;
+			cursor1 -= length1;
+			copy(a, cursor1 + 1, a, dest + 1, length1);
+			a[dest] = tmp[cursor2];
+			return;
+		}
+
+		Comparator<? super T> c = comparator;
+		int gallop = minGallop;
+		outer: while (true) {
+			int count1 = 0;
+			int count2 = 0;
+			do {
+				if (c.compare(tmp[cursor2], a[cursor1]) < 0) {
+					a[dest--] = a[cursor1--];
+					count1++;
+					count2 = 0;
+					if (--length1 == 0) {
+						break outer;
+					}
+				} else {
+					a[dest--] = tmp[cursor2--];
+					count2++;
+					count1 = 0;
+					if (--length2 == 1) {
+						break outer;
+					}
+				}
+			} while ((count1 | count2) < gallop);
+
+			do {
+				count1 = length1 - gallopRight(tmp[cursor2], a, base1, length1, length1 - 1, c);
+				if (count1 != 0) {
+					dest -= count1;
+					cursor1 -= count1;
+					length1 -= count1;
+					copy(a, cursor1 + 1, a, dest + 1, count1);
+					if (length1 == 0) {
+						break outer;
+					}
+				}
+				a[dest--] = tmp[cursor2--];
+				if (--length2 == 1) {
+					break outer;
+				}
+				count2 = length2 - gallopLeft(a[cursor1], tmp, 0, length2, length2 - 1, c);
+				if (count2 != 0) {
+					dest -= count2;
+					cursor2 -= count2;
+					length2 -= count2;
+					copy(tmp, cursor2 + 1, a, dest + 1, count2);
+					if (length2 <= 1) {
+						break outer;
+					}
+				}
+				a[dest--] = a[cursor1--];
+				if (--length1 == 0) {
+					break outer;
+				}
+				gallop--;
+			} while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+			if (gallop < 0) {
+				gallop = 0;
+			}
+			gallop += 2;
+		}
+		minGallop = gallop < 1 ? 1 : gallop;
+
+		if (length2 == 1) {
+			dest -= length1;
+			cursor1 -= length1;
+			copy(a, cursor1 + 1, a, dest + 1, length1);
+			a[dest] = tmp[cursor2];
+		} else if (length2 == 0) {
+			throw new IllegalArgumentException("Comparison method violates its general contract!");
+		} else {
+			copy(tmp, 0, a, dest - (length2 - 1), length2);
+		}
+	}
+
+	/**
+	 * Copies a range of elements, possibly overlapping when the arrays are the
+	 * same. Unlike {@link System#arraycopy(Object, int, Object, int, int)},
+	 * this does not allocate intermediate arrays.
+	 */
+	private static void copy(Object[] src, int srcPos, Object[] dest, int destPos, int length) {
+		if (src == dest && srcPos < destPos) {
+			for (int i = length - 1; i >= 0; i--) {
+				dest[destPos + i] = src[srcPos + i];
+			}
+		} else {
+			for (int i = 0; i < length; i++) {
+				dest[destPos + i] = src[srcPos + i];
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T[] ensureCapacity(int minCapacity) {
+		if (temp == null || temp.length < minCapacity) {
+			temp = (T[]) new Object[Math.max(minCapacity, Math.min(256, array.length >>> 1))];
+		}
+		return temp;
+	}
+
+}
@@ -331,12 +331,12 @@ public class TreeMap<K, V> extends AbstractNavigableMap<K, V> implements Seriali
 
     @Override
     Iterator<Entry<K, V>> descendingEntryIterator() {
-      return new DescendingEntryIterator(type, fromKey, fromInclusive, toKey, toInclusive);
+      return TreeMap.this.descendingEntryIterator(type, fromKey, fromInclusive, toKey, toInclusive);
     }
 
     @Override
     Iterator<Entry<K, V>> entryIterator() {
-      return new EntryIterator(type, fromKey, fromInclusive, toKey, toInclusive);
+      return TreeMap.this.entryIterator(type, fromKey, fromInclusive, toKey, toInclusive);
     }
 
     @Override
@@ -410,7 +410,7 @@ public class TreeMap<K, V> extends AbstractNavigableMap<K, V> implements Seriali
     }
   }
 
-  private static class SubMapType {
+  static class SubMapType {
     /**
      * Returns true if this submap type uses a from-key.
      */
@@ -471,7 +471,7 @@ public class TreeMap<K, V> extends AbstractNavigableMap<K, V> implements Seriali
   }
 
   // The comparator to use.
-  private Comparator<? super K> cmp;
+  Comparator<? super K> cmp;
 
   /*
    * These two fields are just hints to STOB so that it generates serializers
@@ -648,6 +648,24 @@ public class TreeMap<K, V> extends AbstractNavigableMap<K, V> implements Seriali
     return new EntryIterator();
   }
 
+  /**
+   * Returns an iterator over the entries of the given range in descending
+   * order.
+   */
+  Iterator<Entry<K, V>> descendingEntryIterator(SubMapType type,
+      K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+    return new DescendingEntryIterator(type, fromKey, fromInclusive, toKey, toInclusive);
+  }
+
+  /**
+   * Returns an iterator over the entries of the given range in ascending
+   * order.
+   */
+  Iterator<Entry<K, V>> entryIterator(SubMapType type,
+      K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+    return new EntryIterator(type, fromKey, fromInclusive, toKey, toInclusive);
+  }
+
   /**
    * Internal helper function for public {@link #assertCorrectness()}.
    *
@@ -787,7 +805,7 @@ public class TreeMap<K, V> extends AbstractNavigableMap<K, V> implements Seriali
     }
   }
 
-  private boolean inRange(SubMapType type, K key,
+  boolean inRange(SubMapType type, K key,
       K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
     if (type.fromKeyValid() && smaller(key, fromKey, !fromInclusive)) {
       return false;
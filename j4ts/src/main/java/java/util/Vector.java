@@ -221,6 +221,11 @@ public class Vector<E> extends AbstractList<E> implements List<E>,
     return arrayList.size();
   }
 
+  @Override
+  public void sort(Comparator<? super E> c) {
+    arrayList.sort(c);
+  }
+
   @Override
   public List<E> subList(int fromIndex, int toIndex) {
     return arrayList.subList(fromIndex, toIndex);
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+import static jsweet.util.Globals.any;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implements the task submissions of an executor service with
+ * {@link #execute(Runnable)}. The returned futures are
+ * {@link CompletableFuture}s.
+ *
+ * <p>
+ * JSweet implementation. Since the JavaScript threads cannot block,
+ * {@link #invokeAll(Collection)} returns the futures without waiting for their
+ * completion, and {@link #invokeAny(Collection)} runs the tasks on the calling
+ * thread.
+ */
+public abstract class AbstractExecutorService implements ExecutorService {
+
+	/**
+	 * Submits the given function. Since the runnables and the callables are
+	 * both JavaScript functions, the overloaded <code>submit</code> methods
+	 * cannot be told apart at runtime and all delegate to this method, which
+	 * completes the future with the value returned by the function, if any.
+	 */
+	protected <T> CompletableFuture<T> submitTask(Callable<T> task) {
+		checkNotNull(task);
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		execute(() -> {
+			if (future.isDone()) {
+				// cancelled
+				return;
+			}
+			try {
+				future.complete(task.call());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return submitTask(task);
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable task, T result) {
+		checkNotNull(task);
+		return submitTask(() -> {
+			task.run();
+			return result;
+		});
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		Callable<Object> callable = any(task);
+		return submitTask(callable);
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+		List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+		for (Callable<T> task : tasks) {
+			futures.add(submitTask(task));
+		}
+		return futures;
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+		checkNotNull(tasks);
+		if (tasks.isEmpty()) {
+			throw new IllegalArgumentException();
+		}
+		Exception last = null;
+		for (Callable<T> task : tasks) {
+			try {
+				return task.call();
+			} catch (Exception e) {
+				last = e;
+			}
+		}
+		throw new ExecutionException(last);
+	}
+
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+/**
+ * A task returning a result. Like {@link Runnable}, it is implemented as a
+ * JavaScript function.
+ */
+@FunctionalInterface
+public interface Callable<V> {
+
+	V call() throws Exception;
+
+}
@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+/**
+ * Thrown when getting the result of a cancelled task.
+ */
+public class CancellationException extends IllegalStateException {
+
+	public CancellationException() {
+	}
+
+	public CancellationException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A future that can be completed explicitly, and that triggers dependent
+ * actions on its completion.
+ *
+ * <p>
+ * JSweet implementation. The dependent actions run synchronously when the
+ * future completes (or when they are added to a completed future), and the
+ * asynchronous tasks run by default as microtasks, like the callbacks of a
+ * JavaScript promise. Since the JavaScript threads cannot block,
+ * {@link #get()} and {@link #join()} can only be called on a completed future;
+ * use the dependent actions to wait for the result. This class does not
+ * implement <code>CompletionStage</code>, but provides its most common
+ * methods.
+ *
+ * @see javaemul.internal.PromiseHelper
+ */
+public class CompletableFuture<T> implements Future<T> {
+
+	/**
+	 * The default executor of the asynchronous tasks, which runs them as
+	 * microtasks.
+	 */
+	private static final Executor ASYNC_EXECUTOR = EventLoop::queueMicrotask;
+
+	public static <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier) {
+		return supplyAsync(supplier, ASYNC_EXECUTOR);
+	}
+
+	public static <U> CompletableFuture<U> supplyAsync(Supplier<U> supplier, Executor executor) {
+		checkNotNull(supplier);
+		CompletableFuture<U> future = new CompletableFuture<U>();
+		executor.execute(() -> {
+			try {
+				future.complete(supplier.get());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
+	public static CompletableFuture<Void> runAsync(Runnable runnable) {
+		return runAsync(runnable, ASYNC_EXECUTOR);
+	}
+
+	public static CompletableFuture<Void> runAsync(Runnable runnable, Executor executor) {
+		checkNotNull(runnable);
+		CompletableFuture<Void> future = new CompletableFuture<Void>();
+		executor.execute(() -> {
+			try {
+				runnable.run();
+				future.complete(null);
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
+	public static <U> CompletableFuture<U> completedFuture(U value) {
+		CompletableFuture<U> future = new CompletableFuture<U>();
+		future.complete(value);
+		return future;
+	}
+
+	/**
+	 * Returns a future completed when all the given futures are completed,
+	 * exceptionally if one of them completed exceptionally.
+	 */
+	public static CompletableFuture<Void> allOf(CompletableFuture<?>... futures) {
+		CompletableFuture<Void> all = new CompletableFuture<Void>();
+		int[] remaining = { futures.length };
+		if (futures.length == 0) {
+			all.complete(null);
+		}
+		for (CompletableFuture<?> future : futures) {
+			future.onCompletion(() -> {
+				if (--remaining[0] == 0) {
+					for (CompletableFuture<?> f : futures) {
+						if (f.exception != null) {
+							all.completeExceptionally(wrap(f.exception));
+							return;
+						}
+					}
+					all.complete(null);
+				}
+			});
+		}
+		return all;
+	}
+
+	/**
+	 * Returns a future completed like the first of the given futures to
+	 * complete.
+	 */
+	public static CompletableFuture<Object> anyOf(CompletableFuture<?>... futures) {
+		CompletableFuture<Object> any = new CompletableFuture<Object>();
+		for (CompletableFuture<?> future : futures) {
+			future.onCompletion(() -> {
+				if (future.exception != null) {
+					any.completeExceptionally(wrap(future.exception));
+				} else {
+					any.complete(future.result);
+				}
+			});
+		}
+		return any;
+	}
+
+	private static CompletionException wrap(Throwable exception) {
+		return exception instanceof CompletionException ? (CompletionException) exception
+				: new CompletionException(exception);
+	}
+
+	private static Throwable unwrap(Throwable exception) {
+		return exception instanceof CompletionException && exception.getCause() != null ? exception.getCause()
+				: exception;
+	}
+
+	private boolean done;
+
+	private T result;
+
+	private Throwable exception;
+
+	/**
+	 * The actions to run on completion, null once completed.
+	 */
+	private List<Runnable> dependents = new ArrayList<Runnable>();
+
+	public CompletableFuture() {
+	}
+
+	/**
+	 * Runs the given action when this future completes, or now if it is
+	 * completed.
+	 */
+	private void onCompletion(Runnable action) {
+		if (done) {
+			action.run();
+		} else {
+			dependents.add(action);
+		}
+	}
+
+	private boolean completeWith(T result, Throwable exception) {
+		if (done) {
+			return false;
+		}
+		this.done = true;
+		this.result = result;
+		this.exception = exception;
+		List<Runnable> actions = dependents;
+		dependents = null;
+		for (Runnable action : actions) {
+			action.run();
+		}
+		return true;
+	}
+
+	/**
+	 * Completes the given dependent future like this future, with the given
+	 * action applied to the result if it completed normally.
+	 */
+	private <U> CompletableFuture<U> then(CompletableFuture<U> dependent, Function<T, U> action) {
+		onCompletion(() -> {
+			if (exception != null) {
+				dependent.completeExceptionally(wrap(exception));
+			} else {
+				try {
+					dependent.complete(action.apply(result));
+				} catch (Throwable e) {
+					dependent.completeExceptionally(wrap(e));
+				}
+			}
+		});
+		return dependent;
+	}
+
+	public boolean complete(T value) {
+		return completeWith(value, null);
+	}
+
+	public boolean completeExceptionally(Throwable ex) {
+		return completeWith(null, checkNotNull(ex));
+	}
+
+	public <U> CompletableFuture<U> thenApply(Function<? super T, ? extends U> fn) {
+		checkNotNull(fn);
+		return then(new CompletableFuture<U>(), value -> fn.apply(value));
+	}
+
+	public <U> CompletableFuture<U> thenApplyAsync(Function<? super T, ? extends U> fn) {
+		return thenApplyAsync(fn, ASYNC_EXECUTOR);
+	}
+
+	public <U> CompletableFuture<U> thenApplyAsync(Function<? super T, ? extends U> fn, Executor executor) {
+		checkNotNull(fn);
+		return thenCompose(value -> supplyAsync(() -> fn.apply(value), executor));
+	}
+
+	public CompletableFuture<Void> thenAccept(Consumer<? super T> action) {
+		checkNotNull(action);
+		return then(new CompletableFuture<Void>(), value -> {
+			action.accept(value);
+			return null;
+		});
+	}
+
+	public CompletableFuture<Void> thenRun(Runnable action) {
+		checkNotNull(action);
+		return then(new CompletableFuture<Void>(), value -> {
+			action.run();
+			return null;
+		});
+	}
+
+	public <U> CompletableFuture<U> thenCompose(Function<? super T, ? extends CompletableFuture<U>> fn) {
+		checkNotNull(fn);
+		CompletableFuture<U> dependent = new CompletableFuture<U>();
+		onCompletion(() -> {
+			if (exception != null) {
+				dependent.completeExceptionally(wrap(exception));
+				return;
+			}
+			CompletableFuture<U> next;
+			try {
+				next = fn.apply(result);
+			} catch (Throwable e) {
+				dependent.completeExceptionally(wrap(e));
+				return;
+			}
+			next.onCompletion(() -> dependent.completeWith(next.result, next.exception));
+		});
+		return dependent;
+	}
+
+	public <U, V> CompletableFuture<V> thenCombine(CompletableFuture<? extends U> other,
+			BiFunction<? super T, ? super U, ? extends V> fn) {
+		checkNotNull(fn);
+		return thenCompose(value -> other.thenApply(otherValue -> fn.apply(value, otherValue)));
+	}
+
+	public CompletableFuture<T> exceptionally(Function<Throwable, ? extends T> fn) {
+		checkNotNull(fn);
+		CompletableFuture<T> dependent = new CompletableFuture<T>();
+		onCompletion(() -> {
+			if (exception == null) {
+				dependent.complete(result);
+			} else {
+				try {
+					dependent.complete(fn.apply(exception));
+				} catch (Throwable e) {
+					dependent.completeExceptionally(wrap(e));
+				}
+			}
+		});
+		return dependent;
+	}
+
+	public <U> CompletableFuture<U> handle(BiFunction<? super T, Throwable, ? extends U> fn) {
+		checkNotNull(fn);
+		CompletableFuture<U> dependent = new CompletableFuture<U>();
+		onCompletion(() -> {
+			try {
+				dependent.complete(fn.apply(result, exception));
+			} catch (Throwable e) {
+				dependent.completeExceptionally(wrap(e));
+			}
+		});
+		return dependent;
+	}
+
+	public CompletableFuture<T> whenComplete(BiConsumer<? super T, ? super Throwable> action) {
+		checkNotNull(action);
+		CompletableFuture<T> dependent = new CompletableFuture<T>();
+		onCompletion(() -> {
+			try {
+				action.accept(result, exception);
+			} catch (Throwable e) {
+				dependent.completeExceptionally(exception != null ? wrap(exception) : wrap(e));
+				return;
+			}
+			dependent.completeWith(result, exception != null ? wrap(exception) : null);
+		});
+		return dependent;
+	}
+
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		boolean cancelled = completeWith(null, new CancellationException());
+		return cancelled || isCancelled();
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return exception instanceof CancellationException;
+	}
+
+	@Override
+	public boolean isDone() {
+		return done;
+	}
+
+	public boolean isCompletedExceptionally() {
+		return exception != null;
+	}
+
+	/**
+	 * The number of actions waiting for the completion of this future.
+	 */
+	public int getNumberOfDependents() {
+		return done ? 0 : dependents.size();
+	}
+
+	@Override
+	public T get() throws InterruptedException, ExecutionException {
+		if (!done) {
+			throw new IllegalStateException("The future is not completed and the thread cannot wait for it");
+		}
+		return reportGet();
+	}
+
+	@Override
+	public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		if (!done) {
+			throw new TimeoutException();
+		}
+		return reportGet();
+	}
+
+	private T reportGet() throws ExecutionException {
+		if (exception == null) {
+			return result;
+		}
+		if (exception instanceof CancellationException) {
+			throw (CancellationException) exception;
+		}
+		throw new ExecutionException(unwrap(exception));
+	}
+
+	/**
+	 * Returns the result of this future, which must be completed.
+	 *
+	 * @throws CompletionException
+	 *             if this future completed exceptionally
+	 * @throws IllegalStateException
+	 *             if this future is not completed
+	 */
+	public T join() {
+		if (!done) {
+			throw new IllegalStateException("The future is not completed and the thread cannot wait for it");
+		}
+		return getNow(null);
+	}
+
+	public T getNow(T valueIfAbsent) {
+		if (!done) {
+			return valueIfAbsent;
+		}
+		if (exception == null) {
+			return result;
+		}
+		if (exception instanceof CancellationException) {
+			throw (CancellationException) exception;
+		}
+		throw wrap(exception);
+	}
+
+	@Override
+	public String toString() {
+		String status = !done ? "Not completed" : exception != null ? "Completed exceptionally" : "Completed normally";
+		return super.toString() + "[" + status + "]";
+	}
+
+}
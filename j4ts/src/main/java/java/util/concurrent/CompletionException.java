@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+/**
+ * Thrown when a {@link CompletableFuture} or one of its dependencies completed with an exception.
+ */
+public class CompletionException extends RuntimeException {
+
+	public CompletionException() {
+	}
+
+	public CompletionException(String message) {
+		super(message);
+	}
+
+	public CompletionException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public CompletionException(Throwable cause) {
+		super(cause);
+	}
+
+}
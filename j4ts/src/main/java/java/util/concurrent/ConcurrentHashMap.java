@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A concurrent map.
+ *
+ * <p>
+ * JSweet implementation. Since the JavaScript code runs on a single thread, it
+ * is a {@link HashMap} that rejects the null keys and values, and whose atomic
+ * operations are plain operations.
+ */
+public class ConcurrentHashMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+	private final Map<K, V> backingMap;
+
+	public ConcurrentHashMap() {
+		backingMap = new HashMap<K, V>();
+	}
+
+	public ConcurrentHashMap(int initialCapacity) {
+		this();
+	}
+
+	public ConcurrentHashMap(int initialCapacity, float loadFactor) {
+		this();
+	}
+
+	public ConcurrentHashMap(Map<? extends K, ? extends V> m) {
+		this();
+		putAll(m);
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		checkNotNull(value);
+		V old = get(key);
+		return old != null ? old : put(key, value);
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		checkNotNull(key);
+		if (value != null && Objects.equals(value, backingMap.get(key))) {
+			backingMap.remove(key);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		checkNotNull(oldValue);
+		checkNotNull(newValue);
+		if (Objects.equals(oldValue, get(key))) {
+			backingMap.put(key, newValue);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public V replace(K key, V value) {
+		checkNotNull(value);
+		return containsKey(key) ? backingMap.put(key, value) : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return backingMap.containsKey(checkNotNull(key));
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return backingMap.containsValue(checkNotNull(value));
+	}
+
+	@Override
+	public V get(Object key) {
+		return backingMap.get(checkNotNull(key));
+	}
+
+	@Override
+	public V put(K key, V value) {
+		checkNotNull(key);
+		checkNotNull(value);
+		return backingMap.put(key, value);
+	}
+
+	@Override
+	public V remove(Object key) {
+		return backingMap.remove(checkNotNull(key));
+	}
+
+	@Override
+	public void clear() {
+		backingMap.clear();
+	}
+
+	@Override
+	public int size() {
+		return backingMap.size();
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return backingMap.entrySet();
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return backingMap.keySet();
+	}
+
+	@Override
+	public Collection<V> values() {
+		return backingMap.values();
+	}
+
+	/**
+	 * Returns true if the given value is in this map (legacy method).
+	 */
+	public boolean contains(Object value) {
+		return containsValue(value);
+	}
+
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+import java.util.Map;
+
+/**
+ * A map providing atomic operations.
+ *
+ * @see ConcurrentHashMap
+ */
+public interface ConcurrentMap<K, V> extends Map<K, V> {
+
+	V putIfAbsent(K key, V value);
+
+	boolean remove(Object key, Object value);
+
+	boolean replace(K key, V oldValue, V newValue);
+
+	V replace(K key, V value);
+
+}
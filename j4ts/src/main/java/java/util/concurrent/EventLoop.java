@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+import static def.dom.Globals.setTimeout;
+import static javaemul.internal.globals.Globals.Promise;
+import static jsweet.util.Globals.any;
+import static jsweet.util.Globals.typeof;
+
+/**
+ * Schedules the asynchronous tasks on the JavaScript event loop, which runs
+ * them one at a time on the current thread.
+ */
+final class EventLoop {
+
+	/**
+	 * The JavaScript <code>Promise</code> API used by this class.
+	 */
+	private interface Promises {
+		Thenable resolve();
+	}
+
+	private interface Thenable {
+		Thenable then(Runnable callback);
+	}
+
+	private static final Thenable resolved = "function".equals(typeof(Promise))
+			? ((Promises) any(Promise)).resolve() : null;
+
+	/**
+	 * Runs the given task as a microtask (a callback of a resolved promise),
+	 * that is to say as soon as the current task is finished, before the page
+	 * is rendered and before the other events are handled.
+	 */
+	static void queueMicrotask(Runnable task) {
+		if (resolved != null) {
+			resolved.then(task);
+		} else {
+			setTimeout(task);
+		}
+	}
+
+	/**
+	 * Runs the given task as a new task of the event loop, after the page is
+	 * rendered and the pending events are handled.
+	 */
+	static void queueTask(Runnable task) {
+		setTimeout(task);
+	}
+
+	private EventLoop() {
+	}
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+/**
+ * Thrown when getting the result of a task that completed with an exception.
+ */
+public class ExecutionException extends Exception {
+
+	public ExecutionException() {
+	}
+
+	public ExecutionException(String message) {
+		super(message);
+	}
+
+	public ExecutionException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public ExecutionException(Throwable cause) {
+		super(cause);
+	}
+
+}
@@ -0,0 +1,15 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+/**
+ * Executes the submitted tasks.
+ */
+public interface Executor {
+
+	void execute(Runnable command);
+
+}
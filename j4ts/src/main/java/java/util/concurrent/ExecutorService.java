@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An executor that can be shut down and that returns futures for the submitted
+ * tasks.
+ *
+ * @see Executors
+ */
+public interface ExecutorService extends Executor {
+
+	void shutdown();
+
+	List<Runnable> shutdownNow();
+
+	boolean isShutdown();
+
+	boolean isTerminated();
+
+	/**
+	 * Tells if this executor is terminated. Since the JavaScript threads cannot
+	 * block, this method does not wait for the termination.
+	 */
+	boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException;
+
+	<T> Future<T> submit(Callable<T> task);
+
+	<T> Future<T> submit(Runnable task, T result);
+
+	Future<?> submit(Runnable task);
+
+	<T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException;
+
+	<T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException;
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+import static javaemul.internal.InternalPreconditions.checkArgument;
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Factories of executor services.
+ *
+ * <p>
+ * JSweet implementation. The returned executor services run the tasks on the
+ * current thread, as tasks of the JavaScript event loop, so that the page is
+ * rendered and the events are handled between two tasks. The number of threads
+ * is ignored. To run tasks on other cores, use a
+ * <code>javaemul.internal.WorkerExecutorService</code>.
+ */
+public class Executors {
+
+	/**
+	 * Runs the tasks one at a time on the event loop.
+	 */
+	private static class EventLoopExecutorService extends AbstractExecutorService {
+
+		/**
+		 * The scheduled tasks. The ones from index {@link #next} are not
+		 * started, and are returned by {@link #shutdownNow()}.
+		 */
+		private List<Runnable> pending = new ArrayList<Runnable>();
+
+		/**
+		 * The index of the next task to run. The event loop runs the tasks in
+		 * the order they are queued, so each queued callback runs the first
+		 * pending task, without searching nor shifting the list.
+		 */
+		private int next;
+
+		private boolean shutdown;
+
+		@Override
+		public void execute(Runnable command) {
+			checkNotNull(command);
+			if (shutdown) {
+				throw new RejectedExecutionException("The executor is shut down");
+			}
+			pending.add(command);
+			EventLoop.queueTask(this::runNext);
+		}
+
+		private void runNext() {
+			if (next == pending.size()) {
+				// cleared by shutdownNow
+				return;
+			}
+			Runnable command = pending.set(next++, null);
+			if (next == pending.size()) {
+				pending.clear();
+				next = 0;
+			} else if (next > pending.size() >> 1) {
+				// keeps the list proportional to the pending tasks
+				pending = new ArrayList<Runnable>(pending.subList(next, pending.size()));
+				next = 0;
+			}
+			command.run();
+		}
+
+		@Override
+		public void shutdown() {
+			shutdown = true;
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			shutdown = true;
+			List<Runnable> notStarted = new ArrayList<Runnable>(pending.subList(next, pending.size()));
+			pending.clear();
+			next = 0;
+			return notStarted;
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return shutdown;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return shutdown && next == pending.size();
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) {
+			return isTerminated();
+		}
+	}
+
+	public static ExecutorService newSingleThreadExecutor() {
+		return new EventLoopExecutorService();
+	}
+
+	public static ExecutorService newFixedThreadPool(int nThreads) {
+		checkArgument(nThreads > 0, "nThreads must be positive");
+		return new EventLoopExecutorService();
+	}
+
+	public static ExecutorService newCachedThreadPool() {
+		return new EventLoopExecutorService();
+	}
+
+	public static ExecutorService newWorkStealingPool() {
+		return new EventLoopExecutorService();
+	}
+
+	public static <T> Callable<T> callable(Runnable task, T result) {
+		checkNotNull(task);
+		return () -> {
+			task.run();
+			return result;
+		};
+	}
+
+	public static Callable<Object> callable(Runnable task) {
+		return callable(task, null);
+	}
+
+	private Executors() {
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+/**
+ * The result of an asynchronous computation.
+ *
+ * <p>
+ * JSweet implementation. Since the JavaScript threads cannot block, the
+ * <code>get</code> methods can only return the result of a future that is
+ * done: use {@link CompletableFuture#thenAccept(java.util.function.Consumer)}
+ * and the other completion methods to wait for the result.
+ */
+public interface Future<V> {
+
+	boolean cancel(boolean mayInterruptIfRunning);
+
+	boolean isCancelled();
+
+	boolean isDone();
+
+	/**
+	 * Returns the result of this future.
+	 *
+	 * @throws IllegalStateException
+	 *             if this future is not done, since waiting for it would block
+	 *             the thread
+	 */
+	V get() throws InterruptedException, ExecutionException;
+
+	/**
+	 * Returns the result of this future.
+	 *
+	 * @throws TimeoutException
+	 *             if this future is not done, since waiting for it would block
+	 *             the thread
+	 */
+	V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException;
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+/**
+ * Thrown when an executor cannot accept a task, for instance after a shutdown.
+ */
+public class RejectedExecutionException extends RuntimeException {
+
+	public RejectedExecutionException() {
+	}
+
+	public RejectedExecutionException(String message) {
+		super(message);
+	}
+
+	public RejectedExecutionException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public RejectedExecutionException(Throwable cause) {
+		super(cause);
+	}
+
+}
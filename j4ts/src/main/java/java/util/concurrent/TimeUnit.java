@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+/**
+ * A time unit, to express the durations of the timed operations.
+ */
+public enum TimeUnit {
+
+	NANOSECONDS(1L), MICROSECONDS(1000L), MILLISECONDS(1000000L), SECONDS(1000000000L), MINUTES(
+			60000000000L), HOURS(3600000000000L), DAYS(86400000000000L);
+
+	private final long nanos;
+
+	private TimeUnit(long nanos) {
+		this.nanos = nanos;
+	}
+
+	/**
+	 * Converts the given duration in the given unit to this unit (truncating).
+	 */
+	public long convert(long duration, TimeUnit unit) {
+		double converted = (double) duration * unit.nanos / nanos;
+		return (long) (converted < 0 ? Math.ceil(converted) : Math.floor(converted));
+	}
+
+	public long toNanos(long duration) {
+		return NANOSECONDS.convert(duration, this);
+	}
+
+	public long toMicros(long duration) {
+		return MICROSECONDS.convert(duration, this);
+	}
+
+	public long toMillis(long duration) {
+		return MILLISECONDS.convert(duration, this);
+	}
+
+	public long toSeconds(long duration) {
+		return SECONDS.convert(duration, this);
+	}
+
+	public long toMinutes(long duration) {
+		return MINUTES.convert(duration, this);
+	}
+
+	public long toHours(long duration) {
+		return HOURS.convert(duration, this);
+	}
+
+	public long toDays(long duration) {
+		return DAYS.convert(duration, this);
+	}
+
+}
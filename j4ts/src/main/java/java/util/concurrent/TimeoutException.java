@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent;
+
+/**
+ * Thrown when a timed operation times out. Since the JavaScript threads cannot block, it is also thrown when
+ * getting the result of a task that is not done yet with a timeout.
+ */
+public class TimeoutException extends Exception {
+
+	public TimeoutException() {
+	}
+
+	public TimeoutException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent.atomic;
+
+import java.io.Serializable;
+
+/**
+ * A boolean value that may be updated atomically.
+ *
+ * <p>
+ * JSweet implementation. Since the JavaScript code runs on a single thread, the
+ * atomic operations are plain operations on a field.
+ */
+public class AtomicBoolean implements Serializable {
+
+	private boolean value;
+
+	public AtomicBoolean() {
+	}
+
+	public AtomicBoolean(boolean initialValue) {
+		value = initialValue;
+	}
+
+	public final boolean get() {
+		return value;
+	}
+
+	public final void set(boolean newValue) {
+		value = newValue;
+	}
+
+	public final void lazySet(boolean newValue) {
+		value = newValue;
+	}
+
+	public final boolean getAndSet(boolean newValue) {
+		boolean old = value;
+		value = newValue;
+		return old;
+	}
+
+	public final boolean compareAndSet(boolean expect, boolean update) {
+		if (value == expect) {
+			value = update;
+			return true;
+		}
+		return false;
+	}
+
+	public boolean weakCompareAndSet(boolean expect, boolean update) {
+		return compareAndSet(expect, update);
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(value);
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent.atomic;
+
+import java.io.Serializable;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * An int value that may be updated atomically.
+ *
+ * <p>
+ * JSweet implementation. Since the JavaScript code runs on a single thread, the
+ * atomic operations are plain operations on a field.
+ */
+public class AtomicInteger implements Serializable {
+
+	private int value;
+
+	public AtomicInteger() {
+	}
+
+	public AtomicInteger(int initialValue) {
+		value = initialValue;
+	}
+
+	public final int get() {
+		return value;
+	}
+
+	public final void set(int newValue) {
+		value = newValue;
+	}
+
+	public final void lazySet(int newValue) {
+		value = newValue;
+	}
+
+	public final int getAndSet(int newValue) {
+		int old = value;
+		value = newValue;
+		return old;
+	}
+
+	public final boolean compareAndSet(int expect, int update) {
+		if (value == expect) {
+			value = update;
+			return true;
+		}
+		return false;
+	}
+
+	public final boolean weakCompareAndSet(int expect, int update) {
+		return compareAndSet(expect, update);
+	}
+
+	public final int getAndIncrement() {
+		return value++;
+	}
+
+	public final int getAndDecrement() {
+		return value--;
+	}
+
+	public final int getAndAdd(int delta) {
+		int old = value;
+		value += delta;
+		return old;
+	}
+
+	public final int incrementAndGet() {
+		return ++value;
+	}
+
+	public final int decrementAndGet() {
+		return --value;
+	}
+
+	public final int addAndGet(int delta) {
+		return value += delta;
+	}
+
+	public final int getAndUpdate(IntUnaryOperator updateFunction) {
+		int old = value;
+		value = updateFunction.applyAsInt(old);
+		return old;
+	}
+
+	public final int updateAndGet(IntUnaryOperator updateFunction) {
+		return value = updateFunction.applyAsInt(value);
+	}
+
+	public int intValue() {
+		return (int) value;
+	}
+
+	public long longValue() {
+		return (long) value;
+	}
+
+	public double doubleValue() {
+		return (double) value;
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(value);
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent.atomic;
+
+import java.io.Serializable;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A long value that may be updated atomically.
+ *
+ * <p>
+ * JSweet implementation. Since the JavaScript code runs on a single thread, the
+ * atomic operations are plain operations on a field.
+ */
+public class AtomicLong implements Serializable {
+
+	private long value;
+
+	public AtomicLong() {
+	}
+
+	public AtomicLong(long initialValue) {
+		value = initialValue;
+	}
+
+	public final long get() {
+		return value;
+	}
+
+	public final void set(long newValue) {
+		value = newValue;
+	}
+
+	public final void lazySet(long newValue) {
+		value = newValue;
+	}
+
+	public final long getAndSet(long newValue) {
+		long old = value;
+		value = newValue;
+		return old;
+	}
+
+	public final boolean compareAndSet(long expect, long update) {
+		if (value == expect) {
+			value = update;
+			return true;
+		}
+		return false;
+	}
+
+	public final boolean weakCompareAndSet(long expect, long update) {
+		return compareAndSet(expect, update);
+	}
+
+	public final long getAndIncrement() {
+		return value++;
+	}
+
+	public final long getAndDecrement() {
+		return value--;
+	}
+
+	public final long getAndAdd(long delta) {
+		long old = value;
+		value += delta;
+		return old;
+	}
+
+	public final long incrementAndGet() {
+		return ++value;
+	}
+
+	public final long decrementAndGet() {
+		return --value;
+	}
+
+	public final long addAndGet(long delta) {
+		return value += delta;
+	}
+
+	public final long getAndUpdate(LongUnaryOperator updateFunction) {
+		long old = value;
+		value = updateFunction.applyAsLong(old);
+		return old;
+	}
+
+	public final long updateAndGet(LongUnaryOperator updateFunction) {
+		return value = updateFunction.applyAsLong(value);
+	}
+
+	public int intValue() {
+		return (int) value;
+	}
+
+	public long longValue() {
+		return (long) value;
+	}
+
+	public double doubleValue() {
+		return (double) value;
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(value);
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package java.util.concurrent.atomic;
+
+import java.io.Serializable;
+import java.util.function.UnaryOperator;
+
+/**
+ * An object reference that may be updated atomically.
+ *
+ * <p>
+ * JSweet implementation. Since the JavaScript code runs on a single thread, the
+ * atomic operations are plain operations on a field.
+ */
+public class AtomicReference<V> implements Serializable {
+
+	private V value;
+
+	public AtomicReference() {
+	}
+
+	public AtomicReference(V initialValue) {
+		value = initialValue;
+	}
+
+	public final V get() {
+		return value;
+	}
+
+	public final void set(V newValue) {
+		value = newValue;
+	}
+
+	public final void lazySet(V newValue) {
+		value = newValue;
+	}
+
+	public final V getAndSet(V newValue) {
+		V old = value;
+		value = newValue;
+		return old;
+	}
+
+	/**
+	 * Sets the value if the current value is the expected reference (compared
+	 * with <code>==</code>).
+	 */
+	public final boolean compareAndSet(V expect, V update) {
+		if (value == expect) {
+			value = update;
+			return true;
+		}
+		return false;
+	}
+
+	public final boolean weakCompareAndSet(V expect, V update) {
+		return compareAndSet(expect, update);
+	}
+
+	public final V getAndUpdate(UnaryOperator<V> updateFunction) {
+		V old = value;
+		value = updateFunction.apply(old);
+		return old;
+	}
+
+	public final V updateAndGet(UnaryOperator<V> updateFunction) {
+		return value = updateFunction.apply(value);
+	}
+
+	@Override
+	public String toString() {
+		return String.valueOf(value);
+	}
+
+}
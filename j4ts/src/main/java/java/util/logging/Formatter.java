@@ -24,8 +24,65 @@ package java.util.logging;
 public abstract class Formatter {
   public abstract String format(LogRecord record);
   
+  /**
+   * Returns the message of the given record, with the <code>{n}</code>
+   * placeholders replaced by the parameters of the record. The other
+   * <code>MessageFormat</code> patterns are not supported.
+   */
   public String formatMessage(LogRecord record) {
-    return format(record);
+    return formatParameters(record);
+  }
+
+  /**
+   * Formats the message of the given record with its parameters. Since the
+   * parameters are kept in the record, the message is only formatted when it is
+   * published.
+   */
+  static String formatParameters(LogRecord record) {
+    String msg = record.getMessage();
+    Object[] parameters = record.getParameters();
+    if (msg == null || parameters == null || parameters.length == 0) {
+      return msg;
+    }
+    StringBuilder result = null;
+    int start = 0;
+    int open = msg.indexOf('{');
+    while (open >= 0) {
+      int close = msg.indexOf('}', open);
+      if (close < 0) {
+        break;
+      }
+      int index = parseIndex(msg, open + 1, close);
+      if (index >= 0 && index < parameters.length) {
+        if (result == null) {
+          result = new StringBuilder();
+        }
+        result.append(msg, start, open).append(String.valueOf(parameters[index]));
+        start = close + 1;
+        open = msg.indexOf('{', start);
+      } else {
+        open = msg.indexOf('{', open + 1);
+      }
+    }
+    if (result == null) {
+      return msg;
+    }
+    return result.append(msg, start, msg.length()).toString();
+  }
+
+  private static int parseIndex(String msg, int start, int end) {
+    if (start == end || end - start > 3) {
+      return -1;
+    }
+    int index = 0;
+    for (int i = start; i < end; i++) {
+      char c = msg.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      index = index * 10 + (c - '0');
+    }
+    return index;
   }
   
   /* Not Implemented */
@@ -29,6 +29,7 @@ public class LogRecord implements Serializable {
   private String msg;
   private Throwable thrown = null;
   private long millis;
+  private Object[] parameters = null;
   
   public LogRecord(Level level, String msg) {
     this.level = level;
@@ -56,6 +57,10 @@ public class LogRecord implements Serializable {
     return millis;
   }
   
+  public Object[] getParameters() {
+    return parameters;
+  }
+  
   public Throwable getThrown() {
     return thrown;
   }
@@ -76,19 +81,21 @@ public class LogRecord implements Serializable {
     millis = newMillis;
   }
 
+  public void setParameters(Object[] newParameters) {
+    parameters = newParameters;
+  }
+
   public void setThrown(Throwable newThrown) {
     thrown = newThrown;
   }
 
   /* Not Implemented */
-  // public Object[] getParameters() {} 
   // public ResourceBundle getResourceBundle() {} 
   // public String getResourceBundleName() {}
   // public long getSequenceNumber() {}
   // public String getSourceClassName() {}
   // public String getSourceMethodName() {}
   // public int getThreadID() {}
-  // public void setParameters(Object[] parameters) {} 
   // public void setResourceBundle(ResourceBundle bundle) {} 
   // public void setResourceBundleName(String name) {}
   // public void setSequenceNumber(long seq) {}
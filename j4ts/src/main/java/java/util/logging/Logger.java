@@ -17,11 +17,19 @@ package java.util.logging;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  *  An emulation of the java.util.logging.Logger class. See
  *  <a href="http://java.sun.com/j2se/1.4.2/docs/api/java/util/logging/Logger.html">
  *  The Java API doc for details</a>
+ *
+ *  <p>The effective level of each logger is cached, so that disabled levels are
+ *  rejected with a single comparison before any message is built. Use the
+ *  <code>Supplier</code> overloads or the parameterized <code>log</code> methods
+ *  to avoid building the messages of disabled levels. The
+ *  <code>minLogLevel</code> transpiler option removes the calls below a minimum
+ *  level from the generated code.
  */
 public class Logger {
   public static final String GLOBAL_LOGGER_NAME = "global";
@@ -62,6 +70,10 @@ public class Logger {
   private String name;
   private Logger parent;  // Should never be null except in the RootLogger
   private boolean useParentHandlers;
+  // The int value of the level, or of the level inherited from the parents
+  private int effectiveLevel = Level.INFO.intValue();
+  // The loggers whose parent is this logger, to update their effective level
+  private List<Logger> children;
 
   protected Logger(String name, @SuppressWarnings("unused") String resourceName) {
     if (LOGGING_FALSE) {
@@ -71,6 +83,7 @@ public class Logger {
     this.name = name;
     this.useParentHandlers = true;
     handlers = new ArrayList<Handler>();
+    children = new ArrayList<Logger>();
   }
 
   public void addHandler(Handler handler) {
@@ -87,6 +100,13 @@ public class Logger {
     log(Level.CONFIG, msg);
   }
 
+  public void config(Supplier<String> msgSupplier) {
+    if (LOGGING_FALSE || LOGGING_SEVERE || LOGGING_WARNING) {
+      return;
+    }
+    log(Level.CONFIG, msgSupplier);
+  }
+
   public void fine(String msg) {
     if (LOGGING_FALSE || LOGGING_SEVERE || LOGGING_WARNING) {
       return;
@@ -94,6 +114,13 @@ public class Logger {
     log(Level.FINE, msg);
   }
 
+  public void fine(Supplier<String> msgSupplier) {
+    if (LOGGING_FALSE || LOGGING_SEVERE || LOGGING_WARNING) {
+      return;
+    }
+    log(Level.FINE, msgSupplier);
+  }
+
   public void finer(String msg) {
     if (LOGGING_FALSE || LOGGING_SEVERE || LOGGING_WARNING) {
       return;
@@ -101,6 +128,13 @@ public class Logger {
     log(Level.FINER, msg);
   }
 
+  public void finer(Supplier<String> msgSupplier) {
+    if (LOGGING_FALSE || LOGGING_SEVERE || LOGGING_WARNING) {
+      return;
+    }
+    log(Level.FINER, msgSupplier);
+  }
+
   public void finest(String msg) {
     if (LOGGING_FALSE || LOGGING_SEVERE || LOGGING_WARNING) {
       return;
@@ -108,6 +142,13 @@ public class Logger {
     log(Level.FINEST, msg);
   }
 
+  public void finest(Supplier<String> msgSupplier) {
+    if (LOGGING_FALSE || LOGGING_SEVERE || LOGGING_WARNING) {
+      return;
+    }
+    log(Level.FINEST, msgSupplier);
+  }
+
   public void info(String msg) {
     if (LOGGING_FALSE || LOGGING_SEVERE || LOGGING_WARNING) {
       return;
@@ -115,6 +156,13 @@ public class Logger {
     log(Level.INFO, msg);
   }
 
+  public void info(Supplier<String> msgSupplier) {
+    if (LOGGING_FALSE || LOGGING_SEVERE || LOGGING_WARNING) {
+      return;
+    }
+    log(Level.INFO, msgSupplier);
+  }
+
   public void warning(String msg) {
     if (LOGGING_FALSE || LOGGING_SEVERE) {
       return;
@@ -122,6 +170,13 @@ public class Logger {
     log(Level.WARNING, msg);
   }
 
+  public void warning(Supplier<String> msgSupplier) {
+    if (LOGGING_FALSE || LOGGING_SEVERE) {
+      return;
+    }
+    log(Level.WARNING, msgSupplier);
+  }
+
   public void severe(String msg) {
     if (LOGGING_FALSE) {
       return;
@@ -129,6 +184,13 @@ public class Logger {
     log(Level.SEVERE, msg);
   }
 
+  public void severe(Supplier<String> msgSupplier) {
+    if (LOGGING_FALSE) {
+      return;
+    }
+    log(Level.SEVERE, msgSupplier);
+  }
+
   public Handler[] getHandlers() {
     if (LOGGING_FALSE) {
       return new Handler[0];
@@ -154,12 +216,11 @@ public class Logger {
   }
 
   public boolean isLoggable(Level messageLevel) {
-    return LOGGING_FALSE
-        ? false : getEffectiveLevel().intValue() <= messageLevel.intValue();
+    return LOGGING_FALSE ? false : effectiveLevel <= messageLevel.intValue();
   }
 
   public void log(Level level, String msg) {
-    log(level, msg, null);
+    log(level, msg, (Throwable) null);
   }
 
   public void log(Level level, String msg, Throwable thrown) {
@@ -179,6 +240,35 @@ public class Logger {
     }
   }
 
+  public void log(Level level, Supplier<String> msgSupplier) {
+    if (isEnabled(level)) {
+      actuallyLog(level, msgSupplier.get(), (Throwable) null);
+    }
+  }
+
+  public void log(Level level, Throwable thrown, Supplier<String> msgSupplier) {
+    if (isEnabled(level)) {
+      actuallyLog(level, msgSupplier.get(), thrown);
+    }
+  }
+
+  public void log(Level level, String msg, Object param1) {
+    if (isEnabled(level)) {
+      actuallyLogWithParameters(level, msg, new Object[] { param1 });
+    }
+  }
+
+  /**
+   * Logs a message with parameters. The <code>{n}</code> placeholders of the
+   * message are replaced by the parameters by the formatter of the handlers,
+   * only if the message is actually published.
+   */
+  public void log(Level level, String msg, Object[] params) {
+    if (isEnabled(level)) {
+      actuallyLogWithParameters(level, msg, params);
+    }
+  }
+
   public void log(LogRecord record) {
     if (LOGGING_FALSE) {
       return;
@@ -208,6 +298,7 @@ public class Logger {
       return;
     }
     this.level = newLevel;
+    updateEffectiveLevel();
   }
 
   public void setParent(Logger newParent) {
@@ -215,7 +306,12 @@ public class Logger {
       return;
     }
     if (newParent != null) {
+      if (parent != null) {
+        parent.children.remove(this);
+      }
       parent = newParent;
+      parent.children.add(this);
+      updateEffectiveLevel();
     }
   }
 
@@ -226,20 +322,42 @@ public class Logger {
     this.useParentHandlers = newUseParentHandlers;
   }
 
-  private Level getEffectiveLevel() {
+  /**
+   *  Recomputes the cached effective level of this logger and of its
+   *  descendants that inherit it.
+   */
+  private void updateEffectiveLevel() {
+    int newEffectiveLevel;
     if (level != null) {
-      return level;
+      newEffectiveLevel = level.intValue();
+    } else if (parent != null) {
+      newEffectiveLevel = parent.effectiveLevel;
+    } else {
+      newEffectiveLevel = Level.INFO.intValue();
     }
-
-    Logger logger = getParent();
-    while (logger != null) {
-      Level effectiveLevel = logger.getLevel();
-      if (effectiveLevel != null) {
-        return effectiveLevel;
+    effectiveLevel = newEffectiveLevel;
+    for (Logger child : children) {
+      if (child.level == null) {
+        child.updateEffectiveLevel();
       }
-      logger = logger.getParent();
     }
-    return Level.INFO;
+  }
+
+  /**
+   *  Tells if the given level is enabled both by the gwt.logging.enabled
+   *  property and by the level of this logger.
+   */
+  private boolean isEnabled(Level level) {
+    if (LOGGING_FALSE) {
+      return false;
+    }
+    if (LOGGING_SEVERE && level.intValue() < Level.SEVERE.intValue()) {
+      return false;
+    }
+    if (LOGGING_WARNING && level.intValue() < Level.WARNING.intValue()) {
+      return false;
+    }
+    return isLoggable(level);
   }
 
   private void actuallyLog(Level level, String msg, Throwable thrown) {
@@ -251,6 +369,13 @@ public class Logger {
     }
   }
 
+  private void actuallyLogWithParameters(Level level, String msg, Object[] params) {
+    LogRecord record = new LogRecord(level, msg);
+    record.setParameters(params);
+    record.setLoggerName(getName());
+    actuallyLog(record);
+  }
+
   private void actuallyLog(LogRecord record) {
     if (isLoggable(record.getLevel())) {
       for (Handler handler : getHandlers()) {
@@ -279,8 +404,6 @@ public class Logger {
   // public void entering(String sourceClass, String sourceMethod, Object[] params) {}
   // public void exiting(String sourceClass, String sourceMethod, Object result) {}
   // public void exiting(String sourceClass, String sourceMethod) {}
-  // public void log(Level level, String msg, Object param1) {}
-  // public void log(Level level, String msg, Object[] params) {}
   // public void logp(Level level, String sourceClass, String sourceMethod, String msg) {}
   // public void logp(Level level, String sourceClass, String sourceMethod, String msg, Object param1) {}
   // public void logp(Level level, String sourceClass, String sourceMethod, String msg, Object[] params) {}
@@ -29,7 +29,7 @@ class SimpleConsoleLogHandler extends Handler {
     }
 
     String level = toConsoleLogLevel(record.getLevel());
-    console.log(level, record.getMessage());
+    console.log(level, Formatter.formatParameters(record));
     if (record.getThrown() != null) {
       console.log(level, record.getThrown());
     }
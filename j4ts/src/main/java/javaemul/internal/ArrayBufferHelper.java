@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package javaemul.internal;
+
+import static jsweet.util.Globals.$get;
+import static jsweet.util.Globals.any;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import def.js.ArrayBuffer;
+import def.js.Int8Array;
+import def.js.Uint8Array;
+
+/**
+ * Converts between the <code>java.nio</code> buffers or the byte array streams
+ * and the JavaScript binary data types, for instance to decode the
+ * <code>ArrayBuffer</code> messages of a WebSocket or a fetch response with a
+ * {@link ByteBuffer}, and to send the content of a {@link ByteBuffer} or of a
+ * {@link ByteArrayOutputStream} without copying it byte by byte.
+ *
+ * <p>
+ * Since the buffers are implemented over <code>ArrayBuffer</code>s, the
+ * conversions do not copy the data, unless stated otherwise.
+ */
+public final class ArrayBufferHelper {
+
+	/**
+	 * Creates a byte buffer sharing the content of the given array buffer.
+	 */
+	public static ByteBuffer wrap(ArrayBuffer buffer) {
+		return ByteBuffer.wrap(any(new Int8Array(buffer)));
+	}
+
+	/**
+	 * Creates a byte buffer sharing the given range of the given array buffer.
+	 * The position of the returned buffer is 0.
+	 */
+	public static ByteBuffer wrap(ArrayBuffer buffer, int byteOffset, int length) {
+		return ByteBuffer.wrap(any(new Int8Array(buffer, byteOffset, length)));
+	}
+
+	/**
+	 * Returns a <code>Uint8Array</code> view of the remaining bytes of the
+	 * given buffer (from its position to its limit), which can be sent as is
+	 * with <code>WebSocket.send</code> or used as a fetch body.
+	 */
+	public static Uint8Array toUint8Array(ByteBuffer buffer) {
+		return new Uint8Array(getArrayBuffer(buffer), getByteOffset(buffer) + buffer.position(),
+				buffer.remaining());
+	}
+
+	/**
+	 * Returns a <code>byte[]</code> sharing the content of the given array
+	 * buffer (an <code>Int8Array</code>), for instance to read it with a
+	 * {@link ByteArrayInputStream}.
+	 */
+	public static byte[] toByteArray(ArrayBuffer buffer) {
+		return any(new Int8Array(buffer));
+	}
+
+	/**
+	 * Returns a <code>Uint8Array</code> view of the bytes written to the given
+	 * stream. The view must not be used after further writes to the stream.
+	 */
+	public static Uint8Array toUint8Array(ByteArrayOutputStream out) {
+		Int8Array buf = $get(out, "buf");
+		return new Uint8Array(buf.buffer, buf.byteOffset, out.size());
+	}
+
+	/**
+	 * Returns the remaining bytes of the given buffer as an array buffer. The
+	 * underlying array buffer is returned when the remaining bytes cover it,
+	 * and a copy otherwise.
+	 */
+	public static ArrayBuffer toArrayBuffer(ByteBuffer buffer) {
+		ArrayBuffer arrayBuffer = getArrayBuffer(buffer);
+		int start = getByteOffset(buffer) + buffer.position();
+		if (start == 0 && buffer.remaining() == arrayBuffer.byteLength) {
+			return arrayBuffer;
+		}
+		return arrayBuffer.slice(start, start + buffer.remaining());
+	}
+
+	/**
+	 * The array buffer shared by the given buffer and its duplicates, slices
+	 * and views.
+	 */
+	public static ArrayBuffer getArrayBuffer(ByteBuffer buffer) {
+		return $get(buffer, "buffer");
+	}
+
+	private static int getByteOffset(ByteBuffer buffer) {
+		return $get(buffer, "offset");
+	}
+
+	private ArrayBufferHelper() {
+	}
+
+}
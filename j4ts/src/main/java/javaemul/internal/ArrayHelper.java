@@ -15,7 +15,11 @@
  */
 package javaemul.internal;
 
+import static jsweet.util.Globals.any;
+
 import def.js.Array;
+import def.js.ArrayBuffer;
+import def.js.Int8Array;
 
 /**
  * Provides utilities to perform operations on Arrays.
@@ -70,6 +74,26 @@ public class ArrayHelper {
 	}
 
 	public static void copy(Object array, int srcOfs, Object dest, int destOfs, int len) {
+		if (ArrayBuffer.isView(dest)) {
+			if (ArrayBuffer.isView(array)) {
+				// a single native copy (which supports overlapping ranges)
+				((Int8Array) dest).set((Double[]) any(((Int8Array) array).subarray(srcOfs, srcOfs + len)), destOfs);
+			} else {
+				Object[] src = any(array);
+				double[] typedDest = any(dest);
+				for (int i = 0; i < len; i++) {
+					typedDest[destOfs + i] = any(src[srcOfs + i]);
+				}
+			}
+			return;
+		} else if (ArrayBuffer.isView(array)) {
+			double[] src = any(array);
+			Object[] plainDest = any(dest);
+			for (int i = 0; i < len; i++) {
+				plainDest[destOfs + i] = src[srcOfs + i];
+			}
+			return;
+		}
 		copy(array, srcOfs, dest, destOfs, len, true);
 	}
 
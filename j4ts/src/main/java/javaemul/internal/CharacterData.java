@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package javaemul.internal;
+
+/**
+ * The character classification tables of {@link CharacterHelper}, generated by
+ * <code>CharacterDataGenerator</code> from the Unicode data of Java 1.8.0_392.
+ * Do not edit.
+ */
+final class CharacterData {
+
+	/**
+	 * The number of bits of the character offset within a block.
+	 */
+	static final int BLOCK_SHIFT = 6;
+
+	/**
+	 * The block number of each block of characters (base64).
+	 */
+	static final String INDEX = "AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8gISIjJCUmJygpKissLS4vMDEyMzQ1Njc4OTo7PD0+P0BBQkMaGhoaGkRF"
+			+ "RkdISUpLGhoaGhoaGhpMTU5PUFFSU1RVVldYWVpbXF1eX2BhYmNkXmVmZ2hpampramxtbm9wcXJzdHV2d3h4eHh5ent8fX5/gIGB"
+			+ "goOBhIGBhYaHiIGBgYF4eImKeHh4eIuMXl6NjmqPkJGSk5RelZaBgYGXmJmam5wanZ6foKGBgYGBgRoaGhoaGhoaGhoaGhoaGhoa"
+			+ "GhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoa"
+			+ "GhoaGhoaGhoaGlaBGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoa"
+			+ "GhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoa"
+			+ "GhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoa"
+			+ "GhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoa"
+			+ "GhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaoqMaGhoaGhoaGhoaGhoaGhoaGqSlGhoaGqanqKmqq6ytrq+w"
+			+ "sbKztLW2t7i5ul5euxoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoa"
+			+ "GhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoa"
+			+ "GhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGhoaGry9vr6+vr6+vr6+vr6+vr6+vr6+vr6+vr6+vr6+vr6+vr6/v7+/"
+			+ "v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/v7+/"
+			+ "v7+/v7+/v7+/v7+/v7+/v7+/v7+/GhoaGhrAGsHCw8TFGhoaGsbHyMnKyxrMzc7P0A==";
+
+	/**
+	 * The properties of the characters of each distinct block (base64).
+	 */
+	static final String BLOCKS = "Dw8PDw8PDw8PLy8vLy8PDw8PDw8PDw8PDw8PDy8vLy8sGBgYGhgYGBUWGBkYFBgYCQkJCQkJCQkJCRgYGRkZGBhBQUFBQUFBQUFB"
+			+ "QUFBQUFBQUFBQUFBQUFBQRUYFhsXG4KCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCFRkWGQ8PDw8PDw8PDw8PDw8PDw8PDw8PDw8P"
+			+ "Dw8PDw8PDw8PDwwYGhoaGhwYGxyFHRkQHBscGQsLG4IYGBsLhR4LCwsYQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUEZQUFBQUFBQYKC"
+			+ "goKCgoKCgoKCgoKCgoKCgoKCgoKCghmCgoKCgoKCgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGC"
+			+ "QYJBgkGCQYJBgkGCgkGCQYJBgkGCQYJBgkGCQYKCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJB"
+			+ "gkFBgkGCQYKCgkFBgkGCQUGCQUFBgoJBQUFBgkFBgkFBQYKCgkFBgkFBgkGCQYJBQYJBgoJBgkFBgkFBQYJBgkFBgoIFQYKCggUF"
+			+ "BQVBA4JBA4JBA4JBgkGCQYJBgkGCQYJBgkGCgkGCQYJBgkGCQYJBgkGCQYJBgoJBA4JBgkFBQYJBgkGCQYJBgkGCQYJBgkGCQYJB"
+			+ "gkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCgoKCgoKCQUGCQUGCgkGCQUFBQYJBgkGCQYJBgoKCgoKCgoKC"
+			+ "goKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCBYKCgoKCgoKCgoKCgoKC"
+			+ "goKCgoKCgoKCgoKCgoSEhISEhISEhAQEBAQEBASEhBsbGxsEBAQEBAQEBAQEBAQbGxsbGxsbGxsbGxsbG4SEhISEGxsbGxsbGwQb"
+			+ "BBsbGxsbGxsbGxsbGxsbGxsbBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYG"
+			+ "BgYGBgYGBgYGBgYGhgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBkGCQYIEG0GCAACEgoKCGAAAAAAA"
+			+ "GxtBGEFBQQBBAEFBgkFBQUFBQUFBQUFBQUFBQUFBAEFBQUFBQUFBQYKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKC"
+			+ "QYKCQUFBgoKCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCgoKCgkGCGUGCQUGCgkFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFB"
+			+ "QUFBQUFBQUFBQUFBQUFBQUFBQUFBQYKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgkGCQYJB"
+			+ "gkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYIcBgYGBgYHB0GCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGC"
+			+ "QYJBgkGCQYJBgkGCQYJBgkFBgkGCQYJBgkGCQYJBgoJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJB"
+			+ "gkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCAAAAAAAAAAAAQUFBQUFBQUFBQUFBQUFBQUFBQUFB"
+			+ "QUFBQUFBQUFBQUFBQUFBQUEAAAQYGBgYGBgAgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCABgUAAAAABoA"
+			+ "BgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGFAYYBgYYBgYYBgAAAAAAAAAABQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFAAAAAAAFBQUYGAAAAAAAAAAAAAAAEBAQEBAAGRkZGBgaGBgcHAYGBgYGBgYGBgYGGAAAGBgFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQQFBQUFBQUFBQUFBgYGBgYGBgYGBgYGBgYGBgYGBgYGCQkJCQkJCQkJCRgYGBgFBQYF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUYBQYGBgYGBgYQHAYGBgYGBgQEBgYcBgYGBgUFCQkJCQkJCQkJCQUFBRwcBRgYGBgYGBgY"
+			+ "GBgYGBgYABAFBgUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgAABQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUGBgYGBgYGBgYGBgUAAAAAAAAAAAAAAAAAAAkJCQkJCQkJCQkFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUGBgYGBgYGBgYEBBwYGBgEAAAAAAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBgYGBgQGBgYGBgYGBgYEBgYGBAYGBgYGAAAYGBgY"
+			+ "GBgYGBgYGBgYGBgABQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQYGBgAAGAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAABQAFBQUFBQUFBQUFBQAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYABgYGCAUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQYIBgUICAgGBgYGBgYGBggICAgGCAgFBgYGBgYGBgUFBQUFBQUF"
+			+ "BQUGBhgYCQkJCQkJCQkJCRgEBQUFBQUFAAUFBQUFBQUABggIAAUFBQUFBQUFAAAFBQAABQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAF"
+			+ "BQUFBQUFAAUAAAAFBQUFAAAGBQgICAYGBgYAAAgIAAAICAYFAAAAAAAAAAAIAAAAAAUFAAUFBQYGAAAJCQkJCQkJCQkJBQUaGgsL"
+			+ "CwsLCxwaAAAAAAAGBggABQUFBQUFAAAAAAUFAAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFAAUFBQUFBQUABQUABQUABQUAAAYACAgI"
+			+ "BgYAAAAABgYAAAYGBgAAAAYAAAAAAAAABQUFBQAFAAAAAAAAAAkJCQkJCQkJCQkGBgUFBQYAAAAAAAAAAAAAAAYGCAAFBQUFBQUF"
+			+ "BQUABQUFAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUABQUFBQUFBQAFBQAFBQUFBQAABgUICAgGBgYGBgAGBggACAgGAAAFAAAAAAAA"
+			+ "AAAAAAAAAAAABQUGBgAACQkJCQkJCQkJCRgaAAAAAAAAAAAAAAAAAAAABggIAAUFBQUFBQUFAAAFBQAABQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQAFBQUFBQUFAAUFAAUFBQUFAAAGBQgGCAYGBgYAAAgIAAAICAYAAAAAAAAAAAYIAAAAAAUFAAUFBQYGAAAJCQkJCQkJ"
+			+ "CQkJHAULCwsLCwsAAAAAAAAAAAAABgUABQUFBQUFAAAABQUFAAUFBQUAAAAFBQAFAAUFAAAABQUAAAAFBQUAAAAFBQUFBQUFBQUF"
+			+ "BQUAAAAACAgGCAgAAAAICAgACAgIBgAABQAAAAAAAAgAAAAAAAAAAAAAAAAAAAkJCQkJCQkJCQkLCwscHBwcHBwaHAAAAAAAAAgI"
+			+ "CAAFBQUFBQUFBQAFBQUABQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUABQUFBQUFBQUFBQAFBQUFBQAAAAUGBgYICAgIAAYGBgAGBgYG"
+			+ "AAAAAAAAAAYGAAUFAAAAAAAABQUGBgAACQkJCQkJCQkJCQAAAAAAAAAACwsLCwsLCxwAAAgIAAUFBQUFBQUFAAUFBQAFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQAFBQUFBQUFBQUFAAUFBQUFAAAGBQgGCAgICAgABggIAAgIBgYAAAAAAAAACAgAAAAAAAAABQAFBQYG"
+			+ "AAAJCQkJCQkJCQkJAAUFAAAAAAAAAAAAAAAAAAAACAgABQUFBQUFBQUABQUFAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFAAAFCAgIBgYGBgAICAgACAgIBgUAAAAAAAAAAAgAAAAAAAAAAAUFBgYAAAkJCQkJCQkJCQkLCwsLCwsAAAAc"
+			+ "BQUFBQUFAAAICAAFBQUFBQUFBQUFBQUFBQUFBQUAAAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUABQUFBQUFBQUFAAUAAAUFBQUF"
+			+ "BQUAAAAGAAAAAAgICAYGBgAGAAgICAgICAgIAAAAAAAAAAAAAAAAAAAAAAAACAgYAAAAAAAAAAAAAAAABQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBgUFBgYGBgYGBgAAAAAaBQUFBQUFBAYGBgYGBgYGGAkJCQkJCQkJCQkY"
+			+ "GAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAFBQAFAAAFBQAFAAAFAAAAAAAABQUFBQAFBQUFBQUFAAUFBQAF"
+			+ "AAUAAAUFAAUFBQUGBQUGBgYGBgYABgYFAAAFBQUFBQAEAAYGBgYGBgAACQkJCQkJCQkJCQAABQUFBQAAAAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAAAABRwcHBgYGBgYGBgYGBgYGBgYGBwYHBwcBgYcHBwcHBwJCQkJCQkJCQkJCwsLCwsLCwsLCxwGHAYcBhUW"
+			+ "FRYICAUFBQUFBQUFAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAAAAAGBgYGBgYGBgYGBgYGBggGBgYGBhgG"
+			+ "BgUFBQUFBgYGBgYGBgYGBgYABgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGABwcHBwcHBwcBhwcHBwcHAAcHBgY"
+			+ "GBgYHBwcHBgYAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUICAYGBgYIBgYGBgYGCAYGCAgGBgUJCQkJCQkJCQkJGBgYGBgYBQUFBQUFCAgGBgUFBQUGBgYFCAgIBQUI"
+			+ "CAgICAgIBQUFBgYGBgUFBQUFBQUFBQUFBQUGCAgGBggICAgICAYFCAkJCQkJCQkJCQkICAgGHBxBQUFBQUFBQUFBQUFBQUFBQUFB"
+			+ "QUFBQUFBQUFBQUFBQUFBQUFBQQBBAAAAAABBAAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFGAQF"
+			+ "BQUFBQUFBQUFBQUABQUFBQAABQUFBQUFBQAFAAUFBQUAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "AAUFBQUAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAFBQUFAAAFBQUFBQUFAAUABQUFBQAABQUFBQUFBQUFBQUF"
+			+ "BQUFAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAFBQUFAAAFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFAAAGBgYYGBgYGBgYGBgL"
+			+ "CwsLCwsLCwsLCwsLCwsLCwsLCwAAAAUFBQUFBQUFBQUFBQUFBQUcHBwcHBwcHBwcAAAAAAAABQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAAAAAAAAAAAAAA"
+			+ "FAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBRgYBQUFBQUFBQUFBQUFBQUFBQUsBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUVFgAAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBRgYGAoKCgAAAAAAAAAAAAAAAAAAAAUFBQUFBQUFBQUFBQUABQUFBQYGBgAAAAAAAAAAAAAABQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBgYGGBgAAAAAAAAAAAAFBQUFBQUFBQUFBQUFBQUFBQUGBgAAAAAAAAAAAAAAAAUFBQUFBQUFBQUFBQUABQUFAAYGAAAA"
+			+ "AAAAAAAAAAAABQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQYGCAYGBgYGBgYICAgI"
+			+ "CAgICAYICAYGBgYGBgYGBgYGGBgYBBgYGBoFBgAACQkJCQkJCQkJCQAAAAAAAAsLCwsLCwsLCwsAAAAAAAAYGBgYGBgUGBgYGAYG"
+			+ "BiwACQkJCQkJCQkJCQAAAAAAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBAUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUAAAAAAAAAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBgUAAAAAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUAAAAAAAAAAAAABQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUAAAAGBgYICAgIBgYICAgAAAAACAgGCAgICAgI"
+			+ "BgYGAAAAABwAAAAYGAkJCQkJCQkJCQkFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUAAAUFBQUFAAAAAAAAAAAAAAAFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAAAAAICAgICAgICAgICAgICAgICAUFBQUFBQUICAAAAAAA"
+			+ "AAkJCQkJCQkJCQkLAAAAHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBgYI"
+			+ "CAgAABgYBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUIBggGBgYGBgYGAAYIBggI"
+			+ "BgYGBgYGBgYICAgICAgGBgYGBgYGBgYGAAAGCQkJCQkJCQkJCQAAAAAAAAkJCQkJCQkJCQkAAAAAAAAYGBgYGBgYBBgYGBgYGAAA"
+			+ "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAGBgYGCAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBggGBgYGBggGCAgICAgGCAgF"
+			+ "BQUFBQUFAAAAAAkJCQkJCQkJCQkYGBgYGBgYHBwcHBwcHBwcHAYGBgYGBgYGBhwcHBwcHBwcHAAAAAYGCAUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQgGBgYGCAgGBggGCAgFBQkJCQkJCQkJCQkFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQYIBgYICAgGCAYGBggIAAAAAAAAAAAYGBgYBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFCAgI"
+			+ "CAgICAgGBgYGBgYGBggIBgYAAAAYGBgYGAkJCQkJCQkJCQkAAAAFBQUJCQkJCQkJCQkJBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBAQEBAQEGBgYGBgYGBgYGAAAAAAAAAAABgYGGAYGBgYGBgYGBgYGBgYIBgYGBgYGBgUFBQUGBQUFBQgIBgUFAAAAAAAA"
+			+ "AAAAgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKEhISEhISEhISEhISEhISEhISEhISEhISEhISE"
+			+ "hISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISCgoKCgoKCgoKCgoKChIKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKC"
+			+ "goKCgoKCgoKEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYGBgYG"
+			+ "BgYGBgYGBgYGAAAAAAAAAAAAAAAAAAAAAAAAAAAABgYGBkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJB"
+			+ "gkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCgoKCgoKCgoJBgkGCQYJBgkGCQYJBgkGCQYJBgkGC"
+			+ "QYJBgkGCQYJBgkGCgoKCgoKCgoJBQUFBQUFBQYKCgoKCggAAQUFBQUFBAACCgoKCgoKCgkFBQUFBQUFBgoKCgoKCgoJBQUFBQUFB"
+			+ "QYKCgoKCggAAQUFBQUFBAACCgoKCgoKCggBBAEEAQQBBgoKCgoKCgoJBQUFBQUFBQYKCgoKCgoKCgoKCgoKCAACCgoKCgoKCggMD"
+			+ "AwMDAwMDgoKCgoKCgoIDAwMDAwMDA4KCgoKCgoKCAwMDAwMDAwOCgoKCggCCgkFBQUEDG4IbGxuCgoIAgoJBQUFBAxsbG4KCgoIA"
+			+ "AIKCQUFBQQAbGxuCgoKCgoKCgkFBQUFBGxsbAACCgoIAgoJBQUFBAxsbACwsLCwsLCwMLCwsEBAQEBAUFBQUFBQYGB0eFR0dHhUd"
+			+ "GBgYGBgYGBgtLhAQEBAQDBgYGBgYGBgYGB0eGBgYGBcXGBgYGRUWGBgYGBgYGBgYGBgZGBcYGBgYGBgYGBgYLBAQEBAQAAAAAAAQ"
+			+ "EBAQEBALhAAACwsLCwsLGRkZFRaECwsLCwsLCwsLCxkZGRUWAISEhISEhISEhISEhIQAAAAaGhoaGhoaGhoaGhoaGhoaGhoaGhoa"
+			+ "GhoaGhoaGhoaGgAAAAAAAAAAAAAAAAAAAAAGBgYGBgYGBgYGBgYGBwcHBwYHBwcGBgYGBgYGBgYGBgYAAAAAAAAAAAAAAAAAAAAc"
+			+ "HEEcHBwcQRwcgkFBQYKCQUFBghxBHBwZQUFBQUEcHBwcHBxBHEEcQRxBQUFBHIJBQUFBggUFBQWCHByCgkFBGRkZGRlBgoKCghwZ"
+			+ "HByCHAsLCwsLCwsLCwsLCwsLCwtKSkpKSkpKSkpKSkpKSkpKioqKioqKioqKioqKioqKigoKCkGCCgoKCgsAAAAAAAAZGRkZGRwc"
+			+ "HBwcGRkcHBwcGRwcGRwcGRwcHBwcHBwZHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBkZHBwZHBkcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZ"
+			+ "GRkZGRkZGRkZGRkZGRkZGRkZGRwcHBwcHBwcGRkZGRwcHBwcHBwcHBwcHBwcHBwcHBwcGRkcHBwcHBwcFRYcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwZHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwZGRkZGRkcHBwcHBwcHBwcHBwcHBwcHBwAAAAAAAAAAAAAAAAcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAHBwcHBwcHBwcHBwAAAAAAAAAAAAAAAAAAAAAAAAAAAALCwsL"
+			+ "CwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwscHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHFxcXFxcXFxcXFxcXFxcXFxcXFxcXFxcXFxcnJycnJycnJycnJycnJycnJycnJycnJycnJwLCwsLCwsLCwsLCwsLCwsL"
+			+ "CwsLCwsLHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwZHBwcHBwcHBwcGRwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBkZGRkZGRkZHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBwZHBwcHBwcHBwcHBwcHBwcHAAcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcFRYVFhUWFRYV"
+			+ "FhUWFRYLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwsLCwscHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBkZGRkZFRYZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZFRYVFhUWFRYVFhkZGRkZGRkZGRkZGRkZGRkZGRkVFhUW"
+			+ "FRYVFhUWFRYVFhUWFRYVFhUWGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZ"
+			+ "GRkZGRkZFRYVFhkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZGRkZFRYZGRwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBkZGRkZGRkZGRkZGRkZGRkZGRkZGRwcGRkZGRkZAAAAHBwcHBwcHBwcHAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUEAgoKC"
+			+ "goKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoIAQYJBQUGCgkGCQYJBgkFBQUGCQYKCQYKCgoKCgoSE"
+			+ "QUFBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYKCHBwcHBwcQYJBggYGBkGCAAAAAAAYGBgYCxgYgoKCgoKCgoKC"
+			+ "goKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoKCgoIAggAAAAAAggAABQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUAAAAAAAAABBgAAAAAAAAAAAAAAAAAAAYFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAAAAAAAAAA"
+			+ "AAUFBQUFBQUABQUFBQUFBQAFBQUFBQUFAAUFBQUFBQUABQUFBQUFBQAFBQUFBQUFAAUFBQUFBQUABQUFBQUFBQAGBgYGBgYGBgYG"
+			+ "BgYGBgYGBgYGBgYGBgYGBgYGBgYGBhgYHR4dHhgYGB0eGB0eGBgYGBgYGBgYFBgYFBgdHhgYHR4VFhUWFRYVFhgYGBgYBBgYGBgY"
+			+ "GBgYGBgUFAAAAAAcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHAAcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHAAAAAAAAAAAAAAAABwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAABwcHBwcHBwcHBwcHAAAAAAsGBgYHAQFChUWFRYVFhUWFRYcHBUW"
+			+ "FRYVFhUWFBUWFhwKCgoKCgoKCgoGBgYGCAgUBAQEBAQcHAoKCgQFGBwcAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFAAAGBhsbBAQFFAUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBRgEBAQFAAAAAAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAAAAUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQAcHAsLCwscHBwcHBwcHBwcBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFAAAAAAAcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwAAAAAAAAAAAAAAAAFBQUFBQUFBQUFBQUFBQUFHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcHBwcHAALCwsLCwsLCwsLHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcCwsLCwsLCwscCwsLCwsLCwsLCwsLCwsLHBwc"
+			+ "HBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwLCwsLCwsLCwsLHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwc"
+			+ "HBwcCwsLCwsLCwsLCwsLCwsLBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFAAAAAAAAAAAA"
+			+ "AAAAAAAAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQQFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFAAAAHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHBwcHAAAAAAAAAAA"
+			+ "AAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUEBAQEBAQYGAUFBQUFBQUFBQUFBQQYGBgFBQUFBQUFBQUF"
+			+ "BQUFBQUFCQkJCQkJCQkJCQUFAAAAAAAAAAAAAAAAAAAAAAAAAABBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJB"
+			+ "gkGCQYJBgkGCBQYHBwcYBgYGBgYGBgYGBhgEQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCAAAAAAAAAAYFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFCgoKCgoKCgoKCgYGGBgYGBgYAAAA"
+			+ "AAAAAAAbGxsbGxsbGxsbGxsbGxsbGxsbGxsbGwQEBAQEBAQEBBsbQYJBgkGCQYJBgkGCQYKCgkGCQYJBgkGCQYJBgkGCQYJBgkGC"
+			+ "QYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGCQYJBgkGChIKCgoKCgoKCQYJBgkFBgkGCQYJBgkGCBBsbQYJBggBB"
+			+ "gkGCAAAAAAAAAAAAAAAAQYJBgkGCQYJBgkEAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAISEggUFBQUFBQUGBQUFBgUFBQUGBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUICAYG"
+			+ "CBwcHBwAAAAACwsLCwsLHBwaHAAAAAAAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUYGBgYAAAAAAAAAAAICAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFCAgICAgICAgI"
+			+ "CAgICAgICAYAAAAAAAAAAAAYGAkJCQkJCQkJCQkAAAAAAAAGBgYGBgYGBgYGBgYGBgYGBgYFBQUFBQUYGBgFAAAAAAkJCQkJCQkJ"
+			+ "CQkFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBgYGBgYGBgYYGAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBgYGBgYGBgYGBgYI"
+			+ "CAAAAAAAAAAAAAAAGAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFAAAABgYGCAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBggIBgYGBggIBggICAgYGBgYGBgYGBgYGBgYAAQJCQkJCQkJCQkJAAAAABgYAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQYGBgYGBggIBgYI"
+			+ "CAYGAAAAAAAAAAAABQUFBgUFBQUFBQUFBggAAAkJCQkJCQkJCQkAABgYGBgFBQUFBQUFBQUFBQUFBQUFBAUFBQUFBRwcHAUIAAAA"
+			+ "AAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQYFBgYGBQUGBgUFBQUFBgYFBgUAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAAAAAAAAAFBQQYGAUFBQUFBQUFBQUFCAYGCAgYGAUEBAgGAAAAAAAAAAAAAAUFBQUFBQAABQUFBQUFAAAFBQUF"
+			+ "BQUAAAAAAAAAAAAFBQUFBQUFAAUFBQUFBQUAAAAAAAAAAAAAAAAAAAAAAAUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFCAgGCAgGCAgYCAYAAAkJCQkJCQkJCQkAAAAAAAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUAAAAAAAAA"
+			+ "AAAAAAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAAAAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFAAAAABMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMTExMS"
+			+ "EhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISEhISBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAABQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAACCgoKCgoKCAAAAAAAAAAAAAAAAgoKCgoIAAAAAAAUGBQUF"
+			+ "BQUFBQUFBRkFBQUFBQUFBQUFBQUFAAUFBQUFAAUABQUABQUABQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFGxsbGxsb"
+			+ "GxsbGxsbGxsbGwAAAAAAAAAAAAAAAAAAAAAABQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUVFgAAAAAAAAAAAAAAAAAA"
+			+ "AAAFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFAAAFBQUFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"
+			+ "AAAAAAAAAAAAAAAABQUFBQUFBQUFBQUFGhwAAAYGBgYGBgYGBgYGBgYGBgYYGBgYGBgYFRYYAAAAAAAABgYGBgYGBgAAAAAAAAAA"
+			+ "ABgUFBcXFRYVFhUWFRYVFhUWFRYVFhgYFRYYGBgYFxcXGBgYABgYGBgUFRYVFhUWGBgYGRQZGRkAGBoYGAAAAAAFBQUFBQAFBQUF"
+			+ "BQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQAAEAAYGBga"
+			+ "GBgYFRYYGRgUGBgJCQkJCQkJCQkJGBgZGRkYGEFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBFRgWGxcbgoKCgoKCgoKCgoKCgoKC"
+			+ "goKCgoKCgoKCgoIVGRYZFRYYFRYYGAUFBQUFBQUFBQUEBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUF"
+			+ "BQUFBAQFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFBQUFAAAABQUFBQUFAAAFBQUFBQUAAAUFBQUFBQAABQUFAAAAGhoZGxwa"
+			+ "GgAcGRkZGRwcAAAAAAAAAAAAABAQEBwcAAA=";
+
+	/**
+	 * The first character of each run of decimal digits.
+	 */
+	static final int[] DIGIT_ZEROS = {
+			0x30, 0x660, 0x6F0, 0x7C0, 0x966, 0x9E6, 0xA66, 0xAE6,
+			0xB66, 0xBE6, 0xC66, 0xCE6, 0xD66, 0xE50, 0xED0, 0xF20,
+			0x1040, 0x1090, 0x17E0, 0x1810, 0x1946, 0x19D0, 0x1A80, 0x1A90,
+			0x1B50, 0x1BB0, 0x1C40, 0x1C50, 0xA620, 0xA8D0, 0xA900, 0xA9D0,
+			0xAA50, 0xABF0, 0xFF10 };
+
+	private CharacterData() {
+	}
+
+}
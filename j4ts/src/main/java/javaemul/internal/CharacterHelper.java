@@ -18,54 +18,38 @@ package javaemul.internal;
 import static javaemul.internal.InternalPreconditions.checkCriticalArgument;
 import static jsweet.util.Globals.any;
 import static jsweet.util.Globals.string;
+import static jsweet.util.Globals.typeof;
 
 import java.io.Serializable;
 
+import def.js.Uint8Array;
 import jsweet.lang.Erased;
-import def.js.RegExp;
-import def.js.RegExpMatchArray;
 
 /**
  * Wraps a native <code>char</code> as an object.
  *
- * TODO(jat): many of the classification methods implemented here are not
- * correct in that they only handle ASCII characters, and many other methods are
- * not currently implemented. I think the proper approach is to introduce * a
- * deferred binding parameter which substitutes an implementation using a
- * fully-correct Unicode character database, at the expense of additional data
- * being downloaded. That way developers that need the functionality can get it
- * without those who don't need it paying for it.
+ * <p>
+ * JSweet implementation. The characters are classified with the Unicode tables
+ * of {@link CharacterData}, generated from the JDK data by
+ * <code>CharacterDataGenerator</code>: the properties of a character are found
+ * with two loads from <code>Uint8Array</code>s (the number of its block, then
+ * its byte in the block). The tables cover the Basic Multilingual Plane; the
+ * supplementary code points are classified as unassigned.
  *
  * <pre>
- * The following methods are still not implemented -- most would require Unicode
- * character db to be useful:
- *  - digit / is* / to*(int codePoint)
- *  - isDefined(char)
- *  - isIdentifierIgnorable(char)
- *  - isJavaIdentifierPart(char)
- *  - isJavaIdentifierStart(char)
+ * The following methods are still not implemented:
+ *  - isAlphabetic(int)
  *  - isJavaLetter(char) -- deprecated, so probably not
  *  - isJavaLetterOrDigit(char) -- deprecated, so probably not
- *  - isISOControl(char)
  *  - isMirrored(char)
- *  - isSpaceChar(char)
- *  - isTitleCase(char)
  *  - isUnicodeIdentifierPart(char)
  *  - isUnicodeIdentifierStart(char)
  *  - getDirectionality(*)
- *  - getNumericValue(*)
- *  - getType(*)
  *  - reverseBytes(char) -- any use for this at all in the browser?
  *  - toTitleCase(*)
- *  - all the category constants for classification
  *
- * The following do not properly handle characters outside of ASCII:
- *  - digit(char c, int radix)
- *  - isDigit(char c)
- *  - isLetter(char c)
- *  - isLetterOrDigit(char c)
- *  - isLowerCase(char c)
- *  - isUpperCase(char c)
+ * The following only handle the decimal digits and the Latin letters:
+ *  - getNumericValue(char c)
  * </pre>
  */
 public final class CharacterHelper implements Comparable<CharacterHelper>, Serializable {
@@ -102,6 +86,119 @@ public final class CharacterHelper implements Comparable<CharacterHelper>, Seria
 
 	public static final int SIZE = 16;
 
+	public static final byte UNASSIGNED = 0;
+	public static final byte UPPERCASE_LETTER = 1;
+	public static final byte LOWERCASE_LETTER = 2;
+	public static final byte TITLECASE_LETTER = 3;
+	public static final byte MODIFIER_LETTER = 4;
+	public static final byte OTHER_LETTER = 5;
+	public static final byte NON_SPACING_MARK = 6;
+	public static final byte ENCLOSING_MARK = 7;
+	public static final byte COMBINING_SPACING_MARK = 8;
+	public static final byte DECIMAL_DIGIT_NUMBER = 9;
+	public static final byte LETTER_NUMBER = 10;
+	public static final byte OTHER_NUMBER = 11;
+	public static final byte SPACE_SEPARATOR = 12;
+	public static final byte LINE_SEPARATOR = 13;
+	public static final byte PARAGRAPH_SEPARATOR = 14;
+	public static final byte CONTROL = 15;
+	public static final byte FORMAT = 16;
+	public static final byte PRIVATE_USE = 18;
+	public static final byte SURROGATE = 19;
+	public static final byte DASH_PUNCTUATION = 20;
+	public static final byte START_PUNCTUATION = 21;
+	public static final byte END_PUNCTUATION = 22;
+	public static final byte CONNECTOR_PUNCTUATION = 23;
+	public static final byte OTHER_PUNCTUATION = 24;
+	public static final byte MATH_SYMBOL = 25;
+	public static final byte CURRENCY_SYMBOL = 26;
+	public static final byte MODIFIER_SYMBOL = 27;
+	public static final byte OTHER_SYMBOL = 28;
+	public static final byte INITIAL_QUOTE_PUNCTUATION = 29;
+	public static final byte FINAL_QUOTE_PUNCTUATION = 30;
+
+	/**
+	 * The mask of the general category in the properties of a character.
+	 */
+	private static final int TYPE_MASK = 0x1F;
+
+	// the other properties, as set by CharacterDataGenerator
+	private static final int WHITESPACE = 0x20;
+	private static final int UPPER_CASE = 0x40;
+	private static final int LOWER_CASE = 0x80;
+
+	private static final int LETTER_TYPES = (1 << UPPERCASE_LETTER) | (1 << LOWERCASE_LETTER)
+			| (1 << TITLECASE_LETTER) | (1 << MODIFIER_LETTER) | (1 << OTHER_LETTER);
+
+	private static final int IDENTIFIER_START_TYPES = LETTER_TYPES | (1 << LETTER_NUMBER) | (1 << CURRENCY_SYMBOL)
+			| (1 << CONNECTOR_PUNCTUATION);
+
+	private static final int IDENTIFIER_PART_TYPES = IDENTIFIER_START_TYPES | (1 << DECIMAL_DIGIT_NUMBER)
+			| (1 << COMBINING_SPACING_MARK) | (1 << NON_SPACING_MARK);
+
+	private static final int SPACE_TYPES = (1 << SPACE_SEPARATOR) | (1 << LINE_SEPARATOR)
+			| (1 << PARAGRAPH_SEPARATOR);
+
+	/**
+	 * The block number of each block of BMP characters (a Uint8Array).
+	 */
+	private static final int[] blockIndex = decode(CharacterData.INDEX);
+
+	/**
+	 * The properties of the characters of each distinct block (a Uint8Array).
+	 */
+	private static final int[] blocks = decode(CharacterData.BLOCKS);
+
+	/**
+	 * Decodes the given base64 string to a Uint8Array.
+	 */
+	private static int[] decode(String base64) {
+		int length = base64.length();
+		while (length > 0 && base64.charAt(length - 1) == '=') {
+			length--;
+		}
+		int[] bytes = any(new Uint8Array(length * 6 / 8));
+		int bits = 0;
+		int bitCount = 0;
+		int n = 0;
+		for (int i = 0; i < length; i++) {
+			char c = base64.charAt(i);
+			int value = c >= 'a' ? c - 'a' + 26 : c >= 'A' ? c - 'A' : c >= '0' ? c - '0' + 52 : c == '+' ? 62 : 63;
+			bits = ((bits << 6) | value) & 0xFFFF;
+			bitCount += 6;
+			if (bitCount >= 8) {
+				bitCount -= 8;
+				bytes[n++] = (bits >> bitCount) & 0xFF;
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Returns the properties of the given code point: its general category and
+	 * the whitespace and case flags.
+	 */
+	private static int properties(int codePoint) {
+		if (codePoint < 0 || codePoint > 0xFFFF) {
+			return UNASSIGNED;
+		}
+		return blocks[(blockIndex[codePoint >> CharacterData.BLOCK_SHIFT] << CharacterData.BLOCK_SHIFT)
+				| (codePoint & ((1 << CharacterData.BLOCK_SHIFT) - 1))];
+	}
+
+	/**
+	 * Returns the code of the given char. A char is a string at runtime, but a
+	 * number may be passed instead by the code calling the <code>int</code>
+	 * overloads of <code>java.lang.Character</code>.
+	 */
+	private static int code(char c) {
+		Object value = any(c);
+		if ("number".equals(typeof(value))) {
+			return any(value);
+		}
+		return (int) string((String) value).charCodeAt(0);
+	}
+
 	public static int charCount(int codePoint) {
 		return codePoint >= MIN_SUPPLEMENTARY_CODE_POINT ? 2 : 1;
 	}
@@ -152,32 +249,69 @@ public final class CharacterHelper implements Comparable<CharacterHelper>, Seria
 		return x - y;
 	}
 
-	/*
-	 * TODO: correct Unicode handling.
-	 */
 	public static int digit(char c, int radix) {
+		return digit(code(c), radix);
+	}
+
+	public static int digit(int codePoint, int radix) {
 		if (radix < MIN_RADIX || radix > MAX_RADIX) {
 			return -1;
 		}
+		int value = digitValue(codePoint);
+		return value < radix ? value : -1;
+	}
 
-		if (c >= '0' && c < '0' + Math.min(radix, 10)) {
-			return c - '0';
+	/**
+	 * Returns the value of the given decimal digit or Latin letter (including
+	 * the full width forms), or -1.
+	 */
+	private static int digitValue(int codePoint) {
+		if (codePoint < 128) {
+			// fast path for ASCII
+			if (codePoint >= '0' && codePoint <= '9') {
+				return codePoint - '0';
+			}
+			// The offset by 10 is to re-base the alpha values
+			if (codePoint >= 'a' && codePoint <= 'z') {
+				return codePoint - 'a' + 10;
+			}
+			if (codePoint >= 'A' && codePoint <= 'Z') {
+				return codePoint - 'A' + 10;
+			}
+			return -1;
 		}
-
-		// The offset by 10 is to re-base the alpha values
-		if (c >= 'a' && c < (radix + 'a' - 10)) {
-			return c - 'a' + 10;
+		if (codePoint >= 0xFF21 && codePoint <= 0xFF3A) {
+			return codePoint - 0xFF21 + 10;
 		}
-
-		if (c >= 'A' && c < (radix + 'A' - 10)) {
-			return c - 'A' + 10;
+		if (codePoint >= 0xFF41 && codePoint <= 0xFF5A) {
+			return codePoint - 0xFF41 + 10;
+		}
+		if ((properties(codePoint) & TYPE_MASK) != DECIMAL_DIGIT_NUMBER) {
+			return -1;
+		}
+		// the digits of a script are a run from zero to nine
+		int[] zeros = CharacterData.DIGIT_ZEROS;
+		for (int i = zeros.length - 1; i >= 0; i--) {
+			if (zeros[i] <= codePoint) {
+				return codePoint - zeros[i];
+			}
 		}
-
 		return -1;
 	}
 
+	/*
+	 * Only the decimal digits and the Latin letters have a numeric value.
+	 */
 	public static int getNumericValue(char ch) {
-		return (int) string((String) any(ch)).charCodeAt(0);
+		return digitValue(code(ch));
+	}
+
+	public static int getType(char c) {
+		return properties(code(c)) & TYPE_MASK;
+	}
+
+	public static int getType(int codePoint) {
+		return properties(codePoint) & TYPE_MASK;
 	}
 
 	public static char forDigit(int digit, int radix) {
@@ -201,49 +335,82 @@ public final class CharacterHelper implements Comparable<CharacterHelper>, Seria
 		return c;
 	}
 
-	/*
-	 * TODO: correct Unicode handling.
-	 */
+	public static boolean isDefined(char c) {
+		return isDefined(code(c));
+	}
+
+	public static boolean isDefined(int codePoint) {
+		return (properties(codePoint) & TYPE_MASK) != UNASSIGNED;
+	}
+
 	public static boolean isDigit(char c) {
-		RegExpMatchArray result = string(String.valueOf(c)).match(digitRegex());
-		return result != null && result.length > 0;
+		return isDigit(code(c));
 	}
 
-	private static RegExp digitRegex() {
-		return new RegExp("\\d");
-	};
+	public static boolean isDigit(int codePoint) {
+		return (properties(codePoint) & TYPE_MASK) == DECIMAL_DIGIT_NUMBER;
+	}
 
 	public static boolean isHighSurrogate(char ch) {
 		return ch >= MIN_HIGH_SURROGATE && ch <= MAX_HIGH_SURROGATE;
 	}
 
-	/*
-	 * TODO: correct Unicode handling.
-	 */
+	public static boolean isIdentifierIgnorable(char c) {
+		return isIdentifierIgnorable(code(c));
+	}
+
+	public static boolean isIdentifierIgnorable(int codePoint) {
+		return codePoint <= 0x08 || (codePoint >= 0x0E && codePoint <= 0x1B)
+				|| (codePoint >= 0x7F && codePoint <= 0x9F) || (properties(codePoint) & TYPE_MASK) == FORMAT;
+	}
+
+	public static boolean isISOControl(char c) {
+		return isISOControl(code(c));
+	}
+
+	public static boolean isISOControl(int codePoint) {
+		return (codePoint >= 0x00 && codePoint <= 0x1F) || (codePoint >= 0x7F && codePoint <= 0x9F);
+	}
+
+	public static boolean isJavaIdentifierPart(char c) {
+		return isJavaIdentifierPart(code(c));
+	}
+
+	public static boolean isJavaIdentifierPart(int codePoint) {
+		return ((1 << (properties(codePoint) & TYPE_MASK)) & IDENTIFIER_PART_TYPES) != 0
+				|| isIdentifierIgnorable(codePoint);
+	}
+
+	public static boolean isJavaIdentifierStart(char c) {
+		return isJavaIdentifierStart(code(c));
+	}
+
+	public static boolean isJavaIdentifierStart(int codePoint) {
+		return ((1 << (properties(codePoint) & TYPE_MASK)) & IDENTIFIER_START_TYPES) != 0;
+	}
+
 	public static boolean isLetter(char c) {
-		return string(String.valueOf(c)).match(leterRegex()).length > 0;
+		return isLetter(code(c));
 	}
 
-	private static RegExp leterRegex() {
-		return new RegExp("[A-Z]", "i");
-	};
+	public static boolean isLetter(int codePoint) {
+		return ((1 << (properties(codePoint) & TYPE_MASK)) & LETTER_TYPES) != 0;
+	}
 
-	/*
-	 * TODO: correct Unicode handling.
-	 */
 	public static boolean isLetterOrDigit(char c) {
-		return string(String.valueOf(c)).match(leterOrDigitRegex()).length > 0;
+		return isLetterOrDigit(code(c));
 	}
 
-	private static RegExp leterOrDigitRegex() {
-		return new RegExp("[A-Z\\d]", "i");
-	};
+	public static boolean isLetterOrDigit(int codePoint) {
+		return ((1 << (properties(codePoint) & TYPE_MASK)) & (LETTER_TYPES | (1 << DECIMAL_DIGIT_NUMBER))) != 0;
+	}
 
-	/*
-	 * TODO: correct Unicode handling.
-	 */
 	public static boolean isLowerCase(char c) {
-		return toLowerCase(c) == c && isLetter(c);
+		return isLowerCase(code(c));
+	}
+
+	public static boolean isLowerCase(int codePoint) {
+		return (properties(codePoint) & LOWER_CASE) != 0;
 	}
 
 	public static boolean isLowSurrogate(char ch) {
@@ -271,22 +438,30 @@ public final class CharacterHelper implements Comparable<CharacterHelper>, Seria
 		}
 	}
 
+	public static boolean isSpaceChar(char c) {
+		return isSpaceChar(code(c));
+	}
+
+	public static boolean isSpaceChar(int codePoint) {
+		return ((1 << (properties(codePoint) & TYPE_MASK)) & SPACE_TYPES) != 0;
+	}
+
+	public static boolean isTitleCase(char c) {
+		return isTitleCase(code(c));
+	}
+
+	public static boolean isTitleCase(int codePoint) {
+		return (properties(codePoint) & TYPE_MASK) == TITLECASE_LETTER;
+	}
+
 	public static boolean isWhitespace(char ch) {
-		return string(String.valueOf(ch)).match(whitespaceRegex()).length > 0;
+		return isWhitespace(code(ch));
 	}
 
 	public static boolean isWhitespace(int codePoint) {
-		return string(def.js.String.fromCharCode(codePoint)).match(whitespaceRegex()).length > 0;
+		return (properties(codePoint) & WHITESPACE) != 0;
 	}
 
-	// The regex would just be /\s/, but browsers handle non-breaking spaces
-	// inconsistently. Also,
-	// the Java definition includes separators.
-	private static RegExp whitespaceRegex() {
-		return new RegExp(
-				"[\\t-\\r \\u1680\\u180E\\u2000-\\u2006\\u2008-\\u200A\\u2028\\u2029\\u205F\\u3000\\uFEFF]|[\\x1C-\\x1F]");
-	};
-
 	public static boolean isSupplementaryCodePoint(int codePoint) {
 		return codePoint >= MIN_SUPPLEMENTARY_CODE_POINT && codePoint <= MAX_CODE_POINT;
 	}
@@ -295,11 +470,12 @@ public final class CharacterHelper implements Comparable<CharacterHelper>, Seria
 		return isHighSurrogate(highSurrogate) && isLowSurrogate(lowSurrogate);
 	}
 
-	/*
-	 * TODO: correct Unicode handling.
-	 */
 	public static boolean isUpperCase(char c) {
-		return toUpperCase(c) == c && isLetter(c);
+		return isUpperCase(code(c));
+	}
+
+	public static boolean isUpperCase(int codePoint) {
+		return (properties(codePoint) & UPPER_CASE) != 0;
 	}
 
 	public static boolean isValidCodePoint(int codePoint) {
@@ -368,11 +544,19 @@ public final class CharacterHelper implements Comparable<CharacterHelper>, Seria
 	}
 
 	public static char toLowerCase(char c) {
+		int code = code(c);
+		if (code < 128) {
+			return code >= 'A' && code <= 'Z' ? (char) (code + ('a' - 'A')) : c;
+		}
+		// only the upper and title case characters have a lower case mapping
+		if ((properties(code) & UPPER_CASE) == 0 && (properties(code) & TYPE_MASK) != TITLECASE_LETTER) {
+			return c;
+		}
 		return String.valueOf(c).toLowerCase().charAt(0);
 	}
 
 	public static int toLowerCase(int c) {
-		return String.valueOf((char) c).toLowerCase().charAt(0);
+		return toLowerCase((char) c);
 	}
 
 	public static String toString(char x) {
@@ -380,11 +564,19 @@ public final class CharacterHelper implements Comparable<CharacterHelper>, Seria
 	}
 
 	public static char toUpperCase(char c) {
+		int code = code(c);
+		if (code < 128) {
+			return code >= 'a' && code <= 'z' ? (char) (code - ('a' - 'A')) : c;
+		}
+		// only the lower and title case characters have an upper case mapping
+		if ((properties(code) & LOWER_CASE) == 0 && (properties(code) & TYPE_MASK) != TITLECASE_LETTER) {
+			return c;
+		}
 		return String.valueOf(c).toUpperCase().charAt(0);
 	}
 
 	public static char toUpperCase(int c) {
-		return String.valueOf((char) c).toUpperCase().charAt(0);
+		return toUpperCase((char) c);
 	}
 
 	public static Character valueOf(char c) {
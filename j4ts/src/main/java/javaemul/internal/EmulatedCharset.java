@@ -15,8 +15,12 @@
  */
 package javaemul.internal;
 
+import static jsweet.util.Globals.any;
+
 import java.nio.charset.Charset;
 
+import def.js.Uint16Array;
+
 /**
  * Provides Charset implementations.
  */
@@ -51,6 +55,39 @@ public abstract class EmulatedCharset extends Charset {
       }
       return chars;
     }
+
+    @Override
+    public int maxBytesPerChar() {
+      return 1;
+    }
+
+    @Override
+    public int encode(String str, int start, int end, byte[] dst, int dstOfs) {
+      for (int i = start; i < end; ++i) {
+        dst[dstOfs++] = (byte) (str.charAt(i) & 255);
+      }
+      return end - start;
+    }
+
+    @Override
+    public int completeLength(byte[] bytes, int ofs, int len) {
+      return len;
+    }
+
+    @Override
+    public String decode(byte[] bytes, int ofs, int len) {
+      int[] units = any(new Uint16Array(Math.min(len, CHUNK_SIZE)));
+      String result = "";
+      int n = 0;
+      for (int i = ofs, end = ofs + len; i < end; ++i) {
+        units[n++] = bytes[i] & 255;
+        if (n == CHUNK_SIZE) {
+          result += fromCharCodes(units, n);
+          n = 0;
+        }
+      }
+      return result + fromCharCodes(units, n);
+    }
   }
 
   private static class UtfCharset extends EmulatedCharset {
@@ -147,6 +184,97 @@ public abstract class EmulatedCharset extends Charset {
       return bytes;
     }
 
+    @Override
+    public int maxBytesPerChar() {
+      // 4 bytes for a surrogate pair, 3 bytes otherwise
+      return 3;
+    }
+
+    @Override
+    public int encode(String str, int start, int end, byte[] dst, int dstOfs) {
+      int out = dstOfs;
+      for (int i = start; i < end;) {
+        int ch = str.charAt(i++);
+        if (ch < 0x80) {
+          dst[out++] = (byte) ch;
+          continue;
+        }
+        if (ch >= 0xD800 && ch < 0xDC00 && i < end) {
+          int low = str.charAt(i);
+          if (low >= 0xDC00 && low < 0xE000) {
+            ch = ((ch - 0xD800) << 10) + (low - 0xDC00) + 0x10000;
+            i++;
+          }
+        }
+        out += encodeUtf8(dst, out, ch);
+      }
+      return out - dstOfs;
+    }
+
+    @Override
+    public int completeLength(byte[] bytes, int ofs, int len) {
+      // looks for the lead byte of the last sequence in the last 4 bytes
+      for (int i = len - 1; i >= 0 && i >= len - 4; --i) {
+        int ch = bytes[ofs + i] & 0xFF;
+        if ((ch & 0xC0) != 0x80) {
+          int count = ch < 0x80 ? 1 : (ch & 0xE0) == 0xC0 ? 2 : (ch & 0xF0) == 0xE0 ? 3 : 4;
+          return i + count > len ? i : len;
+        }
+      }
+      return len;
+    }
+
+    @Override
+    public String decode(byte[] bytes, int ofs, int len) {
+      // one more unit for the surrogate pairs
+      int[] units = any(new Uint16Array(Math.min(len, CHUNK_SIZE) + 1));
+      String result = "";
+      int n = 0;
+      for (int i = ofs, end = ofs + len; i < end;) {
+        int ch = bytes[i++] & 0xFF;
+        int count;
+        if (ch < 0x80) {
+          units[n++] = ch;
+          count = 0;
+        } else if ((ch & 0xE0) == 0xC0) {
+          ch &= 31;
+          count = 1;
+        } else if ((ch & 0xF0) == 0xE0) {
+          ch &= 15;
+          count = 2;
+        } else if ((ch & 0xF8) == 0xF0) {
+          ch &= 7;
+          count = 3;
+        } else {
+          throw new IllegalArgumentException("Invalid UTF8 sequence at " + (i - 1));
+        }
+        if (count > 0) {
+          if (i + count > end) {
+            throw new IllegalArgumentException("Incomplete UTF8 sequence at " + (i - 1));
+          }
+          while (count-- > 0) {
+            int b = bytes[i++];
+            if ((b & 0xC0) != 0x80) {
+              throw new IllegalArgumentException("Invalid UTF8 sequence at " + (i - 1));
+            }
+            ch = (ch << 6) | (b & 63);
+          }
+          if (ch >= 0x10000) {
+            ch -= 0x10000;
+            units[n++] = 0xD800 + (ch >> 10);
+            units[n++] = 0xDC00 + (ch & 0x3FF);
+          } else {
+            units[n++] = ch;
+          }
+        }
+        if (n >= CHUNK_SIZE) {
+          result += fromCharCodes(units, n);
+          n = 0;
+        }
+      }
+      return result + fromCharCodes(units, n);
+    }
+
     /**
      * Encode a single character in UTF8.
      *
@@ -191,6 +319,17 @@ public abstract class EmulatedCharset extends Charset {
     }
   }
 
+  /**
+   * The number of UTF-16 code units converted with a single
+   * <code>String.fromCharCode</code> call when decoding (under the limits of
+   * the number of function arguments of the browsers).
+   */
+  private static final int CHUNK_SIZE = 4096;
+
+  private static String fromCharCodes(int[] units, int n) {
+    return def.js.String.fromCharCode((double[]) any(((Uint16Array) any(units)).subarray(0, n)));
+  }
+
   public EmulatedCharset(String name) {
     super(name, null);
   }
@@ -198,4 +337,34 @@ public abstract class EmulatedCharset extends Charset {
   public abstract byte[] getBytes(String string);
 
   public abstract char[] decodeString(byte[] bytes, int ofs, int len);
+
+  /**
+   * The maximum number of bytes written by {@link #encode} for one char.
+   */
+  public abstract int maxBytesPerChar();
+
+  /**
+   * Encodes the chars of the given string from <code>start</code> to
+   * <code>end</code> (exclusive) in the given array, which must have room for
+   * {@link #maxBytesPerChar()} bytes per char. Used by the streams to encode
+   * a string by chunks in a reused buffer, so a chunk must not end between
+   * the chars of a surrogate pair.
+   *
+   * @return the number of bytes written
+   */
+  public abstract int encode(String str, int start, int end, byte[] dst, int dstOfs);
+
+  /**
+   * Returns the number of bytes of the given range that form complete
+   * characters, the remaining bytes being the beginning of a character that
+   * is not complete yet. Used by the streams to decode the bytes by chunks.
+   */
+  public abstract int completeLength(byte[] bytes, int ofs, int len);
+
+  /**
+   * Decodes the given bytes to a string, without an intermediate char array.
+   *
+   * @throws IllegalArgumentException if the bytes are not a valid encoding
+   */
+  public abstract String decode(byte[] bytes, int ofs, int len);
 }
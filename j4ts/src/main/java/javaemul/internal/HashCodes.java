@@ -15,16 +15,36 @@
  */
 package javaemul.internal;
 
+import static javaemul.internal.globals.Globals.WeakMap;
 import static jsweet.util.Globals.$get;
+import static jsweet.util.Globals.$new;
 import static jsweet.util.Globals.$set;
+import static jsweet.util.Globals.typeof;
 
 /**
  * Contains logics for calculating hash codes in JavaScript.
+ * <p>
+ * Identity hash codes of objects are kept in a <code>WeakMap</code> when
+ * available, so that hashing an object does not add a property to it (which
+ * would change its hidden class after construction and make the accesses to
+ * its fields polymorphic). Otherwise, or for values that cannot be
+ * <code>WeakMap</code> keys, they are stored in a <code>$H</code> property.
  */
 public class HashCodes {
 
+	/**
+	 * The JavaScript <code>WeakMap</code> API used by this class.
+	 */
+	private interface IdentityHashes {
+		Integer get(Object key);
+
+		void set(Object key, Integer value);
+	}
+
 	private static int sNextHashId = 0;
 	private static final String HASH_CODE_PROPERTY = "$H";
+	private static final IdentityHashes identityHashes = "function".equals(typeof(WeakMap)) ? $new(WeakMap)
+			: null;
 
 	public static int hashCodeForString(String s) {
 		return StringHashCache.getHashCode(s);
@@ -38,6 +58,14 @@ public class HashCodes {
 	}
 
 	public static int getObjectIdentityHashCode(Object o) {
+		if (identityHashes != null && isWeakMapKey(o)) {
+			Integer hashCode = identityHashes.get(o);
+			if (hashCode == null) {
+				hashCode = getNextHashId();
+				identityHashes.set(o, hashCode);
+			}
+			return hashCode;
+		}
 		if ($get(o, HASH_CODE_PROPERTY) != null) {
 			return $get(o, HASH_CODE_PROPERTY);
 		} else {
@@ -45,6 +73,11 @@ public class HashCodes {
 		}
 	};
 
+	private static boolean isWeakMapKey(Object o) {
+		String type = typeof(o);
+		return "object".equals(type) || "function".equals(type);
+	}
+
 	/**
 	 * Called from JSNI. Do not change this implementation without updating:
 	 * <ul>
@@ -19,6 +19,11 @@ import java.util.NoSuchElementException;
 
 /**
  * A utility class that provides utility functions to do precondition checks inside GWT-SDK.
+ * <p>
+ * Each category of checks ({@code jre.checks.api}, {@code jre.checks.bounds} and
+ * {@code jre.checks.type}) is {@code ENABLED}, {@code DISABLED}, or {@code NULL} to only keep the
+ * null checks. The transpiler's {@code jreChecks} option sets these properties and also removes
+ * the disabled checks from the generated code.
  */
 // Some parts adapted from Guava
 public final class InternalPreconditions {
@@ -28,6 +33,8 @@ public final class InternalPreconditions {
       System.getProperty("jre.checks.type", "ENABLED").equals("ENABLED");
   private static final boolean API_CHECK =
       System.getProperty("jre.checks.api", "ENABLED").equals("ENABLED");
+  private static final boolean NULL_CHECK =
+      API_CHECK || System.getProperty("jre.checks.api", "ENABLED").equals("NULL");
   private static final boolean BOUND_CHECK =
       System.getProperty("jre.checks.bounds", "ENABLED").equals("ENABLED");
 
@@ -290,7 +297,7 @@ public final class InternalPreconditions {
    * Ensures that an object reference passed as a parameter to the calling method is not null.
    */
   public static <T> T checkNotNull(T reference) {
-    if (API_CHECK) {
+    if (NULL_CHECK) {
       checkCriticalNotNull(reference);
     } else if (CHECKED_MODE) {
       try {
@@ -314,7 +321,7 @@ public final class InternalPreconditions {
    * Ensures that an object reference passed as a parameter to the calling method is not null.
    */
   public static void checkNotNull(Object reference, Object errorMessage) {
-    if (API_CHECK) {
+    if (NULL_CHECK) {
       checkCriticalNotNull(reference, errorMessage);
     } else if (CHECKED_MODE) {
       try {
@@ -0,0 +1,605 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package javaemul.internal;
+
+/**
+ * An exact 64-bit two's complement integer, stored as a pair of 32-bit ints.
+ *
+ * <p>
+ * By default, <code>long</code> values are transpiled to JavaScript numbers,
+ * which are only exact up to 2^53. When the transpiler runs in exact long mode
+ * (<code>useExactLongs</code> option), the <code>long</code> (and
+ * <code>java.lang.Long</code>) values are instances of this class, and the
+ * arithmetic, bitwise, shift and comparison operators, as well as the
+ * conversions from and to the other numeric types, are transpiled to
+ * invocations of its static methods.
+ *
+ * <p>
+ * Instances are immutable. The operations work on the 32-bit words (or on
+ * 16-bit chunks for the multiplication) so that no intermediate value goes
+ * beyond the exact range of a JavaScript number, and the values between -128
+ * and 127 are shared, so that the common small results do not allocate.
+ * Comparisons and conversions to numbers never allocate.
+ *
+ * <p>
+ * The instance methods implement the <code>java.lang.Long</code> API, so that
+ * boxed longs can be used in collections and converted to strings. The static
+ * methods and constants of <code>java.lang.Long</code> are also transpiled to
+ * their counterparts in this class, so that they work on exact longs even when
+ * the j4ts runtime itself was not built in exact long mode.
+ */
+public final class LongEmul implements Comparable<LongEmul> {
+
+	private static final double TWO_PWR_16 = 65536.0;
+
+	private static final double TWO_PWR_32 = 4294967296.0;
+
+	private static final double TWO_PWR_63 = 9223372036854775808.0;
+
+	private static final double LN2 = 0.6931471805599453;
+
+	/**
+	 * XOR-ing two ints with this mask before comparing them gives their
+	 * unsigned order.
+	 */
+	private static final int SIGN_BIT = 0x80000000;
+
+	private static final LongEmul[] SMALL_VALUES = new LongEmul[256];
+
+	public static final LongEmul ZERO = fromInt(0);
+
+	public static final LongEmul ONE = fromInt(1);
+
+	public static final LongEmul MINUS_ONE = fromInt(-1);
+
+	public static final LongEmul MIN_VALUE = fromBits(0x80000000, 0);
+
+	public static final LongEmul MAX_VALUE = fromBits(0x7fffffff, 0xffffffff);
+
+	private final int hi;
+
+	private final int lo;
+
+	private LongEmul(int hi, int lo) {
+		this.hi = hi;
+		this.lo = lo;
+	}
+
+	private static LongEmul create(int hi, int lo) {
+		if ((hi == 0 && lo >= 0 && lo < 128) || (hi == -1 && lo < 0 && lo >= -128)) {
+			return fromInt(lo);
+		}
+		return new LongEmul(hi, lo);
+	}
+
+	/**
+	 * Returns the long value of the given int.
+	 */
+	public static LongEmul fromInt(int value) {
+		// coerces to int32 in JavaScript, where int overflows are not wrapped
+		value = value | 0;
+		if (value >= -128 && value < 128) {
+			LongEmul cached = SMALL_VALUES[value + 128];
+			if (cached == null) {
+				cached = new LongEmul(value < 0 ? -1 : 0, value);
+				SMALL_VALUES[value + 128] = cached;
+			}
+			return cached;
+		}
+		return new LongEmul(value < 0 ? -1 : 0, value);
+	}
+
+	/**
+	 * Returns the long value of the given number, with the semantics of the
+	 * Java narrowing conversion (truncation towards zero, NaN gives 0 and out
+	 * of range values give the min or max long value).
+	 */
+	public static LongEmul fromNumber(double value) {
+		if (value != value) {
+			return ZERO;
+		}
+		if (value <= -TWO_PWR_63) {
+			return MIN_VALUE;
+		}
+		if (value + 1 >= TWO_PWR_63) {
+			return MAX_VALUE;
+		}
+		if (value < 0) {
+			return neg(fromNumber(-value));
+		}
+		if (value < 128) {
+			return fromInt((int) value);
+		}
+		double low = value % TWO_PWR_32;
+		// 16-bit halves, so that the int conversions are not saturated in Java
+		// nor wrapped in JavaScript
+		return create((int) (value / TWO_PWR_32), ((int) (low / TWO_PWR_16) << 16) | (int) (low % TWO_PWR_16));
+	}
+
+	/**
+	 * Returns the long value made of the given high and low 32-bit words.
+	 */
+	public static LongEmul fromBits(int high, int low) {
+		return create(high | 0, low | 0);
+	}
+
+	/**
+	 * Narrows the given long to an int (its low 32-bit word).
+	 */
+	public static int toInt(LongEmul a) {
+		return a.lo;
+	}
+
+	/**
+	 * Converts the given long to the closest number.
+	 */
+	public static double toNumber(LongEmul a) {
+		return a.hi * TWO_PWR_32 + (a.lo >= 0 ? a.lo : a.lo + TWO_PWR_32);
+	}
+
+	private static boolean isSmall(LongEmul a) {
+		return a.hi == (a.lo >> 31);
+	}
+
+	private static boolean isSafe(LongEmul a) {
+		return a.hi > -0x200000 && a.hi < 0x200000;
+	}
+
+	public static boolean isZero(LongEmul a) {
+		return a.hi == 0 && a.lo == 0;
+	}
+
+	public static boolean isNegative(LongEmul a) {
+		return a.hi < 0;
+	}
+
+	public static boolean eq(LongEmul a, LongEmul b) {
+		return a.hi == b.hi && a.lo == b.lo;
+	}
+
+	/**
+	 * Compares two longs, with the same result as {@link Long#compare}.
+	 */
+	public static int compare(LongEmul a, LongEmul b) {
+		if (a.hi != b.hi) {
+			return a.hi < b.hi ? -1 : 1;
+		}
+		if (a.lo == b.lo) {
+			return 0;
+		}
+		return (a.lo ^ SIGN_BIT) < (b.lo ^ SIGN_BIT) ? -1 : 1;
+	}
+
+	public static LongEmul add(LongEmul a, LongEmul b) {
+		int lo = (a.lo + b.lo) | 0;
+		int carry = (lo ^ SIGN_BIT) < (a.lo ^ SIGN_BIT) ? 1 : 0;
+		return create((a.hi + b.hi + carry) | 0, lo);
+	}
+
+	public static LongEmul sub(LongEmul a, LongEmul b) {
+		int lo = (a.lo - b.lo) | 0;
+		int borrow = (a.lo ^ SIGN_BIT) < (b.lo ^ SIGN_BIT) ? 1 : 0;
+		return create((a.hi - b.hi - borrow) | 0, lo);
+	}
+
+	public static LongEmul neg(LongEmul a) {
+		int lo = (-a.lo) | 0;
+		return create((~a.hi + (lo == 0 ? 1 : 0)) | 0, lo);
+	}
+
+	public static LongEmul mul(LongEmul a, LongEmul b) {
+		if (isZero(a) || isZero(b)) {
+			return ZERO;
+		}
+		if (isSmall(a) && isSmall(b) && a.lo < 0x200000 && a.lo > -0x200000 && b.lo < 0x200000
+				&& b.lo > -0x200000) {
+			// exact product of two 22-bit values
+			return fromNumber((double) a.lo * b.lo);
+		}
+
+		int a48 = a.hi >>> 16;
+		int a32 = a.hi & 0xFFFF;
+		int a16 = a.lo >>> 16;
+		int a00 = a.lo & 0xFFFF;
+
+		int b48 = b.hi >>> 16;
+		int b32 = b.hi & 0xFFFF;
+		int b16 = b.lo >>> 16;
+		int b00 = b.lo & 0xFFFF;
+
+		// the partial sums only go through shifts and masks, which makes them
+		// wrap the same way in Java and in JavaScript
+		int c48 = 0, c32 = 0, c16 = 0, c00 = 0;
+		c00 += a00 * b00;
+		c16 += c00 >>> 16;
+		c00 &= 0xFFFF;
+		c16 += a16 * b00;
+		c32 += c16 >>> 16;
+		c16 &= 0xFFFF;
+		c16 += a00 * b16;
+		c32 += c16 >>> 16;
+		c16 &= 0xFFFF;
+		c32 += a32 * b00;
+		c48 += c32 >>> 16;
+		c32 &= 0xFFFF;
+		c32 += a16 * b16;
+		c48 += c32 >>> 16;
+		c32 &= 0xFFFF;
+		c32 += a00 * b32;
+		c48 += c32 >>> 16;
+		c32 &= 0xFFFF;
+		c48 += (a48 * b00 & 0xFFFF) + (a32 * b16 & 0xFFFF) + (a16 * b32 & 0xFFFF) + (a00 * b48 & 0xFFFF);
+		c48 &= 0xFFFF;
+		return create((c48 << 16) | c32, (c16 << 16) | c00);
+	}
+
+	/**
+	 * Divides two longs, rounding towards zero.
+	 *
+	 * @throws ArithmeticException
+	 *             if the divisor is zero
+	 */
+	public static LongEmul div(LongEmul a, LongEmul b) {
+		if (isZero(b)) {
+			throw new ArithmeticException("/ by zero");
+		}
+		if (isSafe(a) && isSafe(b)) {
+			// both values are exact numbers, and so is the truncated quotient
+			return fromNumber(toNumber(a) / toNumber(b));
+		}
+		if (eq(a, MIN_VALUE)) {
+			if (eq(b, ONE) || eq(b, MINUS_ONE)) {
+				// MIN_VALUE / -1 overflows back to MIN_VALUE
+				return MIN_VALUE;
+			}
+			if (eq(b, MIN_VALUE)) {
+				return ONE;
+			}
+			// a = 2 * (a / 2), with an exact half
+			LongEmul approx = shl(div(shr(a, 1), b), 1);
+			if (isZero(approx)) {
+				return isNegative(b) ? ONE : MINUS_ONE;
+			}
+			return add(approx, div(sub(a, mul(b, approx)), b));
+		}
+		if (eq(b, MIN_VALUE)) {
+			return ZERO;
+		}
+		if (isNegative(a)) {
+			return isNegative(b) ? div(neg(a), neg(b)) : neg(div(neg(a), b));
+		}
+		if (isNegative(b)) {
+			return neg(div(a, neg(b)));
+		}
+		// both positive: approximates the quotient with numbers, and then
+		// corrects the approximation until the remainder is smaller than b
+		LongEmul result = ZERO;
+		LongEmul remainder = a;
+		double divisor = toNumber(b);
+		while (compare(remainder, b) >= 0) {
+			double approx = Math.max(1, Math.floor(toNumber(remainder) / divisor));
+			double log2 = Math.ceil(Math.log(approx) / LN2);
+			double delta = log2 <= 48 ? 1 : Math.pow(2, log2 - 48);
+			LongEmul approxResult = fromNumber(approx);
+			LongEmul approxRemainder = mul(approxResult, b);
+			while (isNegative(approxRemainder) || compare(approxRemainder, remainder) > 0) {
+				approx -= delta;
+				approxResult = fromNumber(approx);
+				approxRemainder = mul(approxResult, b);
+			}
+			if (isZero(approxResult)) {
+				approxResult = ONE;
+			}
+			result = add(result, approxResult);
+			remainder = sub(remainder, approxRemainder);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the remainder of the division of two longs, which has the sign
+	 * of the dividend.
+	 *
+	 * @throws ArithmeticException
+	 *             if the divisor is zero
+	 */
+	public static LongEmul rem(LongEmul a, LongEmul b) {
+		if (isSafe(a) && isSafe(b)) {
+			if (isZero(b)) {
+				throw new ArithmeticException("/ by zero");
+			}
+			return fromNumber(toNumber(a) % toNumber(b));
+		}
+		return sub(a, mul(div(a, b), b));
+	}
+
+	public static LongEmul and(LongEmul a, LongEmul b) {
+		return create(a.hi & b.hi, a.lo & b.lo);
+	}
+
+	public static LongEmul or(LongEmul a, LongEmul b) {
+		return create(a.hi | b.hi, a.lo | b.lo);
+	}
+
+	public static LongEmul xor(LongEmul a, LongEmul b) {
+		return create(a.hi ^ b.hi, a.lo ^ b.lo);
+	}
+
+	public static LongEmul not(LongEmul a) {
+		return create(~a.hi, ~a.lo);
+	}
+
+	/**
+	 * Shifts the given long to the left (<code>&lt;&lt;</code>), by the 6
+	 * lowest bits of the given distance.
+	 */
+	public static LongEmul shl(LongEmul a, int distance) {
+		distance &= 63;
+		if (distance == 0) {
+			return a;
+		}
+		if (distance < 32) {
+			return create((a.hi << distance) | (a.lo >>> (32 - distance)), a.lo << distance);
+		}
+		return create(a.lo << (distance - 32), 0);
+	}
+
+	/**
+	 * Shifts the given long to the right, with sign extension
+	 * (<code>&gt;&gt;</code>), by the 6 lowest bits of the given distance.
+	 */
+	public static LongEmul shr(LongEmul a, int distance) {
+		distance &= 63;
+		if (distance == 0) {
+			return a;
+		}
+		if (distance < 32) {
+			return create(a.hi >> distance, (a.lo >>> distance) | (a.hi << (32 - distance)));
+		}
+		return create(a.hi >= 0 ? 0 : -1, a.hi >> (distance - 32));
+	}
+
+	/**
+	 * Shifts the given long to the right, with zero extension
+	 * (<code>&gt;&gt;&gt;</code>), by the 6 lowest bits of the given
+	 * distance.
+	 */
+	public static LongEmul shru(LongEmul a, int distance) {
+		distance &= 63;
+		if (distance == 0) {
+			return a;
+		}
+		if (distance < 32) {
+			return create(a.hi >>> distance, (a.lo >>> distance) | (a.hi << (32 - distance)));
+		}
+		if (distance == 32) {
+			return create(0, a.hi);
+		}
+		return create(0, a.hi >>> (distance - 32));
+	}
+
+	public static LongEmul abs(LongEmul a) {
+		return isNegative(a) ? neg(a) : a;
+	}
+
+	public static LongEmul max(LongEmul a, LongEmul b) {
+		return compare(a, b) >= 0 ? a : b;
+	}
+
+	public static LongEmul min(LongEmul a, LongEmul b) {
+		return compare(a, b) <= 0 ? a : b;
+	}
+
+	/**
+	 * Returns the same hash code as {@link Long#hashCode(long)}.
+	 */
+	public static int hashCode(LongEmul a) {
+		return a.hi ^ a.lo;
+	}
+
+	/**
+	 * Returns the string representation of the given long in the given radix
+	 * (10 if the radix is out of the 2 to 36 range).
+	 */
+	public static String toString(LongEmul a, int radix) {
+		if (radix < 2 || radix > 36) {
+			radix = 10;
+		}
+		if (isSafe(a)) {
+			return numberToString(toNumber(a), radix);
+		}
+		if (isNegative(a)) {
+			if (eq(a, MIN_VALUE)) {
+				// cannot be negated: prints the first digits and the last one
+				LongEmul radixLong = fromInt(radix);
+				LongEmul quotient = div(a, radixLong);
+				return toString(quotient, radix) + numberToString(toInt(sub(mul(quotient, radixLong), a)), radix);
+			}
+			return "-" + toString(neg(a), radix);
+		}
+		// prints chunks of 6 digits, which fit in 32 bits for all radixes
+		LongEmul radixToPower = fromNumber(Math.pow(radix, 6));
+		LongEmul remainder = a;
+		String result = "";
+		while (true) {
+			LongEmul quotient = div(remainder, radixToPower);
+			String digits = numberToString(toNumber(sub(remainder, mul(quotient, radixToPower))), radix);
+			remainder = quotient;
+			if (isZero(remainder)) {
+				return digits + result;
+			}
+			while (digits.length() < 6) {
+				digits = "0" + digits;
+			}
+			result = digits + result;
+		}
+	}
+
+	private static String numberToString(double value, int radix) {
+		return ((def.js.Number) (Object) value).toString(radix);
+	}
+
+	// java.lang.Long static API
+
+	public static int signum(LongEmul a) {
+		return a.hi < 0 ? -1 : (a.hi | a.lo) != 0 ? 1 : 0;
+	}
+
+	public static int bitCount(LongEmul a) {
+		return IntegerHelper.bitCount(a.hi) + IntegerHelper.bitCount(a.lo);
+	}
+
+	public static int numberOfLeadingZeros(LongEmul a) {
+		return a.hi != 0 ? IntegerHelper.numberOfLeadingZeros(a.hi) : 32 + IntegerHelper.numberOfLeadingZeros(a.lo);
+	}
+
+	public static int numberOfTrailingZeros(LongEmul a) {
+		return a.lo != 0 ? IntegerHelper.numberOfTrailingZeros(a.lo) : 32 + IntegerHelper.numberOfTrailingZeros(a.hi);
+	}
+
+	public static LongEmul highestOneBit(LongEmul a) {
+		return a.hi != 0 ? create(IntegerHelper.highestOneBit(a.hi), 0) : create(0, IntegerHelper.highestOneBit(a.lo));
+	}
+
+	public static LongEmul lowestOneBit(LongEmul a) {
+		return and(a, neg(a));
+	}
+
+	public static LongEmul rotateLeft(LongEmul a, int distance) {
+		return or(shl(a, distance), shru(a, -distance));
+	}
+
+	public static LongEmul rotateRight(LongEmul a, int distance) {
+		return or(shru(a, distance), shl(a, -distance));
+	}
+
+	public static LongEmul reverse(LongEmul a) {
+		return create(IntegerHelper.reverse(a.lo), IntegerHelper.reverse(a.hi));
+	}
+
+	public static LongEmul reverseBytes(LongEmul a) {
+		return create(IntegerHelper.reverseBytes(a.lo), IntegerHelper.reverseBytes(a.hi));
+	}
+
+	public static String toBinaryString(LongEmul a) {
+		return toPowerOfTwoUnsignedString(a, 1);
+	}
+
+	public static String toOctalString(LongEmul a) {
+		return toPowerOfTwoUnsignedString(a, 3);
+	}
+
+	public static String toHexString(LongEmul a) {
+		return toPowerOfTwoUnsignedString(a, 4);
+	}
+
+	private static String toPowerOfTwoUnsignedString(LongEmul a, int shift) {
+		int radix = 1 << shift;
+		String result = "";
+		do {
+			result = numberToString(a.lo & (radix - 1), radix) + result;
+			a = shru(a, shift);
+		} while (!isZero(a));
+		return result;
+	}
+
+	/**
+	 * Parses the given string as a signed long in the given radix, like
+	 * {@link Long#parseLong(String, int)}.
+	 *
+	 * @throws NumberFormatException
+	 *             if the string is not a long in the given radix
+	 */
+	public static LongEmul parseLong(String s, int radix) {
+		if (s == null) {
+			throw NumberFormatException.forNullInputString();
+		}
+		if (radix < CharacterHelper.MIN_RADIX || radix > CharacterHelper.MAX_RADIX) {
+			throw NumberFormatException.forRadix(radix);
+		}
+		int length = s.length();
+		boolean negative = length > 0 && s.charAt(0) == '-';
+		int start = negative || (length > 0 && s.charAt(0) == '+') ? 1 : 0;
+		if (start == length) {
+			throw NumberFormatException.forInputString(s);
+		}
+		// accumulates the negated value, since -MIN_VALUE overflows
+		LongEmul limit = negative ? MIN_VALUE : neg(MAX_VALUE);
+		LongEmul radixLong = fromInt(radix);
+		LongEmul multiplicationLimit = div(limit, radixLong);
+		LongEmul result = ZERO;
+		for (int i = start; i < length; i++) {
+			int digit = CharacterHelper.digit(s.charAt(i), radix);
+			if (digit < 0 || compare(result, multiplicationLimit) < 0) {
+				throw NumberFormatException.forInputString(s);
+			}
+			result = mul(result, radixLong);
+			if (compare(result, add(limit, fromInt(digit))) < 0) {
+				throw NumberFormatException.forInputString(s);
+			}
+			result = sub(result, fromInt(digit));
+		}
+		return negative ? result : neg(result);
+	}
+
+	/**
+	 * Decodes the given string as a long, like {@link Long#decode(String)}.
+	 *
+	 * @throws NumberFormatException
+	 *             if the string is not a long
+	 */
+	public static LongEmul decode(String s) {
+		NumberHelper.__Decode decode = NumberHelper.__decodeNumberString(s);
+		return parseLong(decode.payload, decode.radix);
+	}
+
+	// java.lang.Long API (boxed values)
+
+	public int intValue() {
+		return lo;
+	}
+
+	public LongEmul longValue() {
+		return this;
+	}
+
+	public double doubleValue() {
+		return toNumber(this);
+	}
+
+	public float floatValue() {
+		return (float) toNumber(this);
+	}
+
+	public short shortValue() {
+		return (short) ((lo << 16) >> 16);
+	}
+
+	public byte byteValue() {
+		return (byte) ((lo << 24) >> 24);
+	}
+
+	@Override
+	public int compareTo(LongEmul other) {
+		return compare(this, other);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof LongEmul && eq(this, (LongEmul) other);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode(this);
+	}
+
+	@Override
+	public String toString() {
+		return toString(this, 10);
+	}
+
+}
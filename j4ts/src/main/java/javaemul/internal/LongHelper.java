@@ -15,6 +15,8 @@
  */
 package javaemul.internal;
 
+import static jsweet.util.Globals.typeof;
+
 import jsweet.lang.Erased;
 
 /**
@@ -62,7 +64,13 @@ public final class LongHelper extends NumberHelper implements Comparable<LongHel
 	 * @skip Here for shared implementation with Arrays.hashCode
 	 */
 	public static int hashCode(long l) {
-		return (int) l;
+		if ("number".equals(typeof(l))) {
+			// longs are plain numbers (default mode), for which the shifts
+			// only apply to the low 32 bits: the high word is obtained by
+			// division
+			return (int) l ^ (int) Math.floor(l / 4294967296.0);
+		}
+		return (int) (l ^ (l >>> 32));
 	}
 
 	public static long highestOneBit(long i) {
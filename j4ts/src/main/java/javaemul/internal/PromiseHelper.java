@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package javaemul.internal;
+
+import static javaemul.internal.globals.Globals.Promise;
+import static jsweet.util.Globals.$new;
+import static jsweet.util.Globals.any;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Converts between the {@link CompletableFuture}s and the JavaScript promises,
+ * for instance to wait for a fetch response with a future, or to return a
+ * future to JavaScript code expecting a promise.
+ */
+public final class PromiseHelper {
+
+	/**
+	 * The JavaScript promise API used by this class.
+	 */
+	private interface Thenable {
+		Thenable then(Consumer<Object> onFulfilled, Consumer<Object> onRejected);
+	}
+
+	/**
+	 * Returns a promise resolved with the result of the given future, or
+	 * rejected with its exception.
+	 */
+	public static <T> Object toPromise(CompletableFuture<T> future) {
+		BiConsumer<Consumer<Object>, Consumer<Object>> executor = (resolve, reject) -> {
+			future.whenComplete((result, exception) -> {
+				if (exception != null) {
+					reject.accept(exception);
+				} else {
+					resolve.accept(result);
+				}
+			});
+		};
+		return $new(Promise, executor);
+	}
+
+	/**
+	 * Returns a future completed with the value of the given promise (or
+	 * thenable), or completed exceptionally with its rejection reason. A reason
+	 * that is not a {@link Throwable} is wrapped in a
+	 * {@link RuntimeException}.
+	 */
+	public static <T> CompletableFuture<T> toCompletableFuture(Object promise) {
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		((Thenable) any(promise)).then(value -> future.complete(any(value)),
+				reason -> future.completeExceptionally(toThrowable(reason)));
+		return future;
+	}
+
+	static Throwable toThrowable(Object reason) {
+		return reason instanceof Throwable ? (Throwable) reason : new RuntimeException(String.valueOf(reason));
+	}
+
+	private PromiseHelper() {
+	}
+
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+package javaemul.internal;
+
+import static def.dom.Globals.navigator;
+import static javaemul.internal.globals.Globals.Worker;
+import static javaemul.internal.globals.Globals.require;
+import static javaemul.internal.globals.Globals.self;
+import static jsweet.util.Globals.$apply;
+import static jsweet.util.Globals.$get;
+import static jsweet.util.Globals.$map;
+import static jsweet.util.Globals.$new;
+import static jsweet.util.Globals.$set;
+import static jsweet.util.Globals.any;
+import static jsweet.util.Globals.typeof;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import def.js.Array;
+import def.js.ArrayBuffer;
+
+/**
+ * An executor service running the tasks on a pool of Web Workers (in a
+ * browser) or of <code>worker_threads</code> (in Node.js), to use the other
+ * cores of the machine.
+ *
+ * <p>
+ * Since functions cannot be sent to a worker, the tasks are created with
+ * {@link #task(String, Object...)}, which names a function registered in the
+ * worker script with {@link #register(String, Function)} and holds its
+ * arguments. Other tasks are rejected. The arguments and the results are sent
+ * with the structured clone algorithm, so they must be plain data (numbers,
+ * strings, arrays, plain objects, typed arrays...). The array buffers found in
+ * the arguments and in the results (directly, as the buffers of typed arrays,
+ * or in an array) are transferred rather than copied, and can no longer be
+ * used by the sender. A registered function may return a
+ * {@link CompletableFuture}, whose result is sent when it completes.
+ *
+ * <p>
+ * For instance, the worker script loads the application and serves its
+ * functions:
+ *
+ * <pre>
+ * WorkerExecutorService.register("tile", args -&gt; renderTile((byte[]) args[0], (int) args[1]));
+ * WorkerExecutorService.serve();
+ * </pre>
+ *
+ * and the application submits tasks to the workers:
+ *
+ * <pre>
+ * ExecutorService pool = new WorkerExecutorService("worker.js");
+ * Future&lt;byte[]&gt; tile = pool.submit(WorkerExecutorService.task("tile", pixels, 3));
+ * </pre>
+ *
+ * <p>
+ * When the workers are not available, the tasks run on the event loop of the
+ * current thread, with the functions registered in it.
+ */
+public class WorkerExecutorService extends AbstractExecutorService {
+
+	private static final String TASK_PROPERTY = "$workerTask";
+
+	private static final Map<String, Function<Object[], Object>> functions = new HashMap<String, Function<Object[], Object>>();
+
+	/**
+	 * Registers a function that can be run by the workers. It is called with
+	 * the arguments of the task.
+	 */
+	public static void register(String name, Function<Object[], Object> function) {
+		functions.put(name, function);
+	}
+
+	/**
+	 * Creates a task running the registered function of the given name with
+	 * the given arguments. The task can also be called on the current thread.
+	 */
+	public static <T> Callable<T> task(String name, Object... args) {
+		Callable<T> task = () -> call(name, args);
+		$set(task, TASK_PROPERTY, $map("name", name, "args", args));
+		return task;
+	}
+
+	private static <T> T call(String name, Object[] args) {
+		Function<Object[], Object> function = functions.get(name);
+		if (function == null) {
+			throw new IllegalArgumentException("No registered worker function: " + name);
+		}
+		return any(function.apply(args));
+	}
+
+	/**
+	 * Handles the tasks sent to the current worker. To be called by the worker
+	 * script, once the functions are registered.
+	 */
+	public static void serve() {
+		if (!"undefined".equals(typeof(self)) && "function".equals(typeof($get(self, "postMessage")))) {
+			// a Web Worker
+			MessagePort port = any(self);
+			Consumer<Object> listener = event -> handle(port, $get(event, "data"));
+			$set(self, "onmessage", listener);
+		} else {
+			MessagePort port = $get($apply(require, "worker_threads"), "parentPort");
+			port.on("message", message -> handle(port, message));
+		}
+	}
+
+	private static void handle(MessagePort port, Object message) {
+		String name = $get(message, "name");
+		Object[] args = $get(message, "args");
+		Object result;
+		try {
+			result = call(name, args);
+		} catch (Throwable e) {
+			port.postMessage($map("error", String.valueOf(e.getMessage())), new Object[0]);
+			return;
+		}
+		if (result instanceof CompletableFuture) {
+			((CompletableFuture<?>) result).whenComplete((value, exception) -> {
+				if (exception != null) {
+					port.postMessage($map("error", String.valueOf(exception.getMessage())), new Object[0]);
+				} else {
+					port.postMessage($map("result", value), transferables(value));
+				}
+			});
+		} else {
+			port.postMessage($map("result", result), transferables(result));
+		}
+	}
+
+	/**
+	 * Returns the array buffers to be transferred with the given value.
+	 */
+	static Object[] transferables(Object value) {
+		Array<Object> buffers = new Array<Object>();
+		if (Array.isArray(value)) {
+			Array<Object> array = any(value);
+			for (int i = 0; i < array.length; i++) {
+				addTransferable(buffers, array.$get(i));
+			}
+		} else {
+			addTransferable(buffers, value);
+		}
+		return any(buffers);
+	}
+
+	private static void addTransferable(Array<Object> buffers, Object value) {
+		Object buffer = null;
+		if (value instanceof ArrayBuffer) {
+			buffer = value;
+		} else if (value != null && ArrayBuffer.isView(value)) {
+			buffer = $get(value, "buffer");
+		}
+		// a buffer cannot be transferred twice
+		if (buffer != null && buffers.indexOf(buffer) < 0) {
+			buffers.push(buffer);
+		}
+	}
+
+	/**
+	 * The API common to the workers and to their message ports.
+	 */
+	private interface MessagePort {
+		void postMessage(Object message, Object[] transfer);
+
+		void on(String event, Consumer<Object> listener);
+
+		void terminate();
+	}
+
+	/**
+	 * A task waiting for a worker or running on a worker.
+	 */
+	private static class Job {
+		final Callable<Object> task;
+		final CompletableFuture<Object> future;
+
+		Job(Callable<Object> task, CompletableFuture<Object> future) {
+			this.task = task;
+			this.future = future;
+		}
+	}
+
+	private final String script;
+
+	private final int poolSize;
+
+	/**
+	 * The workers, null for a worker that failed (a new worker is started when
+	 * a job is dispatched to its index).
+	 */
+	private final List<MessagePort> workers = new ArrayList<MessagePort>();
+
+	/**
+	 * The job running on each worker, null if the worker is idle.
+	 */
+	private final List<Job> running = new ArrayList<Job>();
+
+	private final List<Job> queue = new ArrayList<Job>();
+
+	/**
+	 * The executor used when the workers are not available.
+	 */
+	private final ExecutorService fallback;
+
+	private boolean shutdown;
+
+	/**
+	 * Creates a pool of workers running the given script, with a worker per
+	 * core.
+	 */
+	public WorkerExecutorService(String script) {
+		this(script, defaultPoolSize());
+	}
+
+	/**
+	 * Creates a pool of workers running the given script. The workers are
+	 * started when the tasks are submitted.
+	 */
+	public WorkerExecutorService(String script, int poolSize) {
+		if (poolSize <= 0) {
+			throw new IllegalArgumentException("poolSize must be positive");
+		}
+		this.script = script;
+		this.poolSize = poolSize;
+		this.fallback = isSupported() ? null : Executors.newSingleThreadExecutor();
+	}
+
+	private static int defaultPoolSize() {
+		if (!"undefined".equals(typeof(navigator)) && $get(navigator, "hardwareConcurrency") != null) {
+			return $get(navigator, "hardwareConcurrency");
+		}
+		if ("function".equals(typeof(require))) {
+			Array<?> cpus = $apply($get($apply(require, "os"), "cpus"));
+			return Math.max(1, (int) cpus.length);
+		}
+		return 1;
+	}
+
+	/**
+	 * Tells if the workers are available in the current environment.
+	 */
+	public static boolean isSupported() {
+		if ("function".equals(typeof(Worker))) {
+			return true;
+		}
+		if (!"function".equals(typeof(require))) {
+			return false;
+		}
+		try {
+			return $apply(require, "worker_threads") != null;
+		} catch (Throwable e) {
+			return false;
+		}
+	}
+
+	private MessagePort startWorker(int index) {
+		MessagePort worker;
+		if ("function".equals(typeof(Worker))) {
+			worker = $new(Worker, script);
+			Consumer<Object> onMessage = event -> onMessage(index, worker, $get(event, "data"));
+			Consumer<Object> onError = event -> onError(index, worker, $get(event, "message"));
+			$set(worker, "onmessage", onMessage);
+			$set(worker, "onerror", onError);
+		} else {
+			worker = $new($get($apply(require, "worker_threads"), "Worker"), script);
+			worker.on("message", message -> onMessage(index, worker, message));
+			worker.on("error", error -> onError(index, worker, $get(error, "message")));
+		}
+		return worker;
+	}
+
+	/**
+	 * Tells if the given worker is the current worker of the given index (and
+	 * not a failed or terminated one).
+	 */
+	private boolean isCurrent(int index, MessagePort worker) {
+		return index < workers.size() && workers.get(index) == worker;
+	}
+
+	private void onMessage(int index, MessagePort worker, Object message) {
+		if (!isCurrent(index, worker)) {
+			return;
+		}
+		Job job = running.set(index, null);
+		if (job != null) {
+			if ($get(message, "error") != null) {
+				job.future.completeExceptionally(new RuntimeException((String) $get(message, "error")));
+			} else {
+				job.future.complete($get(message, "result"));
+			}
+		}
+		dispatch();
+	}
+
+	/**
+	 * Terminates a failed worker, whose index gets a new worker when the next
+	 * job is dispatched to it.
+	 */
+	private void onError(int index, MessagePort worker, Object message) {
+		if (!isCurrent(index, worker)) {
+			return;
+		}
+		workers.set(index, null);
+		worker.terminate();
+		Job job = running.set(index, null);
+		if (job != null) {
+			job.future.completeExceptionally(new RuntimeException("Worker error: " + message));
+		}
+		dispatch();
+	}
+
+	/**
+	 * Sends the queued jobs to the idle workers, starting new workers if
+	 * needed.
+	 */
+	private void dispatch() {
+		while (!queue.isEmpty()) {
+			int index = running.indexOf(null);
+			if (index < 0) {
+				if (workers.size() == poolSize) {
+					break;
+				}
+				index = workers.size();
+				workers.add(null);
+				running.add(null);
+			}
+			Job job = queue.remove(0);
+			if (job.future.isDone()) {
+				// cancelled
+				continue;
+			}
+			if (workers.get(index) == null) {
+				workers.set(index, startWorker(index));
+			}
+			running.set(index, job);
+			Object message = $get(job.task, TASK_PROPERTY);
+			workers.get(index).postMessage(message, transferables($get(message, "args")));
+		}
+		if (shutdown && isTerminated()) {
+			terminateWorkers();
+		}
+	}
+
+	private void terminateWorkers() {
+		for (MessagePort worker : workers) {
+			if (worker != null) {
+				worker.terminate();
+			}
+		}
+		workers.clear();
+		running.clear();
+	}
+
+	@Override
+	protected <T> CompletableFuture<T> submitTask(Callable<T> task) {
+		if (task == null || $get(task, TASK_PROPERTY) == null) {
+			throw new RejectedExecutionException("Only the tasks created with WorkerExecutorService.task can run on workers");
+		}
+		if (shutdown) {
+			throw new RejectedExecutionException("The executor is shut down");
+		}
+		if (fallback != null) {
+			return any(fallback.submit(task));
+		}
+		CompletableFuture<Object> future = new CompletableFuture<Object>();
+		queue.add(new Job(any(task), future));
+		dispatch();
+		return any(future);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		Callable<Object> task = any(command);
+		submitTask(task);
+	}
+
+	@Override
+	public void shutdown() {
+		shutdown = true;
+		if (fallback != null) {
+			fallback.shutdown();
+		} else if (isTerminated()) {
+			terminateWorkers();
+		}
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		shutdown = true;
+		if (fallback != null) {
+			return fallback.shutdownNow();
+		}
+		List<Runnable> notStarted = new ArrayList<Runnable>();
+		for (Job job : queue) {
+			notStarted.add(any(job.task));
+		}
+		queue.clear();
+		for (Job job : running) {
+			if (job != null) {
+				job.future.completeExceptionally(new CancellationException());
+			}
+		}
+		terminateWorkers();
+		return notStarted;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return shutdown;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		if (fallback != null) {
+			return fallback.isTerminated();
+		}
+		if (!shutdown || !queue.isEmpty()) {
+			return false;
+		}
+		for (Job job : running) {
+			if (job != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) {
+		return isTerminated();
+	}
+
+}
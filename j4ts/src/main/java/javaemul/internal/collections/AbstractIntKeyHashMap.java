@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+
+package javaemul.internal.collections;
+
+import static java.util.ConcurrentModificationDetector.checkStructuralChange;
+import static java.util.ConcurrentModificationDetector.recordLastKnownStructure;
+import static java.util.ConcurrentModificationDetector.structureChanged;
+import static javaemul.internal.InternalPreconditions.checkElement;
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+import static javaemul.internal.InternalPreconditions.checkState;
+import static jsweet.util.Globals.any;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import def.js.Int32Array;
+import def.js.Int8Array;
+
+/**
+ * Base class for the open-addressing hash maps with int keys.
+ *
+ * <p>
+ * Keys are stored in an <code>Int32Array</code> and probed linearly, so that
+ * lookups do not allocate nor box. The value storage is provided by the
+ * subclasses (typed array or plain JavaScript array), and is accessed by slot
+ * index.
+ */
+public abstract class AbstractIntKeyHashMap<V> extends AbstractMap<Integer, V> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private static final byte FREE = 0;
+	private static final byte FULL = 1;
+	private static final byte REMOVED = 2;
+
+	/**
+	 * An <code>Int32Array</code>, only typed as an array for indexed accesses.
+	 */
+	private int[] keys;
+
+	/**
+	 * An <code>Int8Array</code> holding the state of each slot.
+	 */
+	private byte[] states;
+
+	/**
+	 * The value storage, as created by {@link #createValues(int)}.
+	 */
+	protected V[] values;
+
+	private int size;
+
+	private int filled;
+
+	private int mask;
+
+	/**
+	 * The structure counter of <code>ConcurrentModificationDetector</code>.
+	 */
+	transient int modCount;
+
+	protected AbstractIntKeyHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	protected AbstractIntKeyHashMap(int expectedSize) {
+		allocate(capacityFor(expectedSize));
+	}
+
+	/**
+	 * Creates a value storage of the given length.
+	 */
+	protected abstract V[] createValues(int capacity);
+
+	/**
+	 * Tells if this map contains the given int key.
+	 */
+	public boolean containsIntKey(int key) {
+		return slotOf(key) != -1;
+	}
+
+	/**
+	 * Returns the slot holding the given key, or -1.
+	 */
+	protected final int slotOf(int key) {
+		int i = hash(key) & mask;
+		while (states[i] != FREE) {
+			if (states[i] == FULL && keys[i] == key) {
+				return i;
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the slot where the given key is (or must be) stored. A negative
+	 * result <code>-(slot + 1)</code> indicates that the key was not present
+	 * and has just been inserted in that slot.
+	 */
+	protected final int insertionSlotOf(int key) {
+		int i = hash(key) & mask;
+		int firstRemoved = -1;
+		while (states[i] != FREE) {
+			if (states[i] == FULL) {
+				if (keys[i] == key) {
+					return i;
+				}
+			} else if (firstRemoved == -1) {
+				firstRemoved = i;
+			}
+			i = (i + 1) & mask;
+		}
+		if (firstRemoved != -1) {
+			i = firstRemoved;
+		} else {
+			filled++;
+		}
+		keys[i] = key;
+		states[i] = FULL;
+		size++;
+		structureChanged(this);
+		if (filled * 4 > keys.length * 3) {
+			rehash(i);
+			return -(slotOf(key) + 1);
+		}
+		return -(i + 1);
+	}
+
+	/**
+	 * Frees the given slot.
+	 */
+	protected final void removeSlot(int slot) {
+		states[slot] = REMOVED;
+		values[slot] = null;
+		size--;
+		structureChanged(this);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof Integer && containsIntKey((Integer) key);
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		for (int i = 0; i < states.length; i++) {
+			if (states[i] == FULL && Objects.equals(value, values[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public V get(Object key) {
+		if (!(key instanceof Integer)) {
+			return null;
+		}
+		int slot = slotOf((Integer) key);
+		return slot == -1 ? null : values[slot];
+	}
+
+	@Override
+	public V put(Integer key, V value) {
+		int slot = insertionSlotOf(checkNotNull(key));
+		if (slot < 0) {
+			values[-slot - 1] = value;
+			return null;
+		}
+		V previous = values[slot];
+		values[slot] = value;
+		return previous;
+	}
+
+	@Override
+	public V remove(Object key) {
+		if (!(key instanceof Integer)) {
+			return null;
+		}
+		int slot = slotOf((Integer) key);
+		if (slot == -1) {
+			return null;
+		}
+		V previous = values[slot];
+		removeSlot(slot);
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		allocate(DEFAULT_CAPACITY);
+		structureChanged(this);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Map.Entry<Integer, V>> entrySet() {
+		return new AbstractSet<Map.Entry<Integer, V>>() {
+			@Override
+			public Iterator<Map.Entry<Integer, V>> iterator() {
+				return new SlotIterator();
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				if (!(o instanceof Map.Entry)) {
+					return false;
+				}
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				return containsKey(entry.getKey()) && Objects.equals(entry.getValue(), get(entry.getKey()));
+			}
+
+			@Override
+			public boolean remove(Object o) {
+				if (contains(o)) {
+					AbstractIntKeyHashMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+					return true;
+				}
+				return false;
+			}
+
+			@Override
+			public void clear() {
+				AbstractIntKeyHashMap.this.clear();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	private final class SlotEntry implements Map.Entry<Integer, V> {
+		private final int slot;
+
+		SlotEntry(int slot) {
+			this.slot = slot;
+		}
+
+		@Override
+		public Integer getKey() {
+			return keys[slot];
+		}
+
+		@Override
+		public V getValue() {
+			return values[slot];
+		}
+
+		@Override
+		public V setValue(V value) {
+			V previous = values[slot];
+			values[slot] = value;
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> entry = (Map.Entry<?, ?>) other;
+			return Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+
+	private final class SlotIterator implements Iterator<Map.Entry<Integer, V>> {
+		private int next = -1;
+		private int last = -1;
+		int modCount;
+
+		SlotIterator() {
+			advance();
+			recordLastKnownStructure(AbstractIntKeyHashMap.this, this);
+		}
+
+		private void advance() {
+			do {
+				next++;
+			} while (next < states.length && states[next] != FULL);
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < states.length;
+		}
+
+		@Override
+		public Map.Entry<Integer, V> next() {
+			checkStructuralChange(AbstractIntKeyHashMap.this, this);
+			checkElement(hasNext());
+			last = next;
+			advance();
+			return new SlotEntry(last);
+		}
+
+		@Override
+		public void remove() {
+			checkState(last != -1);
+			checkStructuralChange(AbstractIntKeyHashMap.this, this);
+			removeSlot(last);
+			last = -1;
+			recordLastKnownStructure(AbstractIntKeyHashMap.this, this);
+		}
+	}
+
+	private static int hash(int key) {
+		return key ^ (key >>> 16);
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int capacity = DEFAULT_CAPACITY;
+		while (capacity * 3 < expectedSize * 4) {
+			capacity *= 2;
+		}
+		return capacity;
+	}
+
+	private void allocate(int capacity) {
+		keys = any(new Int32Array(capacity));
+		states = any(new Int8Array(capacity));
+		values = createValues(capacity);
+		mask = capacity - 1;
+		size = 0;
+		filled = 0;
+	}
+
+	private void rehash(int insertedSlot) {
+		int[] oldKeys = keys;
+		byte[] oldStates = states;
+		V[] oldValues = values;
+		// tombstones are dropped, so that the capacity only grows when full
+		allocate(capacityFor(size));
+		for (int i = 0; i < oldStates.length; i++) {
+			if (oldStates[i] == FULL) {
+				int slot = -insertionSlotOf(oldKeys[i]) - 1;
+				if (i != insertedSlot) {
+					values[slot] = oldValues[i];
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+
+package javaemul.internal.collections;
+
+import static javaemul.internal.InternalPreconditions.checkPositionIndex;
+import static javaemul.internal.InternalPreconditions.checkPositionIndexes;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Base class for the lists of numbers stored in a growable typed array.
+ *
+ * <p>
+ * This class manages the storage (capacity, growth and element shifts), while
+ * the subclasses provide the typed array operations and access the elements
+ * through the {@link #elements} array.
+ *
+ * @param <E>
+ *            the boxed element type
+ * @param <A>
+ *            the primitive array type used to access the typed array
+ */
+public abstract class AbstractTypedArrayList<E extends Number, A> extends AbstractList<E> implements RandomAccess {
+
+	private static final int DEFAULT_CAPACITY = 10;
+
+	/**
+	 * The typed array, only typed as a primitive array for indexed accesses.
+	 */
+	protected A elements;
+
+	protected int size;
+
+	private int capacity;
+
+	protected AbstractTypedArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	protected AbstractTypedArrayList(int initialCapacity) {
+		capacity = Math.max(initialCapacity, 1);
+		elements = createElements(capacity);
+	}
+
+	/**
+	 * Creates a typed array of the given length.
+	 */
+	protected abstract A createElements(int capacity);
+
+	/**
+	 * Creates a typed array of the given length, holding the first
+	 * <code>size</code> elements of this list.
+	 */
+	protected abstract A copyElements(int capacity);
+
+	/**
+	 * Copies the elements in range <code>[start, end[</code> to the given
+	 * target index (see <code>TypedArray.copyWithin</code>).
+	 */
+	protected abstract void moveElements(int target, int start, int end);
+
+	/**
+	 * Makes room for one element at the end of the list and returns its index.
+	 */
+	protected final int append() {
+		if (size == capacity) {
+			grow(size + 1);
+		}
+		modCount++;
+		return size++;
+	}
+
+	/**
+	 * Makes room for one element at the given index by shifting the following
+	 * elements to the right.
+	 */
+	protected final void openGap(int index) {
+		checkPositionIndex(index, size);
+		if (size == capacity) {
+			grow(size + 1);
+		}
+		moveElements(index + 1, index, size);
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * Removes the element at the given index by shifting the following
+	 * elements to the left.
+	 */
+	protected final void closeGap(int index) {
+		moveElements(index, index + 1, size);
+		size--;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int endIndex) {
+		checkPositionIndexes(fromIndex, endIndex, size);
+		moveElements(fromIndex, endIndex, size);
+		size -= endIndex - fromIndex;
+		modCount++;
+	}
+
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > capacity) {
+			grow(minCapacity);
+		}
+	}
+
+	public void trimToSize() {
+		if (size < capacity) {
+			capacity = Math.max(size, 1);
+			elements = copyElements(capacity);
+		}
+	}
+
+	private void grow(int minCapacity) {
+		capacity = Math.max(capacity * 2, minCapacity);
+		elements = copyElements(capacity);
+	}
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+
+package javaemul.internal.collections;
+
+import static javaemul.internal.InternalPreconditions.checkElementIndex;
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+import static jsweet.util.Globals.any;
+
+import java.util.Collection;
+
+import def.js.Float64Array;
+
+/**
+ * A list of doubles stored in a growable <code>Float64Array</code>.
+ *
+ * <p>
+ * This is the primitive-specialized counterpart of
+ * <code>java.util.ArrayList&lt;Double&gt;</code>. The transpiler substitutes
+ * it to <code>new ArrayList&lt;Double&gt;()</code> when the list is only used
+ * locally (see the <code>usePrimitiveCollections</code> option), so that the
+ * same source still runs on the JVM with the regular JDK class. Unlike
+ * <code>ArrayList</code>, this list cannot hold <code>null</code> elements.
+ */
+public class DoubleArrayList extends AbstractTypedArrayList<Double, double[]> {
+
+	public DoubleArrayList() {
+		super();
+	}
+
+	public DoubleArrayList(int initialCapacity) {
+		super(initialCapacity);
+	}
+
+	public DoubleArrayList(Collection<? extends Double> c) {
+		super(c.size());
+		for (Double d : c) {
+			addDouble(checkNotNull(d));
+		}
+	}
+
+	@Override
+	protected double[] createElements(int capacity) {
+		return any(new Float64Array(capacity));
+	}
+
+	@Override
+	protected double[] copyElements(int capacity) {
+		Float64Array array = any(elements);
+		Float64Array copy = new Float64Array(capacity);
+		copy.set((Double[]) any(array.subarray(0, Math.min(size, capacity))));
+		return any(copy);
+	}
+
+	@Override
+	protected void moveElements(int target, int start, int end) {
+		Float64Array array = any(elements);
+		array.copyWithin(target, start, end);
+	}
+
+	/**
+	 * Appends the given double without boxing.
+	 */
+	public void addDouble(double value) {
+		elements[append()] = value;
+	}
+
+	/**
+	 * Gets the double at the given index without boxing.
+	 */
+	public double getDouble(int index) {
+		checkElementIndex(index, size);
+		return elements[index];
+	}
+
+	/**
+	 * Replaces the double at the given index without boxing and returns the
+	 * previous one.
+	 */
+	public double setDouble(int index, double value) {
+		checkElementIndex(index, size);
+		double previous = elements[index];
+		elements[index] = value;
+		return previous;
+	}
+
+	/**
+	 * Removes the double at the given index and returns it.
+	 */
+	public double removeDoubleAt(int index) {
+		checkElementIndex(index, size);
+		double previous = elements[index];
+		closeGap(index);
+		return previous;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given double, or -1.
+	 */
+	public int indexOfDouble(double value) {
+		for (int i = 0; i < size; i++) {
+			if (elements[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a copy of the elements as a <code>Float64Array</code>.
+	 */
+	public Float64Array toFloat64Array() {
+		return ((Float64Array) any(elements)).slice(0, size);
+	}
+
+	@Override
+	public boolean add(Double o) {
+		addDouble(checkNotNull(o));
+		return true;
+	}
+
+	@Override
+	public void add(int index, Double o) {
+		checkNotNull(o);
+		openGap(index);
+		elements[index] = o;
+	}
+
+	@Override
+	public Double get(int index) {
+		return getDouble(index);
+	}
+
+	@Override
+	public Double set(int index, Double o) {
+		return setDouble(index, checkNotNull(o));
+	}
+
+	@Override
+	public Double remove(int index) {
+		return removeDoubleAt(index);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int i = indexOf(o);
+		if (i == -1) {
+			return false;
+		}
+		closeGap(i);
+		return true;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (!(o instanceof Double)) {
+			return -1;
+		}
+		return indexOfDouble((Double) o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (!(o instanceof Double)) {
+			return -1;
+		}
+		double value = (Double) o;
+		for (int i = size - 1; i >= 0; i--) {
+			if (elements[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) != -1;
+	}
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+
+package javaemul.internal.collections;
+
+import static javaemul.internal.InternalPreconditions.checkElementIndex;
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+import static jsweet.util.Globals.any;
+
+import java.util.Collection;
+
+import def.js.Int32Array;
+
+/**
+ * A list of ints stored in a growable <code>Int32Array</code>.
+ *
+ * <p>
+ * This is the primitive-specialized counterpart of
+ * <code>java.util.ArrayList&lt;Integer&gt;</code>. The transpiler substitutes
+ * it to <code>new ArrayList&lt;Integer&gt;()</code> when the list is only used
+ * locally (see the <code>usePrimitiveCollections</code> option), so that the
+ * same source still runs on the JVM with the regular JDK class. Unlike
+ * <code>ArrayList</code>, this list cannot hold <code>null</code> elements.
+ */
+public class IntArrayList extends AbstractTypedArrayList<Integer, int[]> {
+
+	public IntArrayList() {
+		super();
+	}
+
+	public IntArrayList(int initialCapacity) {
+		super(initialCapacity);
+	}
+
+	public IntArrayList(Collection<? extends Integer> c) {
+		super(c.size());
+		for (Integer i : c) {
+			addInt(checkNotNull(i));
+		}
+	}
+
+	@Override
+	protected int[] createElements(int capacity) {
+		return any(new Int32Array(capacity));
+	}
+
+	@Override
+	protected int[] copyElements(int capacity) {
+		Int32Array array = any(elements);
+		Int32Array copy = new Int32Array(capacity);
+		copy.set((Double[]) any(array.subarray(0, Math.min(size, capacity))));
+		return any(copy);
+	}
+
+	@Override
+	protected void moveElements(int target, int start, int end) {
+		Int32Array array = any(elements);
+		array.copyWithin(target, start, end);
+	}
+
+	/**
+	 * Appends the given int without boxing.
+	 */
+	public void addInt(int value) {
+		elements[append()] = value;
+	}
+
+	/**
+	 * Gets the int at the given index without boxing.
+	 */
+	public int getInt(int index) {
+		checkElementIndex(index, size);
+		return elements[index];
+	}
+
+	/**
+	 * Replaces the int at the given index without boxing and returns the
+	 * previous one.
+	 */
+	public int setInt(int index, int value) {
+		checkElementIndex(index, size);
+		int previous = elements[index];
+		elements[index] = value;
+		return previous;
+	}
+
+	/**
+	 * Removes the int at the given index and returns it.
+	 */
+	public int removeIntAt(int index) {
+		checkElementIndex(index, size);
+		int previous = elements[index];
+		closeGap(index);
+		return previous;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the given int, or -1.
+	 */
+	public int indexOfInt(int value) {
+		for (int i = 0; i < size; i++) {
+			if (elements[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a copy of the elements as an <code>Int32Array</code>.
+	 */
+	public Int32Array toInt32Array() {
+		return ((Int32Array) any(elements)).slice(0, size);
+	}
+
+	@Override
+	public boolean add(Integer o) {
+		addInt(checkNotNull(o));
+		return true;
+	}
+
+	@Override
+	public void add(int index, Integer o) {
+		checkNotNull(o);
+		openGap(index);
+		elements[index] = o;
+	}
+
+	@Override
+	public Integer get(int index) {
+		return getInt(index);
+	}
+
+	@Override
+	public Integer set(int index, Integer o) {
+		return setInt(index, checkNotNull(o));
+	}
+
+	@Override
+	public Integer remove(int index) {
+		return removeIntAt(index);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int i = indexOf(o);
+		if (i == -1) {
+			return false;
+		}
+		closeGap(i);
+		return true;
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (!(o instanceof Integer)) {
+			return -1;
+		}
+		return indexOfInt((Integer) o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (!(o instanceof Integer)) {
+			return -1;
+		}
+		int value = (Integer) o;
+		for (int i = size - 1; i >= 0; i--) {
+			if (elements[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) != -1;
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+
+package javaemul.internal.collections;
+
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+import static jsweet.util.Globals.any;
+
+import java.util.Map;
+
+import def.js.Int32Array;
+
+/**
+ * An open-addressing hash map from ints to ints, with values stored in an
+ * <code>Int32Array</code>.
+ *
+ * <p>
+ * This is the primitive-specialized counterpart of
+ * <code>java.util.HashMap&lt;Integer, Integer&gt;</code>. The transpiler
+ * substitutes it to <code>new HashMap&lt;Integer, Integer&gt;()</code> when the
+ * map is only used locally (see the <code>usePrimitiveCollections</code>
+ * option), so that the same source still runs on the JVM with the regular JDK
+ * class. Unlike <code>HashMap</code>, this map cannot hold <code>null</code>
+ * keys nor values.
+ */
+public class IntIntHashMap extends AbstractIntKeyHashMap<Integer> {
+
+	public IntIntHashMap() {
+		super();
+	}
+
+	public IntIntHashMap(int expectedSize) {
+		super(expectedSize);
+	}
+
+	public IntIntHashMap(Map<? extends Integer, ? extends Integer> toBeCopied) {
+		super(toBeCopied.size());
+		putAll(toBeCopied);
+	}
+
+	@Override
+	protected Integer[] createValues(int capacity) {
+		return any(new Int32Array(capacity));
+	}
+
+	@Override
+	public Integer put(Integer key, Integer value) {
+		return super.put(key, checkNotNull(value));
+	}
+
+	/**
+	 * Gets the value for the given key, or the given default value if absent.
+	 */
+	public int getInt(int key, int defaultValue) {
+		int slot = slotOf(key);
+		return slot == -1 ? defaultValue : values[slot];
+	}
+
+	/**
+	 * Puts a value for the given key without boxing.
+	 */
+	public void putInt(int key, int value) {
+		int slot = insertionSlotOf(key);
+		values[slot < 0 ? -slot - 1 : slot] = value;
+	}
+
+	/**
+	 * Adds the given delta to the value of the given key (a missing key counts
+	 * as 0) and returns the new value.
+	 */
+	public int addToInt(int key, int delta) {
+		int slot = insertionSlotOf(key);
+		if (slot < 0) {
+			slot = -slot - 1;
+			values[slot] = 0;
+		}
+		return values[slot] += delta;
+	}
+
+	/**
+	 * Removes the given key and tells if it was present.
+	 */
+	public boolean removeInt(int key) {
+		int slot = slotOf(key);
+		if (slot == -1) {
+			return false;
+		}
+		removeSlot(slot);
+		return true;
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2016, CINCHEO, renaud.pawlak@cincheo.fr
+ *
+ * Apache 2 license.
+ */
+
+package javaemul.internal.collections;
+
+import static jsweet.util.Globals.any;
+
+import java.util.Map;
+
+import def.js.Array;
+
+/**
+ * An open-addressing hash map from ints to objects.
+ *
+ * <p>
+ * This is the primitive-specialized counterpart of
+ * <code>java.util.HashMap&lt;Integer, V&gt;</code>. The transpiler substitutes
+ * it to <code>new HashMap&lt;Integer, V&gt;()</code> when the map is only used
+ * locally (see the <code>usePrimitiveCollections</code> option), so that the
+ * same source still runs on the JVM with the regular JDK class. Unlike
+ * <code>HashMap</code>, this map cannot hold a <code>null</code> key.
+ */
+public class IntObjectHashMap<V> extends AbstractIntKeyHashMap<V> {
+
+	public IntObjectHashMap() {
+		super();
+	}
+
+	public IntObjectHashMap(int expectedSize) {
+		super(expectedSize);
+	}
+
+	public IntObjectHashMap(Map<? extends Integer, ? extends V> toBeCopied) {
+		super(toBeCopied.size());
+		putAll(toBeCopied);
+	}
+
+	@Override
+	protected V[] createValues(int capacity) {
+		return any(new Array<Object>(capacity));
+	}
+
+	/**
+	 * Gets the value for the given int key without boxing it.
+	 */
+	public V getForInt(int key) {
+		int slot = slotOf(key);
+		return slot == -1 ? null : values[slot];
+	}
+
+	/**
+	 * Puts a value for the given int key without boxing it, and returns the
+	 * previous value.
+	 */
+	public V putForInt(int key, V value) {
+		int slot = insertionSlotOf(key);
+		if (slot < 0) {
+			values[-slot - 1] = value;
+			return null;
+		}
+		V previous = values[slot];
+		values[slot] = value;
+		return previous;
+	}
+
+	/**
+	 * Removes the given int key without boxing it, and returns the previous
+	 * value.
+	 */
+	public V removeForInt(int key) {
+		int slot = slotOf(key);
+		if (slot == -1) {
+			return null;
+		}
+		V previous = values[slot];
+		removeSlot(slot);
+		return previous;
+	}
+
+}
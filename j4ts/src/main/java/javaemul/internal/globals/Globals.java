@@ -5,5 +5,20 @@ public class Globals {
 
 	@Ambient
 	public static def.js.Object Map;
+
+	@Ambient
+	public static def.js.Object WeakMap;
+
+	@Ambient
+	public static def.js.Object Promise;
+
+	@Ambient
+	public static def.js.Object Worker;
+
+	@Ambient
+	public static def.js.Object self;
+
+	@Ambient
+	public static def.js.Function require;
 	
 }
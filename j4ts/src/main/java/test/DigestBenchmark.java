@@ -0,0 +1,58 @@
+package test;
+
+import static def.dom.Globals.console;
+import static def.dom.Globals.document;
+import static def.dom.Globals.performance;
+import static jsweet.util.Globals.any;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import def.dom.HTMLElement;
+import def.js.Int8Array;
+
+/**
+ * Measures the throughput (in MB/s) of the message digests on a 1 MB
+ * <code>byte[]</code> backed by an <code>Int8Array</code>, as returned for the
+ * content of a file by <code>ArrayBufferHelper.toByteArray</code>. Each digest
+ * is checked against the reference value. Open <code>benchmark.html</code> to
+ * run it.
+ */
+public class DigestBenchmark {
+
+	private static final int SIZE = 1 << 20;
+
+	private static final int ROUNDS = 10;
+
+	private static String report = "";
+
+	public static void run() throws NoSuchAlgorithmException {
+		byte[] data = any(new Int8Array(SIZE));
+		for (int i = 0; i < SIZE; i++) {
+			data[i] = (byte) (i * 31);
+		}
+		benchmark("MD5", data, "556a3d7acb98dff84459ab5b0473497e");
+		benchmark("SHA-1", data, "e4c0c1809610d372ee8be7c20e85f7b055daff83");
+		benchmark("SHA-256", data, "1c15b634397059fc8b634d6723502f0e5433e6c9f8d60e40d9128451a9f80c0f");
+		HTMLElement result = document.getElementById("result");
+		if (result != null) {
+			result.innerHTML += report;
+		}
+	}
+
+	private static void benchmark(String algorithm, byte[] data, String expected)
+			throws NoSuchAlgorithmException {
+		MessageDigest digest = MessageDigest.getInstance(algorithm);
+		double time = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			double start = performance.now();
+			byte[] result = digest.digest(data);
+			time += performance.now() - start;
+			Test.assertEquals(expected, Test.toHex(result));
+		}
+		String line = algorithm + ": " + Math.round(SIZE * ROUNDS / 1048.576 / time) + " MB/s";
+		console.info(line);
+		report += line + "<br>";
+	}
+
+}
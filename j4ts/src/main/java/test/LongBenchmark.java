@@ -0,0 +1,111 @@
+package test;
+
+import static def.dom.Globals.console;
+import static def.dom.Globals.document;
+import static def.dom.Globals.performance;
+
+import def.dom.HTMLElement;
+import javaemul.internal.LongEmul;
+
+/**
+ * Measures the overhead of the exact long emulation ({@link LongEmul}, which
+ * implements the <code>long</code> values when transpiling with the
+ * <code>useExactLongs</code> option) over the plain numbers used by default,
+ * on a linear congruential generator (multiplications and additions), a
+ * xorshift generator (shifts and xors) and a sum of squares (additions and
+ * comparisons). The plain number results are not exact above 2^53, so only the
+ * emulated results are checked. Open <code>benchmark.html</code> to run it.
+ */
+public class LongBenchmark {
+
+	private static final int SIZE = 1000000;
+
+	private static final int ROUNDS = 10;
+
+	private static final LongEmul MULTIPLIER = LongEmul.fromBits(0x5, 0xDEECE66D);
+
+	private static final LongEmul INCREMENT = LongEmul.fromInt(11);
+
+	private static String report = "";
+
+	public static void run() {
+		benchmarkLcg();
+		benchmarkXorShift();
+		benchmarkSumOfSquares();
+		HTMLElement result = document.getElementById("result");
+		if (result != null) {
+			result.innerHTML += report;
+		}
+	}
+
+	private static void benchmarkLcg() {
+		double emulated = 0;
+		double numbers = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			double start = performance.now();
+			LongEmul x = LongEmul.fromInt(42);
+			for (int i = 0; i < SIZE; i++) {
+				x = LongEmul.add(LongEmul.mul(x, MULTIPLIER), INCREMENT);
+			}
+			emulated += performance.now() - start;
+			Test.assertEquals("-6911248078379808150", LongEmul.toString(x, 10));
+
+			start = performance.now();
+			double y = 42;
+			for (int i = 0; i < SIZE; i++) {
+				y = (y * 25214903917.0 + 11) % 18446744073709551616.0;
+			}
+			numbers += performance.now() - start;
+		}
+		print("LCG", emulated, numbers);
+	}
+
+	private static void benchmarkXorShift() {
+		double emulated = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			double start = performance.now();
+			LongEmul x = LongEmul.fromBits(0x139408D, 0xCBBF7A44);
+			for (int i = 0; i < SIZE; i++) {
+				x = LongEmul.xor(x, LongEmul.shl(x, 13));
+				x = LongEmul.xor(x, LongEmul.shru(x, 7));
+				x = LongEmul.xor(x, LongEmul.shl(x, 17));
+			}
+			emulated += performance.now() - start;
+			Test.assertEquals("7290476056423008982", LongEmul.toString(x, 10));
+		}
+		String line = "xorshift: exact longs " + (emulated / ROUNDS) + " ms (no number equivalent)";
+		console.info(line);
+		report += line + "<br>";
+	}
+
+	private static void benchmarkSumOfSquares() {
+		double emulated = 0;
+		double numbers = 0;
+		LongEmul size = LongEmul.fromInt(SIZE);
+		for (int round = 0; round < ROUNDS; round++) {
+			double start = performance.now();
+			LongEmul sum = LongEmul.ZERO;
+			for (LongEmul i = LongEmul.ZERO; LongEmul.compare(i, size) < 0; i = LongEmul.add(i, LongEmul.ONE)) {
+				sum = LongEmul.add(sum, LongEmul.mul(i, i));
+			}
+			emulated += performance.now() - start;
+			Test.assertEquals("333332833333500000", LongEmul.toString(sum, 10));
+
+			start = performance.now();
+			double s = 0;
+			for (double i = 0; i < SIZE; i++) {
+				s += i * i;
+			}
+			numbers += performance.now() - start;
+		}
+		print("sum of squares", emulated, numbers);
+	}
+
+	private static void print(String name, double emulated, double numbers) {
+		String line = name + ": exact longs " + (emulated / ROUNDS) + " ms, numbers " + (numbers / ROUNDS)
+				+ " ms (x" + Math.round(emulated / numbers) + ")";
+		console.info(line);
+		report += line + "<br>";
+	}
+
+}
@@ -0,0 +1,192 @@
+package test;
+
+import static def.dom.Globals.console;
+import static def.dom.Globals.document;
+import static def.dom.Globals.performance;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IndexedPriorityQueue;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import def.dom.HTMLElement;
+
+/**
+ * Compares {@link PriorityQueue} with the former implementation of the heap
+ * over an {@link ArrayList}, on a mix of offers and polls (as in a path
+ * search), on bulk additions, and on removals of arbitrary elements with and
+ * without the index map of {@link IndexedPriorityQueue}. Open
+ * <code>benchmark.html</code> to run it.
+ */
+public class PriorityQueueBenchmark {
+
+	private static final int SIZE = 100000;
+
+	private static final int ROUNDS = 10;
+
+	private static final int REMOVALS = 2000;
+
+	private static final Comparator<Integer> COMPARATOR = new Comparator<Integer>() {
+		@Override
+		public int compare(Integer a, Integer b) {
+			return a < b ? -1 : (a > b ? 1 : 0);
+		}
+	};
+
+	/**
+	 * The former heap implementation, sifting through ArrayList.get/set.
+	 */
+	private static class ArrayListHeap<E> {
+		private final ArrayList<E> heap = new ArrayList<E>();
+		private final Comparator<? super E> cmp;
+
+		ArrayListHeap(Comparator<? super E> cmp) {
+			this.cmp = cmp;
+		}
+
+		void offer(E e) {
+			int node = heap.size();
+			heap.add(e);
+			while (node > 0) {
+				int childNode = node;
+				node = (node - 1) / 2;
+				if (cmp.compare(heap.get(node), e) <= 0) {
+					heap.set(childNode, e);
+					return;
+				}
+				heap.set(childNode, heap.get(node));
+			}
+			heap.set(node, e);
+		}
+
+		E poll() {
+			if (heap.size() == 0) {
+				return null;
+			}
+			E value = heap.get(0);
+			E lastValue = heap.remove(heap.size() - 1);
+			if (heap.size() > 0) {
+				int heapSize = heap.size();
+				int node = 0;
+				while (node * 2 + 1 < heapSize) {
+					int smallestChild = 2 * node + 1;
+					if (smallestChild + 1 < heapSize
+							&& cmp.compare(heap.get(smallestChild + 1), heap.get(smallestChild)) < 0) {
+						smallestChild++;
+					}
+					if (cmp.compare(lastValue, heap.get(smallestChild)) < 0) {
+						break;
+					}
+					heap.set(node, heap.get(smallestChild));
+					node = smallestChild;
+				}
+				heap.set(node, lastValue);
+			}
+			return value;
+		}
+	}
+
+	private static String report = "";
+
+	public static void run() {
+		Random random = new Random(42);
+		Integer[] input = new Integer[SIZE];
+		List<Integer> list = new ArrayList<Integer>();
+		// distinct values in a random order, as required by the indexed queue
+		for (int i = 0; i < SIZE; i++) {
+			input[i] = i;
+		}
+		for (int i = SIZE - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			Integer swap = input[i];
+			input[i] = input[j];
+			input[j] = swap;
+		}
+		for (int i = 0; i < SIZE; i++) {
+			list.add(input[i]);
+		}
+		double arrayListHeap = 0;
+		double queue = 0;
+		double addAll = 0;
+		double offers = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			double start = performance.now();
+			ArrayListHeap<Integer> heap = new ArrayListHeap<Integer>(COMPARATOR);
+			for (int i = 0; i < SIZE; i++) {
+				heap.offer(input[i]);
+				if ((i & 3) == 3) {
+					heap.poll();
+				}
+			}
+			checkPolls(heap.poll(), () -> heap.poll());
+			arrayListHeap += performance.now() - start;
+
+			start = performance.now();
+			PriorityQueue<Integer> q = new PriorityQueue<Integer>(COMPARATOR);
+			for (int i = 0; i < SIZE; i++) {
+				q.offer(input[i]);
+				if ((i & 3) == 3) {
+					q.poll();
+				}
+			}
+			checkPolls(q.poll(), () -> q.poll());
+			queue += performance.now() - start;
+
+			start = performance.now();
+			PriorityQueue<Integer> bulk = new PriorityQueue<Integer>(COMPARATOR);
+			bulk.addAll(list);
+			addAll += performance.now() - start;
+			Test.assertEquals(SIZE, bulk.size());
+
+			start = performance.now();
+			PriorityQueue<Integer> oneByOne = new PriorityQueue<Integer>(COMPARATOR);
+			for (int i = 0; i < SIZE; i++) {
+				oneByOne.offer(input[i]);
+			}
+			offers += performance.now() - start;
+			Test.assertEquals(bulk.peek(), oneByOne.peek());
+		}
+		report("offer/poll: ArrayList heap " + (arrayListHeap / ROUNDS) + " ms, PriorityQueue " + (queue / ROUNDS)
+				+ " ms");
+		report("bulk: addAll " + (addAll / ROUNDS) + " ms, offers " + (offers / ROUNDS) + " ms");
+
+		PriorityQueue<Integer> scanned = new PriorityQueue<Integer>(list);
+		PriorityQueue<Integer> indexed = new IndexedPriorityQueue<Integer>(COMPARATOR);
+		indexed.addAll(list);
+		double start = performance.now();
+		for (int i = 0; i < REMOVALS; i++) {
+			scanned.remove(input[i * 7]);
+		}
+		double scannedRemovals = performance.now() - start;
+		start = performance.now();
+		for (int i = 0; i < REMOVALS; i++) {
+			indexed.remove(input[i * 7]);
+		}
+		double indexedRemovals = performance.now() - start;
+		Test.assertEquals(scanned.size(), indexed.size());
+		report(REMOVALS + " removals: PriorityQueue " + scannedRemovals + " ms, IndexedPriorityQueue "
+				+ indexedRemovals + " ms");
+
+		HTMLElement result = document.getElementById("result");
+		if (result != null) {
+			result.innerHTML += report;
+		}
+	}
+
+	private static void checkPolls(Integer first, Supplier<Integer> poll) {
+		Integer previous = first;
+		for (Integer next = poll.get(); next != null; next = poll.get()) {
+			Test.assertTrue(previous <= next);
+			previous = next;
+		}
+	}
+
+	private static void report(String line) {
+		console.info(line);
+		report += line + "<br>";
+	}
+
+}
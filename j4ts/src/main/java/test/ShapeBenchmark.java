@@ -0,0 +1,138 @@
+package test;
+
+import static def.dom.Globals.console;
+import static def.dom.Globals.document;
+import static def.dom.Globals.performance;
+import static jsweet.util.Globals.$get;
+import static jsweet.util.Globals.$set;
+
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import def.dom.HTMLElement;
+import javaemul.internal.HashCodes;
+
+/**
+ * Compares the cost of identity hashing when the hash code is kept outside of
+ * the objects (the current <code>WeakMap</code>-based implementation) and when
+ * it is added as a property of the objects, which changes their hidden class
+ * after construction (the former behavior). Open <code>benchmark.html</code>
+ * to run it.
+ */
+public class ShapeBenchmark {
+
+	private static final int SIZE = 100000;
+
+	private static final int ROUNDS = 10;
+
+	private static String report = "";
+
+	static class Point {
+		int x;
+		int y;
+
+		Point(int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+	}
+
+	public static void run() {
+		benchmarkFieldAccess();
+		benchmarkIdentityCollections();
+		HTMLElement result = document.getElementById("result");
+		if (result != null) {
+			result.innerHTML += report;
+		}
+	}
+
+	private static Point[] createPoints() {
+		Point[] points = new Point[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			points[i] = new Point(i, -i);
+		}
+		return points;
+	}
+
+	private static void benchmarkFieldAccess() {
+		double propertyHashing = 0;
+		double propertyAccess = 0;
+		double weakMapHashing = 0;
+		double weakMapAccess = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			// former behavior: the hash code is added to every other object
+			Point[] points = createPoints();
+			double start = performance.now();
+			for (int i = 0; i < SIZE; i += 2) {
+				if ($get(points[i], "$H") == null) {
+					$set(points[i], "$H", i);
+				}
+			}
+			propertyHashing += performance.now() - start;
+			start = performance.now();
+			Test.assertEquals(0, sumFields(points));
+			propertyAccess += performance.now() - start;
+
+			points = createPoints();
+			start = performance.now();
+			for (int i = 0; i < SIZE; i += 2) {
+				HashCodes.getObjectIdentityHashCode(points[i]);
+			}
+			weakMapHashing += performance.now() - start;
+			start = performance.now();
+			Test.assertEquals(0, sumFields(points));
+			weakMapAccess += performance.now() - start;
+		}
+		print("identity hash: property " + (propertyHashing / ROUNDS) + " ms, then field accesses "
+				+ (propertyAccess / ROUNDS) + " ms");
+		print("identity hash: WeakMap " + (weakMapHashing / ROUNDS) + " ms, then field accesses "
+				+ (weakMapAccess / ROUNDS) + " ms");
+	}
+
+	private static int sumFields(Point[] points) {
+		int sum = 0;
+		for (int i = 0; i < points.length; i++) {
+			sum += points[i].x + points[i].y;
+		}
+		return sum;
+	}
+
+	private static void benchmarkIdentityCollections() {
+		double identityMap = 0;
+		double hashSet = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			Point[] points = createPoints();
+			double start = performance.now();
+			Map<Point, Integer> map = new IdentityHashMap<Point, Integer>();
+			for (int i = 0; i < SIZE; i++) {
+				map.put(points[i], i);
+			}
+			for (int i = 0; i < SIZE; i++) {
+				Test.assertEquals(i, map.get(points[i]));
+			}
+			identityMap += performance.now() - start;
+
+			start = performance.now();
+			Set<Point> set = new HashSet<Point>();
+			for (int i = 0; i < SIZE; i++) {
+				set.add(points[i]);
+			}
+			int count = 0;
+			for (Point p : set) {
+				count += p.x >= 0 ? 1 : 0;
+			}
+			Test.assertEquals(SIZE, count);
+			hashSet += performance.now() - start;
+		}
+		print("IdentityHashMap put/get: " + (identityMap / ROUNDS) + " ms, HashSet add/iterate: " + (hashSet / ROUNDS)
+				+ " ms");
+	}
+
+	private static void print(String line) {
+		console.info(line);
+		report += line + "<br>";
+	}
+
+}
@@ -0,0 +1,94 @@
+package test;
+
+import static def.dom.Globals.console;
+import static def.dom.Globals.document;
+import static def.dom.Globals.performance;
+import static jsweet.util.Globals.array;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import def.dom.HTMLElement;
+
+/**
+ * Compares the object sorts ({@link Arrays#sort(Object[], Comparator)} and
+ * {@link Collections#sort(List, Comparator)}) with the native JavaScript
+ * <code>Array.prototype.sort</code> on random, sorted, reversed and
+ * many-duplicates inputs. Open <code>benchmark.html</code> to run it.
+ */
+public class SortBenchmark {
+
+	private static final int SIZE = 100000;
+
+	private static final int ROUNDS = 10;
+
+	private static final Comparator<Integer> COMPARATOR = new Comparator<Integer>() {
+		@Override
+		public int compare(Integer a, Integer b) {
+			return a < b ? -1 : (a > b ? 1 : 0);
+		}
+	};
+
+	private static String report = "";
+
+	public static void run() {
+		Random random = new Random(42);
+		Integer[] randomInput = new Integer[SIZE];
+		Integer[] sortedInput = new Integer[SIZE];
+		Integer[] reversedInput = new Integer[SIZE];
+		Integer[] duplicatesInput = new Integer[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			randomInput[i] = random.nextInt();
+			sortedInput[i] = i;
+			reversedInput[i] = SIZE - i;
+			duplicatesInput[i] = random.nextInt(16);
+		}
+		benchmark("random", randomInput);
+		benchmark("sorted", sortedInput);
+		benchmark("reversed", reversedInput);
+		benchmark("duplicates", duplicatesInput);
+		HTMLElement result = document.getElementById("result");
+		if (result != null) {
+			result.innerHTML += report;
+		}
+	}
+
+	private static void benchmark(String name, Integer[] input) {
+		double arraysSort = 0;
+		double collectionsSort = 0;
+		double nativeSort = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			Integer[] a = Arrays.copyOf(input, input.length);
+			double start = performance.now();
+			Arrays.sort(a, COMPARATOR);
+			arraysSort += performance.now() - start;
+			checkSorted(a);
+
+			List<Integer> l = new ArrayList<Integer>(Arrays.asList(input));
+			start = performance.now();
+			Collections.sort(l, COMPARATOR);
+			collectionsSort += performance.now() - start;
+			checkSorted(l.toArray(new Integer[0]));
+
+			Integer[] n = Arrays.copyOf(input, input.length);
+			start = performance.now();
+			array(n).sort((x, y) -> (double) COMPARATOR.compare(x, y));
+			nativeSort += performance.now() - start;
+		}
+		String line = name + ": Arrays.sort " + (arraysSort / ROUNDS) + " ms, Collections.sort "
+				+ (collectionsSort / ROUNDS) + " ms, native sort " + (nativeSort / ROUNDS) + " ms";
+		console.info(line);
+		report += line + "<br>";
+	}
+
+	private static void checkSorted(Integer[] a) {
+		for (int i = 1; i < a.length; i++) {
+			Test.assertTrue(a[i - 1] <= a[i]);
+		}
+	}
+
+}
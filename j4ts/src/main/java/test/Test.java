@@ -3,19 +3,56 @@ package test;
 import static def.dom.Globals.console;
 import static def.dom.Globals.document;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.ChunkedTreeMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IndexedPriorityQueue;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 
 import def.dom.HTMLElement;
+import def.js.ArrayBuffer;
+import javaemul.internal.ArrayBufferHelper;
+import javaemul.internal.collections.DoubleArrayList;
+import javaemul.internal.collections.IntArrayList;
+import javaemul.internal.collections.IntIntHashMap;
+import javaemul.internal.collections.IntObjectHashMap;
 import jsweet.util.Globals;
 
 public class Test {
@@ -43,9 +80,19 @@ public class Test {
 			testArrays();
 			testList();
 			testMap();
+			testPrimitiveCollections();
+			testSortedMap();
 			testSet();
+			testPriorityQueue();
 			testString();
+			testCharacter();
+			testLongs();
 			testIO();
+			testNio();
+			testEnumSet();
+			testDigest();
+			testConcurrent();
+			testLogging();
 			// not available
 			// testMath();
 			HTMLElement result = document.getElementById("result");
@@ -73,6 +120,33 @@ public class Test {
 		assertEquals(3, myArray[0]);
 		Arrays.sort(myArray);
 		assertEquals(1, myArray[0]);
+		// stability and in-place list sort
+		List<String> words = new ArrayList<String>();
+		for (int i = 0; i < 200; i++) {
+			words.add((char) ('a' + (i * 7) % 26) + "" + i);
+		}
+		Comparator<String> byFirstChar = new Comparator<String>() {
+			@Override
+			public int compare(String s1, String s2) {
+				return s1.charAt(0) - s2.charAt(0);
+			}
+		};
+		Collections.sort(words, byFirstChar);
+		for (int i = 1; i < words.size(); i++) {
+			String previous = words.get(i - 1);
+			String current = words.get(i);
+			assertTrue(previous.charAt(0) <= current.charAt(0));
+			if (previous.charAt(0) == current.charAt(0)) {
+				assertTrue(Integer.parseInt(previous.substring(1)) < Integer.parseInt(current.substring(1)));
+			}
+		}
+		String[] reversed = new String[100];
+		for (int i = 0; i < reversed.length; i++) {
+			reversed[i] = "" + (char) ('z' - i * 26 / 100);
+		}
+		Arrays.sort(reversed);
+		assertEquals("a", reversed[0]);
+		assertEquals("z", reversed[99]);
 		console.info("end testing arrays");
 	}
 
@@ -134,6 +208,27 @@ public class Test {
 		bs.and(bs2);
 		assertTrue(bs.get(0));
 		assertFalse(bs.get(1));
+		BitSet bs3 = new BitSet();
+		bs3.set(30, 70);
+		assertEquals(40, bs3.cardinality());
+		assertEquals(70, bs3.length());
+		assertEquals(30, bs3.nextSetBit(0));
+		assertEquals(70, bs3.nextClearBit(30));
+		assertEquals(69, bs3.previousSetBit(100));
+		bs3.xor(bs2);
+		assertTrue(bs3.get(0));
+		bs3.andNot(bs2);
+		assertFalse(bs3.get(0));
+		bs3.clear(31, 69);
+		assertEquals("{30, 69}", bs3.toString());
+		BitSet bs4 = new BitSet();
+		assertEquals(1234, bs4.hashCode());
+		bs4.set(0);
+		bs4.set(40);
+		bs4.set(63);
+		bs4.set(100);
+		// same hash code as the JDK
+		assertEquals(-2147482125, bs4.hashCode());
 		console.info("end testing sets");
 	}
 
@@ -152,6 +247,160 @@ public class Test {
 		console.info("end testing maps");
 	}
 
+	public static void testPrimitiveCollections() {
+		console.info("testing primitive collections");
+		IntArrayList ints = new IntArrayList(2);
+		for (int i = 0; i < 20; i++) {
+			ints.add(i);
+		}
+		assertEquals(20, ints.size());
+		assertEquals(19, ints.getInt(19));
+		ints.add(0, -1);
+		assertEquals(-1, ints.getInt(0));
+		assertEquals(0, ints.getInt(1));
+		assertEquals(5, ints.removeIntAt(6));
+		assertTrue(ints.remove((Integer) 10));
+		assertFalse(ints.contains(10));
+		assertEquals(18, ints.indexOf(19));
+		assertEquals(-1, ints.indexOf("19"));
+		ints.subList(0, 10).clear();
+		assertEquals("[11, 12, 13, 14, 15, 16, 17, 18, 19]", ints.toString());
+		ints.trimToSize();
+		ints.add(20);
+		assertEquals(10, ints.size());
+		int sum = 0;
+		for (int i : ints) {
+			sum += i;
+		}
+		assertEquals(155, sum);
+		try {
+			ints.add(null);
+			throw new Error("null element accepted");
+		} catch (NullPointerException e) {
+			// expected
+		}
+		assertEquals(10, ints.size());
+		DoubleArrayList doubles = new DoubleArrayList();
+		doubles.add(1.5);
+		doubles.add(0, 0.5);
+		doubles.set(1, 2.5);
+		assertEquals("[0.5, 2.5]", doubles.toString());
+		assertEquals(1, doubles.lastIndexOf(2.5));
+		assertEquals(2.5, doubles.removeDoubleAt(1));
+		assertEquals(1, doubles.size());
+		IntIntHashMap counts = new IntIntHashMap();
+		for (int i = 0; i < 100; i++) {
+			counts.addToInt(i % 7, 1);
+		}
+		assertEquals(7, counts.size());
+		assertEquals(15, (int) counts.get(0));
+		assertEquals(14, counts.getInt(6, -1));
+		assertEquals(-1, counts.getInt(7, -1));
+		assertEquals(null, counts.get(7));
+		assertTrue(counts.removeInt(0));
+		assertFalse(counts.containsKey(0));
+		counts.put(0, 3);
+		assertEquals(3, (int) counts.get(0));
+		assertEquals(7, counts.size());
+		try {
+			counts.put(1, null);
+			throw new Error("null value accepted");
+		} catch (NullPointerException e) {
+			// expected
+		}
+		assertEquals(15, (int) counts.get(1));
+		IntObjectHashMap<String> strings = new IntObjectHashMap<String>();
+		for (int i = 0; i < 100; i++) {
+			strings.put(i * 31, "v" + i);
+		}
+		for (int i = 0; i < 100; i += 2) {
+			strings.remove(i * 31);
+		}
+		assertEquals(50, strings.size());
+		assertEquals("v1", strings.get(31));
+		assertEquals(null, strings.get(62));
+		assertEquals("v99", strings.getForInt(99 * 31));
+		strings.put(62, null);
+		assertTrue(strings.containsKey(62));
+		assertEquals(null, strings.get(62));
+		int entries = 0;
+		for (Map.Entry<Integer, String> e : strings.entrySet()) {
+			if (e.getValue() != null) {
+				assertEquals("v" + (e.getKey() / 31), e.getValue());
+			}
+			entries++;
+		}
+		assertEquals(51, entries);
+		try {
+			for (int key : strings.keySet()) {
+				strings.remove(key);
+			}
+			throw new Error("concurrent modification not detected");
+		} catch (ConcurrentModificationException e) {
+			// expected
+		}
+		Iterator<Integer> keys = counts.keySet().iterator();
+		keys.next();
+		keys.remove();
+		assertEquals(6, counts.size());
+		console.info("end testing primitive collections");
+	}
+
+	public static void testSortedMap() {
+		console.info("testing sorted maps");
+		NavigableMap<Integer, String> m = new ChunkedTreeMap<Integer, String>();
+		for (int i = 999; i >= 0; i--) {
+			m.put(i * 2, "v" + i);
+		}
+		assertEquals(1000, m.size());
+		assertEquals(0, (int) m.firstKey());
+		assertEquals(1998, (int) m.lastKey());
+		assertEquals(10, (int) m.ceilingKey(9));
+		assertEquals(8, (int) m.floorKey(9));
+		assertEquals("v5", m.get(10));
+		assertEquals(null, m.get(11));
+		assertEquals("{10=v5, 12=v6}", m.subMap(9, 13).toString());
+		assertEquals(12, (int) m.subMap(9, true, 13, false).descendingMap().firstKey());
+		for (int i = 0; i < 1000; i += 2) {
+			m.remove(i * 2);
+		}
+		assertEquals(500, m.size());
+		assertEquals(2, (int) m.firstKey());
+		Iterator<Integer> it = m.keySet().iterator();
+		while (it.hasNext()) {
+			if (it.next() < 1000) {
+				it.remove();
+			}
+		}
+		assertEquals(1002, (int) m.firstKey());
+		assertEquals(250, m.size());
+		// the useChunkedTreeMaps option substitutes ChunkedTreeMap to each
+		// TreeMap constructor: both must give the same maps
+		Comparator<String> reverse = Collections.reverseOrder();
+		TreeMap<String, Integer> reference = new TreeMap<String, Integer>(reverse);
+		NavigableMap<String, Integer> chunked = new ChunkedTreeMap<String, Integer>(reverse);
+		Map<String, Integer> unsorted = new HashMap<String, Integer>();
+		for (int i = 0; i < 300; i++) {
+			String key = "k" + (i * 37 % 300);
+			reference.put(key, i);
+			chunked.put(key, i);
+			unsorted.put(key, i);
+		}
+		assertEquals(reference.toString(), chunked.toString());
+		assertTrue(reference.equals(chunked));
+		assertEquals(reference.headMap("k50").toString(), chunked.headMap("k50").toString());
+		assertEquals(reference.descendingMap().firstKey(), chunked.descendingMap().firstKey());
+		NavigableMap<String, Integer> fromSorted = new ChunkedTreeMap<String, Integer>(reference);
+		assertTrue(fromSorted.comparator() == reverse);
+		assertEquals(new TreeMap<String, Integer>(reference).toString(), fromSorted.toString());
+		NavigableMap<String, Integer> fromUnsorted = new ChunkedTreeMap<String, Integer>(unsorted);
+		assertEquals(null, fromUnsorted.comparator());
+		assertEquals(new TreeMap<String, Integer>(unsorted).toString(), fromUnsorted.toString());
+		assertEquals("k0", fromUnsorted.firstKey());
+		assertEquals(new TreeMap<String, Integer>().toString(), new ChunkedTreeMap<String, Integer>().toString());
+		console.info("end testing sorted maps");
+	}
+
 	public static void testString() {
 		console.info("testing strings");
 		StringBuilder sb = new StringBuilder();
@@ -173,13 +422,533 @@ public class Test {
 		console.info("end testing strings");
 	}
 
+	public static void testCharacter() {
+		console.info("testing characters");
+		assertTrue(Character.isLetter('\u00e9'));
+		assertTrue(Character.isLowerCase('\u00e9'));
+		assertFalse(Character.isUpperCase('\u00e9'));
+		assertTrue(Character.isUpperCase('\u0416'));
+		assertTrue(Character.isLetter('\u4e2d'));
+		assertFalse(Character.isLetter('1'));
+		assertTrue(Character.isDigit('\u0663'));
+		assertEquals(3, Character.digit('\u0663', 10));
+		assertEquals(-1, Character.digit('\u0663', 3));
+		assertEquals(15, Character.digit('f', 16));
+		assertEquals(35, Character.digit('\uff3a', 36));
+		assertEquals(7, Character.getNumericValue('7'));
+		assertTrue(Character.isWhitespace('\u2003'));
+		assertFalse(Character.isWhitespace('\u00a0'));
+		assertTrue(Character.isSpaceChar('\u00a0'));
+		assertTrue(Character.isTitleCase('\u01c5'));
+		assertTrue(Character.isJavaIdentifierStart('$'));
+		assertFalse(Character.isJavaIdentifierStart('1'));
+		assertTrue(Character.isJavaIdentifierPart('1'));
+		assertTrue(Character.isISOControl('\n'));
+		assertFalse(Character.isDefined('\u0378'));
+		assertEquals((int) Character.CURRENCY_SYMBOL, Character.getType('\u20ac'));
+		assertEquals((int) Character.DASH_PUNCTUATION, Character.getType('-'));
+		assertTrue(Character.isLetter(0x4e2d));
+		assertTrue(Character.isDigit(0x0663));
+		assertEquals('\u00e9', Character.toLowerCase('\u00c9'));
+		assertEquals('Z', Character.toUpperCase('z'));
+		assertEquals('1', Character.toUpperCase('1'));
+		console.info("end testing characters");
+	}
+
+	static class LongCounter {
+		long count;
+	}
+
+	static LongCounter[] counters = { new LongCounter(), new LongCounter() };
+
+	static int counterIndex = 0;
+
+	static LongCounter nextCounter() {
+		return counters[counterIndex++];
+	}
+
+	public static void testLongs() {
+		console.info("testing longs");
+		// the lvalues of the compound assignments and increments are
+		// evaluated once (also in exact long mode)
+		long[] values = { 0, 10 };
+		int i = 0;
+		values[i++] += 1L;
+		assertEquals(1, i);
+		assertTrue(values[0] == 1L);
+		assertTrue(values[1] == 10L);
+		values[i++]++;
+		assertEquals(2, i);
+		assertTrue(values[1] == 11L);
+		i = 0;
+		long previous = values[i++]--;
+		assertEquals(1, i);
+		assertTrue(previous == 1L);
+		assertTrue(values[0] == 0L);
+		long next = ++values[i++];
+		assertEquals(2, i);
+		assertTrue(next == 12L);
+		assertTrue(values[1] == 12L);
+		int[] ints = { 1 };
+		i = 0;
+		ints[i++] += 2L;
+		assertEquals(1, i);
+		assertEquals(3, ints[0]);
+		nextCounter().count += 5L;
+		nextCounter().count++;
+		assertEquals(2, counterIndex);
+		assertTrue(counters[0].count == 5L);
+		assertTrue(counters[1].count == 1L);
+		// 64-bit semantics, only when transpiled with the exact long mode
+		// (exactLongs profile), since numbers are not exact above 2^53
+		long max = Long.MAX_VALUE;
+		if (max - 1 != max) {
+			max++;
+			assertTrue(max == Long.MIN_VALUE);
+			long big = 9007199254740992L;
+			assertEquals("9007199254740993", "" + (big + 1));
+			assertTrue(3037000499L * 3037000499L == 9223372030926249001L);
+			assertTrue(-7L / 2 == -3L);
+			assertTrue(-7L % 2 == -1L);
+			assertTrue(-1L >>> 60 == 15L);
+			assertTrue((int) 0x123456789L == 0x23456789);
+		}
+		console.info("end testing longs");
+	}
+
 	public static void testIO() throws IOException {
 		console.info("testing io");
 		ByteArrayInputStream s = new ByteArrayInputStream("abc".getBytes());
 		assertEquals(Character.getNumericValue('a'), s.read());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(4);
+		OutputStreamWriter writer = new OutputStreamWriter(out, "UTF-8");
+		writer.write("h\u00e9llo \u20ac");
+		writer.write("\ud83d");
+		writer.write("\ude00\n2nd line");
+		writer.close();
+		assertEquals(23, out.size());
+		assertEquals(-61, out.toByteArray()[1]);
+		assertEquals("h\u00e9llo \u20ac\ud83d\ude00\n2nd line", out.toString());
+		assertEquals(23, (int) ArrayBufferHelper.toUint8Array(out).length);
+
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new ByteArrayInputStream(out.toByteArray()), "UTF-8"));
+		assertEquals("h\u00e9llo \u20ac\ud83d\ude00", reader.readLine());
+		assertEquals("2nd line", reader.readLine());
+		assertEquals(null, reader.readLine());
 		console.info("end testing io");
 	}
 
+	public static void testNio() {
+		console.info("testing nio");
+		ByteBuffer b = ByteBuffer.allocate(32);
+		assertTrue(b.order() == ByteOrder.BIG_ENDIAN);
+		b.putInt(0x01020304).putShort((short) -2).putChar('z').putLong(-5000000000L).putDouble(0.5);
+		assertEquals(24, b.position());
+		b.flip();
+		assertEquals(1, b.get(0));
+		assertEquals(4, b.get(3));
+		assertEquals(0x01020304, b.getInt());
+		assertEquals(-2, b.getShort());
+		assertEquals('z', b.getChar());
+		assertTrue(b.getLong() == -5000000000L);
+		assertEquals(0.5, b.getDouble());
+		assertFalse(b.hasRemaining());
+
+		b.clear();
+		b.order(ByteOrder.LITTLE_ENDIAN).putInt(0, 0x01020304);
+		assertEquals(4, b.get(0));
+		b.putLong(8, 0x0102030405060708L);
+		assertTrue(b.getLong(8) == 0x0102030405060708L);
+		assertEquals(8, b.get(8));
+
+		// zero-copy views
+		b.position(8);
+		IntBuffer ints = b.asIntBuffer();
+		assertEquals(6, ints.capacity());
+		assertEquals(0x05060708, ints.get(0));
+		ints.put(1, -1);
+		assertEquals(-1, b.getInt(12));
+		ByteBuffer slice = b.slice();
+		slice.put(0, (byte) 42);
+		assertEquals(42, b.get(8));
+		ByteBuffer readOnly = b.asReadOnlyBuffer();
+		assertTrue(readOnly.isReadOnly());
+		try {
+			readOnly.put((byte) 0);
+			assertTrue(false);
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		b.array()[8] = 43;
+		assertEquals(43, slice.get(0));
+
+		// bulk operations
+		ByteBuffer wrapped = ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5 });
+		byte[] dst = new byte[3];
+		wrapped.get(dst);
+		assertEquals(3, dst[2]);
+		wrapped.compact();
+		assertEquals(2, wrapped.position());
+		assertEquals(4, wrapped.get(0));
+		ByteBuffer copy = ByteBuffer.allocate(8);
+		copy.put(ByteBuffer.wrap(b.array(), 8, 4));
+		assertEquals(4, copy.position());
+		assertEquals(43, copy.get(0));
+		assertEquals(ByteBuffer.wrap(new byte[] { 1, 2 }), ByteBuffer.wrap(new byte[] { 0, 1, 2 }, 1, 2));
+		try {
+			wrapped.position(4).limit(5);
+			wrapped.getShort();
+			assertTrue(false);
+		} catch (java.nio.BufferUnderflowException e) {
+			// expected
+		}
+
+		// puts on a wrapped array are visible in the array
+		byte[] bytes = new byte[12];
+		ByteBuffer.wrap(bytes).putLong(0x0102030405060708L).putShort((short) -2);
+		assertEquals(1, bytes[0]);
+		assertEquals(8, bytes[7]);
+		assertEquals(-1, bytes[8]);
+		assertEquals(-2, bytes[9]);
+		assertTrue(ByteBuffer.wrap(bytes).getLong() == 0x0102030405060708L);
+		ByteBuffer.wrap(bytes, 4, 8).slice().asIntBuffer().put(1, -3);
+		assertEquals(-3, ByteBuffer.wrap(bytes).getInt(8));
+		int[] intArray = new int[2];
+		IntBuffer.wrap(intArray).put(1, 42);
+		assertEquals(42, intArray[1]);
+
+		// ArrayBuffer interop
+		ArrayBuffer arrayBuffer = new ArrayBuffer(8);
+		ByteBuffer shared = ArrayBufferHelper.wrap(arrayBuffer);
+		shared.putInt(4, 7);
+		assertTrue(ArrayBufferHelper.getArrayBuffer(shared) == arrayBuffer);
+		assertEquals(7.0, ArrayBufferHelper.toUint8Array(shared).$get(7));
+		assertTrue(ArrayBufferHelper.toArrayBuffer(shared) == arrayBuffer);
+		shared.position(4);
+		assertEquals(4.0, ArrayBufferHelper.toArrayBuffer(shared).byteLength);
+
+		CharBuffer chars = CharBuffer.allocate(8);
+		chars.put("abc").put('d');
+		chars.flip();
+		assertEquals("abcd", chars.toString());
+		assertEquals('c', chars.charAt(2));
+		assertEquals("bc", chars.subSequence(1, 3).toString());
+		assertEquals("xy", CharBuffer.wrap("xy").toString());
+		console.info("end testing nio");
+	}
+
+	enum Color {
+		RED, GREEN, BLUE, YELLOW
+	}
+
+	enum Code {
+		C0, C1, C2, C3, C4, C5, C6, C7, C8, C9, C10, C11, C12, C13, C14, C15, C16, C17, C18, C19, C20, C21, C22, C23, C24, C25, C26, C27, C28, C29, C30, C31, C32, C33, C34, C35, C36, C37, C38, C39
+	}
+
+	public static void testEnumSet() {
+		console.info("testing enum sets");
+		EnumSet<Color> colors = EnumSet.noneOf(Color.class);
+		assertTrue(colors.isEmpty());
+		assertTrue(colors.add(Color.GREEN));
+		assertFalse(colors.add(Color.GREEN));
+		colors.add(Color.YELLOW);
+		assertEquals(2, colors.size());
+		assertTrue(colors.contains(Color.YELLOW));
+		assertFalse(colors.contains(Color.RED));
+		EnumSet<Color> complement = EnumSet.complementOf(colors);
+		assertEquals(2, complement.size());
+		assertTrue(complement.contains(Color.RED));
+		assertTrue(complement.contains(Color.BLUE));
+		assertEquals(4, EnumSet.allOf(Color.class).size());
+		assertTrue(EnumSet.allOf(Color.class).containsAll(colors));
+		EnumSet<Color> some = EnumSet.of(Color.RED, Color.GREEN);
+		some.retainAll(colors);
+		assertEquals(1, some.size());
+		assertTrue(some.contains(Color.GREEN));
+		colors.removeAll(some);
+		assertEquals(1, colors.size());
+		assertEquals(3, EnumSet.range(Color.GREEN, Color.YELLOW).size());
+		// the sets created from constants know the enum type
+		EnumSet<Color> others = EnumSet.complementOf(EnumSet.of(Color.RED));
+		assertEquals(3, others.size());
+		assertFalse(others.contains(Color.RED));
+		assertTrue(EnumSet.of(Color.RED).equals(EnumSet.complementOf(EnumSet.range(Color.GREEN, Color.YELLOW))));
+		assertEquals(2, EnumSet.complementOf(EnumSet.copyOf(Arrays.asList(Color.RED, Color.BLUE))).size());
+		Iterator<Color> it = complement.iterator();
+		assertTrue(it.next() == Color.RED);
+		it.remove();
+		assertTrue(it.next() == Color.BLUE);
+		assertFalse(it.hasNext());
+		assertEquals(1, complement.size());
+
+		EnumSet<Code> codes = EnumSet.of(Code.C1, Code.C33, Code.C39);
+		assertEquals(3, codes.size());
+		assertTrue(codes.contains(Code.C33));
+		assertFalse(codes.contains(Code.C32));
+		EnumSet<Code> allCodes = EnumSet.allOf(Code.class);
+		assertEquals(40, allCodes.size());
+		assertTrue(allCodes.containsAll(codes));
+		EnumSet<Code> otherCodes = EnumSet.complementOf(EnumSet.copyOf(allCodes));
+		assertTrue(otherCodes.isEmpty());
+		otherCodes = EnumSet.noneOf(Code.class);
+		otherCodes.addAll(codes);
+		assertTrue(codes.equals(otherCodes));
+		assertEquals(37, EnumSet.complementOf(otherCodes).size());
+		assertEquals(37, EnumSet.complementOf(codes).size());
+		EnumSet<Code> arrayCodes = EnumSet.of(Code.C0, new Code[] { Code.C2, Code.C34 });
+		assertEquals(3, arrayCodes.size());
+		assertEquals(37, EnumSet.complementOf(arrayCodes).size());
+		int n = 0;
+		for (Code code : codes) {
+			assertTrue(code == Code.C1 || code == Code.C33 || code == Code.C39);
+			n++;
+		}
+		assertEquals(3, n);
+
+		EnumMap<Color, String> names = new EnumMap<Color, String>(Color.class);
+		names.put(Color.BLUE, "blue");
+		names.put(Color.RED, null);
+		assertEquals(2, names.size());
+		assertTrue(names.containsKey(Color.RED));
+		assertFalse(names.containsKey(Color.GREEN));
+		assertEquals("blue", names.get(Color.BLUE));
+		assertEquals("blue", names.remove(Color.BLUE));
+		assertEquals(1, names.size());
+		Map<Color, String> hashMap = new HashMap<>();
+		hashMap.put(Color.YELLOW, "yellow");
+		assertEquals("yellow", new EnumMap<Color, String>(hashMap).get(Color.YELLOW));
+		console.info("end testing enum sets");
+	}
+
+	static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < bytes.length; i++) {
+			sb.append("0123456789abcdef".charAt(bytes[i] >> 4 & 0xf));
+			sb.append("0123456789abcdef".charAt(bytes[i] & 0xf));
+		}
+		return sb.toString();
+	}
+
+	public static void testDigest() throws NoSuchAlgorithmException {
+		console.info("testing digests");
+		byte[] abc = "abc".getBytes();
+		byte[] twoBlocks = "abcdbcdecdefdefgefghfghighijhijkijkljklmklmnlmnomnopnopq".getBytes();
+		MessageDigest md5 = MessageDigest.getInstance("MD5");
+		assertEquals("900150983cd24fb0d6963f7d28e17f72", toHex(md5.digest(abc)));
+		assertEquals("8215ef0796a20bcaaae116d3876c664a", toHex(md5.digest(twoBlocks)));
+		MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+		assertEquals(20, sha1.getDigestLength());
+		assertEquals("a9993e364706816aba3e25717850c26c9cd0d89d", toHex(sha1.digest(abc)));
+		assertEquals("84983e441c3bd26ebaae4aa1f95129e5e54670f1", toHex(sha1.digest(twoBlocks)));
+		MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+		assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", toHex(sha256.digest(abc)));
+		// updates that do not match the blocks
+		sha256.update(twoBlocks, 0, 3);
+		sha256.update(twoBlocks[3]);
+		sha256.update(twoBlocks, 4, twoBlocks.length - 4);
+		assertEquals("248d6a61d20638b8e5c026930c3e6039a33ce45964ff2167f6ecedd419db06c1", toHex(sha256.digest()));
+		assertTrue(MessageDigest.isEqual(sha1.digest(abc), MessageDigest.getInstance("SHA").digest(abc)));
+		console.info("end testing digests");
+	}
+
+	public static void testPriorityQueue() {
+		console.info("testing priority queue");
+		PriorityQueue<Integer> q = new PriorityQueue<>();
+		for (int i : new int[] { 5, 1, 4, 1, 3, 9, 2, 6 }) {
+			q.offer(i);
+		}
+		assertEquals(8, q.size());
+		assertEquals(1, q.peek());
+		assertTrue(q.remove(4));
+		assertFalse(q.remove(7));
+		String polled = "";
+		while (!q.isEmpty()) {
+			polled += q.poll();
+		}
+		assertEquals("1123569", polled);
+		assertEquals(null, q.poll());
+
+		List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			values.add((i * 37) % 100);
+		}
+		PriorityQueue<Integer> heapified = new PriorityQueue<>(values);
+		PriorityQueue<Integer> reversed = new PriorityQueue<>(Collections.reverseOrder());
+		reversed.addAll(values);
+		assertEquals(0, heapified.peek());
+		assertEquals(99, reversed.peek());
+		// a bulk add with a null element leaves the queue unchanged
+		List<Integer> withNull = new ArrayList<>(values);
+		withNull.add(null);
+		PriorityQueue<Integer> small = new PriorityQueue<>();
+		small.add(50);
+		try {
+			small.addAll(withNull);
+			assertTrue(false);
+		} catch (NullPointerException e) {
+			// expected
+		}
+		assertEquals(1, small.size());
+		assertEquals(50, small.poll());
+		heapified.removeAll(Arrays.asList(0, 1, 2));
+		assertEquals(97, heapified.size());
+		for (int i = 3; i < 100; i++) {
+			assertEquals(i, heapified.poll());
+		}
+
+		int[] priorities = { 5, 3, 8, 1 };
+		IndexedPriorityQueue<Integer> indexed = new IndexedPriorityQueue<>((a, b) -> priorities[a] - priorities[b]);
+		for (int i = 0; i < priorities.length; i++) {
+			indexed.offer(i);
+		}
+		assertTrue(indexed.contains(2));
+		priorities[2] = 0;
+		indexed.update(2);
+		assertEquals(2, indexed.poll());
+		assertTrue(indexed.remove(3));
+		assertFalse(indexed.contains(3));
+		assertEquals(1, indexed.poll());
+		assertEquals(0, indexed.poll());
+		assertTrue(indexed.isEmpty());
+	}
+
+	public static void testLogging() {
+		console.info("testing logging");
+		List<String> messages = new ArrayList<>();
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				messages.add(getFormatter() == null ? record.getMessage() : getFormatter().formatMessage(record));
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		handler.setFormatter(new java.util.logging.Formatter() {
+			@Override
+			public String format(LogRecord record) {
+				return formatMessage(record);
+			}
+		});
+		Logger parent = Logger.getLogger("test.logging");
+		Logger child = Logger.getLogger("test.logging.child");
+		parent.addHandler(handler);
+		parent.setUseParentHandlers(false);
+		int[] evaluations = { 0 };
+		child.fine(() -> "fine " + (++evaluations[0]));
+		child.info(() -> "info " + (++evaluations[0]));
+		assertEquals(1, evaluations[0]);
+		assertEquals("info 1", messages.get(0));
+
+		// the effective level is inherited until the child has its own level
+		parent.setLevel(Level.FINE);
+		assertTrue(child.isLoggable(Level.FINE));
+		assertFalse(child.isLoggable(Level.FINER));
+		child.setLevel(Level.WARNING);
+		parent.setLevel(Level.ALL);
+		assertFalse(child.isLoggable(Level.INFO));
+		child.setLevel(null);
+		assertTrue(child.isLoggable(Level.FINEST));
+
+		child.log(Level.INFO, "{0} + {1} = {2}", new Object[] { 1, 2, 3 });
+		child.log(Level.INFO, "value: {0}, {1}", "a");
+		assertEquals("1 + 2 = 3", messages.get(1));
+		assertEquals("value: a, {1}", messages.get(2));
+		child.setLevel(Level.OFF);
+		child.log(Level.SEVERE, "{0}", new Object[] { "hidden" });
+		assertEquals(3, messages.size());
+
+		// the parameters of a kept call are only formatted when published
+		int[] formats = { 0 };
+		Object parameter = new Object() {
+			@Override
+			public String toString() {
+				formats[0]++;
+				return "formatted";
+			}
+		};
+		child.setLevel(Level.INFO);
+		child.log(Level.FINE, "{0}", new Object[] { parameter });
+		assertEquals(0, formats[0]);
+		assertEquals(3, messages.size());
+		child.log(Level.INFO, "{0}", new Object[] { parameter });
+		assertEquals(1, formats[0]);
+		assertEquals("formatted", messages.get(3));
+	}
+
+	public static void testConcurrent() {
+		console.info("testing concurrent");
+		CompletableFuture<Integer> source = new CompletableFuture<>();
+		CompletableFuture<String> chained = source.thenApply(i -> i * 2).thenApply(i -> "value " + i);
+		AtomicInteger accepted = new AtomicInteger();
+		source.thenAccept(i -> accepted.addAndGet(i));
+		assertFalse(chained.isDone());
+		assertEquals(2, source.getNumberOfDependents());
+		assertTrue(source.complete(21));
+		assertFalse(source.complete(22));
+		assertEquals("value 42", chained.join());
+		assertEquals(21, accepted.get());
+
+		CompletableFuture<Integer> failed = new CompletableFuture<>();
+		CompletableFuture<Integer> recovered = failed.thenApply(i -> i + 1).exceptionally(e -> -1);
+		failed.completeExceptionally(new IllegalStateException("failed"));
+		assertTrue(failed.isCompletedExceptionally());
+		assertEquals(-1, recovered.join());
+		CompletableFuture<Void> all = CompletableFuture.allOf(source, CompletableFuture.completedFuture("x"));
+		assertTrue(all.isDone());
+		assertTrue(CompletableFuture.allOf(source, failed).isCompletedExceptionally());
+		assertEquals(5, CompletableFuture.completedFuture(2)
+				.thenCombine(CompletableFuture.completedFuture(3), (a, b) -> a + b).join());
+		CompletableFuture<Integer> cancelled = new CompletableFuture<>();
+		assertTrue(cancelled.cancel(false));
+		assertTrue(cancelled.isCancelled());
+
+		ConcurrentMap<String, Integer> map = new ConcurrentHashMap<>();
+		assertEquals(null, map.putIfAbsent("a", 1));
+		assertEquals(1, map.putIfAbsent("a", 2));
+		assertTrue(map.replace("a", 1, 3));
+		assertFalse(map.remove("a", 1));
+		assertTrue(map.remove("a", 3));
+		assertTrue(map.isEmpty());
+		try {
+			map.put("b", null);
+			assertTrue(false);
+		} catch (NullPointerException e) {
+			// expected
+		}
+		AtomicInteger counter = new AtomicInteger(5);
+		assertTrue(counter.compareAndSet(5, 6));
+		assertEquals(7, counter.incrementAndGet());
+		assertEquals(2000, TimeUnit.SECONDS.toMillis(2));
+
+		// the tasks run in order on the event loop
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		List<Integer> order = new ArrayList<Integer>();
+		for (int i = 0; i < 5; i++) {
+			int n = i;
+			executor.execute(() -> order.add(n));
+		}
+		executor.execute(() -> assertEquals("[0, 1, 2, 3, 4]", order.toString()));
+		executor.shutdown();
+		assertFalse(executor.isTerminated());
+		ExecutorService stopped = Executors.newSingleThreadExecutor();
+		Runnable first = () -> order.add(-1);
+		stopped.execute(first);
+		stopped.execute(() -> order.add(-2));
+		List<Runnable> notStarted = stopped.shutdownNow();
+		assertEquals(2, notStarted.size());
+		assertTrue(notStarted.get(0) == first);
+		assertTrue(stopped.isTerminated());
+		console.info("end testing concurrent");
+	}
+
 	// java.math is not available yet and should be implemented as a wrapper to
 	// bignumber.js
 
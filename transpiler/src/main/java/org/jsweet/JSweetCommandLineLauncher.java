@@ -135,6 +135,11 @@ public class JSweetCommandLineLauncher {
 				transpiler.setModuleKind(ModuleKind.valueOf(jsapArgs.getString("module")));
 				transpiler.setEncoding(jsapArgs.getString("encoding"));
 				transpiler.setIgnoreAssertions(jsapArgs.getBoolean("ignoreAssertions"));
+				transpiler.setUsePrimitiveCollections(jsapArgs.getBoolean("usePrimitiveCollections"));
+				transpiler.setUseChunkedTreeMaps(jsapArgs.getBoolean("useChunkedTreeMaps"));
+				transpiler.setJreChecks(jsapArgs.getString("jreChecks"));
+				transpiler.setMinLogLevel(jsapArgs.getString("minLogLevel"));
+				transpiler.setUseExactLongs(jsapArgs.getBoolean("useExactLongs"));
 				transpiler.setGenerateDeclarations(jsapArgs.getBoolean("declaration"));
 				transpiler.setGenerateJsFiles(!jsapArgs.getBoolean("tsOnly"));
 				transpiler.setInterfaceTracking(!jsapArgs.getBoolean("disableJavaAddons"));
@@ -358,6 +363,48 @@ public class JSweetCommandLineLauncher {
 		switchArg.setDefault("false");
 		jsap.registerParameter(switchArg);
 
+		// Primitive collections
+		switchArg = new Switch("usePrimitiveCollections");
+		switchArg.setLongFlag("usePrimitiveCollections");
+		switchArg.setHelp(
+				"Replace the local ArrayList and HashMap instances holding boxed numbers with primitive-specialized collections (backed by typed arrays) when they do not escape the method that creates them.");
+		switchArg.setDefault("false");
+		jsap.registerParameter(switchArg);
+
+		// Chunked tree maps
+		switchArg = new Switch("useChunkedTreeMaps");
+		switchArg.setLongFlag("useChunkedTreeMaps");
+		switchArg.setHelp(
+				"Instantiate TreeMap with the chunked implementation of the runtime, which stores the entries in sorted arrays rather than in red-black tree nodes, and is faster for large maps.");
+		switchArg.setDefault("false");
+		jsap.registerParameter(switchArg);
+
+		// Exact longs
+		switchArg = new Switch("useExactLongs");
+		switchArg.setLongFlag("useExactLongs");
+		switchArg.setHelp(
+				"Emulate the long values exactly (64-bit integers made of two 32-bit words) rather than mapping them to JavaScript numbers, which lose precision above 2^53. The Java runtime must be transpiled with the same option.");
+		switchArg.setDefault("false");
+		jsap.registerParameter(switchArg);
+
+		// Runtime precondition checks
+		optionArg = new FlaggedOption("jreChecks");
+		optionArg.setLongFlag("jreChecks");
+		optionArg.setStringParser(JSAP.STRING_PARSER);
+		optionArg.setRequired(false);
+		optionArg.setHelp(
+				"Set the levels of the precondition checks of the Java runtime: 'production' (null checks only), a level for all categories ('all', 'null' or 'none'), or a list of category=level pairs, with api, bounds and type categories (e.g. 'api=null,bounds=none'). Disabled checks are not generated.");
+		jsap.registerParameter(optionArg);
+
+		// Minimum logging level
+		optionArg = new FlaggedOption("minLogLevel");
+		optionArg.setLongFlag("minLogLevel");
+		optionArg.setStringParser(JSAP.STRING_PARSER);
+		optionArg.setRequired(false);
+		optionArg.setHelp(
+				"Set the minimum level of the java.util.logging calls (SEVERE, WARNING, INFO, CONFIG, FINE, FINER, FINEST or OFF). The calls with a lower level (e.g. logger.fine(...) or logger.log(Level.FINE, ...)) are not generated.");
+		jsap.registerParameter(optionArg);
+
 		return jsap;
 	}
 
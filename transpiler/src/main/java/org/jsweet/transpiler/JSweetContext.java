@@ -124,6 +124,12 @@ public class JSweetContext extends Context {
 	 */
 	public JSweetContext(JSweetOptions options) {
 		this.options = options;
+		if (!isBlank(options.getJreChecks())) {
+			preconditionChecks = new PreconditionChecks(options.getJreChecks());
+		}
+		if (!isBlank(options.getMinLogLevel())) {
+			minLogLevel = new MinimumLogLevel(options.getMinLogLevel());
+		}
 		if (options.getConfiguration() != null) {
 			for (Entry<String, Map<String, Object>> entry : options.getConfiguration().entrySet()) {
 				if (entry.getKey().startsWith("@")) {
@@ -312,6 +318,30 @@ public class JSweetContext extends Context {
 	 */
 	public Set<VarSymbol> lazyInitializedStatics = new HashSet<>();
 
+	/**
+	 * Holds the allocations to be replaced with primitive-specialized
+	 * collections, with the fully qualified name of the replacing class.
+	 * 
+	 * @see PrimitiveCollectionsScanner
+	 */
+	public Map<JCNewClass, String> primitiveCollections = new HashMap<>();
+
+	/**
+	 * The levels of the runtime precondition checks, or null if all the checks
+	 * are generated.
+	 * 
+	 * @see JSweetOptions#getJreChecks()
+	 */
+	public PreconditionChecks preconditionChecks;
+
+	/**
+	 * The minimum level of the generated logging calls, or null if all the
+	 * calls are generated.
+	 * 
+	 * @see JSweetOptions#getMinLogLevel()
+	 */
+	public MinimumLogLevel minLogLevel;
+
 	private Map<ClassSymbol, Integer> staticInitializerCounts = new HashMap<>();
 
 	/**
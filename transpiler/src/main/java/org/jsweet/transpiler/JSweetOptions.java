@@ -110,6 +110,49 @@ public interface JSweetOptions {
 	 */
 	boolean isIgnoreAssertions();
 
+	/**
+	 * Tells if the transpiler should replace local <code>ArrayList</code> and
+	 * <code>HashMap</code> instances holding boxed numbers with the
+	 * primitive-specialized collections of the j4ts runtime, when they do not
+	 * escape the method that creates them. Only applies when using Java APIs.
+	 */
+	boolean isUsePrimitiveCollections();
+
+	/**
+	 * Tells if the transpiler should instantiate the chunked (array-based)
+	 * implementation of the j4ts runtime in place of the red-black tree for
+	 * <code>TreeMap</code> allocations. Only applies when using Java APIs.
+	 */
+	boolean isUseChunkedTreeMaps();
+
+	/**
+	 * Tells if the transpiler should emulate the <code>long</code> values
+	 * exactly, with the 64-bit integer implementation of the j4ts runtime
+	 * (<code>javaemul.internal.LongEmul</code>), rather than mapping them to
+	 * JavaScript numbers, which are exact up to 2^53 only. The runtime must be
+	 * transpiled with the same option.
+	 */
+	boolean isUseExactLongs();
+
+	/**
+	 * Gets the levels of the j4ts runtime precondition checks (see
+	 * {@link PreconditionChecks#PreconditionChecks(String)} for the format), or
+	 * null to generate all the checks. The checks that are disabled are not
+	 * generated at all, which avoids their cost in hot methods such as
+	 * <code>ArrayList.get</code>.
+	 */
+	String getJreChecks();
+
+	/**
+	 * Gets the name of the minimum level of the <code>java.util.logging</code>
+	 * calls (for instance <code>WARNING</code>), or null to generate all the
+	 * calls. The calls whose level is statically below the minimum level are
+	 * not generated.
+	 * 
+	 * @see MinimumLogLevel
+	 */
+	String getMinLogLevel();
+
 	/**
 	 * Generates output code even if the main class is not placed within a file
 	 * of the same name.
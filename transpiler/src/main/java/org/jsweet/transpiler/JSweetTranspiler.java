@@ -168,6 +168,11 @@ public class JSweetTranspiler implements JSweetOptions {
 	private String encoding = null;
 	private boolean noRootDirectories = false;
 	private boolean ignoreAssertions = false;
+	private boolean usePrimitiveCollections = false;
+	private boolean useChunkedTreeMaps = false;
+	private String jreChecks = null;
+	private String minLogLevel = null;
+	private boolean useExactLongs = false;
 	private boolean ignoreJavaFileNameError = false;
 	private boolean generateDeclarations = false;
 	private File declarationsOutputDir;
@@ -188,7 +193,10 @@ public class JSweetTranspiler implements JSweetOptions {
 				+ "\ntsDefDirs=" + (tsDefDirs == null ? null : Arrays.asList(tsDefDirs)) + "\nmoduleKind=" + moduleKind
 				+ "\necmaTargertVersion=" + ecmaTargetVersion + "\nbundle=" + bundle + "\nbundleDirectory="
 				+ bundlesDirectory + "\nencoding=" + encoding + "\nnoRootDirectories=" + noRootDirectories
-				+ "\nignoreAssertions=" + ignoreAssertions + "\nignoreJavaFileNameError=" + ignoreJavaFileNameError
+				+ "\nignoreAssertions=" + ignoreAssertions + "\nusePrimitiveCollections=" + usePrimitiveCollections
+				+ "\nuseChunkedTreeMaps=" + useChunkedTreeMaps + "\njreChecks=" + jreChecks + "\nminLogLevel="
+				+ minLogLevel + "\nuseExactLongs=" + useExactLongs
+				+ "\nignoreJavaFileNameError=" + ignoreJavaFileNameError
 				+ "\ngenerateDeclarations=" + generateDeclarations + "\ndeclarationsOutputDir=" + declarationsOutputDir
 				+ "\njdkAllowed=" + jdkAllowed + "\ninterfaceTracking=" + interfaceTracking + "\nsupportGetClass="
 				+ supportGetClass + "\nsupportSaticLazyInitialization=" + supportSaticLazyInitialization
@@ -776,6 +784,9 @@ public class JSweetTranspiler implements JSweetOptions {
 		}
 		context.sourceFiles = files;
 		new GlobalBeforeTranslationScanner(transpilationHandler, context).process(compilationUnits);
+		if (usePrimitiveCollections && useJavaApis) {
+			new PrimitiveCollectionsScanner(transpilationHandler, context).process(compilationUnits);
+		}
 
 		if (context.useModules) {
 			generateTsFiles(transpilationHandler, files, compilationUnits);
@@ -1620,6 +1631,100 @@ public class JSweetTranspiler implements JSweetOptions {
 		this.ignoreAssertions = ignoreAssertions;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.jsweet.transpiler.JSweetOptions#isUsePrimitiveCollections()
+	 */
+	@Override
+	public boolean isUsePrimitiveCollections() {
+		return usePrimitiveCollections;
+	}
+
+	/**
+	 * Sets the transpiler to replace local collections of boxed numbers with
+	 * primitive-specialized collections when they do not escape.
+	 */
+	public void setUsePrimitiveCollections(boolean usePrimitiveCollections) {
+		this.usePrimitiveCollections = usePrimitiveCollections;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.jsweet.transpiler.JSweetOptions#isUseChunkedTreeMaps()
+	 */
+	@Override
+	public boolean isUseChunkedTreeMaps() {
+		return useChunkedTreeMaps;
+	}
+
+	/**
+	 * Sets the transpiler to instantiate the chunked implementation of
+	 * <code>TreeMap</code>.
+	 */
+	public void setUseChunkedTreeMaps(boolean useChunkedTreeMaps) {
+		this.useChunkedTreeMaps = useChunkedTreeMaps;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.jsweet.transpiler.JSweetOptions#getJreChecks()
+	 */
+	@Override
+	public String getJreChecks() {
+		return jreChecks;
+	}
+
+	/**
+	 * Sets the levels of the j4ts runtime precondition checks (null generates
+	 * all the checks).
+	 * 
+	 * @see PreconditionChecks
+	 */
+	public void setJreChecks(String jreChecks) {
+		this.jreChecks = jreChecks;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.jsweet.transpiler.JSweetOptions#getMinLogLevel()
+	 */
+	@Override
+	public String getMinLogLevel() {
+		return minLogLevel;
+	}
+
+	/**
+	 * Sets the name of the minimum level of the logging calls (null generates
+	 * all the calls).
+	 * 
+	 * @see MinimumLogLevel
+	 */
+	public void setMinLogLevel(String minLogLevel) {
+		this.minLogLevel = minLogLevel;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.jsweet.transpiler.JSweetOptions#isUseExactLongs()
+	 */
+	@Override
+	public boolean isUseExactLongs() {
+		return useExactLongs;
+	}
+
+	/**
+	 * Sets the transpiler to emulate the <code>long</code> values exactly
+	 * (64-bit integers) rather than mapping them to JavaScript numbers.
+	 */
+	public void setUseExactLongs(boolean useExactLongs) {
+		this.useExactLongs = useExactLongs;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -0,0 +1,146 @@
+/*
+ * JSweet transpiler - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.transpiler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A compile-time minimum level for the <code>java.util.logging</code> calls.
+ *
+ * <p>
+ * The logging calls whose level is statically known to be below the minimum
+ * level are not generated at all, so that their messages (and the expressions
+ * building them) cost nothing at runtime. The level of a call is given by the
+ * name of the method (<code>fine</code>, <code>info</code>...) or by its first
+ * argument when it is a <code>Level</code> constant (<code>log</code>,
+ * <code>logp</code>, <code>isLoggable</code>). Like assertions, the arguments
+ * of the logging calls are expected to have no side effects.
+ *
+ * @see JSweetOptions#getMinLogLevel()
+ */
+public class MinimumLogLevel {
+
+	/**
+	 * The fully qualified name of the logger class.
+	 */
+	public static final String LOGGER_CLASS_NAME = "java.util.logging.Logger";
+
+	/**
+	 * The fully qualified name of the level class.
+	 */
+	public static final String LEVEL_CLASS_NAME = "java.util.logging.Level";
+
+	/**
+	 * The system property used by the j4ts runtime to disable the levels below
+	 * the warnings or the severe messages.
+	 */
+	public static final String LOGGING_ENABLED_PROPERTY = "gwt.logging.enabled";
+
+	private static final Map<String, Integer> LEVELS = new HashMap<>();
+
+	static {
+		LEVELS.put("OFF", Integer.MAX_VALUE);
+		LEVELS.put("SEVERE", 1000);
+		LEVELS.put("WARNING", 900);
+		LEVELS.put("INFO", 800);
+		LEVELS.put("CONFIG", 700);
+		LEVELS.put("FINE", 500);
+		LEVELS.put("FINER", 400);
+		LEVELS.put("FINEST", 300);
+		LEVELS.put("ALL", Integer.MIN_VALUE);
+	}
+
+	private final String name;
+
+	private final int value;
+
+	/**
+	 * Creates the minimum level from its name (<code>SEVERE</code>,
+	 * <code>WARNING</code>, <code>INFO</code>, <code>CONFIG</code>,
+	 * <code>FINE</code>, <code>FINER</code>, <code>FINEST</code>,
+	 * <code>ALL</code> or <code>OFF</code>, case insensitive).
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the given name is not a level name
+	 */
+	public MinimumLogLevel(String name) {
+		this.name = name.trim().toUpperCase();
+		Integer value = LEVELS.get(this.name);
+		if (value == null) {
+			throw new IllegalArgumentException("invalid log level: " + name);
+		}
+		this.value = value;
+	}
+
+	/**
+	 * Returns the integer value of the given level name, or null if it is not
+	 * a standard level name.
+	 */
+	public static Integer getLevelValue(String levelName) {
+		return LEVELS.get(levelName);
+	}
+
+	/**
+	 * Tells if the given level, given by its name, is below the minimum level.
+	 * Unknown levels are never below.
+	 */
+	public boolean isBelow(String levelName) {
+		Integer levelValue = LEVELS.get(levelName);
+		return levelValue != null && levelValue < value;
+	}
+
+	/**
+	 * Returns the level name implied by the given logger method (for instance
+	 * <code>FINE</code> for <code>fine</code>), or null if the level is given
+	 * by the arguments.
+	 */
+	public static String getMethodLevel(String methodName) {
+		String levelName = methodName.toUpperCase();
+		return !"ALL".equals(levelName) && !"OFF".equals(levelName) && LEVELS.containsKey(levelName) ? levelName
+				: null;
+	}
+
+	/**
+	 * Returns the value of the given property as seen by the runtime, or null
+	 * if the property is not affected by the minimum level. The
+	 * <code>gwt.logging.enabled</code> property is set to the closest value
+	 * that does not disable the levels at or above the minimum level.
+	 */
+	public String getPropertyValue(String property) {
+		if (!LOGGING_ENABLED_PROPERTY.equals(property)) {
+			return null;
+		}
+		if (value == Integer.MAX_VALUE) {
+			return "FALSE";
+		} else if (value >= LEVELS.get("SEVERE")) {
+			return "SEVERE";
+		} else if (value >= LEVELS.get("WARNING")) {
+			return "WARNING";
+		} else {
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
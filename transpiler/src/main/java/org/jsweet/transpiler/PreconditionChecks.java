@@ -0,0 +1,215 @@
+/*
+ * JSweet transpiler - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.transpiler;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The check levels applied to the precondition checks of the j4ts runtime
+ * (<code>javaemul.internal.InternalPreconditions</code>), per category.
+ *
+ * <p>
+ * Checks that are disabled by the levels are not generated at all: the
+ * invocations are removed (or replaced by their checked reference for the
+ * null checks that return it), and the <code>jre.checks.*</code> system
+ * properties read by the runtime are replaced by the corresponding values.
+ * Like assertions, the arguments of the checks are expected to have no side
+ * effects.
+ *
+ * @see JSweetOptions#getJreChecks()
+ */
+public class PreconditionChecks {
+
+	/**
+	 * The fully qualified name of the j4ts precondition class.
+	 */
+	public static final String PRECONDITIONS_CLASS_NAME = "javaemul.internal.InternalPreconditions";
+
+	/**
+	 * The name of the check levels preset for production builds: null checks
+	 * only on API arguments, no bounds nor type checks.
+	 */
+	public static final String PRODUCTION = "production";
+
+	/**
+	 * The check categories, as defined by the <code>jre.checks.*</code>
+	 * properties.
+	 */
+	public enum Category {
+		API, BOUNDS, TYPE
+	}
+
+	/**
+	 * The check levels.
+	 */
+	public enum Level {
+		/**
+		 * All the checks of the category are kept.
+		 */
+		ALL,
+		/**
+		 * Only the null checks of the category are kept.
+		 */
+		NULL,
+		/**
+		 * No check of the category is kept.
+		 */
+		NONE
+	}
+
+	private static final Map<String, Category> CATEGORIES = new HashMap<>();
+
+	private static final Set<String> NULL_CHECKS = new HashSet<>();
+
+	private static void register(Category category, String... methodNames) {
+		for (String methodName : methodNames) {
+			CATEGORIES.put(methodName, category);
+		}
+	}
+
+	static {
+		register(Category.API, "checkElement", "checkCriticalElement", "checkArgument", "checkCriticalArgument",
+				"checkState", "checkCritcalState", "checkCriticalState", "checkArraySize", "checkCriticalArraySize",
+				"checkNotNull", "checkCriticalNotNull");
+		register(Category.BOUNDS, "checkElementIndex", "checkCriticalElementIndex", "checkPositionIndex",
+				"checkCriticalPositionIndex", "checkPositionIndexes", "checkCriticalPositionIndexes",
+				"checkStringBounds");
+		register(Category.TYPE, "checkType", "checkCriticalType", "checkArrayType", "checkCriticalArrayType");
+		NULL_CHECKS.add("checkNotNull");
+		NULL_CHECKS.add("checkCriticalNotNull");
+	}
+
+	private final Map<Category, Level> levels = new EnumMap<>(Category.class);
+
+	/**
+	 * Creates the check levels from their string representation, which is
+	 * either {@value #PRODUCTION}, a level applying to all categories
+	 * (<code>all</code>, <code>null</code> or <code>none</code>), or a
+	 * comma-separated list of <code>category=level</code> pairs (categories
+	 * are <code>api</code>, <code>bounds</code> and <code>type</code>, and
+	 * default to <code>all</code>).
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the given string is not a valid representation
+	 */
+	public PreconditionChecks(String representation) {
+		for (Category category : Category.values()) {
+			levels.put(category, Level.ALL);
+		}
+		representation = representation.trim();
+		if (PRODUCTION.equalsIgnoreCase(representation)) {
+			levels.put(Category.API, Level.NULL);
+			levels.put(Category.BOUNDS, Level.NONE);
+			levels.put(Category.TYPE, Level.NONE);
+		} else if (!representation.contains("=")) {
+			Level level = parseLevel(representation);
+			for (Category category : Category.values()) {
+				levels.put(category, level);
+			}
+		} else {
+			for (String pair : representation.split(",")) {
+				String[] keyValue = pair.split("=");
+				if (keyValue.length != 2) {
+					throw new IllegalArgumentException("invalid check level: " + pair);
+				}
+				Category category;
+				try {
+					category = Category.valueOf(keyValue[0].trim().toUpperCase());
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException("invalid check category: " + keyValue[0]);
+				}
+				levels.put(category, parseLevel(keyValue[1]));
+			}
+		}
+	}
+
+	private static Level parseLevel(String level) {
+		try {
+			return Level.valueOf(level.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("invalid check level: " + level);
+		}
+	}
+
+	/**
+	 * Gets the level of the given category.
+	 */
+	public Level getLevel(Category category) {
+		return levels.get(category);
+	}
+
+	/**
+	 * Tells if the invocations of the given precondition method must be
+	 * removed from the generated code.
+	 */
+	public boolean isRemoved(String methodName) {
+		Category category = CATEGORIES.get(methodName);
+		if (category == null) {
+			return false;
+		}
+		switch (levels.get(category)) {
+		case NONE:
+			return true;
+		case NULL:
+			return !NULL_CHECKS.contains(methodName);
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the value of the given <code>jre.*</code> property as seen by
+	 * the runtime, or null if the property is not a check level property.
+	 */
+	public String getPropertyValue(String property) {
+		switch (property) {
+		case "jre.checkedMode":
+			return "DISABLED";
+		case "jre.checks.api":
+			return toPropertyValue(levels.get(Category.API));
+		case "jre.checks.bounds":
+			return toPropertyValue(levels.get(Category.BOUNDS));
+		case "jre.checks.type":
+			return toPropertyValue(levels.get(Category.TYPE));
+		default:
+			return null;
+		}
+	}
+
+	private static String toPropertyValue(Level level) {
+		switch (level) {
+		case ALL:
+			return "ENABLED";
+		case NULL:
+			return "NULL";
+		default:
+			return "DISABLED";
+		}
+	}
+
+	@Override
+	public String toString() {
+		return levels.toString();
+	}
+
+}
@@ -0,0 +1,243 @@
+/*
+ * JSweet transpiler - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package org.jsweet.transpiler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.type.TypeKind;
+
+import org.jsweet.JSweetConfig;
+import org.jsweet.transpiler.util.AbstractTreeScanner;
+
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
+import com.sun.tools.javac.tree.JCTree.JCEnhancedForLoop;
+import com.sun.tools.javac.tree.JCTree.JCExpression;
+import com.sun.tools.javac.tree.JCTree.JCFieldAccess;
+import com.sun.tools.javac.tree.JCTree.JCIdent;
+import com.sun.tools.javac.tree.JCTree.JCLambda;
+import com.sun.tools.javac.tree.JCTree.JCLiteral;
+import com.sun.tools.javac.tree.JCTree.JCMethodInvocation;
+import com.sun.tools.javac.tree.JCTree.JCNewArray;
+import com.sun.tools.javac.tree.JCTree.JCNewClass;
+import com.sun.tools.javac.tree.JCTree.JCTypeCast;
+import com.sun.tools.javac.tree.JCTree.JCVariableDecl;
+import com.sun.tools.javac.tree.TreeInfo;
+
+/**
+ * This AST scanner finds the local <code>ArrayList</code> and
+ * <code>HashMap</code> allocations holding boxed numbers that can be safely
+ * replaced with the primitive-specialized collections of the
+ * <code>javaemul.internal.collections</code> package.
+ *
+ * <p>
+ * A local variable is eligible when it is declared with an interface type,
+ * initialized with a supported constructor, and only used as the target of
+ * method invocations or as the iterated expression of a foreach loop. The
+ * arguments of these invocations must be non-null by construction (primitive
+ * values, literals or allocations), since the specialized collections cannot
+ * hold <code>null</code>. The invocations returning views or iterators (such
+ * as <code>subList</code> or <code>entrySet</code>) are not safe either, since
+ * the returned objects are not tracked. Any other use lets the collection
+ * escape and keeps the regular JDK class.
+ *
+ * @see JSweetOptions#isUsePrimitiveCollections()
+ * @see JSweetContext#primitiveCollections
+ */
+public class PrimitiveCollectionsScanner extends AbstractTreeScanner {
+
+	/**
+	 * The package of the primitive-specialized collections.
+	 */
+	public static final String PRIMITIVE_COLLECTIONS_PACKAGE = "javaemul.internal.collections";
+
+	/**
+	 * The methods returning objects backed by the collection, which let it
+	 * escape.
+	 */
+	private static final Set<String> ESCAPING_METHODS = new HashSet<>(
+			Arrays.asList("subList", "iterator", "listIterator", "entrySet", "keySet", "values"));
+
+	private Map<VarSymbol, JCNewClass> candidates = new HashMap<>();
+
+	private Set<VarSymbol> escaping = new HashSet<>();
+
+	/**
+	 * Creates a new primitive collections scanner.
+	 */
+	public PrimitiveCollectionsScanner(TranspilationHandler logHandler, JSweetContext context) {
+		super(logHandler, context, null);
+	}
+
+	@Override
+	public void visitTopLevel(JCCompilationUnit topLevel) {
+		if (topLevel.packge.getQualifiedName().toString().startsWith(JSweetConfig.LIBS_PACKAGE + ".")) {
+			return;
+		}
+		this.compilationUnit = topLevel;
+		super.visitTopLevel(topLevel);
+	}
+
+	@Override
+	public void visitVarDef(JCVariableDecl varDecl) {
+		if (varDecl.sym != null && varDecl.sym.getKind() == ElementKind.LOCAL_VARIABLE
+				&& varDecl.sym.type.isInterface() && varDecl.init instanceof JCNewClass) {
+			JCNewClass newClass = (JCNewClass) varDecl.init;
+			if (getSpecializedClassName(newClass) != null) {
+				candidates.put(varDecl.sym, newClass);
+			}
+		}
+		super.visitVarDef(varDecl);
+	}
+
+	@Override
+	public void visitIdent(JCIdent ident) {
+		if (ident.sym instanceof VarSymbol && candidates.containsKey(ident.sym) && !isSafeUse(ident)) {
+			escaping.add((VarSymbol) ident.sym);
+		}
+		super.visitIdent(ident);
+	}
+
+	private boolean isSafeUse(JCIdent ident) {
+		JCTree parent = getParent();
+		if (parent instanceof JCEnhancedForLoop) {
+			return ((JCEnhancedForLoop) parent).expr == ident;
+		}
+		if (parent instanceof JCFieldAccess && stack.size() >= 3) {
+			JCTree grandParent = stack.get(stack.size() - 3);
+			if (grandParent instanceof JCMethodInvocation && ((JCMethodInvocation) grandParent).meth == parent) {
+				if (ESCAPING_METHODS.contains(((JCFieldAccess) parent).name.toString())) {
+					return false;
+				}
+				for (JCExpression arg : ((JCMethodInvocation) grandParent).args) {
+					if (!isNonNull(arg)) {
+						return false;
+					}
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tells if the given argument cannot evaluate to <code>null</code>, which
+	 * is the case of primitive-typed expressions (including the ones boxed by
+	 * the invocation), non-null literals and allocations. A variable of a boxed
+	 * type may hold <code>null</code>, which the specialized collections would
+	 * store as 0.
+	 */
+	private static boolean isNonNull(JCExpression arg) {
+		arg = TreeInfo.skipParens(arg);
+		if (arg.type == null) {
+			return false;
+		}
+		if (arg.type.isPrimitive()) {
+			return true;
+		}
+		if (arg instanceof JCLiteral) {
+			return arg.type.getKind() != TypeKind.NULL;
+		}
+		if (arg instanceof JCTypeCast) {
+			return isNonNull(((JCTypeCast) arg).expr);
+		}
+		return arg instanceof JCNewClass || arg instanceof JCNewArray || arg instanceof JCLambda;
+	}
+
+	/**
+	 * Returns the fully qualified name of the primitive-specialized collection
+	 * that can replace the given allocation, or null if none applies.
+	 */
+	public String getSpecializedClassName(JCNewClass newClass) {
+		if (newClass.def != null || newClass.args.size() > 1) {
+			return null;
+		}
+		if (newClass.args.size() == 1 && newClass.args.head.type.getKind() != TypeKind.INT) {
+			return null;
+		}
+		List<Type> typeArguments = newClass.type.getTypeArguments();
+		switch (newClass.type.tsym.getQualifiedName().toString()) {
+		case "java.util.ArrayList":
+			if (typeArguments.size() == 1) {
+				if (isIntType(typeArguments.get(0))) {
+					return PRIMITIVE_COLLECTIONS_PACKAGE + ".IntArrayList";
+				}
+				if (isDoubleType(typeArguments.get(0))) {
+					return PRIMITIVE_COLLECTIONS_PACKAGE + ".DoubleArrayList";
+				}
+			}
+			break;
+		case "java.util.HashMap":
+			if (typeArguments.size() == 2 && isIntType(typeArguments.get(0))) {
+				if (isIntType(typeArguments.get(1))) {
+					return PRIMITIVE_COLLECTIONS_PACKAGE + ".IntIntHashMap";
+				}
+				return PRIMITIVE_COLLECTIONS_PACKAGE + ".IntObjectHashMap";
+			}
+			break;
+		}
+		return null;
+	}
+
+	private static boolean isIntType(Type type) {
+		switch (type.tsym.getQualifiedName().toString()) {
+		case "java.lang.Integer":
+		case "java.lang.Short":
+		case "java.lang.Byte":
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private static boolean isDoubleType(Type type) {
+		switch (type.tsym.getQualifiedName().toString()) {
+		case "java.lang.Double":
+		case "java.lang.Float":
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Scans the given compilation units and registers the non-escaping
+	 * allocations in {@link JSweetContext#primitiveCollections}.
+	 */
+	public void process(List<JCCompilationUnit> compilationUnits) {
+		for (JCCompilationUnit compilationUnit : compilationUnits) {
+			scan(compilationUnit);
+		}
+		for (Map.Entry<VarSymbol, JCNewClass> candidate : candidates.entrySet()) {
+			if (!escaping.contains(candidate.getKey())) {
+				context.primitiveCollections.put(candidate.getValue(),
+						getSpecializedClassName(candidate.getValue()));
+			}
+		}
+	}
+
+}
@@ -76,12 +76,15 @@ import java.util.function.LongToIntFunction;
 import java.util.function.LongUnaryOperator;
 
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.type.TypeKind;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jsweet.JSweetConfig;
 import org.jsweet.transpiler.JSweetContext;
 import org.jsweet.transpiler.JSweetProblem;
 import org.jsweet.transpiler.JSweetTranspiler;
+import org.jsweet.transpiler.MinimumLogLevel;
+import org.jsweet.transpiler.PreconditionChecks;
 import org.jsweet.transpiler.TypeChecker;
 import org.jsweet.transpiler.util.AbstractPrinterAdapter;
 import org.jsweet.transpiler.util.AbstractTreePrinter;
@@ -102,6 +105,7 @@ import com.sun.tools.javac.tree.JCTree;
 import com.sun.tools.javac.tree.JCTree.JCArrayTypeTree;
 import com.sun.tools.javac.tree.JCTree.JCClassDecl;
 import com.sun.tools.javac.tree.JCTree.JCExpression;
+import com.sun.tools.javac.tree.JCTree.JCExpressionStatement;
 import com.sun.tools.javac.tree.JCTree.JCFieldAccess;
 import com.sun.tools.javac.tree.JCTree.JCIdent;
 import com.sun.tools.javac.tree.JCTree.JCImport;
@@ -113,6 +117,7 @@ import com.sun.tools.javac.tree.JCTree.JCNewClass;
 import com.sun.tools.javac.tree.JCTree.JCTypeApply;
 import com.sun.tools.javac.tree.JCTree.JCTypeCast;
 import com.sun.tools.javac.tree.JCTree.Tag;
+import com.sun.tools.javac.tree.TreeInfo;
 import com.sun.tools.javac.util.Log;
 
 /**
@@ -124,6 +129,7 @@ import com.sun.tools.javac.util.Log;
 public class Java2TypeScriptAdapter extends AbstractPrinterAdapter {
 
 	private final static String VAR_DECL_KEYWORD = Java2TypeScriptTranslator.VAR_DECL_KEYWORD;
+	private final static String LONG_EMUL_CLASS_NAME = Java2TypeScriptTranslator.LONG_EMUL_CLASS_NAME;
 
 	private Map<String, String> typesMapping = new HashMap<String, String>();
 	private Map<String, String> langTypesMapping = new HashMap<String, String>();
@@ -195,6 +201,11 @@ public class Java2TypeScriptAdapter extends AbstractPrinterAdapter {
 		typesMapping.put(LANG_PACKAGE_ALT + ".String", "string");
 		typesMapping.put(LANG_PACKAGE_ALT + ".Number", "number");
 
+		if (context.options.isUseExactLongs()) {
+			typesMapping.put(Long.class.getName(), "any");
+			typesMapping.put("long", "any");
+		}
+
 		langTypesMapping.put(Object.class.getName(), "Object");
 		langTypesMapping.put(String.class.getName(), "String");
 		langTypesMapping.put(Boolean.class.getName(), "Boolean");
@@ -333,6 +344,231 @@ public class Java2TypeScriptAdapter extends AbstractPrinterAdapter {
 		}
 	}
 
+	/**
+	 * Removes the logging calls below the minimum log level, and folds the
+	 * level tests and the logging property known at compile time.
+	 * 
+	 * @see MinimumLogLevel
+	 */
+	/**
+	 * Folds the invocations of <code>System.getProperty</code> with a literal
+	 * name to the value the property has at runtime, when it is set by the
+	 * compilation options (precondition check levels and minimum log level),
+	 * so that the JRE code testing the property can be simplified by the
+	 * minifier.
+	 */
+	private boolean substituteSystemProperty(JCMethodInvocation invocation, String targetMethodName) {
+		if (!"getProperty".equals(targetMethodName) || !(invocation.args.head instanceof JCLiteral)) {
+			return false;
+		}
+		Symbol method = TreeInfo.symbol(invocation.meth);
+		if (method == null
+				|| !"java.lang.System".equals(method.getEnclosingElement().getQualifiedName().toString())) {
+			return false;
+		}
+		String property = String.valueOf(((JCLiteral) invocation.args.head).getValue());
+		String value = null;
+		if (context.preconditionChecks != null) {
+			value = context.preconditionChecks.getPropertyValue(property);
+		}
+		if (value == null && context.minLogLevel != null) {
+			value = context.minLogLevel.getPropertyValue(property);
+		}
+		if (value == null) {
+			return false;
+		}
+		getPrinter().print("\"" + value + "\"");
+		return true;
+	}
+
+	private boolean substituteLoggingInvocation(JCMethodInvocation invocation, String targetMethodName) {
+		Symbol method = TreeInfo.symbol(invocation.meth);
+		if (method == null || !(method.getEnclosingElement() instanceof ClassSymbol)) {
+			return false;
+		}
+		String ownerName = method.getEnclosingElement().getQualifiedName().toString();
+		if (!MinimumLogLevel.LOGGER_CLASS_NAME.equals(ownerName) || method.isStatic()
+				|| getPrinter().getParent(JCClassDecl.class).sym.packge().getQualifiedName()
+						.contentEquals("java.util.logging")) {
+			return false;
+		}
+		String levelName = MinimumLogLevel.getMethodLevel(targetMethodName);
+		if (levelName == null && !invocation.args.isEmpty()) {
+			Symbol level = TreeInfo.symbol(invocation.args.head);
+			if (level instanceof VarSymbol && level.isStatic()
+					&& MinimumLogLevel.LEVEL_CLASS_NAME.equals(level.getEnclosingElement().getQualifiedName().toString())) {
+				levelName = level.getSimpleName().toString();
+			}
+		}
+		if (levelName == null || !context.minLogLevel.isBelow(levelName)) {
+			return false;
+		}
+		if ("isLoggable".equals(targetMethodName)) {
+			getPrinter().print("false");
+			return true;
+		}
+		return getPrinter().getParent() instanceof JCExpressionStatement;
+	}
+
+	/**
+	 * Returns the enum type of an invocation of the EnumSet factories taking
+	 * constants (of, range and copyOf a collection) when it is known at the
+	 * call site, null otherwise.
+	 * 
+	 * @see #substituteEnumSetFactory(JCMethodInvocation)
+	 */
+	static TypeSymbol getEnumSetFactoryType(JCMethodInvocation invocation) {
+		Symbol method = TreeInfo.symbol(invocation.meth);
+		if (!(method instanceof MethodSymbol)
+				|| !"java.util.EnumSet".equals(method.getEnclosingElement().getQualifiedName().toString())) {
+			return null;
+		}
+		switch (method.getSimpleName().toString()) {
+		case "of":
+		case "range":
+			break;
+		case "copyOf":
+			if (method.type.getParameterTypes().isEmpty() || "java.util.EnumSet"
+					.equals(method.type.getParameterTypes().head.tsym.getQualifiedName().toString())) {
+				// a copy of an enum set knows the enum type
+				return null;
+			}
+			break;
+		default:
+			return null;
+		}
+		if (invocation.type == null || invocation.type.getTypeArguments().isEmpty()
+				|| invocation.type.getTypeArguments().head.tsym.getKind() != ElementKind.ENUM) {
+			return null;
+		}
+		return invocation.type.getTypeArguments().head.tsym;
+	}
+
+	/**
+	 * Substitutes the invocations of the EnumSet factories taking constants
+	 * (of, range and copyOf a collection) when the enum type is known at the
+	 * call site. The constants of the translated enums are their ordinals and
+	 * do not know their type, so the enum type is passed to the typed factories
+	 * of the j4ts EnumSet (typedOf, typedRange and typedCopyOf), which create
+	 * sets knowing the constants of the enum type (and that can be
+	 * complemented). In module mode, the enum type is imported by the
+	 * translator (see {@link #getEnumSetFactoryType(JCMethodInvocation)}).
+	 */
+	private boolean substituteEnumSetFactory(JCMethodInvocation invocation) {
+		TypeSymbol enumType = getEnumSetFactoryType(invocation);
+		if (enumType == null) {
+			return false;
+		}
+		String enumName;
+		if (context.useModules) {
+			Symbol topLevelType = enumType;
+			String innerName = "";
+			while (!(topLevelType.getEnclosingElement() instanceof PackageSymbol)) {
+				innerName = "." + topLevelType.getSimpleName() + innerName;
+				topLevelType = topLevelType.getEnclosingElement();
+			}
+			ClassSymbol topLevelClass = (ClassSymbol) topLevelType;
+			if (!Util.isSourceType(topLevelClass)) {
+				// like EnumSet, the JDK emulation enums are globals of the
+				// j4ts bundle
+				enumName = enumType.getQualifiedName().toString();
+			} else if (topLevelClass.sourcefile.getName()
+					.equals(getPrinter().getCompilationUnit().sourcefile.getName())
+					|| context.getImportedNames(getPrinter().getCompilationUnit().getSourceFile().getName())
+							.contains(topLevelClass.getSimpleName().toString())) {
+				enumName = topLevelClass.getSimpleName() + innerName;
+			} else {
+				// the enum type could not be imported (name clash)
+				return false;
+			}
+		} else {
+			enumName = getPrinter().getRootRelativeName(enumType);
+		}
+		MethodSymbol method = (MethodSymbol) TreeInfo.symbol(invocation.meth);
+		// like the other JDK emulation classes, EnumSet is a global of the j4ts
+		// bundle, also in module mode
+		getPrinter().print("java.util.EnumSet.typed").print(StringUtils.capitalize(method.getSimpleName().toString()))
+				.print("(").print(enumName);
+		for (JCExpression arg : invocation.args) {
+			getPrinter().print(", ");
+			if (arg == invocation.args.last() && Util.hasVarargs(method) && arg.type.getKind() == TypeKind.ARRAY
+					&& invocation.args.size() == method.getParameters().size()) {
+				// the rest constants are passed as an array
+				getPrinter().print("...");
+			}
+			getPrinter().print(arg);
+		}
+		getPrinter().print(")");
+		return true;
+	}
+
+	/**
+	 * Redirects the invocations of the static methods of
+	 * <code>java.lang.Long</code> to the exact long emulation, which
+	 * implements them on emulated longs whatever the long mode the j4ts
+	 * runtime was built with (its Long helper works on the longs of its own
+	 * mode).
+	 */
+	private boolean substituteExactLongStaticInvocation(JCMethodInvocation invocation) {
+		MethodSymbol method = (MethodSymbol) TreeInfo.symbol(invocation.meth);
+		String methodName = method.getSimpleName().toString();
+		boolean defaultRadix = invocation.args.size() == 1;
+		switch (methodName) {
+		case "valueOf":
+			if (method.getParameters().head.type.getKind() == TypeKind.LONG) {
+				// boxed longs are emulated longs
+				getPrinter().printExactLong(invocation.args.head);
+				return true;
+			}
+			methodName = "parseLong";
+			break;
+		case "toString":
+		case "parseLong":
+			break;
+		case "sum":
+			methodName = "add";
+			defaultRadix = false;
+			break;
+		case "compare":
+		case "hashCode":
+		case "max":
+		case "min":
+		case "signum":
+		case "bitCount":
+		case "numberOfLeadingZeros":
+		case "numberOfTrailingZeros":
+		case "highestOneBit":
+		case "lowestOneBit":
+		case "rotateLeft":
+		case "rotateRight":
+		case "reverse":
+		case "reverseBytes":
+		case "toBinaryString":
+		case "toOctalString":
+		case "toHexString":
+		case "decode":
+			defaultRadix = false;
+			break;
+		default:
+			return false;
+		}
+		getPrinter().print(LONG_EMUL_CLASS_NAME + "." + methodName + "(");
+		List<VarSymbol> parameters = method.getParameters();
+		for (int i = 0; i < invocation.args.size(); i++) {
+			if (parameters.get(i).type.getKind() == TypeKind.LONG) {
+				getPrinter().printExactLong(invocation.args.get(i));
+			} else {
+				getPrinter().print(invocation.args.get(i));
+			}
+			getPrinter().print(", ");
+		}
+		if (defaultRadix) {
+			getPrinter().print("10, ");
+		}
+		getPrinter().removeLastChars(2).print(")");
+		return true;
+	}
+
 	@Override
 	public boolean substituteMethodInvocation(JCMethodInvocation invocation) {
 		if ("System.out.println".equals(invocation.meth.toString())) {
@@ -385,6 +621,71 @@ public class Java2TypeScriptAdapter extends AbstractPrinterAdapter {
 			}
 		}
 
+		if (context.preconditionChecks != null && targetClassName != null) {
+			if (PreconditionChecks.PRECONDITIONS_CLASS_NAME.equals(targetClassName)
+					&& !PreconditionChecks.PRECONDITIONS_CLASS_NAME.equals(getPrinter().getParent(JCClassDecl.class).sym
+							.getQualifiedName().toString())
+					&& context.preconditionChecks.isRemoved(targetMethodName)) {
+				if (getPrinter().getParent() instanceof JCExpressionStatement) {
+					return true;
+				}
+				if (getPrinter().getParent() instanceof JCLambda && invocation.type.getKind() == TypeKind.VOID) {
+					// the body of a lambda is the only other place where a
+					// void check can be invoked
+					getPrinter().print("{}");
+					return true;
+				}
+				// the checks returning their argument are replaced by it when
+				// their result is used
+				if (!invocation.args.isEmpty() && invocation.type.getKind() != TypeKind.VOID) {
+					getPrinter().print("(").print(invocation.args.head).print(")");
+					return true;
+				}
+			}
+		}
+
+		if (substituteSystemProperty(invocation, targetMethodName)) {
+			return true;
+		}
+
+		if (context.minLogLevel != null && substituteLoggingInvocation(invocation, targetMethodName)) {
+			return true;
+		}
+
+		if (context.options.isUseJavaApis() && "java.util.EnumSet".equals(targetClassName)
+				&& substituteEnumSetFactory(invocation)) {
+			return true;
+		}
+
+		if (context.options.isUseExactLongs() && targetClassName != null) {
+			if (Long.class.getName().equals(targetClassName) && fieldAccess != null && !fieldAccess.sym.isStatic()) {
+				// boxed longs are emulated longs, which implement the Long API
+				return super.substituteMethodInvocation(invocation);
+			}
+			if (Long.class.getName().equals(targetClassName)
+					&& TreeInfo.symbol(invocation.meth) instanceof MethodSymbol
+					&& TreeInfo.symbol(invocation.meth).isStatic() && substituteExactLongStaticInvocation(invocation)) {
+				return true;
+			}
+			if (Math.class.getName().equals(targetClassName) && invocation.type.getKind() == TypeKind.LONG) {
+				switch (targetMethodName) {
+				case "abs":
+				case "max":
+				case "min":
+					getPrinter().print(LONG_EMUL_CLASS_NAME + "." + targetMethodName + "(");
+					for (JCExpression arg : invocation.args) {
+						getPrinter().printExactLong(arg).print(", ");
+					}
+					getPrinter().removeLastChars(2).print(")");
+					return true;
+				case "round":
+					getPrinter().print(LONG_EMUL_CLASS_NAME + ".fromNumber(Math.round(").print(invocation.args.head)
+							.print("))");
+					return true;
+				}
+			}
+		}
+
 		// System.out.println(invocation+" ===> "+fieldAccess+" :
 		// targetClassName="+targetClassName+"
 		// targetMethodName="+targetMethodName+
@@ -785,7 +1086,8 @@ public class Java2TypeScriptAdapter extends AbstractPrinterAdapter {
 				case "valueOf":
 					printMacroName(targetMethodName);
 					if (invocation.args.length() == 3) {
-						getPrinter().print("((str, index, len) => str.join('').substring(index, index + len))(")
+						// only the copied chars are joined
+						getPrinter().print("((str, index, len) => str.slice(index, index + len).join(''))(")
 								.printArgList(invocation.args).print(")");
 					} else {
 						getPrinter().print("new String(").printArgList(invocation.args).print(").toString()");
@@ -1342,6 +1644,17 @@ public class Java2TypeScriptAdapter extends AbstractPrinterAdapter {
 
 		// built-in Java support
 		String accessedType = targetType.getQualifiedName().toString();
+		if (context.options.isUseExactLongs() && fieldAccess.sym.isStatic()
+				&& Long.class.getName().equals(accessedType)) {
+			switch (name) {
+			case "MIN_VALUE":
+			case "MAX_VALUE":
+				// like the static methods, the constants are emulated longs
+				// whatever the long mode of the j4ts runtime
+				getPrinter().print(LONG_EMUL_CLASS_NAME + "." + name);
+				return true;
+			}
+		}
 		if (fieldAccess.sym.isStatic() && typesMapping.containsKey(accessedType)
 				&& accessedType.startsWith("java.lang.") && !"class".equals(fieldAccess.name.toString())) {
 
@@ -1408,6 +1721,29 @@ public class Java2TypeScriptAdapter extends AbstractPrinterAdapter {
 			return true;
 		}
 
+		String primitiveCollection = context.primitiveCollections.get(newClass);
+		if (primitiveCollection != null) {
+			// like the other JDK emulation classes, the specialized collections
+			// are globals of the j4ts bundle, also in module mode
+			getPrinter().print("new ").print(primitiveCollection);
+			if (primitiveCollection.endsWith(".IntObjectHashMap")) {
+				// the key type is fixed, keep the value type
+				if (newClass.clazz instanceof JCTypeApply && ((JCTypeApply) newClass.clazz).arguments.size() == 2) {
+					getPrinter().print("<").printTypeArgList(((JCTypeApply) newClass.clazz).arguments.tail).print(">");
+				} else {
+					getPrinter().print("<any>");
+				}
+			}
+			getPrinter().print("(").printArgList(newClass.args).print(")");
+			return true;
+		}
+
+		if (context.options.isUseChunkedTreeMaps() && context.options.isUseJavaApis() && newClass.def == null
+				&& "java.util.TreeMap".equals(fullType)) {
+			getPrinter().print("new java.util.ChunkedTreeMap<any, any>(").printArgList(newClass.args).print(")");
+			return true;
+		}
+
 		if (!context.options.isUseJavaApis()) {
 			String className = newClass.clazz.type.tsym.getQualifiedName().toString();
 			switch (className) {
@@ -1476,6 +1812,11 @@ public class Java2TypeScriptAdapter extends AbstractPrinterAdapter {
 		}
 		// macros
 		if (newClass.clazz.type.equals(context.symtab.stringType)) {
+			if (newClass.args.length() == 3 && "char[]".equals(newClass.args.head.type.toString())) {
+				getPrinter().print("((str, index, len) => str.slice(index, index + len).join(''))(")
+						.printArgList(newClass.args).print(")");
+				return true;
+			}
 			if (newClass.args.length() >= 3) {
 				getPrinter().print("((str, index, len) => ").print("str.substring(index, index + len))((")
 						.print(newClass.args.head).print(")");
@@ -1745,6 +2086,18 @@ public class Java2TypeScriptAdapter extends AbstractPrinterAdapter {
 		if (assignedType == null) {
 			return false;
 		}
+		if (context.options.isUseExactLongs() && expression.type != null) {
+			Type assigned = context.types.unboxedTypeOrType(assignedType);
+			Type actual = context.types.unboxedTypeOrType(expression.type);
+			if (assigned.getKind() == TypeKind.LONG && actual.getKind() != TypeKind.LONG && actual.isPrimitive()) {
+				getPrinter().printExactLong(expression);
+				return true;
+			}
+			if (actual.getKind() == TypeKind.LONG && assigned.getKind() != TypeKind.LONG && assigned.isPrimitive()) {
+				getPrinter().printExactLongConversion(assigned, () -> getPrinter().print(expression));
+				return true;
+			}
+		}
 		if (assignedType.getTag() == TypeTag.CHAR && expression.type.getTag() != TypeTag.CHAR) {
 			getPrinter().print("String.fromCharCode(").print(expression).print(")");
 			return true;
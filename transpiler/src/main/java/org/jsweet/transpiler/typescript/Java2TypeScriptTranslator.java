@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.Stack;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.lang.model.element.ElementKind;
@@ -114,6 +115,8 @@ import com.sun.tools.javac.tree.JCTree.JCTypeParameter;
 import com.sun.tools.javac.tree.JCTree.JCUnary;
 import com.sun.tools.javac.tree.JCTree.JCVariableDecl;
 import com.sun.tools.javac.tree.JCTree.JCWhileLoop;
+import com.sun.tools.javac.tree.JCTree.Tag;
+import com.sun.tools.javac.tree.TreeInfo;
 import com.sun.tools.javac.tree.TreeScanner;
 import com.sun.tools.javac.util.Name;
 
@@ -135,6 +138,13 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 	public static final String ENUM_WRAPPER_CLASS_NAME = "_$name";
 	public static final String ENUM_WRAPPER_CLASS_ORDINAL = "_$ordinal";
 	public static final String VAR_DECL_KEYWORD = "let";
+	/**
+	 * The runtime class that implements the <code>long</code> values in exact
+	 * long mode.
+	 * 
+	 * @see org.jsweet.transpiler.JSweetOptions#isUseExactLongs()
+	 */
+	public static final String LONG_EMUL_CLASS_NAME = "javaemul.internal.LongEmul";
 
 	protected static Logger logger = Logger.getLogger(Java2TypeScriptTranslator.class);
 
@@ -287,6 +297,20 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 		}
 	}
 
+	/**
+	 * Gets the relative path of the given source file module from the current
+	 * compilation unit, as used in the imports.
+	 */
+	private String getPathToModule(String sourceFileName) {
+		String pathToModule = Util.getRelativePath(new File(compilationUnit.sourcefile.getName()).getParent(),
+				sourceFileName);
+		pathToModule = pathToModule.substring(0, pathToModule.length() - 5);
+		if (!pathToModule.startsWith(".")) {
+			pathToModule = "./" + pathToModule;
+		}
+		return pathToModule.replace('\\', '/');
+	}
+
 	private boolean checkRootPackageParent(JCCompilationUnit topLevel, PackageSymbol rootPackage,
 			PackageSymbol parentPackage) {
 		if (parentPackage == null) {
@@ -435,12 +459,7 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 						if (importedModule.equals(compilationUnit.sourcefile.getName())) {
 							continue;
 						}
-						String pathToImportedClass = Util.getRelativePath(
-								new File(compilationUnit.sourcefile.getName()).getParent(), importedModule);
-						pathToImportedClass = pathToImportedClass.substring(0, pathToImportedClass.length() - 5);
-						if (!pathToImportedClass.startsWith(".")) {
-							pathToImportedClass = "./" + pathToImportedClass;
-						}
+						String pathToImportedClass = getPathToModule(importedModule);
 
 						Symbol symbol = qualified.sym.getEnclosingElement();
 						while (!(symbol instanceof PackageSymbol)) {
@@ -448,8 +467,8 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 							symbol = symbol.getEnclosingElement();
 						}
 						if (symbol != null) {
-							useModule(false, (PackageSymbol) symbol, importDecl, importedName,
-									pathToImportedClass.replace('\\', '/'), null);
+							useModule(false, (PackageSymbol) symbol, importDecl, importedName, pathToImportedClass,
+									null);
 						}
 					}
 				}
@@ -483,6 +502,29 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 					super.scan(t);
 				}
 
+				@Override
+				public void visitApply(JCMethodInvocation invocation) {
+					// the enum type of the EnumSet factories is passed to the
+					// j4ts factories by the adapter
+					TypeSymbol enumType = context.options.isUseJavaApis()
+							? Java2TypeScriptAdapter.getEnumSetFactoryType(invocation) : null;
+					if (enumType != null) {
+						Symbol topLevelType = enumType;
+						while (!(topLevelType.getEnclosingElement() instanceof PackageSymbol)) {
+							topLevelType = topLevelType.getEnclosingElement();
+						}
+						if (Util.isSourceType((ClassSymbol) topLevelType)) {
+							String importedModule = ((ClassSymbol) topLevelType).sourcefile.getName();
+							if (!importedModule.equals(compilationUnit.sourcefile.getName())) {
+								useModule(false, (PackageSymbol) topLevelType.getEnclosingElement(), null,
+										topLevelType.getSimpleName().toString(), getPathToModule(importedModule),
+										null);
+							}
+						}
+					}
+					super.visitApply(invocation);
+				}
+
 			};
 			usedTypesScanner.scan(compilationUnit);
 		}
@@ -1654,7 +1696,7 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 						if (context.getFieldNameMapping(var.sym) != null) {
 							name = context.getFieldNameMapping(var.sym);
 						}
-						printIndent().print("this.").print(name).print(" = ").print(Util.getTypeInitialValue(var.type))
+						printIndent().print("this.").print(name).print(" = ").print(getTypeInitialValue(var.type))
 								.print(";").println();
 					}
 				} else if (member instanceof JCBlock) {
@@ -1752,7 +1794,7 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 			}
 			exit();
 		} else {
-			String returnValue = Util.getTypeInitialValue(method.sym.getReturnType());
+			String returnValue = getTypeInitialValue(method.sym.getReturnType());
 			if (returnValue != null) {
 				print(" return ").print(returnValue).print("; ");
 			}
@@ -1760,6 +1802,13 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 		endIndent().printIndent().print("}");
 	}
 
+	private String getTypeInitialValue(Type type) {
+		if (context.options.isUseExactLongs() && type != null && type.getKind() == TypeKind.LONG) {
+			return LONG_EMUL_CLASS_NAME + ".ZERO";
+		}
+		return Util.getTypeInitialValue(type);
+	}
+
 	private void printFieldInitializations() {
 		for (JCVariableDecl field : getScope().fieldsWithInitializers) {
 			String name = getAdapter().getIdentifier(field.sym);
@@ -3014,6 +3063,10 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 			}
 			break;
 		case LONG:
+			if (context.options.isUseExactLongs()) {
+				printExactLongLiteral((Long) literal.getValue());
+				return;
+			}
 			if (s.endsWith("L")) {
 				s = s.substring(0, s.length() - 1);
 			}
@@ -3023,6 +3076,14 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 		print(s);
 	}
 
+	private void printExactLongLiteral(long value) {
+		if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+			print(LONG_EMUL_CLASS_NAME + ".fromInt(" + value + ")");
+		} else {
+			print(LONG_EMUL_CLASS_NAME + ".fromBits(" + (int) (value >> 32) + ", " + (int) value + ")");
+		}
+	}
+
 	@Override
 	public void visitIndexed(JCArrayAccess arrayAccess) {
 		print(arrayAccess.indexed).print("[").print(arrayAccess.index).print("]");
@@ -3080,17 +3141,234 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 		case DOUBLE:
 		case FLOAT:
 		case INT:
-		case LONG:
 		case SHORT:
 			print("number");
 			break;
+		case LONG:
+			print(context.options.isUseExactLongs() ? "any" : "number");
+			break;
 		default:
 			print(type.toString());
 		}
 	}
 
+	private static final Map<String, String> EXACT_LONG_OPERATIONS = new HashMap<>();
+
+	static {
+		EXACT_LONG_OPERATIONS.put("+", "add");
+		EXACT_LONG_OPERATIONS.put("-", "sub");
+		EXACT_LONG_OPERATIONS.put("*", "mul");
+		EXACT_LONG_OPERATIONS.put("/", "div");
+		EXACT_LONG_OPERATIONS.put("%", "rem");
+		EXACT_LONG_OPERATIONS.put("&", "and");
+		EXACT_LONG_OPERATIONS.put("|", "or");
+		EXACT_LONG_OPERATIONS.put("^", "xor");
+		EXACT_LONG_OPERATIONS.put("<<", "shl");
+		EXACT_LONG_OPERATIONS.put(">>", "shr");
+		EXACT_LONG_OPERATIONS.put(">>>", "shru");
+	}
+
+	/**
+	 * Tells if the given type is implemented by the exact long emulation
+	 * (<code>long</code> and <code>java.lang.Long</code> in exact long mode).
+	 */
+	boolean isExactLong(Type type) {
+		return context.options.isUseExactLongs() && type != null
+				&& context.types.unboxedTypeOrType(type).getKind() == TypeKind.LONG;
+	}
+
+	/**
+	 * Tells if the given binary operator applies to longs (the operand types
+	 * of the operators are the promoted types) in exact long mode.
+	 */
+	private boolean isExactLongOperator(Symbol operator) {
+		if (!context.options.isUseExactLongs()) {
+			return false;
+		}
+		MethodType operatorType = (MethodType) operator.type;
+		TypeKind resultKind = operatorType.getReturnType().getKind();
+		return operatorType.getParameterTypes().head.getKind() == TypeKind.LONG
+				&& (resultKind == TypeKind.LONG || resultKind == TypeKind.BOOLEAN);
+	}
+
+	/**
+	 * Prints the given expression as an exact long, converting it when it is
+	 * of another primitive type.
+	 */
+	AbstractTreePrinter printExactLong(JCExpression expression) {
+		return printExactLong(expression, null);
+	}
+
+	/**
+	 * Prints the given expression as an exact long, or the given substitute
+	 * text (of the same type) if not null.
+	 */
+	private AbstractTreePrinter printExactLong(JCExpression expression, String substitute) {
+		switch (context.types.unboxedTypeOrType(expression.type).getKind()) {
+		case CHAR:
+			print(LONG_EMUL_CLASS_NAME + ".fromInt((");
+			return printSubstitute(expression, substitute).print(").charCodeAt(0))");
+		case BYTE:
+		case SHORT:
+		case INT:
+			print(LONG_EMUL_CLASS_NAME + ".fromInt(");
+			return printSubstitute(expression, substitute).print(")");
+		case FLOAT:
+		case DOUBLE:
+			print(LONG_EMUL_CLASS_NAME + ".fromNumber(");
+			return printSubstitute(expression, substitute).print(")");
+		default:
+			return printSubstitute(expression, substitute);
+		}
+	}
+
+	/**
+	 * Prints the conversion of an exact long to the given primitive type, the
+	 * long being printed by the given printer. The narrowing conversions keep
+	 * the low bits of the long, as in Java.
+	 */
+	AbstractTreePrinter printExactLongConversion(Type type, Runnable longPrinter) {
+		switch (type.getKind()) {
+		case CHAR:
+			print("String.fromCharCode(" + LONG_EMUL_CLASS_NAME + ".toInt(");
+			longPrinter.run();
+			return print("))");
+		case BYTE:
+			print("(" + LONG_EMUL_CLASS_NAME + ".toInt(");
+			longPrinter.run();
+			return print(") << 24 >> 24)");
+		case SHORT:
+			print("(" + LONG_EMUL_CLASS_NAME + ".toInt(");
+			longPrinter.run();
+			return print(") << 16 >> 16)");
+		case FLOAT:
+		case DOUBLE:
+			print(LONG_EMUL_CLASS_NAME + ".toNumber(");
+			longPrinter.run();
+			return print(")");
+		default:
+			print(LONG_EMUL_CLASS_NAME + ".toInt(");
+			longPrinter.run();
+			return print(")");
+		}
+	}
+
+	private AbstractTreePrinter printSubstitute(JCExpression expression, String substitute) {
+		return substitute == null ? print(expression) : print(substitute);
+	}
+
+	/**
+	 * Prints a long operation on exact longs.
+	 */
+	private void printExactLongOperation(String operator, JCExpression lhs, JCExpression rhs) {
+		printExactLongOperation(operator, lhs, null, rhs);
+	}
+
+	/**
+	 * Prints a long operation on exact longs, the left operand being read
+	 * through the given substitute text if not null (see
+	 * {@link #printExactLongUpdate(JCExpression, Consumer)}).
+	 */
+	private void printExactLongOperation(String operator, JCExpression lhs, String lhsSubstitute,
+			JCExpression rhs) {
+		String operation = EXACT_LONG_OPERATIONS.get(operator);
+		if (operation == null) {
+			// comparison
+			print(LONG_EMUL_CLASS_NAME + ".compare(");
+			printExactLong(lhs, lhsSubstitute).print(", ");
+			printExactLong(rhs).print(") ");
+			if ("==".equals(operator)) {
+				operator = "===";
+			} else if ("!=".equals(operator)) {
+				operator = "!==";
+			}
+			print(operator).print(" 0");
+		} else {
+			print(LONG_EMUL_CLASS_NAME + "." + operation + "(");
+			printExactLong(lhs, lhsSubstitute).print(", ");
+			if (operator.startsWith("<<") || operator.startsWith(">>")) {
+				printBinaryOperand(rhs, context.symtab.intType);
+			} else {
+				printExactLong(rhs);
+			}
+			print(")");
+		}
+	}
+
+	/**
+	 * Prints an update of the given lvalue (compound assignment or increment
+	 * in exact long mode). The given printer prints the assignment, the
+	 * lvalue being accessed through the given substitute text, or through
+	 * the lvalue tree if null. When evaluating the lvalue has side effects, as
+	 * in <code>a[i++] += 1L</code>, the array and index (or the target object)
+	 * are evaluated once, as the arguments of an arrow function performing
+	 * the update.
+	 */
+	private void printExactLongUpdate(JCExpression lvalue, Consumer<String> assignmentPrinter) {
+		JCExpression target = TreeInfo.skipParens(lvalue);
+		if (target instanceof JCArrayAccess && (hasSideEffects(((JCArrayAccess) target).indexed)
+				|| hasSideEffects(((JCArrayAccess) target).index))) {
+			JCArrayAccess arrayAccess = (JCArrayAccess) target;
+			String arrayName = "array" + Util.getId();
+			String indexName = "index" + Util.getId();
+			print("((" + arrayName + " : any[], " + indexName + " : number) => ");
+			assignmentPrinter.accept(arrayName + "[" + indexName + "]");
+			print(")(").print(arrayAccess.indexed).print(", ").print(arrayAccess.index).print(")");
+		} else if (target instanceof JCFieldAccess && !((JCFieldAccess) target).sym.isStatic()
+				&& hasSideEffects(((JCFieldAccess) target).selected)) {
+			JCFieldAccess fieldAccess = (JCFieldAccess) target;
+			String targetName = "target" + Util.getId();
+			String fieldName = context.getFieldNameMapping(fieldAccess.sym) != null
+					? context.getFieldNameMapping(fieldAccess.sym) : getAdapter().getIdentifier(fieldAccess.sym);
+			print("((" + targetName + " : any) => ");
+			assignmentPrinter.accept(targetName + "." + fieldName);
+			print(")(").print(fieldAccess.selected).print(")");
+		} else {
+			assignmentPrinter.accept(null);
+		}
+	}
+
+	/**
+	 * Tells if evaluating the given expression may have side effects (any
+	 * expression other than names, literals, field and array accesses).
+	 */
+	private static boolean hasSideEffects(JCExpression expression) {
+		expression = TreeInfo.skipParens(expression);
+		if (expression instanceof JCIdent || expression instanceof JCLiteral) {
+			return false;
+		}
+		if (expression instanceof JCFieldAccess) {
+			return hasSideEffects(((JCFieldAccess) expression).selected);
+		}
+		if (expression instanceof JCArrayAccess) {
+			return hasSideEffects(((JCArrayAccess) expression).indexed)
+					|| hasSideEffects(((JCArrayAccess) expression).index);
+		}
+		return true;
+	}
+
+	/**
+	 * Prints an operand of a binary operator, converting it to a number when
+	 * it is an exact long and the operator does not apply to longs.
+	 */
+	private void printBinaryOperand(JCExpression operand, Type operandType) {
+		if (isExactLong(operand.type) && operandType.isPrimitive() && operandType.getKind() != TypeKind.LONG) {
+			if (Util.isIntegral(operandType)) {
+				print(LONG_EMUL_CLASS_NAME + ".toInt(").print(operand).print(")");
+			} else {
+				print(LONG_EMUL_CLASS_NAME + ".toNumber(").print(operand).print(")");
+			}
+		} else {
+			print(operand);
+		}
+	}
+
 	@Override
 	public void visitBinary(JCBinary binary) {
+		if (isExactLongOperator(binary.operator)) {
+			printExactLongOperation(binary.operator.name.toString(), binary.lhs, binary.rhs);
+			return;
+		}
 		if (Util.isIntegral(binary.type) && binary.getKind() == Kind.DIVIDE) {
 			if (binary.type.getKind() == TypeKind.LONG) {
 				print("Math.round(");
@@ -3104,7 +3382,7 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 				&& !(binary.rhs.type.tsym == context.symtab.stringType.tsym)) {
 			print("(").print(binary.lhs).print(").charCodeAt(0)");
 		} else {
-			print(binary.lhs);
+			printBinaryOperand(binary.lhs, ((MethodType) binary.operator.type).getParameterTypes().head);
 		}
 		String op = binary.operator.name.toString();
 		if (binary.lhs.type.getKind() == TypeKind.BOOLEAN) {
@@ -3126,7 +3404,7 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 				&& !(binary.lhs.type.tsym == context.symtab.stringType.tsym)) {
 			print("(").print(binary.rhs).print(").charCodeAt(0)");
 		} else {
-			print(binary.rhs);
+			printBinaryOperand(binary.rhs, ((MethodType) binary.operator.type).getParameterTypes().tail.head);
 		}
 		if (Util.isIntegral(binary.type) && binary.getKind() == Kind.DIVIDE) {
 			if (binary.type.getKind() == TypeKind.LONG) {
@@ -3198,6 +3476,35 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 
 	@Override
 	public void visitAssignop(JCAssignOp assignOp) {
+		if (isExactLongOperator(assignOp.operator)) {
+			boolean expression = !(getParent() instanceof JCExpressionStatement);
+			if (expression) {
+				print("(");
+			}
+			printExactLongUpdate(assignOp.lhs, lvalue -> {
+				if (lvalue == null) {
+					staticInitializedAssignment = getStaticInitializedField(assignOp.lhs) != null;
+					print(assignOp.lhs);
+					staticInitializedAssignment = false;
+				} else {
+					print(lvalue);
+				}
+				print(" = ");
+				if (isExactLong(assignOp.lhs.type)) {
+					printExactLongOperation(assignOp.operator.name.toString(), assignOp.lhs, lvalue, assignOp.rhs);
+				} else {
+					// implicit narrowing of compound assignments (e.g. int +=
+					// long), to the type of the lvalue
+					printExactLongConversion(context.types.unboxedTypeOrType(assignOp.lhs.type),
+							() -> printExactLongOperation(assignOp.operator.name.toString(), assignOp.lhs, lvalue,
+									assignOp.rhs));
+				}
+			});
+			if (expression) {
+				print(")");
+			}
+			return;
+		}
 		boolean expand = staticInitializedAssignment = (getStaticInitializedField(assignOp.lhs) != null);
 		print(assignOp.lhs);
 		staticInitializedAssignment = false;
@@ -3211,18 +3518,26 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 				return;
 			}
 		}
+		Type rhsType = ((MethodType) assignOp.operator.type).getParameterTypes().tail.head;
 		if (expand) {
-			print(" = ").print(assignOp.lhs).print(" " + op + " ").print(assignOp.rhs);
+			print(" = ").print(assignOp.lhs).print(" " + op + " ");
+			printBinaryOperand(assignOp.rhs, rhsType);
 			return;
 		}
 		print(" " + op + "= ");
-		print(assignOp.rhs);
+		printBinaryOperand(assignOp.rhs, rhsType);
 	}
 
 	@Override
 	public void visitConditional(JCConditional conditional) {
 		print(conditional.cond);
 		print("?");
+		if (isExactLong(conditional.type)) {
+			printExactLong(conditional.truepart);
+			print(":");
+			printExactLong(conditional.falsepart);
+			return;
+		}
 		print(conditional.truepart);
 		print(":");
 		print(conditional.falsepart);
@@ -3282,7 +3597,16 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 		} else {
 			print("[");
 			if (newArray.elems != null) {
-				printArgList(newArray.elems);
+				if (newArray.type instanceof ArrayType && isExactLong(((ArrayType) newArray.type).elemtype)) {
+					for (JCExpression element : newArray.elems) {
+						printExactLong(element).print(", ");
+					}
+					if (!newArray.elems.isEmpty()) {
+						removeLastChars(2);
+					}
+				} else {
+					printArgList(newArray.elems);
+				}
 			}
 			print("]");
 		}
@@ -3322,6 +3646,10 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 				inRollback = false;
 			}
 		}
+		if (isExactLong(unary.arg.type)) {
+			printExactLongUnary(unary);
+			return;
+		}
 		switch (unary.getTag()) {
 		case POS:
 			print("+").print(unary.arg);
@@ -3341,6 +3669,39 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 		}
 	}
 
+	private void printExactLongUnary(JCUnary unary) {
+		switch (unary.getTag()) {
+		case POS:
+			print(unary.arg);
+			break;
+		case NEG:
+			if (unary.arg instanceof JCLiteral) {
+				printExactLongLiteral(-(Long) ((JCLiteral) unary.arg).getValue());
+			} else {
+				print(LONG_EMUL_CLASS_NAME + ".neg(").print(unary.arg).print(")");
+			}
+			break;
+		case COMPL:
+			print(LONG_EMUL_CLASS_NAME + ".not(").print(unary.arg).print(")");
+			break;
+		default:
+			boolean increment = unary.getTag() == Tag.PREINC || unary.getTag() == Tag.POSTINC;
+			boolean postfix = unary.getTag() == Tag.POSTINC || unary.getTag() == Tag.POSTDEC;
+			boolean expression = !(getParent() instanceof JCExpressionStatement);
+			printExactLongUpdate(unary.arg, lvalue -> {
+				if (expression) {
+					// the value of a postfix expression is the previous value
+					print(postfix ? LONG_EMUL_CLASS_NAME + (increment ? ".sub(" : ".add(") : "(");
+				}
+				printSubstitute(unary.arg, lvalue).print(" = " + LONG_EMUL_CLASS_NAME + (increment ? ".add(" : ".sub("));
+				printSubstitute(unary.arg, lvalue).print(", " + LONG_EMUL_CLASS_NAME + ".ONE)");
+				if (expression) {
+					print(postfix ? ", " + LONG_EMUL_CLASS_NAME + ".ONE)" : ")");
+				}
+			});
+		}
+	}
+
 	@Override
 	public void visitSwitch(JCSwitch switchStatement) {
 		print("switch(");
@@ -3388,6 +3749,12 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 		if (getAdapter().substituteAssignedExpression(cast.type, cast.expr)) {
 			return;
 		}
+		if (isExactLong(cast.type) || isExactLong(cast.expr.type)) {
+			// exact longs are objects: boxing and reference casts do not
+			// change them
+			print(cast.expr);
+			return;
+		}
 		if (Util.isIntegral(cast.type)) {
 			if (cast.type.getKind() == TypeKind.LONG) {
 				print("Math.round(");
@@ -3636,6 +4003,16 @@ public class Java2TypeScriptTranslator extends AbstractTreePrinter {
 			print("[\"" + CLASS_NAME_IN_CONSTRUCTOR + "\"]").print(" == ")
 					.print("\"" + type.tsym.getQualifiedName().toString() + "\"");
 			print(")");
+		} else if (type instanceof ArrayType && ((ArrayType) type).elemtype.isPrimitive()
+				&& ((ArrayType) type).elemtype.getTag() != TypeTag.BOOLEAN
+				&& ((ArrayType) type).elemtype.getTag() != TypeTag.CHAR) {
+			// numeric arrays may be implemented with typed arrays (see j4ts)
+			print(exprStr, expr);
+			print(" != null && (");
+			print(exprStr, expr);
+			print(" instanceof Array || ArrayBuffer.isView(");
+			print(exprStr, expr);
+			print("))");
 		} else {
 			print(exprStr, expr);
 			if (context.isInterface(type.tsym)) {
@@ -17,11 +17,16 @@
 package org.jsweet.test.transpiler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 
+import org.apache.commons.io.FileUtils;
 import org.jsweet.transpiler.JSweetTranspiler;
 import org.jsweet.transpiler.ModuleKind;
+import org.jsweet.transpiler.SourceFile;
 import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -29,17 +34,26 @@ import org.junit.Test;
 import source.api.AccessStaticMethod;
 import source.api.ArrayBuffers;
 import source.api.CastMethods;
+import source.api.ChunkedTreeMaps;
+import source.api.EnumSets;
 import source.api.ErasingJava;
+import source.api.ExactLongArithmetic;
+import source.api.ExactLongs;
 import source.api.ExpressionBuilderTest;
 import source.api.ExpressionBuilderTest2;
 import source.api.ForeachIteration;
 import source.api.J4TSInvocations;
 import source.api.JdkInvocations;
+import source.api.JreChecks;
+import source.api.MinLogLevel;
 import source.api.Numbers;
+import source.api.PrimitiveCollections;
 import source.api.PrimitiveInstantiation;
 import source.api.QualifiedInstantiation;
 import source.api.Strings;
 import source.api.WrongJdkInvocations;
+import source.api.enumsets.Shape;
+import source.api.enumsets.Shapes;
 
 public class ApiTests extends AbstractTest {
 
@@ -173,4 +187,256 @@ public class ApiTests extends AbstractTest {
 		}
 	}
 
+	@Test
+	public void testPrimitiveCollections() {
+		SourceFile f = getSourceFile(PrimitiveCollections.class);
+		try {
+			transpiler.setUsePrimitiveCollections(true);
+			// the collections are not part of the tested j4ts candy
+			transpiler.setGenerateJsFiles(false);
+			transpile(logHandler -> {
+				logHandler.assertReportedProblems();
+				try {
+					String generatedCode = FileUtils.readFileToString(f.getTsFile());
+					assertTrue(generatedCode.contains("ints : List<number> = <any>(new javaemul.internal.collections.IntArrayList())"));
+					assertTrue(generatedCode.contains("doubles : List<number> = <any>(new javaemul.internal.collections.DoubleArrayList(4))"));
+					assertTrue(generatedCode.contains("counts : Map<number, number> = <any>(new javaemul.internal.collections.IntIntHashMap())"));
+					assertTrue(generatedCode.contains("strings : Map<number, string> = <any>(new javaemul.internal.collections.IntObjectHashMap<any>())"));
+					assertTrue(generatedCode.contains("names : Map<number, string> = <any>(new javaemul.internal.collections.IntObjectHashMap<string>())"));
+					assertTrue(generatedCode.contains("returned : List<number> = <any>(new ArrayList<any>())"));
+					assertTrue(generatedCode.contains("passed : List<number> = <any>(new ArrayList<any>())"));
+					assertTrue(generatedCode.contains("withNull : List<number> = <any>(new ArrayList<any>())"));
+					assertTrue(generatedCode.contains("nullable : List<number> = <any>(new ArrayList<any>())"));
+					assertTrue(generatedCode.contains("viewed : List<number> = <any>(new ArrayList<any>())"));
+					assertTrue(generatedCode.contains("keyed : Map<number, number> = <any>(new HashMap<any, any>())"));
+					assertTrue(generatedCode.contains("strings : List<string> = <any>(new ArrayList<any>())"));
+				} catch (Exception e) {
+					e.printStackTrace();
+					fail("Exception occured while running test");
+				}
+			}, f);
+		} finally {
+			transpiler.setUsePrimitiveCollections(false);
+			transpiler.setGenerateJsFiles(true);
+		}
+	}
+
+	@Test
+	public void testChunkedTreeMaps() {
+		SourceFile f = getSourceFile(ChunkedTreeMaps.class);
+		try {
+			transpiler.setUseChunkedTreeMaps(true);
+			// the chunked implementation is not part of the tested j4ts candy
+			transpiler.setGenerateJsFiles(false);
+			transpile(logHandler -> {
+				logHandler.assertReportedProblems();
+				try {
+					String generatedCode = FileUtils.readFileToString(f.getTsFile());
+					assertTrue(generatedCode.contains("new java.util.ChunkedTreeMap<any, any>()"));
+					assertTrue(generatedCode.contains("new java.util.ChunkedTreeMap<any, any>(this.index)"));
+					assertFalse(generatedCode.contains("new java.util.TreeMap"));
+				} catch (Exception e) {
+					e.printStackTrace();
+					fail("Exception occured while running test");
+				}
+			}, f);
+		} finally {
+			transpiler.setUseChunkedTreeMaps(false);
+			transpiler.setGenerateJsFiles(true);
+		}
+	}
+
+	@Test
+	public void testJreChecks() {
+		SourceFile f = getSourceFile(JreChecks.class);
+		try {
+			// the precondition class is a test stub
+			transpiler.setGenerateJsFiles(false);
+			transpiler.setJreChecks("production");
+			transpile(logHandler -> {
+				logHandler.assertReportedProblems();
+				try {
+					String generatedCode = FileUtils.readFileToString(f.getTsFile());
+					assertFalse(generatedCode.contains("checkElementIndex("));
+					assertFalse(generatedCode.contains("checkState("));
+					assertTrue(generatedCode.contains("return () => {}"));
+					assertTrue(generatedCode.contains("checkNotNull("));
+					assertTrue(generatedCode.contains("\"DISABLED\""));
+					assertFalse(generatedCode.contains("getProperty"));
+				} catch (Exception e) {
+					e.printStackTrace();
+					fail("Exception occured while running test");
+				}
+			}, f);
+			transpiler.setJreChecks("api=none");
+			transpile(logHandler -> {
+				logHandler.assertReportedProblems();
+				try {
+					String generatedCode = FileUtils.readFileToString(f.getTsFile());
+					assertTrue(generatedCode.contains("checkElementIndex("));
+					assertFalse(generatedCode.contains("checkState("));
+					assertFalse(generatedCode.contains("checkNotNull("));
+					assertTrue(generatedCode.contains("\"ENABLED\""));
+				} catch (Exception e) {
+					e.printStackTrace();
+					fail("Exception occured while running test");
+				}
+			}, f);
+		} finally {
+			transpiler.setJreChecks(null);
+			transpiler.setGenerateJsFiles(true);
+		}
+	}
+
+	@Test
+	public void testJreChecksAtRuntime() {
+		transpiler.addJsLibFiles(new File(JSweetTranspiler.TMP_WORKING_DIR_NAME + "/candies/js/j4ts-0.4.0/bundle.js"));
+		// the checks are the ones of the j4ts runtime, enabled by default
+		SourceFile f = getSourceFile(JreChecks.class);
+		try {
+			eval(ModuleKind.none, (logHandler, r) -> {
+				logHandler.assertReportedProblems();
+				assertEquals("bounds,state,state,null,ENABLED", r.get("trace"));
+			} , f);
+			transpiler.setJreChecks("production");
+			eval(ModuleKind.none, (logHandler, r) -> {
+				logHandler.assertReportedProblems();
+				assertEquals("unchecked,unchecked,unchecked,null,DISABLED", r.get("trace"));
+			} , f);
+		} finally {
+			transpiler.setJreChecks(null);
+			transpiler.clearJsLibFiles();
+		}
+	}
+
+	@Test
+	public void testExactLongs() {
+		SourceFile f = getSourceFile(ExactLongs.class);
+		try {
+			// the long emulation class is part of the j4ts runtime
+			transpiler.setGenerateJsFiles(false);
+			transpiler.setUseExactLongs(true);
+			transpile(logHandler -> {
+				logHandler.assertReportedProblems();
+				try {
+					String generatedCode = FileUtils.readFileToString(f.getTsFile());
+					assertTrue(generatedCode.contains("LongEmul.fromBits(5, -554899859)"));
+					assertTrue(generatedCode.contains("LongEmul.mul("));
+					assertTrue(generatedCode.contains("LongEmul.shru("));
+					assertTrue(generatedCode.contains("LongEmul.toInt("));
+					assertTrue(generatedCode.contains("LongEmul.toNumber("));
+					assertTrue(generatedCode.contains("LongEmul.compare("));
+					assertTrue(generatedCode.contains("LongEmul.max("));
+					assertTrue(generatedCode.contains("LongEmul.parseLong(value, 10)"));
+					assertTrue(generatedCode.contains("LongEmul.MAX_VALUE"));
+					assertTrue(generatedCode.contains(") << 16 >> 16)"));
+					assertFalse(generatedCode.contains("Math.round("));
+				} catch (Exception e) {
+					e.printStackTrace();
+					fail("Exception occured while running test");
+				}
+			}, f);
+		} finally {
+			transpiler.setUseExactLongs(false);
+			transpiler.setGenerateJsFiles(true);
+		}
+	}
+
+	@Test
+	public void testExactLongsAtRuntime() {
+		transpiler.addJsLibFiles(new File(JSweetTranspiler.TMP_WORKING_DIR_NAME + "/candies/js/j4ts-0.4.0/bundle.js"));
+		try {
+			transpiler.setUseExactLongs(true);
+			eval(ModuleKind.none, (logHandler, r) -> {
+				logHandler.assertReportedProblems();
+				assertEquals("-9223372036854775808,9223372036854775807,-9223372036709301616,9007199254740994,"
+						+ "-3/-1,-9223372036854775808,142857142857142857,divided by zero,"
+						+ "15/-9223372036854775808/-16/1,-9223372036854775808/8000000000000000,"
+						+ "-9223372036854775808,true,63/64/-1/-1,5/-2147483648,b/-32768/-128/1,1/-56/0",
+						r.get("trace"));
+			} , getSourceFile(ExactLongArithmetic.class));
+		} finally {
+			transpiler.setUseExactLongs(false);
+			transpiler.clearJsLibFiles();
+		}
+	}
+
+	@Test
+	public void testEnumSetFactories() {
+		SourceFile f = getSourceFile(EnumSets.class);
+		try {
+			// the typed enum set factories are part of the j4ts runtime
+			transpiler.setGenerateJsFiles(false);
+			transpile(logHandler -> {
+				logHandler.assertReportedProblems();
+				try {
+					String generatedCode = FileUtils.readFileToString(f.getTsFile());
+					assertFalse(generatedCode.contains("noneOf("));
+					assertTrue(generatedCode.contains("java.util.EnumSet.typedRange("));
+					assertTrue(generatedCode.contains("java.util.EnumSet.typedCopyOf("));
+					assertTrue(generatedCode.contains("EnumSets.Color.RED, ...[EnumSets.Color.GREEN])"));
+					// the copies of enum sets know the enum type
+					assertTrue(generatedCode.contains("EnumSet.copyOf<any>(this.colors)"));
+					if (transpiler.getModuleKind() == ModuleKind.none) {
+						assertTrue(generatedCode.contains("java.util.EnumSet.typedOf(source.api.EnumSets.Color, "));
+						assertTrue(generatedCode.contains("java.util.EnumSet.typedOf(source.api.enumsets.Shape, "));
+					} else {
+						assertTrue(generatedCode.contains("java.util.EnumSet.typedOf(EnumSets.Color, "));
+						assertTrue(generatedCode.contains("import { Shape } from './enumsets/Shape';"));
+						assertTrue(generatedCode.contains("java.util.EnumSet.typedOf(Shape, "));
+					}
+				} catch (Exception e) {
+					e.printStackTrace();
+					fail("Exception occured while running test");
+				}
+			}, f, getSourceFile(Shape.class), getSourceFile(Shapes.class));
+		} finally {
+			transpiler.setGenerateJsFiles(true);
+		}
+	}
+
+	@Test
+	public void testMinLogLevel() {
+		SourceFile f = getSourceFile(MinLogLevel.class);
+		try {
+			transpiler.setGenerateJsFiles(false);
+			transpiler.setMinLogLevel("WARNING");
+			transpile(logHandler -> {
+				logHandler.assertReportedProblems();
+				try {
+					String generatedCode = FileUtils.readFileToString(f.getTsFile());
+					assertFalse(generatedCode.contains("fine("));
+					assertFalse(generatedCode.contains("finest("));
+					assertFalse(generatedCode.contains("finer: "));
+					assertFalse(generatedCode.contains("isLoggable("));
+					assertTrue(generatedCode.contains("warning("));
+					assertTrue(generatedCode.contains("severe: "));
+					assertTrue(generatedCode.contains("\"WARNING\""));
+					assertFalse(generatedCode.contains("getProperty"));
+				} catch (Exception e) {
+					e.printStackTrace();
+					fail("Exception occured while running test");
+				}
+			}, f);
+			transpiler.setMinLogLevel("FINER");
+			transpile(logHandler -> {
+				logHandler.assertReportedProblems();
+				try {
+					String generatedCode = FileUtils.readFileToString(f.getTsFile());
+					assertTrue(generatedCode.contains("fine("));
+					assertFalse(generatedCode.contains("finest("));
+					assertTrue(generatedCode.contains("finer: "));
+					assertTrue(generatedCode.contains("isLoggable("));
+					assertTrue(generatedCode.contains("getProperty"));
+				} catch (Exception e) {
+					e.printStackTrace();
+					fail("Exception occured while running test");
+				}
+			}, f);
+		} finally {
+			transpiler.setMinLogLevel(null);
+			transpiler.setGenerateJsFiles(true);
+		}
+	}
+
 }
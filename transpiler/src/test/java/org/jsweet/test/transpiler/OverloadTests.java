@@ -32,6 +32,7 @@ import source.overload.OverloadInInnerClass;
 import source.overload.OverloadWithEnums;
 import source.overload.OverloadWithInterfaces;
 import source.overload.OverloadWithStaticAndInstanceMethods;
+import source.overload.OverloadWithTypedArrays;
 import source.overload.WrongOverload;
 import source.overload.WrongOverloadConstructorWithParamNameCollision;
 import source.overload.WrongOverloadConstructorWithVarargs;
@@ -135,6 +136,14 @@ public class OverloadTests extends AbstractTest {
 		}, getSourceFile(OverloadWithStaticAndInstanceMethods.class));
 	}
 
+	@Test
+	public void testOverloadWithTypedArrays() {
+		eval((logHandler, r) -> {
+			logHandler.assertReportedProblems();
+			assertEquals("int,array2,array3,string", r.get("trace"));
+		}, getSourceFile(OverloadWithTypedArrays.class));
+	}
+
 	@Test
 	public void testWrongOverloadFrom2Interfaces() {
 		eval(ModuleKind.none, (logHandler, r) -> {
@@ -0,0 +1,32 @@
+/* 
+ * JSweet - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package source.api;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class ChunkedTreeMaps {
+
+	TreeMap<String, Integer> index = new TreeMap<>();
+
+	NavigableMap<String, Integer> copy() {
+		NavigableMap<String, Integer> m = new TreeMap<>(index);
+		m.put("a", 1);
+		return m;
+	}
+
+}
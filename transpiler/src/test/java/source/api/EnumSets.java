@@ -0,0 +1,44 @@
+/* 
+ * JSweet - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package source.api;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import source.api.enumsets.Shapes;
+
+public class EnumSets {
+
+	enum Color {
+		RED, GREEN, BLUE
+	}
+
+	EnumSet<Color> colors = EnumSet.of(Color.RED, Color.BLUE);
+
+	EnumSet<Color> range = EnumSet.range(Color.GREEN, Color.BLUE);
+
+	EnumSet<Color> copy = EnumSet.copyOf(Arrays.asList(Color.RED));
+
+	EnumSet<Color> array = EnumSet.of(Color.RED, new Color[] { Color.GREEN });
+
+	EnumSet<Color> clone = EnumSet.copyOf(colors);
+
+	// the enum type is not imported by this class
+	Set<?> shapes = EnumSet.of(Shapes.circle());
+
+}
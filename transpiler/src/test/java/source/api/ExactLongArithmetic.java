@@ -0,0 +1,66 @@
+/* 
+ * JSweet - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package source.api;
+
+import static jsweet.util.Globals.$export;
+
+import def.js.Array;
+
+public class ExactLongArithmetic {
+
+	public static void main(String[] args) {
+		Array<String> trace = new Array<String>();
+		// overflow
+		long max = Long.MAX_VALUE;
+		max++;
+		trace.push("" + max);
+		trace.push("" + (Long.MIN_VALUE - 1));
+		trace.push("" + (3037000500L * 3037000500L));
+		trace.push("" + (9007199254740993L + 1));
+		// division
+		trace.push("" + (-7L / 2) + "/" + (-7L % 3));
+		trace.push("" + (Long.MIN_VALUE / -1));
+		trace.push("" + (1000000000000000000L / 7));
+		try {
+			trace.push("" + (max / (max - max)));
+		} catch (ArithmeticException e) {
+			trace.push("divided by zero");
+		}
+		// shifts
+		trace.push("" + (-1L >>> 60) + "/" + (1L << 63) + "/" + (-256L >> 4) + "/" + (1L << 64));
+		// Long.MIN_VALUE and the static methods of Long
+		trace.push(Long.toString(Long.MIN_VALUE) + "/" + Long.toHexString(Long.MIN_VALUE));
+		trace.push("" + Math.abs(Long.MIN_VALUE));
+		trace.push("" + (Long.parseLong("-9223372036854775808") == Long.MIN_VALUE));
+		trace.push("" + Long.numberOfTrailingZeros(Long.MIN_VALUE) + "/" + Long.bitCount(-1L) + "/"
+				+ Long.signum(Long.MIN_VALUE) + "/" + Long.compare(Long.MIN_VALUE, Long.MAX_VALUE));
+		trace.push("" + Long.rotateLeft(Long.MIN_VALUE | 2, 1) + "/" + Long.hashCode(Long.MIN_VALUE));
+		// narrowing to the type of the lvalue
+		char c = 'a';
+		c += 1L;
+		short s = Short.MAX_VALUE;
+		s += 1L;
+		byte b = Byte.MAX_VALUE;
+		b += 1L;
+		int i = 1;
+		i += 0x100000000L;
+		trace.push("" + c + "/" + s + "/" + b + "/" + i);
+		trace.push("" + (short) 65537L + "/" + (byte) 200L + "/" + (int) Long.MIN_VALUE);
+		$export("trace", trace.join(","));
+	}
+
+}
@@ -0,0 +1,63 @@
+/* 
+ * JSweet - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package source.api;
+
+public class ExactLongs {
+
+	long seed = 0x5DEECE66DL;
+
+	long[] limits = { 0, -1, Long.MAX_VALUE };
+
+	long next(int bits) {
+		seed = (seed * 0x5DEECE66DL + 0xBL) & ((1L << 48) - 1);
+		return seed >>> (48 - bits);
+	}
+
+	int hash(long value) {
+		return (int) (value ^ (value >>> 32));
+	}
+
+	double half(long value) {
+		return value / 2.0;
+	}
+
+	long sum(int n) {
+		long total = 0;
+		for (long i = 0; i < n; i++) {
+			total += i;
+		}
+		return -total;
+	}
+
+	long atLeast(long value, int min) {
+		return Math.max(value, min);
+	}
+
+	String format(long value) {
+		return "value: " + value;
+	}
+
+	short narrow(short value, long increment) {
+		value += increment;
+		return value;
+	}
+
+	long parse(String value) {
+		return Long.parseLong(value) - Long.MAX_VALUE;
+	}
+
+}
@@ -0,0 +1,74 @@
+/* 
+ * JSweet - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package source.api;
+
+import static javaemul.internal.InternalPreconditions.checkElementIndex;
+import static javaemul.internal.InternalPreconditions.checkNotNull;
+import static javaemul.internal.InternalPreconditions.checkState;
+import static jsweet.util.Globals.$export;
+
+import def.js.Array;
+
+public class JreChecks {
+
+	public static void main(String[] args) {
+		Array<String> trace = new Array<String>();
+		JreChecks checks = new JreChecks();
+		trace.push(check(() -> checks.get(1)));
+		checks.open = false;
+		trace.push(check(() -> checks.set(0, "a")));
+		// a void check as the body of a lambda
+		trace.push(check(() -> checkState(checks.open)));
+		checks.open = true;
+		trace.push(check(() -> checks.set(0, null)));
+		trace.push(checks.boundsLevel);
+		$export("trace", trace.join(","));
+	}
+
+	/**
+	 * Runs the given action and tells which check failed, if any.
+	 */
+	static String check(Runnable action) {
+		try {
+			action.run();
+			return "unchecked";
+		} catch (IndexOutOfBoundsException e) {
+			return "bounds";
+		} catch (IllegalStateException e) {
+			return "state";
+		} catch (NullPointerException e) {
+			return "null";
+		}
+	}
+
+	Object[] elements = new Object[0];
+
+	boolean open = true;
+
+	String boundsLevel = System.getProperty("jre.checks.bounds", "ENABLED");
+
+	Object get(int index) {
+		checkElementIndex(index, elements.length);
+		return elements[index];
+	}
+
+	void set(int index, Object element) {
+		checkState(open);
+		elements[index] = checkNotNull(element);
+	}
+
+}
@@ -0,0 +1,43 @@
+/* 
+ * JSweet - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package source.api;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class MinLogLevel {
+
+	Logger logger = Logger.getLogger("test");
+
+	String loggingEnabled = System.getProperty("gwt.logging.enabled", "TRUE");
+
+	String describe(Object o) {
+		return "object " + o;
+	}
+
+	void run(Object o) {
+		logger.fine("fine: " + describe(o));
+		logger.finest(() -> "finest: " + describe(o));
+		logger.log(Level.FINER, "finer: {0}", describe(o));
+		if (logger.isLoggable(Level.CONFIG)) {
+			logger.config("config: " + describe(o));
+		}
+		logger.warning("warning: " + o);
+		logger.log(Level.SEVERE, "severe: {0}", o);
+	}
+
+}
@@ -0,0 +1,109 @@
+/* 
+ * JSweet - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package source.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PrimitiveCollections {
+
+	int sumInts() {
+		List<Integer> ints = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			ints.add(i);
+		}
+		int sum = 0;
+		for (int i : ints) {
+			sum += i;
+		}
+		return sum;
+	}
+
+	double sumDoubles() {
+		List<Double> doubles = new ArrayList<>(4);
+		doubles.add(1.5);
+		doubles.add(2.5);
+		return doubles.get(0) + doubles.get(1);
+	}
+
+	int countInts() {
+		Map<Integer, Integer> counts = new HashMap<>();
+		counts.put(1, 1);
+		counts.put(1, counts.get(1) + 1);
+		return counts.get(1);
+	}
+
+	String getString() {
+		Map<Integer, String> strings = new HashMap<>();
+		strings.put(1, "a");
+		return strings.get(1);
+	}
+
+	String getName() {
+		Map<Integer, String> names = new HashMap<Integer, String>();
+		names.put(1, new String("a"));
+		return names.get(1);
+	}
+
+	List<Integer> escapingByReturn() {
+		List<Integer> returned = new ArrayList<>();
+		returned.add(1);
+		return returned;
+	}
+
+	void escapingByArgument() {
+		List<Integer> passed = new ArrayList<>();
+		consume(passed);
+	}
+
+	void escapingByNull() {
+		List<Integer> withNull = new ArrayList<>();
+		withNull.add(null);
+	}
+
+	void escapingByNullableArgument(Integer value) {
+		List<Integer> nullable = new ArrayList<>();
+		nullable.add(value);
+	}
+
+	void escapingBySubList() {
+		List<Integer> viewed = new ArrayList<>();
+		viewed.add(1);
+		viewed.subList(0, 1).set(0, null);
+	}
+
+	int escapingByKeySet() {
+		Map<Integer, Integer> keyed = new HashMap<>();
+		keyed.put(1, 1);
+		int sum = 0;
+		for (int key : keyed.keySet()) {
+			sum += key;
+		}
+		return sum;
+	}
+
+	void notBoxedNumbers() {
+		List<String> strings = new ArrayList<>();
+		strings.add("a");
+	}
+
+	void consume(List<Integer> list) {
+	}
+
+}
@@ -0,0 +1,51 @@
+/* 
+ * JSweet - http://www.jsweet.org
+ * Copyright (C) 2015 CINCHEO SAS <renaud.pawlak@cincheo.fr>
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package source.overload;
+
+import static jsweet.util.Globals.$export;
+import static jsweet.util.Globals.any;
+import static jsweet.util.Globals.array;
+
+import def.js.Int32Array;
+
+public class OverloadWithTypedArrays {
+
+	static String[] trace = {};
+
+	public static void main(String[] args) {
+		OverloadWithTypedArrays o = new OverloadWithTypedArrays();
+		o.put(1);
+		o.put(new int[] { 1, 2 });
+		int[] typed = any(new Int32Array(3));
+		o.put(typed);
+		o.put("s");
+		$export("trace", array(trace).join());
+	}
+
+	public void put(int i) {
+		array(trace).push("int");
+	}
+
+	public void put(int[] a) {
+		array(trace).push("array" + a.length);
+	}
+
+	public void put(String s) {
+		array(trace).push("string");
+	}
+
+}